@@ -0,0 +1,39 @@
+package com.example.buildnest_ecommerce.aspect;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a {@code @Scheduled} method on one pod per tick instead of on every
+ * replica. See {@link ClusterSingletonAspect}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ClusterSingleton {
+
+    /**
+     * Job (and lock) name; defaults to {@code SimpleClassName.method}.
+     */
+    String name() default "";
+
+    /**
+     * Upper bound on the lock if the holder dies mid-run.
+     */
+    long leaseMs() default 600_000L;
+
+    /**
+     * Minimum time the lock stays held after acquisition, so pods whose
+     * schedule fires a little later skip the tick. Keep it below the job's
+     * interval.
+     */
+    long minHoldMs() default 30_000L;
+
+    /**
+     * Number of shards; placeholders are resolved. With more than one shard
+     * each shard is locked separately and pods split the work, reading their
+     * shard from {@link com.example.buildnest_ecommerce.service.scheduler.lock.ClusterJobContext}.
+     */
+    String shards() default "1";
+}
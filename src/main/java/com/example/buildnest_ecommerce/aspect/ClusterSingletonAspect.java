@@ -0,0 +1,51 @@
+package com.example.buildnest_ecommerce.aspect;
+
+import com.example.buildnest_ecommerce.service.scheduler.lock.ClusterJobRunner;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Wraps methods annotated with {@link ClusterSingleton} in a cluster-wide
+ * job lock (Redis {@code SET NX PX} or the {@code scheduler_lock} table),
+ * so a job scheduled on every replica executes once per tick. Runs are
+ * recorded with their fencing token and duration and can be inspected at
+ * {@code /api/admin/scheduler/jobs}.
+ *
+ * Usage:
+ *
+ * <pre>
+ * &#64;Scheduled(cron = "0 0 2 * * ?")
+ * &#64;ClusterSingleton
+ * public void cleanup() {
+ *     // runs on one pod
+ * }
+ * </pre>
+ *
+ * @see ClusterJobRunner
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ClusterSingletonAspect {
+
+    private final ClusterJobRunner jobRunner;
+    private final Environment environment;
+
+    @Around("@annotation(clusterSingleton)")
+    public Object runOnce(ProceedingJoinPoint joinPoint, ClusterSingleton clusterSingleton) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String name = clusterSingleton.name().isBlank()
+                ? signature.getDeclaringType().getSimpleName() + "." + signature.getName()
+                : clusterSingleton.name();
+        int shards = Integer.parseInt(environment.resolvePlaceholders(clusterSingleton.shards()).trim());
+        return jobRunner.run(name, Duration.ofMillis(clusterSingleton.leaseMs()),
+                Duration.ofMillis(clusterSingleton.minHoldMs()), shards, joinPoint::proceed);
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.buildnest_ecommerce.config;
+
+import com.example.buildnest_ecommerce.config.properties.AsyncProperties;
+import com.example.buildnest_ecommerce.util.MdcTaskDecorator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * One bounded executor per {@code @Async} workload, so a slow webhook target
+ * cannot occupy the threads that domain events or alerts need. Each lane is
+ * selected by bean name in {@code @Async(...)}; the events lane is also the
+ * default for an unqualified {@code @Async}.
+ *
+ * Lanes are thread pools with a bounded queue and a configurable rejection
+ * policy, or, with {@code virtual-threads=true}, a virtual thread per task
+ * capped at {@code max-pool-size} concurrent tasks (no queue). Tasks run
+ * with the submitter's MDC and security context. Per lane, tagged
+ * {@code name}: {@code async.executor.active}, {@code async.executor.queued},
+ * {@code async.executor.rejected}, {@code async.executor.wait} and
+ * {@code async.executor.duration}.
+ *
+ * Audit and Elasticsearch writes do not go through {@code @Async}; they have
+ * their own buffered writer threads (AuditLogWriter, ElasticsearchBulkIndexer).
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class AsyncConfig implements AsyncConfigurer {
+
+    public static final String EVENT_EXECUTOR = "eventExecutor";
+    public static final String WEBHOOK_EXECUTOR = "webhookExecutor";
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+    public static final String PAYMENT_EXECUTOR = "paymentExecutor";
+
+    private final AsyncProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Bean(EVENT_EXECUTOR)
+    public AsyncTaskExecutor eventExecutor() {
+        return lane("events", properties.getEvents(), properties.getShutdownTimeoutMs(), meterRegistry);
+    }
+
+    @Bean(WEBHOOK_EXECUTOR)
+    public AsyncTaskExecutor webhookExecutor() {
+        return lane("webhooks", properties.getWebhooks(), properties.getShutdownTimeoutMs(), meterRegistry);
+    }
+
+    @Bean(NOTIFICATION_EXECUTOR)
+    public AsyncTaskExecutor notificationExecutor() {
+        return lane("notifications", properties.getNotifications(), properties.getShutdownTimeoutMs(),
+                meterRegistry);
+    }
+
+    /**
+     * Bulkhead for payment gateway calls; rejects by default so a slow
+     * gateway fails checkout fast instead of queueing request threads.
+     */
+    @Bean(PAYMENT_EXECUTOR)
+    public AsyncTaskExecutor paymentExecutor() {
+        return lane("payments", properties.getPayments(), properties.getShutdownTimeoutMs(), meterRegistry);
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return eventExecutor();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) -> log.error("Async task {}.{} failed",
+                method.getDeclaringClass().getSimpleName(), method.getName(), ex);
+    }
+
+    static AsyncTaskExecutor lane(String name, AsyncProperties.Lane lane, long shutdownTimeoutMs,
+            MeterRegistry meterRegistry) {
+        LaneMeters meters = new LaneMeters(name, meterRegistry);
+        MdcTaskDecorator mdc = new MdcTaskDecorator();
+        TaskDecorator decorator = task -> meters.wrap(mdc.decorate(new DelegatingSecurityContextRunnable(task)));
+        String policy = lane.getRejectionPolicy().toLowerCase(Locale.ROOT);
+        RejectedExecutionHandler handler = rejectionHandler(policy);
+
+        if (lane.isVirtualThreads()) {
+            VirtualLaneExecutor executor = new VirtualLaneExecutor("async-" + name + "-", policy, meters.rejected);
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(lane.getMaxPoolSize());
+            executor.setRejectTasksWhenLimitReached(true);
+            executor.setTaskDecorator(decorator);
+            executor.setTaskTerminationTimeout(shutdownTimeoutMs);
+            meters.queued(executor, e -> 0);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("async-" + name + "-");
+        executor.setCorePoolSize(lane.getCorePoolSize());
+        executor.setMaxPoolSize(lane.getMaxPoolSize());
+        executor.setQueueCapacity(lane.getQueueCapacity());
+        executor.setKeepAliveSeconds(lane.getKeepAliveSeconds());
+        executor.setTaskDecorator(decorator);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            meters.rejected.increment();
+            handler.rejectedExecution(task, pool);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(shutdownTimeoutMs);
+        meters.queued(executor, ThreadPoolTaskExecutor::getQueueSize);
+        return executor;
+    }
+
+    static RejectedExecutionHandler rejectionHandler(String policy) {
+        return switch (policy) {
+            case "caller-runs" -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case "abort" -> new ThreadPoolExecutor.AbortPolicy();
+            case "discard" -> new ThreadPoolExecutor.DiscardPolicy();
+            case "discard-oldest" -> new ThreadPoolExecutor.DiscardOldestPolicy();
+            default -> throw new IllegalArgumentException("Unknown async rejection policy: " + policy);
+        };
+    }
+
+    /**
+     * Virtual-thread lane. The concurrency limit rejects instead of blocking
+     * the submitter; the lane's policy then decides what happens to the task
+     * (there is no queue, so discard-oldest behaves like discard). A task
+     * run by the caller is decorated like one run on the lane.
+     */
+    static final class VirtualLaneExecutor extends SimpleAsyncTaskExecutor {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String policy;
+        private final transient Counter rejected;
+        private transient TaskDecorator taskDecorator;
+
+        VirtualLaneExecutor(String threadNamePrefix, String policy, Counter rejected) {
+            super(threadNamePrefix);
+            this.policy = policy;
+            this.rejected = rejected;
+        }
+
+        @Override
+        public void setTaskDecorator(TaskDecorator taskDecorator) {
+            super.setTaskDecorator(taskDecorator);
+            this.taskDecorator = taskDecorator;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public void execute(Runnable task, long startTimeout) {
+            try {
+                super.execute(task, startTimeout);
+            } catch (TaskRejectedException e) {
+                rejected.increment();
+                switch (policy) {
+                    case "caller-runs" -> (taskDecorator != null ? taskDecorator.decorate(task) : task).run();
+                    case "discard", "discard-oldest" -> log.debug("Async task discarded: {}", e.getMessage());
+                    default -> throw e;
+                }
+            }
+        }
+    }
+
+    private static final class LaneMeters {
+
+        private final String name;
+        private final MeterRegistry meterRegistry;
+        private final AtomicInteger active = new AtomicInteger();
+        private final Counter rejected;
+        private final Timer wait;
+        private final Timer duration;
+
+        private LaneMeters(String name, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.meterRegistry = meterRegistry;
+            Gauge.builder("async.executor.active", active, AtomicInteger::get)
+                    .description("Async tasks currently running")
+                    .tag("name", name)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("async.executor.rejected")
+                    .description("Async tasks refused because the lane was full")
+                    .tag("name", name)
+                    .register(meterRegistry);
+            this.wait = Timer.builder("async.executor.wait")
+                    .description("Time async tasks waited between submission and start")
+                    .tag("name", name)
+                    .register(meterRegistry);
+            this.duration = Timer.builder("async.executor.duration")
+                    .description("Async task run time")
+                    .tag("name", name)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+        }
+
+        private <T> void queued(T executor, ToIntFunction<T> size) {
+            Gauge.builder("async.executor.queued", executor, e -> size.applyAsInt(e))
+                    .description("Async tasks waiting for a thread")
+                    .tag("name", name)
+                    .register(meterRegistry);
+        }
+
+        private Runnable wrap(Runnable task) {
+            long submitted = System.nanoTime();
+            return () -> {
+                long started = System.nanoTime();
+                wait.record(started - submitted, TimeUnit.NANOSECONDS);
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                    duration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            };
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.time.Duration;
  * - "rateLimitStats": Rate limit statistics (60s default)
  * - "orders": Order summary data (600s default)
  * - "users": User profile data (1800s default)
+ * - "adminAnalytics": Aggregated admin dashboard figures per time range (60s default)
  */
 @Configuration
 @EnableCaching
@@ -54,6 +55,8 @@ public class CacheConfig {
         private long userPermissionsTtlMs;
         @Value("${cache.ttl.inventory-items:300000}")
         private long inventoryItemsTtlMs;
+        @Value("${cache.ttl.admin-analytics:60000}")
+        private long adminAnalyticsTtlMs;
 
         /**
          * Configure Redis Cache Manager with custom TTL for different cache regions.
@@ -113,6 +116,11 @@ public class CacheConfig {
                                                 RedisCacheConfiguration.defaultCacheConfig()
                                                                 .entryTtl(Duration.ofMillis(usersTtlMs))
                                                                 .disableCachingNullValues())
+                                // Admin analytics cache: TTL from application.properties
+                                .withCacheConfiguration("adminAnalytics",
+                                                RedisCacheConfiguration.defaultCacheConfig()
+                                                                .entryTtl(Duration.ofMillis(adminAnalyticsTtlMs))
+                                                                .disableCachingNullValues())
                                 .build();
         }
 }
@@ -0,0 +1,152 @@
+package com.example.buildnest_ecommerce.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets at most {@code permits} threads hold a connection from the target
+ * pool at once. A thread takes a permit before asking the pool and gives it
+ * back when it closes the connection; waiters queue on a fair semaphore and
+ * fail with {@link SQLTransientConnectionException} after
+ * {@code acquireTimeoutMs}, the same exception Hikari throws on its own
+ * timeout.
+ *
+ * With virtual threads thousands of requests can reach the DataSource at
+ * once; sized to the pool, the semaphore keeps them queued here in arrival
+ * order instead of all polling Hikari until its connection timeout fires.
+ *
+ * The wrapper replaces the pool bean, so Spring infers its destroy method
+ * from this class: {@link #close()} closes the target pool on shutdown.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutMs;
+    private final LongAdder timeouts = new LongAdder();
+
+    public ConcurrencyLimitedDataSource(DataSource target, int permits, long acquireTimeoutMs) {
+        super(target);
+        if (permits < 1) {
+            throw new IllegalArgumentException("permits must be at least 1");
+        }
+        this.permits = new Semaphore(permits, true);
+        this.maxPermits = permits;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return withPermit(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return withPermit(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection withPermit(ConnectionSource source) throws SQLException {
+        acquire();
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException | RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+        return releasingOnClose(connection);
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException("No database permit free after " + acquireTimeoutMs
+                        + " ms (" + maxPermits + " permits, " + permits.getQueueLength() + " threads waiting)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        }
+    }
+
+    private Connection releasingOnClose(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConcurrencyLimitedDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            try {
+                                target.close();
+                            } finally {
+                                // Closing twice must not hand out a second permit
+                                if (released.compareAndSet(false, true)) {
+                                    permits.release();
+                                }
+                            }
+                            return null;
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                            try {
+                                return method.invoke(target, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            }
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Closes the target if it is closeable, as a Hikari pool is.
+     */
+    @Override
+    public void close() {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not close the target DataSource", e);
+            }
+        }
+    }
+
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.buildnest_ecommerce.config;
+
+import com.example.buildnest_ecommerce.config.properties.DatabaseConcurrencyProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts the Hikari pool behind a {@link ConcurrencyLimitedDataSource} when
+ * {@code database.concurrency.enabled=true}, which is the default in
+ * virtual-thread mode ({@code spring.threads.virtual.enabled}). Permits
+ * default to {@code maximum-pool-size} and the wait to
+ * {@code connection-timeout}. Publishes {@code db.concurrency.available},
+ * {@code db.concurrency.waiting} and {@code db.concurrency.timeouts}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "database.concurrency.enabled", havingValue = "true")
+public class DatabaseConcurrencyConfig {
+
+    @Bean
+    static BeanPostProcessor databaseConcurrencyLimiter(ObjectProvider<DatabaseConcurrencyProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource pool)) {
+                    return bean;
+                }
+                return limit(pool, properties.getObject());
+            }
+        };
+    }
+
+    static ConcurrencyLimitedDataSource limit(HikariDataSource pool, DatabaseConcurrencyProperties properties) {
+        int permits = properties.getPermits() > 0 ? properties.getPermits() : pool.getMaximumPoolSize();
+        long acquireTimeoutMs = properties.getAcquireTimeoutMs() > 0 ? properties.getAcquireTimeoutMs()
+                : pool.getConnectionTimeout();
+        log.info("Limiting database access to {} concurrent connections, waiting up to {} ms for a permit",
+                permits, acquireTimeoutMs);
+        return new ConcurrencyLimitedDataSource(pool, permits, acquireTimeoutMs);
+    }
+
+    @Bean
+    public MeterBinder databaseConcurrencyMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitedDataSource limited = DataSourceUnwrapper.unwrap(dataSource,
+                    ConcurrencyLimitedDataSource.class);
+            if (limited == null) {
+                return;
+            }
+            Gauge.builder("db.concurrency.available", limited, ConcurrencyLimitedDataSource::getAvailablePermits)
+                    .description("Database permits free to take")
+                    .register(registry);
+            Gauge.builder("db.concurrency.waiting", limited, ConcurrencyLimitedDataSource::getWaitingThreads)
+                    .description("Threads queued for a database permit")
+                    .register(registry);
+            FunctionCounter.builder("db.concurrency.timeouts", limited, ConcurrencyLimitedDataSource::getTimeouts)
+                    .description("Connection requests that gave up waiting for a permit")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.buildnest_ecommerce.config;
+
+import com.example.buildnest_ecommerce.config.properties.OutboundHttpProperties;
+import com.example.buildnest_ecommerce.interceptor.CorrelationIdRequestInterceptor;
+import com.example.buildnest_ecommerce.interceptor.OutboundHttpInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Outbound HTTP for webhook notifications, Slack and alerting calls
+ * (RQ-ES-ALRT-04).
+ *
+ * One JDK {@link HttpClient} keeps connections alive and pools them per
+ * host, negotiates HTTP/2 where the server supports it and falls back to
+ * HTTP/1.1 otherwise. Callers use it through the {@value #OUTBOUND_REST_TEMPLATE}
+ * RestTemplate, which adds per-host concurrency limits, gzip, per-host
+ * read timeouts and the caller's correlation id; see
+ * {@link OutboundHttpInterceptor} and {@link PerDestinationRequestFactory}.
+ * Host names are resolved through the JVM's DNS cache, whose TTL the
+ * image sets with {@code -Dsun.net.inetaddr.ttl}.
+ */
+@Configuration
+public class OutboundHttpConfig {
+
+    public static final String OUTBOUND_REST_TEMPLATE = "outboundRestTemplate";
+
+    @Bean
+    public HttpClient outboundHttpClient(OutboundHttpProperties properties) {
+        return HttpClient.newBuilder()
+                .version(properties.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Bean(OUTBOUND_REST_TEMPLATE)
+    public RestTemplate outboundRestTemplate(RestTemplateBuilder builder, HttpClient outboundHttpClient,
+            OutboundHttpProperties properties, MeterRegistry meterRegistry) {
+        return builder
+                .requestFactory(() -> new PerDestinationRequestFactory(outboundHttpClient, properties))
+                .additionalInterceptors(new CorrelationIdRequestInterceptor(),
+                        new OutboundHttpInterceptor(properties, meterRegistry))
+                .build();
+    }
+}
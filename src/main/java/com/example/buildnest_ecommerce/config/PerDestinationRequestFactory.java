@@ -0,0 +1,50 @@
+package com.example.buildnest_ecommerce.config;
+
+import com.example.buildnest_ecommerce.config.properties.OutboundHttpProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Request factory over one shared JDK {@link HttpClient} that applies the
+ * read timeout configured for the request's host, or the default one.
+ * Connections are pooled by the client whichever timeout a request uses.
+ */
+public class PerDestinationRequestFactory implements ClientHttpRequestFactory {
+
+    private final JdkClientHttpRequestFactory defaults;
+    private final Map<String, JdkClientHttpRequestFactory> byHost = new HashMap<>();
+
+    public PerDestinationRequestFactory(HttpClient httpClient, OutboundHttpProperties properties) {
+        this.defaults = factory(httpClient, properties.getReadTimeoutMs());
+        properties.getDestinations().forEach((host, destination) -> {
+            if (destination.getReadTimeoutMs() != null) {
+                byHost.put(host.toLowerCase(Locale.ROOT), factory(httpClient, destination.getReadTimeoutMs()));
+            }
+        });
+    }
+
+    private static JdkClientHttpRequestFactory factory(HttpClient httpClient, long readTimeoutMs) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return factory;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        String host = uri.getHost();
+        JdkClientHttpRequestFactory factory = host == null
+                ? defaults
+                : byHost.getOrDefault(host.toLowerCase(Locale.ROOT), defaults);
+        return factory.createRequest(uri, httpMethod);
+    }
+}
@@ -6,12 +6,14 @@ import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.timelimiter.TimeLimiter;
 import io.github.resilience4j.timelimiter.TimeLimiterConfig;
 import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import com.example.buildnest_ecommerce.config.properties.PaymentProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Resilience Configuration for fault tolerance and high availability (RQ-NFR-02).
@@ -145,4 +147,54 @@ public class ResilienceConfig {
                         .cancelRunningFuture(true)
                         .build());
     }
+
+    /**
+     * Circuit breaker for payment gateway calls, tuned by
+     * {@code payment.gateway.*}. Timeouts from
+     * {@link #paymentGatewayTimeLimiter} count as failures; a full payments
+     * lane does not.
+     *
+     * @param circuitBreakerRegistry The circuit breaker registry
+     * @param paymentProperties      Payment gateway settings
+     * @return CircuitBreaker configured for the payment gateway
+     */
+    @Bean
+    public CircuitBreaker paymentGatewayCircuitBreaker(CircuitBreakerRegistry circuitBreakerRegistry,
+            PaymentProperties paymentProperties) {
+        PaymentProperties.Gateway gateway = paymentProperties.getGateway();
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("payment-gateway-circuit-breaker",
+                CircuitBreakerConfig.custom()
+                        .failureRateThreshold(gateway.getFailureRateThreshold())
+                        .slowCallRateThreshold(50)
+                        .slowCallDurationThreshold(Duration.ofMillis(gateway.getSlowCallMs()))
+                        .waitDurationInOpenState(Duration.ofMillis(gateway.getOpenStateMs()))
+                        .minimumNumberOfCalls(gateway.getMinimumCalls())
+                        .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                        .recordExceptions(Exception.class)
+                        .ignoreExceptions(IllegalArgumentException.class, RejectedExecutionException.class)
+                        .build());
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                logger.warn("Payment gateway circuit breaker: {}", event.getStateTransition()));
+        return circuitBreaker;
+    }
+
+    /**
+     * Time limiter for payment gateway calls with a
+     * {@code payment.gateway.timeout-ms} timeout. The calls run as
+     * CompletableFuture tasks, which cancelling does not interrupt, so the
+     * limiter only stops waiting and leaves the call to finish on its lane.
+     *
+     * @param timeLimiterRegistry The time limiter registry
+     * @param paymentProperties   Payment gateway settings
+     * @return TimeLimiter configured for the payment gateway
+     */
+    @Bean
+    public TimeLimiter paymentGatewayTimeLimiter(TimeLimiterRegistry timeLimiterRegistry,
+            PaymentProperties paymentProperties) {
+        return timeLimiterRegistry.timeLimiter("payment-gateway-time-limiter",
+                TimeLimiterConfig.custom()
+                        .timeoutDuration(Duration.ofMillis(paymentProperties.getGateway().getTimeoutMs()))
+                        .cancelRunningFuture(false)
+                        .build());
+    }
 }
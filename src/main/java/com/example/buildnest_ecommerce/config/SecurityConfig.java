@@ -4,9 +4,14 @@ import com.example.buildnest_ecommerce.security.Jwt.JwtAuthenticationEntryPoint;
 import com.example.buildnest_ecommerce.security.Jwt.JwtAuthenticationFilter;
 import com.example.buildnest_ecommerce.security.AdminRateLimitFilter;
 import com.example.buildnest_ecommerce.security.HttpsEnforcementFilter;
+import com.example.buildnest_ecommerce.config.properties.AuthProperties;
+import com.example.buildnest_ecommerce.service.auth.HashingLane;
+import com.example.buildnest_ecommerce.service.auth.PasswordHashingService;
+import com.example.buildnest_ecommerce.service.auth.PasswordUpgradeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
@@ -43,6 +48,16 @@ public class SecurityConfig {
     @Autowired
     private Environment environment;
 
+    @Autowired
+    private AuthProperties authProperties;
+
+    @Autowired
+    @Lazy
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private PasswordUpgradeService passwordUpgradeService;
+
     @PostConstruct
     public void validateHttpsInProduction() {
         boolean isProduction = Arrays.asList(environment.getActiveProfiles()).contains("production");
@@ -78,18 +93,27 @@ public class SecurityConfig {
         return new JwtAuthenticationFilter();
     }
 
+    /**
+     * BCrypt at the configured target cost. Hashes stored with a lower cost are
+     * upgraded on the next successful login via {@link PasswordUpgradeService}.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(authProperties.getPasswordHashing().getBcryptStrength());
     }
 
+    /**
+     * Credential checks run on the LOGIN lane of the hashing pool rather than
+     * on the request thread.
+     */
     @Bean
     public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
         AuthenticationManagerBuilder authenticationManagerBuilder = http
                 .getSharedObject(AuthenticationManagerBuilder.class);
         authenticationManagerBuilder
                 .userDetailsService(userDetailsService)
-                .passwordEncoder(passwordEncoder());
+                .passwordEncoder(passwordHashingService.forLane(HashingLane.LOGIN))
+                .userDetailsPasswordManager(passwordUpgradeService);
         return authenticationManagerBuilder.build();
     }
 
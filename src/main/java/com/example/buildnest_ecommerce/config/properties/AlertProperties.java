@@ -0,0 +1,83 @@
+package com.example.buildnest_ecommerce.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "notification.alerts")
+public class AlertProperties {
+    private long windowMs = 30_000L;
+    private long dedupeTtlMs = 600_000L;
+    private int dedupeMaxEntries = 50_000;
+    private int maxSamplesPerGroup = 10;
+    private int messagesPerMinute = 6;
+    private final Map<String, Channel> channels = new LinkedHashMap<>();
+
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    public void setWindowMs(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public long getDedupeTtlMs() {
+        return dedupeTtlMs;
+    }
+
+    public void setDedupeTtlMs(long dedupeTtlMs) {
+        this.dedupeTtlMs = dedupeTtlMs;
+    }
+
+    public int getDedupeMaxEntries() {
+        return dedupeMaxEntries;
+    }
+
+    public void setDedupeMaxEntries(int dedupeMaxEntries) {
+        this.dedupeMaxEntries = dedupeMaxEntries;
+    }
+
+    public int getMaxSamplesPerGroup() {
+        return maxSamplesPerGroup;
+    }
+
+    public void setMaxSamplesPerGroup(int maxSamplesPerGroup) {
+        this.maxSamplesPerGroup = maxSamplesPerGroup;
+    }
+
+    public int getMessagesPerMinute() {
+        return messagesPerMinute;
+    }
+
+    public void setMessagesPerMinute(int messagesPerMinute) {
+        this.messagesPerMinute = messagesPerMinute;
+    }
+
+    /**
+     * Per-channel overrides, keyed by channel name ({@code webhook},
+     * {@code email} or {@code slack}).
+     */
+    public Map<String, Channel> getChannels() {
+        return channels;
+    }
+
+    public int messagesPerMinute(String channel) {
+        Channel override = channels.get(channel);
+        return override != null && override.getMessagesPerMinute() != null
+                ? override.getMessagesPerMinute()
+                : messagesPerMinute;
+    }
+
+    public static class Channel {
+        private Integer messagesPerMinute;
+
+        public Integer getMessagesPerMinute() {
+            return messagesPerMinute;
+        }
+
+        public void setMessagesPerMinute(Integer messagesPerMinute) {
+            this.messagesPerMinute = messagesPerMinute;
+        }
+    }
+}
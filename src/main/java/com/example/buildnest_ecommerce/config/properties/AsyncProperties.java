@@ -0,0 +1,100 @@
+package com.example.buildnest_ecommerce.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "async")
+public class AsyncProperties {
+    private final Lane events = new Lane(2, 8, 500, "caller-runs");
+    private final Lane webhooks = new Lane(2, 8, 1_000, "caller-runs");
+    private final Lane notifications = new Lane(1, 4, 200, "discard-oldest");
+    private final Lane payments = new Lane(4, 16, 100, "abort");
+    private long shutdownTimeoutMs = 10_000L;
+
+    public Lane getEvents() {
+        return events;
+    }
+
+    public Lane getWebhooks() {
+        return webhooks;
+    }
+
+    public Lane getNotifications() {
+        return notifications;
+    }
+
+    public Lane getPayments() {
+        return payments;
+    }
+
+    public long getShutdownTimeoutMs() {
+        return shutdownTimeoutMs;
+    }
+
+    public void setShutdownTimeoutMs(long shutdownTimeoutMs) {
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+
+    public static class Lane {
+        private int corePoolSize;
+        private int maxPoolSize;
+        private int queueCapacity;
+        private int keepAliveSeconds = 60;
+        private String rejectionPolicy;
+        private boolean virtualThreads = false;
+
+        public Lane(int corePoolSize, int maxPoolSize, int queueCapacity, String rejectionPolicy) {
+            this.corePoolSize = corePoolSize;
+            this.maxPoolSize = maxPoolSize;
+            this.queueCapacity = queueCapacity;
+            this.rejectionPolicy = rejectionPolicy;
+        }
+
+        public int getCorePoolSize() {
+            return corePoolSize;
+        }
+
+        public void setCorePoolSize(int corePoolSize) {
+            this.corePoolSize = corePoolSize;
+        }
+
+        public int getMaxPoolSize() {
+            return maxPoolSize;
+        }
+
+        public void setMaxPoolSize(int maxPoolSize) {
+            this.maxPoolSize = maxPoolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getKeepAliveSeconds() {
+            return keepAliveSeconds;
+        }
+
+        public void setKeepAliveSeconds(int keepAliveSeconds) {
+            this.keepAliveSeconds = keepAliveSeconds;
+        }
+
+        public String getRejectionPolicy() {
+            return rejectionPolicy;
+        }
+
+        public void setRejectionPolicy(String rejectionPolicy) {
+            this.rejectionPolicy = rejectionPolicy;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.buildnest_ecommerce.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+    private final Writer writer = new Writer();
+    private final Cache cache = new Cache();
+
+    public Writer getWriter() {
+        return writer;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public static class Writer {
+        private int bufferCapacity = 8192;
+        private String overflowPolicy = "drop";
+        private long blockTimeoutMs = 100L;
+        private int batchSize = 500;
+        private long flushIntervalMs = 200L;
+        private long shutdownTimeoutMs = 10_000L;
+
+        public int getBufferCapacity() {
+            return bufferCapacity;
+        }
+
+        public void setBufferCapacity(int bufferCapacity) {
+            this.bufferCapacity = bufferCapacity;
+        }
+
+        public String getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(String overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public long getBlockTimeoutMs() {
+            return blockTimeoutMs;
+        }
+
+        public void setBlockTimeoutMs(long blockTimeoutMs) {
+            this.blockTimeoutMs = blockTimeoutMs;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+
+        public long getShutdownTimeoutMs() {
+            return shutdownTimeoutMs;
+        }
+
+        public void setShutdownTimeoutMs(long shutdownTimeoutMs) {
+            this.shutdownTimeoutMs = shutdownTimeoutMs;
+        }
+    }
+
+    public static class Cache {
+        private String versionKey = "audit:cache:version";
+        private long versionRefreshMs = 1_000L;
+
+        public String getVersionKey() {
+            return versionKey;
+        }
+
+        public void setVersionKey(String versionKey) {
+            this.versionKey = versionKey;
+        }
+
+        public long getVersionRefreshMs() {
+            return versionRefreshMs;
+        }
+
+        public void setVersionRefreshMs(long versionRefreshMs) {
+            this.versionRefreshMs = versionRefreshMs;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.buildnest_ecommerce.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "auth")
+public class AuthProperties {
+    private final Registration registration = new Registration();
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+    private final RefreshTokens refreshTokens = new RefreshTokens();
+
+    public Registration getRegistration() {
+        return registration;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public RefreshTokens getRefreshTokens() {
+        return refreshTokens;
+    }
+
+    public static class Registration {
+        private long bloomExpectedInsertions = 1_000_000L;
+        private double bloomFalsePositiveRate = 0.01;
+        private int bloomRebuildBatchSize = 5_000;
+
+        public long getBloomExpectedInsertions() {
+            return bloomExpectedInsertions;
+        }
+
+        public void setBloomExpectedInsertions(long bloomExpectedInsertions) {
+            this.bloomExpectedInsertions = bloomExpectedInsertions;
+        }
+
+        public double getBloomFalsePositiveRate() {
+            return bloomFalsePositiveRate;
+        }
+
+        public void setBloomFalsePositiveRate(double bloomFalsePositiveRate) {
+            this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+        }
+
+        public int getBloomRebuildBatchSize() {
+            return bloomRebuildBatchSize;
+        }
+
+        public void setBloomRebuildBatchSize(int bloomRebuildBatchSize) {
+            this.bloomRebuildBatchSize = bloomRebuildBatchSize;
+        }
+    }
+
+    public static class PasswordHashing {
+        private int poolSize = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 200;
+        private int loginQueueCapacity = 400;
+        private long timeoutMs = 5_000L;
+        private long retryAfterSeconds = 1L;
+        private int bcryptStrength = 10;
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getLoginQueueCapacity() {
+            return loginQueueCapacity;
+        }
+
+        public void setLoginQueueCapacity(int loginQueueCapacity) {
+            this.loginQueueCapacity = loginQueueCapacity;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void setRetryAfterSeconds(long retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public int getBcryptStrength() {
+            return bcryptStrength;
+        }
+
+        public void setBcryptStrength(int bcryptStrength) {
+            this.bcryptStrength = bcryptStrength;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+    }
+
+    public static class RefreshTokens {
+        private String store = "jpa";
+        private String redisKeyPrefix = "rt:";
+
+        public String getStore() {
+            return store;
+        }
+
+        public void setStore(String store) {
+            this.store = store;
+        }
+
+        public String getRedisKeyPrefix() {
+            return redisKeyPrefix;
+        }
+
+        public void setRedisKeyPrefix(String redisKeyPrefix) {
+            this.redisKeyPrefix = redisKeyPrefix;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.buildnest_ecommerce.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "cart")
+public class CartProperties {
+    private String store = "jpa";
+    private String redisKeyPrefix = "cart:";
+    private long ttlMs = 604_800_000L;
+    private final WriteBehind writeBehind = new WriteBehind();
+
+    public String getStore() {
+        return store;
+    }
+
+    public void setStore(String store) {
+        this.store = store;
+    }
+
+    public String getRedisKeyPrefix() {
+        return redisKeyPrefix;
+    }
+
+    public void setRedisKeyPrefix(String redisKeyPrefix) {
+        this.redisKeyPrefix = redisKeyPrefix;
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    public void setTtlMs(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    public WriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+
+    public static class WriteBehind {
+        private long intervalMs = 60_000L;
+        private int batchSize = 500;
+
+        public long getIntervalMs() {
+            return intervalMs;
+        }
+
+        public void setIntervalMs(long intervalMs) {
+            this.intervalMs = intervalMs;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.buildnest_ecommerce.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "database.concurrency")
+public class DatabaseConcurrencyProperties {
+    private boolean enabled = false;
+    private int permits = 0;
+    private long acquireTimeoutMs = 0L;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public void setPermits(int permits) {
+        this.permits = permits;
+    }
+
+    public long getAcquireTimeoutMs() {
+        return acquireTimeoutMs;
+    }
+
+    public void setAcquireTimeoutMs(long acquireTimeoutMs) {
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+}
@@ -12,6 +12,8 @@ public class ElasticsearchProperties {
     private final Ssl ssl = new Ssl();
     private final Alert alert = new Alert();
     private final Metrics metrics = new Metrics();
+    private final Ingest ingest = new Ingest();
+    private final Analytics analytics = new Analytics();
 
     public boolean isEnabled() {
         return enabled;
@@ -65,6 +67,14 @@ public class ElasticsearchProperties {
         return metrics;
     }
 
+    public Ingest getIngest() {
+        return ingest;
+    }
+
+    public Analytics getAnalytics() {
+        return analytics;
+    }
+
     public static class Ssl {
         private boolean enabled;
 
@@ -214,4 +224,136 @@ public class ElasticsearchProperties {
             this.enabled = enabled;
         }
     }
+
+    public static class Ingest {
+        private int queueCapacity = 10_000;
+        private int maxActions = 500;
+        private long maxBytes = 5L * 1024 * 1024;
+        private long flushIntervalMs = 1_000L;
+        private int maxRetries = 3;
+        private long initialBackoffMs = 200L;
+        private long maxBackoffMs = 5_000L;
+        private long shutdownTimeoutMs = 10_000L;
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getMaxActions() {
+            return maxActions;
+        }
+
+        public void setMaxActions(int maxActions) {
+            this.maxActions = maxActions;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public long getInitialBackoffMs() {
+            return initialBackoffMs;
+        }
+
+        public void setInitialBackoffMs(long initialBackoffMs) {
+            this.initialBackoffMs = initialBackoffMs;
+        }
+
+        public long getMaxBackoffMs() {
+            return maxBackoffMs;
+        }
+
+        public void setMaxBackoffMs(long maxBackoffMs) {
+            this.maxBackoffMs = maxBackoffMs;
+        }
+
+        public long getShutdownTimeoutMs() {
+            return shutdownTimeoutMs;
+        }
+
+        public void setShutdownTimeoutMs(long shutdownTimeoutMs) {
+            this.shutdownTimeoutMs = shutdownTimeoutMs;
+        }
+    }
+
+    public static class Analytics {
+        private String indexPattern = "audit-logs-*";
+        private int endpointBuckets = 50;
+        private int localWindowMinutes = 60;
+        private int sampleCapacity = 500;
+        private String redisKeyPrefix = "analytics:";
+        private long publishIntervalMs = 5_000L;
+
+        public String getIndexPattern() {
+            return indexPattern;
+        }
+
+        public void setIndexPattern(String indexPattern) {
+            this.indexPattern = indexPattern;
+        }
+
+        public int getEndpointBuckets() {
+            return endpointBuckets;
+        }
+
+        public void setEndpointBuckets(int endpointBuckets) {
+            this.endpointBuckets = endpointBuckets;
+        }
+
+        public int getLocalWindowMinutes() {
+            return localWindowMinutes;
+        }
+
+        public void setLocalWindowMinutes(int localWindowMinutes) {
+            this.localWindowMinutes = localWindowMinutes;
+        }
+
+        public int getSampleCapacity() {
+            return sampleCapacity;
+        }
+
+        public void setSampleCapacity(int sampleCapacity) {
+            this.sampleCapacity = sampleCapacity;
+        }
+
+        public String getRedisKeyPrefix() {
+            return redisKeyPrefix;
+        }
+
+        public void setRedisKeyPrefix(String redisKeyPrefix) {
+            this.redisKeyPrefix = redisKeyPrefix;
+        }
+
+        public long getPublishIntervalMs() {
+            return publishIntervalMs;
+        }
+
+        public void setPublishIntervalMs(long publishIntervalMs) {
+            this.publishIntervalMs = publishIntervalMs;
+        }
+    }
 }
@@ -0,0 +1,121 @@
+package com.example.buildnest_ecommerce.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "events")
+public class EventBusProperties {
+    private String transport = "memory";
+    private String consumerName = "buildnest-ecommerce";
+    private final Outbox outbox = new Outbox();
+    private final Kafka kafka = new Kafka();
+
+    /**
+     * {@code memory} hands relayed events straight to in-process listeners;
+     * {@code kafka} publishes them to {@code events.kafka.topic}.
+     */
+    public String getTransport() {
+        return transport;
+    }
+
+    public void setTransport(String transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Idempotency scope of this service's consumers; instances sharing a name
+     * handle each event once between them.
+     */
+    public String getConsumerName() {
+        return consumerName;
+    }
+
+    public void setConsumerName(String consumerName) {
+        this.consumerName = consumerName;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public Kafka getKafka() {
+        return kafka;
+    }
+
+    public static class Outbox {
+        private boolean enabled = true;
+        private int batchSize = 200;
+        private long pollIntervalMs = 500L;
+        private long leaseMs = 30_000L;
+        private int maxAttempts = 20;
+        private long maxBackoffMs = 30_000L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getPollIntervalMs() {
+            return pollIntervalMs;
+        }
+
+        public void setPollIntervalMs(long pollIntervalMs) {
+            this.pollIntervalMs = pollIntervalMs;
+        }
+
+        public long getLeaseMs() {
+            return leaseMs;
+        }
+
+        public void setLeaseMs(long leaseMs) {
+            this.leaseMs = leaseMs;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getMaxBackoffMs() {
+            return maxBackoffMs;
+        }
+
+        public void setMaxBackoffMs(long maxBackoffMs) {
+            this.maxBackoffMs = maxBackoffMs;
+        }
+    }
+
+    public static class Kafka {
+        private String topic = "buildnest.domain-events";
+        private long sendTimeoutMs = 10_000L;
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public void setTopic(String topic) {
+            this.topic = topic;
+        }
+
+        public long getSendTimeoutMs() {
+            return sendTimeoutMs;
+        }
+
+        public void setSendTimeoutMs(long sendTimeoutMs) {
+            this.sendTimeoutMs = sendTimeoutMs;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.buildnest_ecommerce.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "orders.view")
+public class OrderViewProperties {
+    private int rebuildChunkSize = 500;
+    private int rebuildParallelism = 4;
+
+    /**
+     * Orders read, rendered and written per transaction by a rebuild.
+     */
+    public int getRebuildChunkSize() {
+        return rebuildChunkSize;
+    }
+
+    public void setRebuildChunkSize(int rebuildChunkSize) {
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    /**
+     * Chunks a rebuild processes at the same time.
+     */
+    public int getRebuildParallelism() {
+        return rebuildParallelism;
+    }
+
+    public void setRebuildParallelism(int rebuildParallelism) {
+        this.rebuildParallelism = rebuildParallelism;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.buildnest_ecommerce.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "http.outbound")
+public class OutboundHttpProperties {
+    private long connectTimeoutMs = 5_000L;
+    private long readTimeoutMs = 10_000L;
+    private int maxConnectionsPerHost = 16;
+    private long acquireTimeoutMs = 2_000L;
+    private boolean http2 = true;
+    private boolean gzip = true;
+    private final Map<String, Destination> destinations = new LinkedHashMap<>();
+
+    public long getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public void setConnectTimeoutMs(long connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    public long getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+
+    public void setReadTimeoutMs(long readTimeoutMs) {
+        this.readTimeoutMs = readTimeoutMs;
+    }
+
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+
+    public long getAcquireTimeoutMs() {
+        return acquireTimeoutMs;
+    }
+
+    public void setAcquireTimeoutMs(long acquireTimeoutMs) {
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    /**
+     * Per-host overrides, keyed by host name (for example
+     * {@code http.outbound.destinations[hooks.slack.com].read-timeout-ms}).
+     */
+    public Map<String, Destination> getDestinations() {
+        return destinations;
+    }
+
+    public static class Destination {
+        private Long readTimeoutMs;
+        private Integer maxConnections;
+
+        public Long getReadTimeoutMs() {
+            return readTimeoutMs;
+        }
+
+        public void setReadTimeoutMs(Long readTimeoutMs) {
+            this.readTimeoutMs = readTimeoutMs;
+        }
+
+        public Integer getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(Integer maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.example.buildnest_ecommerce.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "payment")
+public class PaymentProperties {
+    private final Callback callback = new Callback();
+    private final Gateway gateway = new Gateway();
+    private final Simulator simulator = new Simulator();
+
+    public Callback getCallback() {
+        return callback;
+    }
+
+    public Gateway getGateway() {
+        return gateway;
+    }
+
+    public Simulator getSimulator() {
+        return simulator;
+    }
+
+    public static class Callback {
+        private String keyPrefix = "payment:callback:";
+        private long seenTtlMs = 86_400_000L;
+        private int localCapacity = 10_000;
+
+        public String getKeyPrefix() {
+            return keyPrefix;
+        }
+
+        public void setKeyPrefix(String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+        }
+
+        /**
+         * How long a processed gateway payment id is remembered; covers the
+         * gateway's callback retry window.
+         */
+        public long getSeenTtlMs() {
+            return seenTtlMs;
+        }
+
+        public void setSeenTtlMs(long seenTtlMs) {
+            this.seenTtlMs = seenTtlMs;
+        }
+
+        /**
+         * Most payment ids remembered in memory when Redis is unreachable.
+         */
+        public int getLocalCapacity() {
+            return localCapacity;
+        }
+
+        public void setLocalCapacity(int localCapacity) {
+            this.localCapacity = localCapacity;
+        }
+    }
+
+    public static class Gateway {
+        private String provider = "razorpay";
+        private long timeoutMs = 5_000L;
+        private int failureRateThreshold = 50;
+        private long slowCallMs = 3_000L;
+        private int minimumCalls = 10;
+        private long openStateMs = 30_000L;
+        private long hedgeDelayMs = 500L;
+        private int hedgeAttempts = 2;
+
+        /**
+         * {@code razorpay} or {@code simulator}.
+         */
+        public String getProvider() {
+            return provider;
+        }
+
+        public void setProvider(String provider) {
+            this.provider = provider;
+        }
+
+        /**
+         * Longest a single gateway call may take before it counts as failed.
+         */
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+
+        public int getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public long getSlowCallMs() {
+            return slowCallMs;
+        }
+
+        public void setSlowCallMs(long slowCallMs) {
+            this.slowCallMs = slowCallMs;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        /**
+         * How long the breaker rejects calls before letting trial calls
+         * through again.
+         */
+        public long getOpenStateMs() {
+            return openStateMs;
+        }
+
+        public void setOpenStateMs(long openStateMs) {
+            this.openStateMs = openStateMs;
+        }
+
+        /**
+         * How long an idempotent read waits for an answer before a second
+         * copy of it is sent.
+         */
+        public long getHedgeDelayMs() {
+            return hedgeDelayMs;
+        }
+
+        public void setHedgeDelayMs(long hedgeDelayMs) {
+            this.hedgeDelayMs = hedgeDelayMs;
+        }
+
+        /**
+         * Most copies of one idempotent read in flight; 1 disables hedging.
+         */
+        public int getHedgeAttempts() {
+            return hedgeAttempts;
+        }
+
+        public void setHedgeAttempts(int hedgeAttempts) {
+            this.hedgeAttempts = hedgeAttempts;
+        }
+    }
+
+    public static class Simulator {
+        private final Latency latency = new Latency();
+        private final Callbacks callbacks = new Callbacks();
+        private double errorRate = 0.0;
+
+        public Latency getLatency() {
+            return latency;
+        }
+
+        public Callbacks getCallbacks() {
+            return callbacks;
+        }
+
+        /**
+         * Share of simulated gateway calls that fail, 0 to 1.
+         */
+        public double getErrorRate() {
+            return errorRate;
+        }
+
+        public void setErrorRate(double errorRate) {
+            this.errorRate = errorRate;
+        }
+    }
+
+    public static class Latency {
+        private String distribution = "lognormal";
+        private long minMs = 20L;
+        private long medianMs = 120L;
+        private long p99Ms = 800L;
+        private long maxMs = 3_000L;
+
+        /**
+         * {@code none}, {@code fixed} (always the median), {@code uniform}
+         * (min to max) or {@code lognormal} (fitted to the median and p99).
+         */
+        public String getDistribution() {
+            return distribution;
+        }
+
+        public void setDistribution(String distribution) {
+            this.distribution = distribution;
+        }
+
+        public long getMinMs() {
+            return minMs;
+        }
+
+        public void setMinMs(long minMs) {
+            this.minMs = minMs;
+        }
+
+        public long getMedianMs() {
+            return medianMs;
+        }
+
+        public void setMedianMs(long medianMs) {
+            this.medianMs = medianMs;
+        }
+
+        public long getP99Ms() {
+            return p99Ms;
+        }
+
+        public void setP99Ms(long p99Ms) {
+            this.p99Ms = p99Ms;
+        }
+
+        public long getMaxMs() {
+            return maxMs;
+        }
+
+        public void setMaxMs(long maxMs) {
+            this.maxMs = maxMs;
+        }
+    }
+
+    public static class Callbacks {
+        private boolean enabled = true;
+        private double paymentRate = 0.9;
+        private long delayMs = 200L;
+        private long reorderWindowMs = 500L;
+        private double duplicateRate = 0.05;
+        private int maxAttempts = 3;
+        private long paymentWaitMs = 10_000L;
+        private int threads = 2;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Share of created orders the simulated customer goes on to pay;
+         * the rest never get a callback.
+         */
+        public double getPaymentRate() {
+            return paymentRate;
+        }
+
+        public void setPaymentRate(double paymentRate) {
+            this.paymentRate = paymentRate;
+        }
+
+        public long getDelayMs() {
+            return delayMs;
+        }
+
+        public void setDelayMs(long delayMs) {
+            this.delayMs = delayMs;
+        }
+
+        /**
+         * Random extra delay of up to this long per delivery, so callbacks
+         * arrive out of order.
+         */
+        public long getReorderWindowMs() {
+            return reorderWindowMs;
+        }
+
+        public void setReorderWindowMs(long reorderWindowMs) {
+            this.reorderWindowMs = reorderWindowMs;
+        }
+
+        /**
+         * Share of callbacks delivered a second time, as the gateway does
+         * when it retries.
+         */
+        public double getDuplicateRate() {
+            return duplicateRate;
+        }
+
+        public void setDuplicateRate(double duplicateRate) {
+            this.duplicateRate = duplicateRate;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        /**
+         * How long a callback waits for the payment row of its order before
+         * it is dropped; the row is saved after the gateway answers.
+         */
+        public long getPaymentWaitMs() {
+            return paymentWaitMs;
+        }
+
+        public void setPaymentWaitMs(long paymentWaitMs) {
+            this.paymentWaitMs = paymentWaitMs;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.buildnest_ecommerce.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "purge")
+public class PurgeProperties {
+    private int initialChunkSize = 1_000;
+    private int minChunkSize = 100;
+    private int maxChunkSize = 10_000;
+    private long targetStatementMs = 250L;
+    private long pauseMs = 50L;
+    private long maxRunMs = 600_000L;
+    private int auditLogRetentionDays = 365;
+    private int deletedOrderRetentionDays = 90;
+    private int jobRunRetentionDays = 14;
+    private int webhookDeliveryRetentionDays = 7;
+    private int domainEventRetentionDays = 7;
+
+    public int getInitialChunkSize() {
+        return initialChunkSize;
+    }
+
+    public void setInitialChunkSize(int initialChunkSize) {
+        this.initialChunkSize = initialChunkSize;
+    }
+
+    public int getMinChunkSize() {
+        return minChunkSize;
+    }
+
+    public void setMinChunkSize(int minChunkSize) {
+        this.minChunkSize = minChunkSize;
+    }
+
+    public int getMaxChunkSize() {
+        return maxChunkSize;
+    }
+
+    public void setMaxChunkSize(int maxChunkSize) {
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    public long getTargetStatementMs() {
+        return targetStatementMs;
+    }
+
+    public void setTargetStatementMs(long targetStatementMs) {
+        this.targetStatementMs = targetStatementMs;
+    }
+
+    public long getPauseMs() {
+        return pauseMs;
+    }
+
+    public void setPauseMs(long pauseMs) {
+        this.pauseMs = pauseMs;
+    }
+
+    public long getMaxRunMs() {
+        return maxRunMs;
+    }
+
+    public void setMaxRunMs(long maxRunMs) {
+        this.maxRunMs = maxRunMs;
+    }
+
+    public int getAuditLogRetentionDays() {
+        return auditLogRetentionDays;
+    }
+
+    public void setAuditLogRetentionDays(int auditLogRetentionDays) {
+        this.auditLogRetentionDays = auditLogRetentionDays;
+    }
+
+    public int getDeletedOrderRetentionDays() {
+        return deletedOrderRetentionDays;
+    }
+
+    public void setDeletedOrderRetentionDays(int deletedOrderRetentionDays) {
+        this.deletedOrderRetentionDays = deletedOrderRetentionDays;
+    }
+
+    public int getJobRunRetentionDays() {
+        return jobRunRetentionDays;
+    }
+
+    public void setJobRunRetentionDays(int jobRunRetentionDays) {
+        this.jobRunRetentionDays = jobRunRetentionDays;
+    }
+
+    public int getWebhookDeliveryRetentionDays() {
+        return webhookDeliveryRetentionDays;
+    }
+
+    public void setWebhookDeliveryRetentionDays(int webhookDeliveryRetentionDays) {
+        this.webhookDeliveryRetentionDays = webhookDeliveryRetentionDays;
+    }
+
+    public int getDomainEventRetentionDays() {
+        return domainEventRetentionDays;
+    }
+
+    public void setDomainEventRetentionDays(int domainEventRetentionDays) {
+        this.domainEventRetentionDays = domainEventRetentionDays;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class RazorpayProperties {
     private String id;
     private String secret;
+    private String previousSecret;
 
     public String getId() {
         return id;
@@ -22,4 +23,16 @@ public class RazorpayProperties {
     public void setSecret(String secret) {
         this.secret = secret;
     }
+
+    /**
+     * The secret being rotated out; callback signatures made with it are
+     * still accepted while it is set.
+     */
+    public String getPreviousSecret() {
+        return previousSecret;
+    }
+
+    public void setPreviousSecret(String previousSecret) {
+        this.previousSecret = previousSecret;
+    }
 }
@@ -0,0 +1,79 @@
+package com.example.buildnest_ecommerce.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "spool")
+public class SpoolProperties {
+    private String directory = "data/spool";
+    private int segmentBytes = 16 * 1024 * 1024;
+    private long maxBytes = 512L * 1024 * 1024;
+    private String fsyncPolicy = "interval";
+    private long fsyncIntervalMs = 1_000L;
+    private int shipBatchSize = 500;
+    private long shipIdleMs = 1_000L;
+    private long maxBackoffMs = 30_000L;
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    public void setSegmentBytes(int segmentBytes) {
+        this.segmentBytes = segmentBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public String getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public void setFsyncPolicy(String fsyncPolicy) {
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    public long getFsyncIntervalMs() {
+        return fsyncIntervalMs;
+    }
+
+    public void setFsyncIntervalMs(long fsyncIntervalMs) {
+        this.fsyncIntervalMs = fsyncIntervalMs;
+    }
+
+    public int getShipBatchSize() {
+        return shipBatchSize;
+    }
+
+    public void setShipBatchSize(int shipBatchSize) {
+        this.shipBatchSize = shipBatchSize;
+    }
+
+    public long getShipIdleMs() {
+        return shipIdleMs;
+    }
+
+    public void setShipIdleMs(long shipIdleMs) {
+        this.shipIdleMs = shipIdleMs;
+    }
+
+    public long getMaxBackoffMs() {
+        return maxBackoffMs;
+    }
+
+    public void setMaxBackoffMs(long maxBackoffMs) {
+        this.maxBackoffMs = maxBackoffMs;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class WebhookProperties {
     private final Events events = new Events();
     private final Handlers handlers = new Handlers();
+    private final Delivery delivery = new Delivery();
     private int maxRetries;
     private int retryDelayMs;
 
@@ -17,6 +18,10 @@ public class WebhookProperties {
         return handlers;
     }
 
+    public Delivery getDelivery() {
+        return delivery;
+    }
+
     public int getMaxRetries() {
         return maxRetries;
     }
@@ -83,4 +88,124 @@ public class WebhookProperties {
             this.alert = alert;
         }
     }
+
+    public static class Delivery {
+        private boolean enabled = true;
+        private long pollIntervalMs = 1_000L;
+        private int batchSize = 100;
+        private long leaseMs = 300_000L;
+        private int maxConcurrencyPerEndpoint = 4;
+        private long connectTimeoutMs = 5_000L;
+        private long requestTimeoutMs = 10_000L;
+        private long maxBackoffMs = 600_000L;
+        private long timerTickMs = 100L;
+        private long subscriptionRefreshMs = 30_000L;
+        private int circuitFailureRateThreshold = 50;
+        private int circuitMinimumCalls = 10;
+        private long circuitOpenMs = 30_000L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getPollIntervalMs() {
+            return pollIntervalMs;
+        }
+
+        public void setPollIntervalMs(long pollIntervalMs) {
+            this.pollIntervalMs = pollIntervalMs;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getLeaseMs() {
+            return leaseMs;
+        }
+
+        public void setLeaseMs(long leaseMs) {
+            this.leaseMs = leaseMs;
+        }
+
+        public int getMaxConcurrencyPerEndpoint() {
+            return maxConcurrencyPerEndpoint;
+        }
+
+        public void setMaxConcurrencyPerEndpoint(int maxConcurrencyPerEndpoint) {
+            this.maxConcurrencyPerEndpoint = maxConcurrencyPerEndpoint;
+        }
+
+        public long getConnectTimeoutMs() {
+            return connectTimeoutMs;
+        }
+
+        public void setConnectTimeoutMs(long connectTimeoutMs) {
+            this.connectTimeoutMs = connectTimeoutMs;
+        }
+
+        public long getRequestTimeoutMs() {
+            return requestTimeoutMs;
+        }
+
+        public void setRequestTimeoutMs(long requestTimeoutMs) {
+            this.requestTimeoutMs = requestTimeoutMs;
+        }
+
+        public long getMaxBackoffMs() {
+            return maxBackoffMs;
+        }
+
+        public void setMaxBackoffMs(long maxBackoffMs) {
+            this.maxBackoffMs = maxBackoffMs;
+        }
+
+        public long getTimerTickMs() {
+            return timerTickMs;
+        }
+
+        public void setTimerTickMs(long timerTickMs) {
+            this.timerTickMs = timerTickMs;
+        }
+
+        public long getSubscriptionRefreshMs() {
+            return subscriptionRefreshMs;
+        }
+
+        public void setSubscriptionRefreshMs(long subscriptionRefreshMs) {
+            this.subscriptionRefreshMs = subscriptionRefreshMs;
+        }
+
+        public int getCircuitFailureRateThreshold() {
+            return circuitFailureRateThreshold;
+        }
+
+        public void setCircuitFailureRateThreshold(int circuitFailureRateThreshold) {
+            this.circuitFailureRateThreshold = circuitFailureRateThreshold;
+        }
+
+        public int getCircuitMinimumCalls() {
+            return circuitMinimumCalls;
+        }
+
+        public void setCircuitMinimumCalls(int circuitMinimumCalls) {
+            this.circuitMinimumCalls = circuitMinimumCalls;
+        }
+
+        public long getCircuitOpenMs() {
+            return circuitOpenMs;
+        }
+
+        public void setCircuitOpenMs(long circuitOpenMs) {
+            this.circuitOpenMs = circuitOpenMs;
+        }
+    }
 }
@@ -1,14 +1,18 @@
 package com.example.buildnest_ecommerce.controller.admin;
 
+import com.example.buildnest_ecommerce.model.dto.OrderResponseDTO;
+import com.example.buildnest_ecommerce.model.dto.OrderSummaryDTO;
 import com.example.buildnest_ecommerce.model.entity.Order;
 import com.example.buildnest_ecommerce.model.payload.ApiResponse;
 import com.example.buildnest_ecommerce.service.order.OrderService;
+import com.example.buildnest_ecommerce.service.order.OrderViewRebuilder;
+import com.example.buildnest_ecommerce.service.order.OrderViewService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/admin/orders")
@@ -17,11 +21,14 @@ import java.util.List;
 public class AdminOrderController {
     
     private final OrderService orderService;
+    private final OrderViewService orderViewService;
+    private final OrderViewRebuilder orderViewRebuilder;
     
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllOrders() {
+    public ResponseEntity<ApiResponse> getAllOrders(@RequestParam(defaultValue = "0") int page,
+                                                    @RequestParam(defaultValue = "20") int size) {
         try {
-            List<Order> orders = orderService.getAllOrders();
+            Slice<OrderSummaryDTO> orders = orderService.getAllOrders(page, size);
             return ResponseEntity.ok(new ApiResponse(true, "Orders retrieved successfully", orders));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -32,7 +39,7 @@ public class AdminOrderController {
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse> getOrderById(@PathVariable Long id) {
         try {
-            Order order = orderService.getOrderById(id);
+            OrderResponseDTO order = orderViewService.getOrder(id);
             return ResponseEntity.ok(new ApiResponse(true, "Order retrieved successfully", order));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -61,4 +68,18 @@ public class AdminOrderController {
                     .body(new ApiResponse(false, "Error deleting order", null));
         }
     }
+
+    /**
+     * Regenerates the order read model from the source tables.
+     */
+    @PostMapping("/view/rebuild")
+    public ResponseEntity<ApiResponse> rebuildOrderViews() {
+        try {
+            OrderViewRebuilder.RebuildResult result = orderViewRebuilder.rebuild();
+            return ResponseEntity.ok(new ApiResponse(true, "Order views rebuilt", result));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.buildnest_ecommerce.controller.admin;
+
+import com.example.buildnest_ecommerce.model.entity.SchedulerJobRun;
+import com.example.buildnest_ecommerce.service.scheduler.lock.SchedulerJobHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/scheduler")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class SchedulerAdminController {
+
+    private final SchedulerJobHistoryService historyService;
+
+    /**
+     * Latest run of every cluster-locked job.
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<List<SchedulerJobRun>> getJobs() {
+        return ResponseEntity.ok(historyService.getLatestRuns());
+    }
+
+    /**
+     * Run history of one job, newest first.
+     */
+    @GetMapping("/jobs/{jobName}/runs")
+    public ResponseEntity<Page<SchedulerJobRun>> getJobRuns(@PathVariable String jobName,
+                                                            @RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(historyService.getRuns(jobName, PageRequest.of(page, size)));
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.buildnest_ecommerce.controller.auth;
 
 import com.example.buildnest_ecommerce.aspect.Auditable;
+import com.example.buildnest_ecommerce.exception.ServiceOverloadedException;
 import com.example.buildnest_ecommerce.model.payload.LoginRequest;
 import com.example.buildnest_ecommerce.model.payload.RegisterRequest;
 import com.example.buildnest_ecommerce.model.payload.RefreshTokenRequest;
@@ -40,7 +41,8 @@ public class AuthController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Login successful", content = @Content(schema = @Schema(implementation = ApiResponse.class), examples = @ExampleObject(value = "{\"success\":true,\"message\":\"Login successful\",\"data\":{\"accessToken\":\"jwt\",\"refreshToken\":\"refresh\",\"tokenType\":\"Bearer\",\"username\":\"buildnest_user\"}}"))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Invalid credentials"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Too many login attempts")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Too many login attempts"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Password hashing capacity exhausted")
     })
     public ResponseEntity<ApiResponse> login(@Valid @RequestBody LoginRequest loginRequest,
             HttpServletRequest request) {
@@ -54,6 +56,8 @@ public class AuthController {
             log.info("Login attempt for user: {}", loginRequest.getUsername());
             AuthResponse authResponse = authService.login(loginRequest.getUsername(), loginRequest.getPassword());
             return ResponseEntity.ok(new ApiResponse(true, "Login successful", authResponse));
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Login failed: ", e);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -66,7 +70,8 @@ public class AuthController {
     @Operation(summary = "Register", description = "Register a new user account")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "User registered"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Validation error or duplicate user")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Validation error or duplicate user"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Password hashing capacity exhausted")
     })
     public ResponseEntity<ApiResponse> register(@Valid @RequestBody RegisterRequest registerRequest) {
         try {
@@ -74,6 +79,8 @@ public class AuthController {
             authService.register(registerRequest);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(new ApiResponse(true, "User registered successfully", null));
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Registration failed: ", e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
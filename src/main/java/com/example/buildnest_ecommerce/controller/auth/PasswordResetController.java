@@ -1,5 +1,6 @@
 package com.example.buildnest_ecommerce.controller.auth;
 
+import com.example.buildnest_ecommerce.exception.ServiceOverloadedException;
 import com.example.buildnest_ecommerce.model.payload.ApiResponse;
 import com.example.buildnest_ecommerce.service.password.PasswordResetService;
 import com.example.buildnest_ecommerce.util.RateLimitUtil;
@@ -48,6 +49,8 @@ public class PasswordResetController {
         try {
             passwordResetService.resetPasswordWithToken(token, newPassword);
             return ResponseEntity.ok(new ApiResponse(true, "Password reset successfully", null));
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (UnsupportedOperationException e) {
             log.warn("Token-based password reset not yet implemented");
             return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
@@ -80,6 +83,8 @@ public class PasswordResetController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error changing password", e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -1,13 +1,14 @@
 package com.example.buildnest_ecommerce.controller.monitoring;
 
 import com.zaxxer.hikari.HikariDataSource;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.sql.DataSource;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -31,12 +32,16 @@ import java.util.Map;
 @Slf4j
 @RestController
 @RequestMapping("/actuator/custom")
-@RequiredArgsConstructor
 @ConditionalOnBean(HikariDataSource.class)
 public class PoolMetricsController {
 
     private final HikariDataSource dataSource;
 
+    public PoolMetricsController(DataSource dataSource) {
+        // In virtual-thread mode the pool sits behind a ConcurrencyLimitedDataSource
+        this.dataSource = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+    }
+
     /**
      * Get current connection pool status metrics.
      *
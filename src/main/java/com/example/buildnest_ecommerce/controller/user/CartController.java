@@ -81,6 +81,17 @@ public class CartController {
         }
     }
 
+    @DeleteMapping("/{userId}/product/{productId}")
+    public ResponseEntity<ApiResponse> removeProductFromCart(@PathVariable Long userId, @PathVariable Long productId) {
+        try {
+            cartService.removeProductFromCart(userId, productId);
+            return ResponseEntity.ok(new ApiResponse(true, "Item removed from cart", null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(false, "Error removing item", null));
+        }
+    }
+
     @DeleteMapping("/clear/{userId}")
     public ResponseEntity<ApiResponse> clearCart(@PathVariable Long userId) {
         try {
@@ -1,7 +1,10 @@
 package com.example.buildnest_ecommerce.controller.user;
 
+import com.example.buildnest_ecommerce.exception.ExternalServiceException;
+import com.example.buildnest_ecommerce.exception.ResourceNotFoundException;
 import com.example.buildnest_ecommerce.model.dto.CheckoutRequestDTO;
 import com.example.buildnest_ecommerce.model.entity.Order;
+import com.example.buildnest_ecommerce.model.entity.Payment;
 import com.example.buildnest_ecommerce.model.payload.ApiResponse;
 import com.example.buildnest_ecommerce.service.checkout.CheckoutService;
 import com.example.buildnest_ecommerce.security.CustomUserDetails;
@@ -21,6 +24,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * Checkout and Order Processing Controller
  * Manages the checkout process including cart validation and order creation
@@ -96,6 +102,55 @@ public class CheckoutController {
         }
     }
 
+    /**
+     * Starts the gateway payment for a pending order. The request thread is
+     * released while the gateway call runs; the response is written when the
+     * gateway order exists or the call has failed.
+     */
+    @Operation(summary = "Initiate payment", description = "Create the payment gateway order for a pending order.", tags = {
+            "Checkout" })
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Payment initiated", content = @Content(schema = @Schema(implementation = Payment.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Order is not awaiting payment"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Order not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Payment gateway unavailable")
+    })
+    @PostMapping("/payment/{orderId}")
+    @PreAuthorize("hasRole('USER')")
+    public CompletableFuture<ResponseEntity<ApiResponse>> initiatePayment(
+            @Parameter(description = "Order ID to pay for", example = "1", required = true) @PathVariable Long orderId,
+            Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        Long userId = userDetails.getId();
+        log.info("Initiating payment for user: {}, order: {}", userId, orderId);
+
+        CompletableFuture<Payment> payment;
+        try {
+            payment = checkoutService.initiatePayment(userId, orderId);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(paymentFailure(e));
+        }
+        return payment.handle((initiated, error) -> error == null
+                ? ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse(true, "Payment initiated", initiated))
+                : paymentFailure(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error));
+    }
+
+    private ResponseEntity<ApiResponse> paymentFailure(Throwable error) {
+        HttpStatus status;
+        if (error instanceof ResourceNotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (error instanceof IllegalArgumentException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else if (error instanceof ExternalServiceException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else {
+            log.error("Error initiating payment", error);
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        return ResponseEntity.status(status).body(new ApiResponse(false, error.getMessage(), null));
+    }
+
     @GetMapping("/validate/{cartId}")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<ApiResponse> validateCheckout(
@@ -1,16 +1,18 @@
 package com.example.buildnest_ecommerce.controller.user;
 
-import com.example.buildnest_ecommerce.model.dto.OrderResponseDTO;
+import com.example.buildnest_ecommerce.model.dto.OrderSummaryDTO;
+import com.example.buildnest_ecommerce.model.dto.PublicOrderDTO;
 import com.example.buildnest_ecommerce.model.payload.ApiResponse;
-import com.example.buildnest_ecommerce.service.order.OrderService;
+import com.example.buildnest_ecommerce.service.order.OrderViewService;
+import com.example.buildnest_ecommerce.service.order.UserOrderHistoryService;
 import com.example.buildnest_ecommerce.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/user/orders")
@@ -18,15 +20,18 @@ import java.util.List;
 @PreAuthorize("hasRole('USER')")
 public class UserOrderController {
     
-    private final OrderService orderService;
+    private final UserOrderHistoryService orderHistoryService;
+    private final OrderViewService orderViewService;
     
     @GetMapping
-    public ResponseEntity<ApiResponse> getUserOrders(Authentication authentication) {
+    public ResponseEntity<ApiResponse> getUserOrders(Authentication authentication,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "20") int size) {
         try {
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
             Long userId = userDetails.getId();
             
-            List<OrderResponseDTO> orders = orderService.getOrderResponsesByUserId(userId);
+            Slice<OrderSummaryDTO> orders = orderHistoryService.getOrderHistory(userId, page, size);
             return ResponseEntity.ok(new ApiResponse(true, "User orders retrieved", orders));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -41,7 +46,7 @@ public class UserOrderController {
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
             Long userId = userDetails.getId();
             
-            OrderResponseDTO order = orderService.getUserOrderById(userId, id);
+            PublicOrderDTO order = orderViewService.getUserOrder(userId, id);
             return ResponseEntity.ok(new ApiResponse(true, "Order details retrieved", order));
         } catch (IllegalAccessException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
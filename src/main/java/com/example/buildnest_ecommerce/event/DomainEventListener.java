@@ -1,5 +1,6 @@
 package com.example.buildnest_ecommerce.event;
 
+import com.example.buildnest_ecommerce.config.AsyncConfig;
 import com.example.buildnest_ecommerce.service.notification.NotificationService;
 import com.example.buildnest_ecommerce.service.order.OrderService;
 import com.example.buildnest_ecommerce.service.webhook.WebhookService;
@@ -23,22 +24,22 @@ public class DomainEventListener {
     private final WebhookService webhookService;
     private final OrderService orderService;
 
-    @Async
+    @Async(AsyncConfig.EVENT_EXECUTOR)
     @EventListener
     public void handleOrderPlaced(OrderPlacedEvent event) {
         Map<String, Object> payload = new HashMap<>();
-        payload.put("orderId", event.getOrder().getId());
+        payload.put("orderId", event.getOrderId());
         payload.put("userId", event.getUserId());
-        payload.put("status", event.getOrder().getStatus().toString());
-        payload.put("total", event.getOrder().getTotalAmount());
+        payload.put("status", event.getStatus());
+        payload.put("total", event.getTotalAmount());
 
         webhookService.dispatchEvent("order.placed", payload);
         notificationService.sendAlert("Order Placed",
-                "Order placed with id " + event.getOrder().getId(),
+                "Order placed with id " + event.getOrderId(),
                 "INFO", payload);
     }
 
-    @Async
+    @Async(AsyncConfig.EVENT_EXECUTOR)
     @EventListener
     public void handlePaymentSuccess(PaymentSuccessfulEvent event) {
         Map<String, Object> payload = new HashMap<>();
@@ -60,7 +61,7 @@ public class DomainEventListener {
                 "INFO", payload);
     }
 
-    @Async
+    @Async(AsyncConfig.EVENT_EXECUTOR)
     @EventListener
     public void handlePaymentFailure(PaymentFailedEvent event) {
         Map<String, Object> payload = new HashMap<>();
@@ -73,7 +74,7 @@ public class DomainEventListener {
                 "WARN", payload);
     }
 
-    @Async
+    @Async(AsyncConfig.EVENT_EXECUTOR)
     @EventListener
     public void handleLowStock(LowStockWarningEvent event) {
         Map<String, Object> payload = new HashMap<>();
@@ -88,7 +89,7 @@ public class DomainEventListener {
                 "WARN", payload);
     }
 
-    @Async
+    @Async(AsyncConfig.EVENT_EXECUTOR)
     @EventListener
     public void handleUserRegistered(UserRegisteredEvent event) {
         Map<String, Object> payload = new HashMap<>();
@@ -98,7 +99,7 @@ public class DomainEventListener {
         webhookService.dispatchEvent("user.registered", payload);
     }
 
-    @Async
+    @Async(AsyncConfig.EVENT_EXECUTOR)
     @EventListener
     public void handleOrderStatusChange(OrderStatusChangedEvent event) {
         Map<String, Object> payload = new HashMap<>();
@@ -1,19 +1,169 @@
 package com.example.buildnest_ecommerce.event;
 
-import lombok.RequiredArgsConstructor;
+import com.example.buildnest_ecommerce.config.properties.EventBusProperties;
+import com.example.buildnest_ecommerce.event.bus.DomainEventCodec;
+import com.example.buildnest_ecommerce.event.bus.OutboxEventRelay;
+import com.example.buildnest_ecommerce.model.entity.OutboxEvent;
+import com.example.buildnest_ecommerce.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Centralized publisher for domain events.
+ *
+ * Events known to the {@link DomainEventCodec} are written to the
+ * {@code domain_event_outbox} in the caller's transaction and reach their
+ * listeners through the {@link OutboxEventRelay} once it commits; an event
+ * raised in a transaction that rolls back is never delivered, and one that
+ * commits survives a restart. Other events, and all events when
+ * {@code events.outbox.enabled=false}, are published in-process.
+ *
+ * Inside a transaction, events are collected rather than handled one by
+ * one. A {@link MergeableEvent} replaces the earlier event with the same
+ * merge key, the outbox rows are written together just before commit, and
+ * the relay is woken and in-process events published once after commit.
+ * The committed transaction is still bound to the thread at that point, so
+ * each in-process event is published in a new transaction of its own;
+ * otherwise {@code @Transactional} listeners would join the finished
+ * transaction and their writes would never commit. Outside a transaction
+ * every event is handled immediately.
  */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class DomainEventPublisher {
 
     private final ApplicationEventPublisher eventPublisher;
+    private final OutboxEventRepository outboxRepository;
+    private final DomainEventCodec codec;
+    private final OutboxEventRelay relay;
+    private final EventBusProperties properties;
+    private final Clock clock;
+    private final TransactionTemplate afterCommitTransaction;
+
+    public DomainEventPublisher(ApplicationEventPublisher eventPublisher, OutboxEventRepository outboxRepository,
+            DomainEventCodec codec, OutboxEventRelay relay, EventBusProperties properties, Clock clock,
+            PlatformTransactionManager transactionManager) {
+        this.eventPublisher = eventPublisher;
+        this.outboxRepository = outboxRepository;
+        this.codec = codec;
+        this.relay = relay;
+        this.properties = properties;
+        this.clock = clock;
+        this.afterCommitTransaction = new TransactionTemplate(transactionManager);
+        this.afterCommitTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     public void publish(Object event) {
-        eventPublisher.publishEvent(event);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Object> local = writeOutbox(List.of(event));
+            if (local.isEmpty()) {
+                relay.wake();
+            } else {
+                local.forEach(eventPublisher::publishEvent);
+            }
+            return;
+        }
+        EventBatch batch = (EventBatch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            batch = new EventBatch();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(batch);
+        }
+        batch.add(event);
+    }
+
+    /**
+     * Writes the events that travel through the outbox.
+     *
+     * @return the events to publish in-process instead, in their original
+     *         order
+     */
+    private List<Object> writeOutbox(List<Object> events) {
+        if (!properties.getOutbox().isEnabled()) {
+            return events;
+        }
+        List<OutboxEvent> rows = new ArrayList<>();
+        List<Object> local = new ArrayList<>();
+        for (Object event : events) {
+            if (codec.supports(event)) {
+                rows.add(codec.toOutbox(codec.encode(event, clock)));
+            } else {
+                local.add(event);
+            }
+        }
+        if (!rows.isEmpty()) {
+            outboxRepository.saveAll(rows);
+        }
+        return local;
+    }
+
+    /**
+     * Events raised in one transaction, in the order they were raised with
+     * merged events kept at the position of the first one.
+     */
+    private final class EventBatch implements TransactionSynchronization {
+        private final List<Object> events = new ArrayList<>();
+        private final Map<String, Integer> positions = new HashMap<>();
+        private int merged;
+        private boolean toOutbox;
+        private List<Object> local = List.of();
+
+        void add(Object event) {
+            String key = event instanceof MergeableEvent mergeable ? mergeable.mergeKey() : null;
+            Integer position = key == null ? null : positions.get(key);
+            if (position == null) {
+                if (key != null) {
+                    positions.put(key, events.size());
+                }
+                events.add(event);
+                return;
+            }
+            events.set(position, ((MergeableEvent) event).mergeAfter(events.get(position)));
+            merged++;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            local = writeOutbox(events);
+            toOutbox = local.size() < events.size();
+        }
+
+        @Override
+        public void afterCommit() {
+            // Events raised by the listeners below belong to their own transactions
+            TransactionSynchronizationManager.unbindResourceIfPossible(DomainEventPublisher.this);
+            if (merged > 0) {
+                log.debug("Dispatching {} domain events after merging {}", events.size(), merged);
+            }
+            if (toOutbox) {
+                relay.wake();
+            }
+            for (Object event : local) {
+                try {
+                    afterCommitTransaction.executeWithoutResult(status -> eventPublisher.publishEvent(event));
+                } catch (RuntimeException e) {
+                    // The raising transaction has committed; one failed listener must not stop the rest
+                    log.error("Listener failed for {} raised in a committed transaction",
+                            event.getClass().getSimpleName(), e);
+                }
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(DomainEventPublisher.this);
+        }
     }
 }
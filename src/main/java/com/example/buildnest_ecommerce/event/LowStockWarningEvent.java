@@ -3,9 +3,10 @@ package com.example.buildnest_ecommerce.event;
 import org.springframework.context.ApplicationEvent;
 
 /**
- * Fired when inventory level is critically low.
+ * Fired when inventory level is critically low. Within one transaction
+ * only the last warning for a product is delivered.
  */
-public class LowStockWarningEvent extends ApplicationEvent {
+public class LowStockWarningEvent extends ApplicationEvent implements MergeableEvent {
     private static final long serialVersionUID = 1L;
     private final Long productId;
     private final String productName;
@@ -36,4 +37,9 @@ public class LowStockWarningEvent extends ApplicationEvent {
     public int getMinimumStock() {
         return minimumStock;
     }
+
+    @Override
+    public String mergeKey() {
+        return productId == null ? null : "inventory.low_stock:" + productId;
+    }
 }
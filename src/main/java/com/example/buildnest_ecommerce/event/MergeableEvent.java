@@ -0,0 +1,22 @@
+package com.example.buildnest_ecommerce.event;
+
+/**
+ * A domain event that supersedes an earlier event with the same merge key
+ * raised in the same transaction, so listeners see one event per key per
+ * commit instead of every intermediate step.
+ */
+public interface MergeableEvent {
+
+    /**
+     * @return the key events are merged on, or null to never merge
+     */
+    String mergeKey();
+
+    /**
+     * @return the event that replaces {@code earlier} followed by this one;
+     *         by default the later event wins
+     */
+    default Object mergeAfter(Object earlier) {
+        return this;
+    }
+}
@@ -3,30 +3,53 @@ package com.example.buildnest_ecommerce.event;
 import com.example.buildnest_ecommerce.model.entity.Order;
 import org.springframework.context.ApplicationEvent;
 
+import java.math.BigDecimal;
+
 /**
  * 4.3 MEDIUM - Event-Driven Architecture
  * Domain events for key business operations
  */
 
 /**
- * Fired when an order is successfully placed
+ * Fired when an order is successfully placed.
+ *
+ * Carries a snapshot of the order taken when the event is raised, so
+ * listeners running after the transaction never touch the managed entity
+ * or its lazy associations.
  */
 public class OrderPlacedEvent extends ApplicationEvent {
     private static final long serialVersionUID = 1L;
-    private final transient Order order;
+    private final Long orderId;
     private final Long userId;
+    private final String status;
+    private final BigDecimal totalAmount;
 
     public OrderPlacedEvent(Object source, Order order, Long userId) {
+        this(source, order.getId(), userId,
+                order.getStatus() == null ? null : order.getStatus().name(), order.getTotalAmount());
+    }
+
+    public OrderPlacedEvent(Object source, Long orderId, Long userId, String status, BigDecimal totalAmount) {
         super(source);
-        this.order = order;
+        this.orderId = orderId;
         this.userId = userId;
+        this.status = status;
+        this.totalAmount = totalAmount;
     }
 
-    public Order getOrder() {
-        return order;
+    public Long getOrderId() {
+        return orderId;
     }
 
     public Long getUserId() {
         return userId;
     }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
 }
@@ -3,17 +3,26 @@ package com.example.buildnest_ecommerce.event;
 import org.springframework.context.ApplicationEvent;
 
 /**
- * Fired when an order status changes.
+ * Fired when an order status changes. Several changes to one order within
+ * a transaction are delivered as a single change from the first previous
+ * status to the last new one.
  */
-public class OrderStatusChangedEvent extends ApplicationEvent {
+public class OrderStatusChangedEvent extends ApplicationEvent implements MergeableEvent {
     private static final long serialVersionUID = 1L;
     private final Long orderId;
+    private final Long userId;
     private final String previousStatus;
     private final String newStatus;
 
     public OrderStatusChangedEvent(Object source, Long orderId, String previousStatus, String newStatus) {
+        this(source, orderId, null, previousStatus, newStatus);
+    }
+
+    public OrderStatusChangedEvent(Object source, Long orderId, Long userId, String previousStatus,
+            String newStatus) {
         super(source);
         this.orderId = orderId;
+        this.userId = userId;
         this.previousStatus = previousStatus;
         this.newStatus = newStatus;
     }
@@ -22,6 +31,13 @@ public class OrderStatusChangedEvent extends ApplicationEvent {
         return orderId;
     }
 
+    /**
+     * @return the order's owner, or null if the publisher did not know it
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
     public String getPreviousStatus() {
         return previousStatus;
     }
@@ -29,4 +45,15 @@ public class OrderStatusChangedEvent extends ApplicationEvent {
     public String getNewStatus() {
         return newStatus;
     }
+
+    @Override
+    public String mergeKey() {
+        return orderId == null ? null : "order.status.changed:" + orderId;
+    }
+
+    @Override
+    public Object mergeAfter(Object earlier) {
+        return new OrderStatusChangedEvent(getSource(), orderId, userId,
+                ((OrderStatusChangedEvent) earlier).getPreviousStatus(), newStatus);
+    }
 }
@@ -0,0 +1,32 @@
+package com.example.buildnest_ecommerce.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Fired when an order's details change other than its status, including a
+ * soft delete. Listeners re-read the order.
+ */
+public class OrderUpdatedEvent extends ApplicationEvent implements MergeableEvent {
+    private static final long serialVersionUID = 1L;
+    private final Long orderId;
+    private final Long userId;
+
+    public OrderUpdatedEvent(Object source, Long orderId, Long userId) {
+        super(source);
+        this.orderId = orderId;
+        this.userId = userId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String mergeKey() {
+        return orderId == null ? null : "order.updated:" + orderId;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.buildnest_ecommerce.event.bus;
+
+import com.example.buildnest_ecommerce.event.LowStockWarningEvent;
+import com.example.buildnest_ecommerce.event.OrderPlacedEvent;
+import com.example.buildnest_ecommerce.event.OrderStatusChangedEvent;
+import com.example.buildnest_ecommerce.event.OrderUpdatedEvent;
+import com.example.buildnest_ecommerce.event.PaymentFailedEvent;
+import com.example.buildnest_ecommerce.event.PaymentSuccessfulEvent;
+import com.example.buildnest_ecommerce.event.UserRegisteredEvent;
+import com.example.buildnest_ecommerce.model.entity.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Converts the application's domain events to {@link EventEnvelope}s and
+ * outbox rows, and back.
+ *
+ * Every event type that goes through the outbox is registered here with a
+ * stable type name, the aggregate it belongs to and its payload fields.
+ * Events of other types are not known to the bus and stay in-process.
+ */
+@Component
+public class DomainEventCodec {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private record Mapping<E>(Class<E> eventClass, String eventType, String aggregateType,
+            Function<E, Object> aggregateId, Function<E, Map<String, Object>> toPayload,
+            BiFunction<Object, Map<String, Object>, E> fromPayload) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, Mapping<?>> byClass = new HashMap<>();
+    private final Map<String, Mapping<?>> byType = new HashMap<>();
+
+    public DomainEventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+
+        register(new Mapping<>(OrderPlacedEvent.class, "order.placed", "order",
+                OrderPlacedEvent::getOrderId,
+                e -> payload("orderId", e.getOrderId(), "userId", e.getUserId(), "status", e.getStatus(),
+                        "totalAmount", decimal(e.getTotalAmount())),
+                (source, p) -> new OrderPlacedEvent(source, asLong(p.get("orderId")), asLong(p.get("userId")),
+                        (String) p.get("status"), asDecimal(p.get("totalAmount")))));
+        register(new Mapping<>(OrderStatusChangedEvent.class, "order.status.changed", "order",
+                OrderStatusChangedEvent::getOrderId,
+                e -> payload("orderId", e.getOrderId(), "userId", e.getUserId(),
+                        "previousStatus", e.getPreviousStatus(), "newStatus", e.getNewStatus()),
+                (source, p) -> new OrderStatusChangedEvent(source, asLong(p.get("orderId")), asLong(p.get("userId")),
+                        (String) p.get("previousStatus"), (String) p.get("newStatus"))));
+        register(new Mapping<>(OrderUpdatedEvent.class, "order.updated", "order",
+                OrderUpdatedEvent::getOrderId,
+                e -> payload("orderId", e.getOrderId(), "userId", e.getUserId()),
+                (source, p) -> new OrderUpdatedEvent(source, asLong(p.get("orderId")), asLong(p.get("userId")))));
+        register(new Mapping<>(PaymentSuccessfulEvent.class, "payment.success", "order",
+                PaymentSuccessfulEvent::getOrderId,
+                e -> payload("paymentId", e.getPaymentId(), "orderId", e.getOrderId(),
+                        "amount", decimal(e.getAmount())),
+                (source, p) -> new PaymentSuccessfulEvent(source, asLong(p.get("paymentId")),
+                        asLong(p.get("orderId")), asDecimal(p.get("amount")))));
+        register(new Mapping<>(PaymentFailedEvent.class, "payment.failed", "order",
+                PaymentFailedEvent::getOrderId,
+                e -> payload("orderId", e.getOrderId(), "reason", e.getReason()),
+                (source, p) -> new PaymentFailedEvent(source, asLong(p.get("orderId")), (String) p.get("reason"))));
+        register(new Mapping<>(LowStockWarningEvent.class, "inventory.low_stock", "product",
+                LowStockWarningEvent::getProductId,
+                e -> payload("productId", e.getProductId(), "productName", e.getProductName(),
+                        "currentStock", e.getCurrentStock(), "minimumStock", e.getMinimumStock()),
+                (source, p) -> new LowStockWarningEvent(source, asLong(p.get("productId")),
+                        (String) p.get("productName"), asInt(p.get("currentStock")), asInt(p.get("minimumStock")))));
+        register(new Mapping<>(UserRegisteredEvent.class, "user.registered", "user",
+                UserRegisteredEvent::getUserId,
+                e -> payload("userId", e.getUserId(), "email", e.getEmail()),
+                (source, p) -> new UserRegisteredEvent(source, asLong(p.get("userId")), (String) p.get("email"))));
+    }
+
+    private void register(Mapping<?> mapping) {
+        byClass.put(mapping.eventClass(), mapping);
+        byType.put(mapping.eventType(), mapping);
+    }
+
+    /**
+     * @return true if {@code event} can travel through the outbox
+     */
+    public boolean supports(Object event) {
+        return event != null && byClass.containsKey(event.getClass());
+    }
+
+    /**
+     * @return a new envelope for {@code event}, with a fresh event id
+     */
+    @SuppressWarnings("unchecked")
+    public <E> EventEnvelope encode(E event, Clock clock) {
+        Mapping<E> mapping = (Mapping<E>) byClass.get(event.getClass());
+        if (mapping == null) {
+            throw new IllegalArgumentException("Not a bus event: " + event.getClass().getName());
+        }
+        Object aggregateId = mapping.aggregateId().apply(event);
+        return new EventEnvelope(UUID.randomUUID().toString(), mapping.eventType(), mapping.aggregateType(),
+                aggregateId == null ? null : aggregateId.toString(), clock.instant(),
+                mapping.toPayload().apply(event));
+    }
+
+    /**
+     * @return the event an envelope carries, with {@code source} as its
+     *         event source, or null if the type is unknown here
+     */
+    public Object decode(EventEnvelope envelope, Object source) {
+        Mapping<?> mapping = byType.get(envelope.eventType());
+        if (mapping == null) {
+            return null;
+        }
+        return mapping.fromPayload().apply(source, envelope.payload());
+    }
+
+    public OutboxEvent toOutbox(EventEnvelope envelope) {
+        OutboxEvent row = new OutboxEvent();
+        row.setEventId(envelope.eventId());
+        row.setEventType(envelope.eventType());
+        row.setAggregateType(envelope.aggregateType());
+        row.setAggregateId(envelope.aggregateId());
+        row.setPayload(write(envelope.payload()));
+        row.setCreatedAt(LocalDateTime.ofInstant(envelope.occurredAt(), ZoneId.systemDefault()));
+        return row;
+    }
+
+    public EventEnvelope fromOutbox(OutboxEvent row) {
+        try {
+            return new EventEnvelope(row.getEventId(), row.getEventType(), row.getAggregateType(),
+                    row.getAggregateId(), row.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant(),
+                    objectMapper.readValue(row.getPayload(), PAYLOAD_TYPE));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox payload for event " + row.getEventId(), e);
+        }
+    }
+
+    public String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize domain event", e);
+        }
+    }
+
+    public EventEnvelope read(String json) {
+        try {
+            return objectMapper.readValue(json, EventEnvelope.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unreadable event envelope", e);
+        }
+    }
+
+    private static Map<String, Object> payload(Object... keysAndValues) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            payload.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return payload;
+    }
+
+    // Amounts travel as strings so no precision is lost to JSON doubles
+    private static String decimal(BigDecimal value) {
+        return value == null ? null : value.toPlainString();
+    }
+
+    private static BigDecimal asDecimal(Object value) {
+        return value == null ? null : new BigDecimal(value.toString());
+    }
+
+    private static Long asLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    private static int asInt(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.buildnest_ecommerce.event.bus;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A domain event as it travels between the outbox and its consumers.
+ *
+ * @param eventId       unique id, the consumers' idempotency key
+ * @param eventType     stable type name, e.g. {@code order.placed}
+ * @param aggregateType kind of entity the event belongs to
+ * @param aggregateId   id of that entity; events of one aggregate share a
+ *                      partition key and stay in order
+ * @param occurredAt    when the event was raised
+ * @param payload       event fields
+ */
+public record EventEnvelope(String eventId, String eventType, String aggregateType, String aggregateId,
+        Instant occurredAt, Map<String, Object> payload) {
+
+    /**
+     * @return the transport partition key, or null for events without an aggregate id
+     */
+    public String partitionKey() {
+        return aggregateId == null ? null : aggregateType + ":" + aggregateId;
+    }
+}
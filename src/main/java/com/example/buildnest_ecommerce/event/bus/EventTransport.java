@@ -0,0 +1,19 @@
+package com.example.buildnest_ecommerce.event.bus;
+
+import java.util.List;
+
+/**
+ * Carries relayed outbox events to their consumers. Selected with
+ * {@code events.transport}.
+ */
+public interface EventTransport {
+
+    /**
+     * Publishes the batch in order and returns once the transport has
+     * accepted all of it.
+     *
+     * @throws Exception if any event was not accepted; the whole batch is
+     *                   relayed again, and consumers drop the duplicates
+     */
+    void send(List<EventEnvelope> batch) throws Exception;
+}
@@ -0,0 +1,30 @@
+package com.example.buildnest_ecommerce.event.bus;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Delivers relayed events to this instance's own listeners. The default
+ * transport, for development, tests and single-instance deployments.
+ *
+ * A listener failure fails the send, so the relay retries the event;
+ * events of the batch that were already handled are skipped on redelivery
+ * by the dispatcher's idempotency record.
+ */
+@Component
+@ConditionalOnProperty(name = "events.transport", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryEventTransport implements EventTransport {
+
+    private final InboundEventDispatcher dispatcher;
+
+    @Override
+    public void send(List<EventEnvelope> batch) {
+        for (EventEnvelope envelope : batch) {
+            dispatcher.dispatch(envelope);
+        }
+    }
+}
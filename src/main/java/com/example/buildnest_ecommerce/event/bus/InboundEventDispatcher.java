@@ -0,0 +1,95 @@
+package com.example.buildnest_ecommerce.event.bus;
+
+import com.example.buildnest_ecommerce.config.properties.EventBusProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Consumer side of the event bus: turns a delivered envelope back into the
+ * domain event and publishes it to the in-process listeners, at most once
+ * per {@code events.consumer-name}.
+ *
+ * The idempotency key is the envelope's event id. It is recorded in
+ * {@code consumed_event} in the same transaction in which the event is
+ * published, so a listener that fails synchronously rolls the record back
+ * and the redelivered event is handled again.
+ */
+@Slf4j
+@Component
+public class InboundEventDispatcher {
+
+    static final String INSERT_CONSUMED_SQL =
+            "INSERT INTO consumed_event (consumer, event_id, consumed_at) VALUES (?, ?, ?)";
+
+    private final DomainEventCodec codec;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final String consumer;
+    private final Counter handled;
+    private final Counter duplicates;
+    private final Counter unknown;
+
+    public InboundEventDispatcher(DomainEventCodec codec, ApplicationEventPublisher eventPublisher,
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, EventBusProperties properties,
+            Clock clock, MeterRegistry meterRegistry) {
+        this.codec = codec;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.consumer = properties.getConsumerName();
+        this.handled = consumedCounter(meterRegistry, "handled");
+        this.duplicates = consumedCounter(meterRegistry, "duplicate");
+        this.unknown = consumedCounter(meterRegistry, "unknown");
+    }
+
+    private static Counter consumedCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("events.consumed")
+                .description("Domain events received from the event transport, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true if the event was published here, false if it was a
+     *         duplicate or of a type this service does not know
+     */
+    public boolean dispatch(EventEnvelope envelope) {
+        Object event = codec.decode(envelope, this);
+        if (event == null) {
+            unknown.increment();
+            log.warn("Ignoring domain event {} of unknown type {}", envelope.eventId(), envelope.eventType());
+            return false;
+        }
+        Boolean published = transactionTemplate.execute(status -> {
+            try {
+                jdbcTemplate.update(INSERT_CONSUMED_SQL, consumer, envelope.eventId(),
+                        Timestamp.valueOf(LocalDateTime.now(clock)));
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+            eventPublisher.publishEvent(event);
+            return true;
+        });
+        if (Boolean.TRUE.equals(published)) {
+            handled.increment();
+            return true;
+        }
+        duplicates.increment();
+        log.debug("Skipping domain event {} already handled by {}", envelope.eventId(), consumer);
+        return false;
+    }
+}
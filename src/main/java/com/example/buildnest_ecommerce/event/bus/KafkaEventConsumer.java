@@ -0,0 +1,27 @@
+package com.example.buildnest_ecommerce.event.bus;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the domain event topic and hands each envelope to the
+ * {@link InboundEventDispatcher}. Instances sharing
+ * {@code events.consumer-name} form one consumer group and split the
+ * partitions; an exception leaves the record to be redelivered.
+ */
+@Component
+@ConditionalOnProperty(name = "events.transport", havingValue = "kafka")
+@RequiredArgsConstructor
+public class KafkaEventConsumer {
+
+    private final DomainEventCodec codec;
+    private final InboundEventDispatcher dispatcher;
+
+    @KafkaListener(topics = "${events.kafka.topic:buildnest.domain-events}",
+            groupId = "${events.consumer-name:buildnest-ecommerce}")
+    public void onMessage(String value) {
+        dispatcher.dispatch(codec.read(value));
+    }
+}
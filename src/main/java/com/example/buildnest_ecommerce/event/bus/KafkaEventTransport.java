@@ -0,0 +1,51 @@
+package com.example.buildnest_ecommerce.event.bus;
+
+import com.example.buildnest_ecommerce.config.properties.EventBusProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes relayed events to {@code events.kafka.topic}, keyed by
+ * aggregate so all events of one order, product or user land on the same
+ * partition and are consumed in order. The batch is sent without waiting
+ * per record and then awaited as a whole.
+ */
+@Component
+@ConditionalOnProperty(name = "events.transport", havingValue = "kafka")
+public class KafkaEventTransport implements EventTransport {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final DomainEventCodec codec;
+    private final String topic;
+    private final long sendTimeoutMs;
+
+    public KafkaEventTransport(KafkaTemplate<String, String> kafkaTemplate, DomainEventCodec codec,
+            EventBusProperties properties) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.codec = codec;
+        this.topic = properties.getKafka().getTopic();
+        this.sendTimeoutMs = properties.getKafka().getSendTimeoutMs();
+    }
+
+    @Override
+    public void send(List<EventEnvelope> batch) throws Exception {
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(batch.size());
+        for (EventEnvelope envelope : batch) {
+            sends.add(kafkaTemplate.send(topic, envelope.partitionKey(), codec.write(envelope)));
+        }
+        kafkaTemplate.flush();
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+}
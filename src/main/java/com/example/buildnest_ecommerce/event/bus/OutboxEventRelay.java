@@ -0,0 +1,280 @@
+package com.example.buildnest_ecommerce.event.bus;
+
+import com.example.buildnest_ecommerce.config.properties.EventBusProperties;
+import com.example.buildnest_ecommerce.config.properties.SchedulerProperties;
+import com.example.buildnest_ecommerce.model.entity.OutboxEvent;
+import com.example.buildnest_ecommerce.repository.OutboxEventRepository;
+import com.example.buildnest_ecommerce.service.scheduler.lock.JobLock;
+import com.example.buildnest_ecommerce.service.scheduler.lock.JobLockProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Relays the {@code domain_event_outbox} to the {@link EventTransport}.
+ *
+ * One daemon thread reads unpublished rows in id order, a batch at a time,
+ * hands the batch to the transport and stamps the rows published once the
+ * transport has accepted all of them. If the transport fails, the rows are
+ * sent one at a time up to the first that fails, so the events ahead of it
+ * are published and the failure is recorded against the event that caused
+ * it; the rest are sent again on the next cycle. Delivery is at-least-once
+ * and consumers deduplicate on the event id. Failed cycles back off
+ * exponentially from {@code poll-interval-ms} to {@code max-backoff-ms}, and
+ * an event that has failed {@code max-attempts} times is parked (its
+ * {@code parked_at} stamped) so it no longer holds up the events behind it.
+ *
+ * Only one instance relays at a time, which keeps events in commit order:
+ * the relay holds the {@value #LOCK_NAME} job lock for two thirds of
+ * {@code events.outbox.lease-ms}, then releases it and competes for it
+ * again. If the holder dies the lease runs out and another instance takes
+ * over. With {@code scheduler.lock.enabled=false} every instance relays.
+ *
+ * Meters: {@code events.outbox.published}, {@code events.outbox.failures}
+ * and {@code events.outbox.parked} counters and an {@code events.outbox.lag}
+ * timer from commit to relay.
+ */
+@Slf4j
+@Component
+public class OutboxEventRelay {
+
+    static final String LOCK_NAME = "domain-event-outbox-relay";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository repository;
+    private final DomainEventCodec codec;
+    private final EventTransport transport;
+    private final JobLockProvider lockProvider;
+    private final Clock clock;
+    private final boolean enabled;
+    private final boolean lockEnabled;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final long maxBackoffNanos;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration term;
+    private final String owner = UUID.randomUUID().toString();
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Counter parkedCounter;
+    private final Timer lagTimer;
+    private JobLock leadership;
+    private int failedCycles;
+    private volatile Thread poller;
+    private volatile boolean closed;
+
+    public OutboxEventRelay(OutboxEventRepository repository, DomainEventCodec codec, EventTransport transport,
+            JobLockProvider lockProvider, SchedulerProperties schedulerProperties, EventBusProperties properties,
+            Clock clock, MeterRegistry meterRegistry) {
+        EventBusProperties.Outbox outbox = properties.getOutbox();
+        this.repository = repository;
+        this.codec = codec;
+        this.transport = transport;
+        this.lockProvider = lockProvider;
+        this.clock = clock;
+        this.enabled = outbox.isEnabled();
+        this.lockEnabled = schedulerProperties.getLock().isEnabled();
+        this.batchSize = Math.max(1, outbox.getBatchSize());
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, outbox.getPollIntervalMs()));
+        this.maxBackoffNanos = Math.max(pollIntervalNanos, TimeUnit.MILLISECONDS.toNanos(outbox.getMaxBackoffMs()));
+        this.maxAttempts = Math.max(1, outbox.getMaxAttempts());
+        this.lease = Duration.ofMillis(Math.max(1_000L, outbox.getLeaseMs()));
+        this.term = lease.multipliedBy(2).dividedBy(3);
+        this.publishedCounter = Counter.builder("events.outbox.published")
+                .description("Domain events accepted by the event transport")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("events.outbox.failures")
+                .description("Outbox batches the event transport did not accept")
+                .register(meterRegistry);
+        this.parkedCounter = Counter.builder("events.outbox.parked")
+                .description("Domain events set aside after max-attempts failed sends")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("events.outbox.lag")
+                .description("Time from raising a domain event to handing it to the transport")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "domain-event-relay");
+        thread.setDaemon(true);
+        poller = thread;
+        thread.start();
+    }
+
+    /**
+     * Relays new rows now instead of at the next poll; called after a
+     * transaction that wrote to the outbox commits.
+     */
+    public void wake() {
+        Thread current = poller;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            int relayed = 0;
+            try {
+                relayed = relayBatch();
+            } catch (Exception e) {
+                failedCycles++;
+                log.warn("Domain event relay cycle failed: {}", e.getMessage());
+            }
+            if (failedCycles > 0) {
+                LockSupport.parkNanos(this, backoffNanos());
+            } else if (relayed < batchSize) {
+                LockSupport.parkNanos(this, pollIntervalNanos);
+            }
+        }
+    }
+
+    private long backoffNanos() {
+        return Math.min(maxBackoffNanos, pollIntervalNanos << Math.min(failedCycles - 1, 20));
+    }
+
+    /**
+     * Sends one batch of unpublished events if this instance is the relay.
+     *
+     * @return number of events published or parked
+     */
+    int relayBatch() {
+        if (!lead()) {
+            return 0;
+        }
+        List<OutboxEvent> rows = repository.findUnpublished(PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) {
+            failedCycles = 0;
+            return 0;
+        }
+        try {
+            List<EventEnvelope> batch = rows.stream().map(codec::fromOutbox).toList();
+            transport.send(batch);
+            published(rows, batch);
+            failedCycles = 0;
+            return rows.size();
+        } catch (Exception e) {
+            failureCounter.increment();
+            failedCycles++;
+            log.warn("Event transport rejected {} domain events starting at {}: {}", rows.size(),
+                    rows.get(0).getId(), e.getMessage());
+            return rows.size() > 1 ? relayEach(rows) : failed(rows.get(0), e);
+        }
+    }
+
+    /**
+     * Sends the rows one at a time, in order, until one fails.
+     */
+    private int relayEach(List<OutboxEvent> rows) {
+        int relayed = 0;
+        for (OutboxEvent row : rows) {
+            try {
+                EventEnvelope envelope = codec.fromOutbox(row);
+                transport.send(List.of(envelope));
+                published(List.of(row), List.of(envelope));
+                relayed++;
+            } catch (Exception e) {
+                return relayed + failed(row, e);
+            }
+        }
+        return relayed;
+    }
+
+    /**
+     * Records a failed send of {@code row}, parking it once it has used up
+     * its attempts.
+     *
+     * @return 1 if the row was parked, else 0
+     */
+    private int failed(OutboxEvent row, Exception e) {
+        String error = String.valueOf(e.getMessage());
+        repository.recordFailure(row.getId(),
+                error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (row.getAttempts() + 1 < maxAttempts) {
+            return 0;
+        }
+        repository.park(row.getId(), LocalDateTime.now(clock));
+        parkedCounter.increment();
+        // The relay got past the failure, so the next cycle need not wait
+        failedCycles = 0;
+        log.error("Parked domain event {} ({}, outbox id {}) after {} failed attempts: {}", row.getEventId(),
+                row.getEventType(), row.getId(), row.getAttempts() + 1, error);
+        return 1;
+    }
+
+    private void published(List<OutboxEvent> rows, List<EventEnvelope> batch) {
+        repository.markPublished(rows.stream().map(OutboxEvent::getId).toList(), LocalDateTime.now(clock));
+        Instant now = clock.instant();
+        for (EventEnvelope envelope : batch) {
+            lagTimer.record(Duration.between(envelope.occurredAt(), now));
+        }
+        publishedCounter.increment(rows.size());
+    }
+
+    /**
+     * @return true if this instance holds the relay lock, renewing it when
+     *         the current term is over
+     */
+    private boolean lead() {
+        if (!lockEnabled) {
+            return true;
+        }
+        if (leadership != null) {
+            if (Instant.now().isBefore(leadership.acquiredAt().plus(term))) {
+                return true;
+            }
+            resign();
+        }
+        leadership = lockProvider.tryAcquire(LOCK_NAME, owner, lease).orElse(null);
+        if (leadership != null) {
+            log.debug("Relaying domain events under fencing token {}", leadership.fencingToken());
+        }
+        return leadership != null;
+    }
+
+    private void resign() {
+        JobLock held = leadership;
+        leadership = null;
+        try {
+            lockProvider.release(held, Duration.ZERO);
+        } catch (Exception e) {
+            log.warn("Failed to release the domain event relay lock; it expires with its lease", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        closed = true;
+        Thread current = poller;
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (leadership != null && (current == null || !current.isAlive())) {
+            resign();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.buildnest_ecommerce.exception;
+
+/**
+ * Exception for work shed because a bounded executor is saturated.
+ */
+public class ServiceOverloadedException extends BuildNestException {
+    private static final long serialVersionUID = 1L;
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message) {
+        this(message, 1L);
+    }
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super("SERVICE_OVERLOADED", message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public ServiceOverloadedException(String message, Throwable cause) {
+        super("SERVICE_OVERLOADED", message, cause);
+        this.retryAfterSeconds = 1L;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
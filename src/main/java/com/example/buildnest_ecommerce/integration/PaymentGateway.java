@@ -0,0 +1,29 @@
+package com.example.buildnest_ecommerce.integration;
+
+import com.razorpay.Payment;
+
+/**
+ * The payment gateway behind {@link PaymentGatewayClient}.
+ *
+ * Implementations block the calling thread; PaymentGatewayClient runs them
+ * on the {@code payments} lane with a timeout and a circuit breaker.
+ * {@code payment.gateway.provider} selects the implementation:
+ * {@code razorpay} (the default) calls Razorpay, {@code simulator} answers
+ * in-process for load tests.
+ */
+public interface PaymentGateway {
+
+    /**
+     * @return the gateway's order id
+     */
+    String createOrder(Double amount, Long orderId);
+
+    /**
+     * Checks the HMAC a payment callback carries; does not call the gateway.
+     */
+    boolean verifySignature(String razorpayOrderId, String razorpayPaymentId, String razorpaySignature);
+
+    void refundPayment(String razorpayPaymentId, Double amount);
+
+    Payment fetchPaymentDetails(String razorpayPaymentId);
+}
@@ -0,0 +1,222 @@
+package com.example.buildnest_ecommerce.integration;
+
+import com.example.buildnest_ecommerce.config.AsyncConfig;
+import com.example.buildnest_ecommerce.config.properties.PaymentProperties;
+import com.razorpay.Payment;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking access to the {@link PaymentGateway}.
+ *
+ * Every call runs on the {@code payments} async lane, a bulkhead that
+ * rejects once it is full, under the {@code payment-gateway} time limiter
+ * and circuit breaker: a call that takes longer than
+ * {@code payment.gateway.timeout-ms} fails with a TimeoutException, and
+ * while the breaker is open calls fail at once with CallNotPermittedException
+ * without reaching the gateway. Callers get a CompletableFuture and never
+ * wait on the gateway themselves.
+ *
+ * A timeout does not stop the call: the request is already on the wire and
+ * keeps running on its lane thread. An order the gateway creates after the
+ * caller gave up has no payment row; it is logged with our order id, which
+ * the gateway holds as the order's receipt, and counted in
+ * {@code payments.gateway.late-orders} so it can be reconciled.
+ *
+ * Idempotent reads are hedged: if an answer has not arrived after
+ * {@code payment.gateway.hedge-delay-ms}, or the attempt fails, another copy
+ * is sent, up to {@code payment.gateway.hedge-attempts} in total, and the
+ * first answer wins. Order creation and refunds are not idempotent at the
+ * gateway and are sent once. Meter: {@code payments.gateway.hedges}.
+ */
+@Slf4j
+@Component
+public class PaymentGatewayClient {
+
+    private final PaymentGateway gateway;
+    private final Executor executor;
+    private final CircuitBreaker circuitBreaker;
+    private final TimeLimiter timeLimiter;
+    private final ScheduledExecutorService timer;
+    private final long hedgeDelayMs;
+    private final int hedgeAttempts;
+    private final Counter hedges;
+    private final Counter lateOrders;
+
+    public PaymentGatewayClient(PaymentGateway gateway,
+            @Qualifier(AsyncConfig.PAYMENT_EXECUTOR) Executor executor,
+            @Qualifier("paymentGatewayCircuitBreaker") CircuitBreaker circuitBreaker,
+            @Qualifier("paymentGatewayTimeLimiter") TimeLimiter timeLimiter,
+            PaymentProperties paymentProperties, MeterRegistry meterRegistry) {
+        PaymentProperties.Gateway settings = paymentProperties.getGateway();
+        this.gateway = gateway;
+        this.executor = executor;
+        this.circuitBreaker = circuitBreaker;
+        this.timeLimiter = timeLimiter;
+        this.hedgeDelayMs = Math.max(1L, settings.getHedgeDelayMs());
+        this.hedgeAttempts = Math.max(1, settings.getHedgeAttempts());
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "payment-gateway-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.timer = scheduler;
+        this.hedges = Counter.builder("payments.gateway.hedges")
+                .description("Extra copies of idempotent payment gateway reads sent after the hedge delay")
+                .register(meterRegistry);
+        this.lateOrders = Counter.builder("payments.gateway.late-orders")
+                .description("Gateway orders created after the call had already timed out")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the gateway's order id
+     */
+    public CompletableFuture<String> createOrder(Double amount, Long orderId) {
+        return call(() -> gateway.createOrder(amount, orderId), razorpayOrderId -> {
+            lateOrders.increment();
+            log.warn("Gateway order {} for order {} was created after the call timed out", razorpayOrderId, orderId);
+        });
+    }
+
+    public CompletableFuture<Void> refundPayment(String razorpayPaymentId, Double amount) {
+        return call(() -> {
+            gateway.refundPayment(razorpayPaymentId, amount);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Payment> fetchPaymentDetails(String razorpayPaymentId) {
+        return new HedgedCall<>(() -> gateway.fetchPaymentDetails(razorpayPaymentId)).start();
+    }
+
+    /**
+     * Local HMAC check; does not call the gateway.
+     */
+    public boolean verifySignature(String razorpayOrderId, String razorpayPaymentId, String razorpaySignature) {
+        return gateway.verifySignature(razorpayOrderId, razorpayPaymentId, razorpaySignature);
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<T> operation) {
+        return call(operation, null);
+    }
+
+    /**
+     * @param lateAnswer receives the answer of a call that completed after
+     *                   the caller had already been failed, or null
+     */
+    private <T> CompletableFuture<T> call(Supplier<T> operation, Consumer<T> lateAnswer) {
+        AtomicReference<CompletableFuture<T>> sent = new AtomicReference<>();
+        CompletableFuture<T> result = circuitBreaker.executeCompletionStage(() -> timeLimiter.executeCompletionStage(
+                timer, () -> {
+                    CompletableFuture<T> attempt = submit(operation);
+                    sent.set(attempt);
+                    // the limiter fails the future it is given on timeout; keep the attempt's own answer
+                    return attempt.copy();
+                })).toCompletableFuture();
+        if (lateAnswer != null) {
+            result.whenComplete((value, error) -> {
+                CompletableFuture<T> attempt = sent.get();
+                if (error != null && attempt != null) {
+                    attempt.thenAccept(lateAnswer);
+                }
+            });
+        }
+        return result;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(operation, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * One idempotent read sent up to {@code hedgeAttempts} times; completes
+     * with the first answer, or with the last error once every copy failed.
+     */
+    private final class HedgedCall<T> {
+        private final Supplier<T> operation;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private int launched;
+        private int failed;
+
+        HedgedCall(Supplier<T> operation) {
+            this.operation = operation;
+        }
+
+        CompletableFuture<T> start() {
+            launch(false);
+            return result;
+        }
+
+        /**
+         * Sends another copy unless the call is done or out of attempts. A
+         * hedge is counted here, before the copy can answer, so the meter is
+         * up to date once the result completes.
+         *
+         * @param hedge whether the copy is sent because the hedge delay passed
+         */
+        private void launch(boolean hedge) {
+            synchronized (this) {
+                if (result.isDone() || launched >= hedgeAttempts) {
+                    return;
+                }
+                launched++;
+                if (hedge) {
+                    hedges.increment();
+                }
+                if (launched < hedgeAttempts) {
+                    ScheduledFuture<?> next = timer.schedule(() -> launch(true), hedgeDelayMs, TimeUnit.MILLISECONDS);
+                    result.whenComplete((value, error) -> next.cancel(false));
+                }
+            }
+            call(operation).whenComplete(this::onAttempt);
+        }
+
+        private void onAttempt(T value, Throwable error) {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            boolean retry;
+            boolean exhausted;
+            synchronized (this) {
+                failed++;
+                retry = launched < hedgeAttempts;
+                exhausted = !retry && failed == launched;
+            }
+            if (retry) {
+                log.debug("Payment gateway read failed, sending it again: {}", error.getMessage());
+                launch(false);
+            } else if (exhausted) {
+                result.completeExceptionally(error);
+            }
+        }
+    }
+}
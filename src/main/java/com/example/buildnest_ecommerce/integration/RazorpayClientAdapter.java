@@ -1,46 +1,58 @@
 package com.example.buildnest_ecommerce.integration;
 
+import com.example.buildnest_ecommerce.config.properties.RazorpayProperties;
+import com.example.buildnest_ecommerce.security.HmacSigner;
 import com.razorpay.Order;
 import com.razorpay.Payment;
 import com.razorpay.RazorpayClient;
-import lombok.RequiredArgsConstructor;
+import com.razorpay.RazorpayException;
 import lombok.extern.slf4j.Slf4j;
 import org.json.JSONObject;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
-
+/**
+ * Blocking calls to the Razorpay API.
+ *
+ * The SDK client is created once, when the bean is constructed, and shared
+ * by all threads. Callers outside the payment gateway should go through
+ * {@link PaymentGatewayClient}, which runs these calls off the request
+ * thread with a timeout and a circuit breaker.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class RazorpayClientAdapter {
-    @Value("${razorpay.key.id}")
-    private String razorpayKeyId;
-    
-    @Value("${razorpay.key.secret}")
-    private String razorpayKeySecret;
-    
-    private RazorpayClient razorpayClient;
-    
-    private void initClient() {
+@ConditionalOnProperty(name = "payment.gateway.provider", havingValue = "razorpay", matchIfMissing = true)
+public class RazorpayClientAdapter implements PaymentGateway {
+    private final String razorpayKeySecret;
+    private final String previousKeySecret;
+    private final HmacSigner signer;
+    private final RazorpayClient razorpayClient;
+
+    @Autowired
+    public RazorpayClientAdapter(RazorpayProperties razorpayProperties, HmacSigner signer) {
+        this(razorpayProperties, signer, createClient(razorpayProperties));
+    }
+
+    RazorpayClientAdapter(RazorpayProperties razorpayProperties, HmacSigner signer, RazorpayClient razorpayClient) {
+        this.razorpayKeySecret = razorpayProperties.getSecret();
+        this.previousKeySecret = razorpayProperties.getPreviousSecret();
+        this.signer = signer;
+        this.razorpayClient = razorpayClient;
+    }
+
+    private static RazorpayClient createClient(RazorpayProperties razorpayProperties) {
         try {
-            if (razorpayClient == null) {
-                razorpayClient = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
-            }
-        } catch (Exception e) {
-            log.error("Error initializing Razorpay client", e);
-            throw new RuntimeException("Failed to initialize Razorpay client");
+            return new RazorpayClient(razorpayProperties.getId(), razorpayProperties.getSecret());
+        } catch (RazorpayException e) {
+            throw new IllegalStateException("Failed to initialize Razorpay client", e);
         }
     }
-    
+
+    @Override
     public String createOrder(Double amount, Long orderId) {
         log.info("Creating Razorpay order for amount: {}, orderId: {}", amount, orderId);
         try {
-            initClient();
-            
             JSONObject orderRequest = new JSONObject();
             orderRequest.put("amount", (int)(amount * 100)); // Amount in paise
             orderRequest.put("currency", "INR");
@@ -57,13 +69,12 @@ public class RazorpayClientAdapter {
         }
     }
     
+    @Override
     public boolean verifySignature(String razorpayOrderId, String razorpayPaymentId, String razorpaySignature) {
         log.info("Verifying Razorpay signature for order: {}", razorpayOrderId);
         try {
-            String message = razorpayOrderId + "|" + razorpayPaymentId;
-            String generated = hmacSHA256(message, razorpayKeySecret);
-            
-            boolean isValid = generated.equals(razorpaySignature);
+            boolean isValid = signer.matchesHex(razorpayOrderId + "|" + razorpayPaymentId, razorpaySignature,
+                    razorpayKeySecret, previousKeySecret);
             log.info("Signature verification result: {}", isValid);
             return isValid;
         } catch (Exception e) {
@@ -72,11 +83,10 @@ public class RazorpayClientAdapter {
         }
     }
     
+    @Override
     public void refundPayment(String razorpayPaymentId, Double amount) {
         log.info("Creating refund for payment: {}, amount: {}", razorpayPaymentId, amount);
         try {
-            initClient();
-            
             JSONObject refundRequest = new JSONObject();
             refundRequest.put("amount", (int)(amount * 100)); // Amount in paise
             
@@ -89,27 +99,14 @@ public class RazorpayClientAdapter {
         }
     }
     
+    @Override
     public Payment fetchPaymentDetails(String razorpayPaymentId) {
         log.info("Fetching payment details for: {}", razorpayPaymentId);
         try {
-            initClient();
             return razorpayClient.payments.fetch(razorpayPaymentId);
         } catch (Exception e) {
             log.error("Error fetching payment details", e);
             throw new RuntimeException("Failed to fetch payment details", e);
         }
     }
-    
-    private String hmacSHA256(String message, String secret) throws Exception {
-        Mac sha256_HMAC = Mac.getInstance("HmacSHA256");
-        SecretKeySpec secret_key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-        sha256_HMAC.init(secret_key);
-        
-        byte[] hash = sha256_HMAC.doFinal(message.getBytes(StandardCharsets.UTF_8));
-        StringBuilder result = new StringBuilder();
-        for (byte b : hash) {
-            result.append(String.format("%02x", b));
-        }
-        return result.toString();
-    }
 }
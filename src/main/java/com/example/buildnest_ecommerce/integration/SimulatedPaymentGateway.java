@@ -0,0 +1,226 @@
+package com.example.buildnest_ecommerce.integration;
+
+import com.example.buildnest_ecommerce.config.properties.PaymentProperties;
+import com.example.buildnest_ecommerce.config.properties.RazorpayProperties;
+import com.example.buildnest_ecommerce.exception.ExternalServiceException;
+import com.example.buildnest_ecommerce.repository.PaymentRepository;
+import com.example.buildnest_ecommerce.security.HmacSigner;
+import com.example.buildnest_ecommerce.service.payment.PaymentService;
+import com.razorpay.Payment;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for Razorpay, for load tests; selected with
+ * {@code payment.gateway.provider=simulator} (the {@code loadtest} profile).
+ *
+ * Each call sleeps for a latency drawn from
+ * {@code payment.simulator.latency.*} and fails with an
+ * ExternalServiceException at {@code payment.simulator.error-rate}. For a
+ * share of the orders it creates, the simulator later plays the customer
+ * paying: it sends {@link PaymentService#processPaymentCallback} a callback
+ * signed with {@code razorpay.key.secret} exactly as Razorpay signs it,
+ * after a random delay so callbacks arrive out of order, sometimes twice,
+ * and again after a failure. A callback is held until the payment row of
+ * its order has been saved, as Razorpay only calls back once the customer
+ * has been sent to pay, and is dropped as unmatched if the row does not
+ * appear within {@code payment-wait-ms}. Meter:
+ * {@code payments.simulator.callbacks}, tagged by outcome.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payment.gateway.provider", havingValue = "simulator")
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private static final double Z_99 = 2.326;
+    private static final long PAYMENT_POLL_MS = 50L;
+
+    private final String secret;
+    private final HmacSigner signer;
+    private final PaymentProperties.Latency latency;
+    private final PaymentProperties.Callbacks callbacks;
+    private final double errorRate;
+    private final double mu;
+    private final double sigma;
+    private final ObjectProvider<PaymentService> paymentService;
+    private final PaymentRepository paymentRepository;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService scheduler;
+    // Gateway ids are unique across restarts, as payments.razorpay_order_id is a unique key
+    private final String instance = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SimulatedPaymentGateway(RazorpayProperties razorpayProperties, HmacSigner signer,
+            PaymentProperties paymentProperties, ObjectProvider<PaymentService> paymentService,
+            PaymentRepository paymentRepository, MeterRegistry meterRegistry) {
+        PaymentProperties.Simulator simulator = paymentProperties.getSimulator();
+        this.secret = razorpayProperties.getSecret();
+        this.signer = signer;
+        this.latency = simulator.getLatency();
+        this.callbacks = simulator.getCallbacks();
+        this.errorRate = simulator.getErrorRate();
+        String distribution = latency.getDistribution().toLowerCase(Locale.ROOT);
+        if (!distribution.equals("none") && !distribution.equals("fixed") && !distribution.equals("uniform")
+                && !distribution.equals("lognormal")) {
+            throw new IllegalArgumentException("Unknown simulator latency distribution: " + distribution);
+        }
+        this.mu = Math.log(Math.max(1L, latency.getMedianMs()));
+        this.sigma = Math.max(0.0, (Math.log(Math.max(1L, latency.getP99Ms())) - mu) / Z_99);
+        this.paymentService = paymentService;
+        this.paymentRepository = paymentRepository;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threads = new AtomicInteger();
+        this.scheduler = new ScheduledThreadPoolExecutor(Math.max(1, callbacks.getThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "payment-simulator-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.warn("Payment gateway simulator active: no calls reach Razorpay");
+    }
+
+    @Override
+    public String createOrder(Double amount, Long orderId) {
+        if (amount == null || amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        respond();
+        long id = sequence.incrementAndGet();
+        String razorpayOrderId = "order_sim_" + instance + "_" + id;
+        if (callbacks.isEnabled() && ThreadLocalRandom.current().nextDouble() < callbacks.getPaymentRate()) {
+            String razorpayPaymentId = "pay_sim_" + instance + "_" + id;
+            Callback callback = new Callback(razorpayOrderId, razorpayPaymentId,
+                    sign(razorpayOrderId, razorpayPaymentId),
+                    System.currentTimeMillis() + callbacks.getPaymentWaitMs());
+            schedule(callback, 1);
+            if (ThreadLocalRandom.current().nextDouble() < callbacks.getDuplicateRate()) {
+                schedule(callback, 1);
+            }
+        }
+        return razorpayOrderId;
+    }
+
+    @Override
+    public boolean verifySignature(String razorpayOrderId, String razorpayPaymentId, String razorpaySignature) {
+        return signer.matchesHex(razorpayOrderId + "|" + razorpayPaymentId, razorpaySignature, secret);
+    }
+
+    @Override
+    public void refundPayment(String razorpayPaymentId, Double amount) {
+        respond();
+    }
+
+    @Override
+    public Payment fetchPaymentDetails(String razorpayPaymentId) {
+        respond();
+        return new Payment(new JSONObject()
+                .put("id", razorpayPaymentId)
+                .put("entity", "payment")
+                .put("currency", "INR")
+                .put("status", "captured"));
+    }
+
+    /**
+     * @return a latency in milliseconds from the configured distribution,
+     *         within {@code min-ms} and {@code max-ms}
+     */
+    long sampleLatencyMs() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long millis = switch (latency.getDistribution().toLowerCase(Locale.ROOT)) {
+            case "none" -> 0L;
+            case "fixed" -> latency.getMedianMs();
+            case "uniform" -> latency.getMinMs() + (long) (random.nextDouble()
+                    * (Math.max(latency.getMinMs(), latency.getMaxMs()) - latency.getMinMs()));
+            default -> Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+        };
+        if (millis == 0L) {
+            return 0L;
+        }
+        return Math.max(latency.getMinMs(), Math.min(latency.getMaxMs(), millis));
+    }
+
+    private void respond() {
+        long millis = sampleLatencyMs();
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExternalServiceException("Razorpay simulator", "interrupted");
+            }
+        }
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            throw new ExternalServiceException("Razorpay simulator", "injected failure");
+        }
+    }
+
+    private String sign(String razorpayOrderId, String razorpayPaymentId) {
+        return signer.hex(secret, razorpayOrderId + "|" + razorpayPaymentId);
+    }
+
+    private void schedule(Callback callback, int attempt) {
+        schedule(callback, attempt, callbacks.getDelayMs()
+                + ThreadLocalRandom.current().nextLong(Math.max(1L, callbacks.getReorderWindowMs())));
+    }
+
+    private void schedule(Callback callback, int attempt, long delay) {
+        try {
+            scheduler.schedule(() -> deliver(callback, attempt), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Simulator stopped; callback for {} dropped", callback.razorpayOrderId());
+        }
+    }
+
+    private void deliver(Callback callback, int attempt) {
+        try {
+            if (!paymentRepository.existsByRazorpayOrderId(callback.razorpayOrderId())) {
+                if (System.currentTimeMillis() < callback.paymentDeadline()) {
+                    schedule(callback, attempt, PAYMENT_POLL_MS);
+                } else {
+                    count("unmatched");
+                    log.debug("No payment for simulated order {}; callback dropped", callback.razorpayOrderId());
+                }
+                return;
+            }
+            paymentService.getObject().processPaymentCallback(callback.razorpayOrderId(),
+                    callback.razorpayPaymentId(), callback.signature());
+            count("delivered");
+        } catch (RuntimeException e) {
+            if (attempt < callbacks.getMaxAttempts()) {
+                count("retried");
+                schedule(callback, attempt + 1);
+            } else {
+                count("failed");
+                log.debug("Simulated callback for {} failed after {} attempts: {}", callback.razorpayOrderId(),
+                        attempt, e.getMessage());
+            }
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("payments.simulator.callbacks", "outcome", outcome).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private record Callback(String razorpayOrderId, String razorpayPaymentId, String signature,
+            long paymentDeadline) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.buildnest_ecommerce.interceptor;
+
+import com.example.buildnest_ecommerce.util.CorrelationId;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Assigns every request a correlation id before any other filter runs.
+ * A well-formed inbound {@code X-Correlation-ID} (or {@code X-Request-ID})
+ * is kept so ids flow across services; otherwise a UUID is generated. The id
+ * is put in the MDC for logging and audit events and echoed on the response.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    static final String REQUEST_ID_HEADER = "X-Request-ID";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String correlationId = resolve(request);
+        MDC.put(CorrelationId.MDC_KEY, correlationId);
+        response.setHeader(CorrelationId.HEADER, correlationId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(CorrelationId.MDC_KEY);
+        }
+    }
+
+    private static String resolve(HttpServletRequest request) {
+        String inbound = request.getHeader(CorrelationId.HEADER);
+        if (inbound == null) {
+            inbound = request.getHeader(REQUEST_ID_HEADER);
+        }
+        return CorrelationId.isValid(inbound) ? inbound : CorrelationId.generate();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.buildnest_ecommerce.interceptor;
+
+import com.example.buildnest_ecommerce.util.CorrelationId;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Adds the current correlation id to outbound {@code RestTemplate} calls
+ * (webhooks, notifications, alerting) unless the caller already set one.
+ */
+public class CorrelationIdRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String correlationId = CorrelationId.current();
+        if (correlationId != null && !request.getHeaders().containsKey(CorrelationId.HEADER)) {
+            request.getHeaders().set(CorrelationId.HEADER, correlationId);
+        }
+        return execution.execute(request, body);
+    }
+}
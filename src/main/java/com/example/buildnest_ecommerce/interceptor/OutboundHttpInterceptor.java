@@ -0,0 +1,211 @@
+package com.example.buildnest_ecommerce.interceptor;
+
+import com.example.buildnest_ecommerce.config.properties.OutboundHttpProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.URI;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Per-destination guard for outbound {@code RestTemplate} calls.
+ *
+ * Each host gets at most {@code http.outbound.max-connections-per-host}
+ * requests in flight (or its own {@code max-connections}); a caller waits
+ * up to {@code acquire-timeout-ms} for a slot and then fails with an
+ * IOException rather than queueing without bound behind a slow host. A
+ * slot is held until the response is closed, because the connection is
+ * busy until its body has been read. Requests ask for gzip and compressed
+ * responses are unpacked transparently.
+ *
+ * Slots in use, waiting callers and rejections are published per host as
+ * {@code http.outbound.connections.*}; latency and errors per host come
+ * from Spring Boot's {@code http.client.requests} timer, whose
+ * {@code client.name} tag is the host.
+ */
+public class OutboundHttpInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String GZIP = "gzip";
+
+    private static final class Destination {
+        private final Semaphore slots;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Counter rejected;
+
+        private Destination(Semaphore slots, Counter rejected) {
+            this.slots = slots;
+            this.rejected = rejected;
+        }
+    }
+
+    private final OutboundHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Destination> destinations = new ConcurrentHashMap<>();
+
+    public OutboundHttpInterceptor(OutboundHttpProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String host = host(request.getURI());
+        Destination destination = destinations.computeIfAbsent(host, this::register);
+        acquire(host, destination);
+        boolean handedOff = false;
+        try {
+            if (properties.isGzip() && !request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+                request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+            }
+            ClientHttpResponse response = new OutboundResponse(execution.execute(request, body),
+                    destination.slots::release);
+            handedOff = true;
+            return response;
+        } finally {
+            if (!handedOff) {
+                destination.slots.release();
+            }
+        }
+    }
+
+    private void acquire(String host, Destination destination) throws IOException {
+        if (destination.slots.tryAcquire()) {
+            return;
+        }
+        destination.waiting.incrementAndGet();
+        try {
+            if (!destination.slots.tryAcquire(properties.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                destination.rejected.increment();
+                throw new IOException("No free connection to " + host + " within "
+                        + properties.getAcquireTimeoutMs() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for a connection to " + host, e);
+        } finally {
+            destination.waiting.decrementAndGet();
+        }
+    }
+
+    private Destination register(String host) {
+        OutboundHttpProperties.Destination overrides = properties.getDestinations().get(host);
+        int max = overrides != null && overrides.getMaxConnections() != null
+                ? overrides.getMaxConnections()
+                : properties.getMaxConnectionsPerHost();
+        Semaphore slots = new Semaphore(Math.max(1, max), true);
+        Destination destination = new Destination(slots, Counter.builder("http.outbound.connections.rejected")
+                .description("Outbound requests that found no free connection slot in time")
+                .tag("destination", host)
+                .register(meterRegistry));
+        Gauge.builder("http.outbound.connections.max", () -> Math.max(1, max))
+                .description("Concurrent outbound requests allowed per destination")
+                .tag("destination", host)
+                .register(meterRegistry);
+        Gauge.builder("http.outbound.connections.active", slots, s -> Math.max(1, max) - s.availablePermits())
+                .description("Outbound requests in flight per destination")
+                .tag("destination", host)
+                .register(meterRegistry);
+        Gauge.builder("http.outbound.connections.pending", destination.waiting, AtomicInteger::get)
+                .description("Callers waiting for an outbound connection slot per destination")
+                .tag("destination", host)
+                .register(meterRegistry);
+        return destination;
+    }
+
+    private static String host(URI uri) {
+        return uri.getHost() == null ? "unknown" : uri.getHost().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Frees the destination slot exactly once on close and unpacks gzip
+     * bodies.
+     */
+    private static final class OutboundResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final Runnable release;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final boolean gzipped;
+        private HttpHeaders headers;
+        private InputStream body;
+
+        private OutboundResponse(ClientHttpResponse delegate, Runnable release) {
+            this.delegate = delegate;
+            this.release = release;
+            this.gzipped = GZIP.equalsIgnoreCase(delegate.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            if (headers == null) {
+                if (gzipped) {
+                    HttpHeaders unpacked = new HttpHeaders();
+                    unpacked.putAll(delegate.getHeaders());
+                    unpacked.remove(HttpHeaders.CONTENT_ENCODING);
+                    unpacked.remove(HttpHeaders.CONTENT_LENGTH);
+                    headers = HttpHeaders.readOnlyHttpHeaders(unpacked);
+                } else {
+                    headers = delegate.getHeaders();
+                }
+            }
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = gzipped ? gunzip(delegate.getBody()) : delegate.getBody();
+            }
+            return body;
+        }
+
+        private static InputStream gunzip(InputStream raw) throws IOException {
+            // An empty body (204, HEAD) carries no gzip header to read
+            PushbackInputStream in = new PushbackInputStream(raw, 1);
+            int first = in.read();
+            if (first == -1) {
+                return in;
+            }
+            in.unread(first);
+            return new GZIPInputStream(in);
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                try {
+                    delegate.close();
+                } finally {
+                    release.run();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.buildnest_ecommerce.model.dto;
+
+import com.example.buildnest_ecommerce.model.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order list row: the columns of the {@code idx_orders_user_history}
+ * index, read as a projection without loading items or the user.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderSummaryDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+    private String orderNumber;
+    private Order.OrderStatus status;
+    private BigDecimal totalAmount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -70,6 +70,9 @@ public class ElasticsearchAuditLog {
     @Field(type = FieldType.Keyword)
     private String endpoint; // API endpoint path for error filtering
 
+    @Field(type = FieldType.Keyword)
+    private String correlationId; // Request correlation id, looked up with a term query
+
     @Field(type = FieldType.Object)
     private Map<String, Object> additionalContext;
 }
@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 @Table(name = "audit_logs", indexes = {
         @Index(name = "idx_audit_user_id", columnList = "userId"),
         @Index(name = "idx_audit_action", columnList = "action"),
-        @Index(name = "idx_audit_timestamp", columnList = "timestamp")
+        @Index(name = "idx_audit_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_audit_correlation_id", columnList = "correlationId")
 })
 @Immutable
 @Data
@@ -57,4 +58,7 @@ public class AuditLog {
 
     @Column(length = 50, columnDefinition = "VARCHAR(50) DEFAULT 'SUCCESS'")
     private String errorCategory; // CLIENT_ERROR, SERVER_ERROR, SUCCESS, REDIRECT
+
+    @Column(length = 64)
+    private String correlationId; // Request correlation id from the MDC
 }
@@ -0,0 +1,36 @@
+package com.example.buildnest_ecommerce.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a domain event as handled by one consumer. The unique
+ * (consumer, event_id) key turns a redelivered event into a no-op.
+ */
+@Entity
+@Table(name = "consumed_event", indexes = {
+        @Index(name = "uk_consumed_event", columnList = "consumer, event_id", unique = true),
+        @Index(name = "idx_consumed_event_consumed_at", columnList = "consumed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsumedEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "consumer", nullable = false, length = 100)
+    private String consumer;
+
+    @Column(name = "event_id", nullable = false, length = 36)
+    private String eventId;
+
+    @Column(name = "consumed_at", nullable = false)
+    private LocalDateTime consumedAt;
+}
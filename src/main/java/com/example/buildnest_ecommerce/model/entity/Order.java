@@ -12,7 +12,11 @@ import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_deleted_at", columnList = "is_deleted, deleted_at"),
+        @Index(name = "idx_orders_user_history", columnList = "user_id, is_deleted, created_at DESC, id DESC, "
+                + "status, total_amount, order_number, updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
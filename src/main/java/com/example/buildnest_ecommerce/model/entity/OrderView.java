@@ -0,0 +1,87 @@
+package com.example.buildnest_ecommerce.model.entity;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized read model of one order, keyed by the order id. Line items
+ * and status history are stored as JSON and returned as-is, so an order
+ * page is a single primary-key read. Maintained by the OrderViewService
+ * from order and payment events; OrderViewRebuilder regenerates it from
+ * the source tables.
+ */
+@Entity
+@Table(name = "order_view", indexes = {
+        @Index(name = "idx_order_view_user_created", columnList = "user_id, created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderView {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "order_number", length = 100)
+    private String orderNumber;
+
+    @Column(name = "status", length = 20)
+    private String status;
+
+    @Column(name = "payment_status", length = 20)
+    private String paymentStatus;
+
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    @Column(name = "total_amount")
+    private BigDecimal totalAmount;
+
+    @Column(name = "discount_amount")
+    private BigDecimal discountAmount;
+
+    @Column(name = "tax_amount")
+    private BigDecimal taxAmount;
+
+    @Column(name = "shipping_amount")
+    private BigDecimal shippingAmount;
+
+    @Column(name = "tracking_number")
+    private String trackingNumber;
+
+    @Column(name = "shipping_address", length = 500)
+    private String shippingAddress;
+
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+
+    @JsonRawValue
+    @Column(name = "items", nullable = false, columnDefinition = "TEXT")
+    private String items;
+
+    @JsonRawValue
+    @Column(name = "status_history", nullable = false, columnDefinition = "TEXT")
+    private String statusHistory;
+
+    @Column(name = "deleted", nullable = false)
+    private boolean deleted;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+}
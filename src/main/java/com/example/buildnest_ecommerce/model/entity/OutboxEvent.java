@@ -0,0 +1,60 @@
+package com.example.buildnest_ecommerce.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for one domain event. Written in the transaction that raised
+ * the event and relayed, in id order, to the event transport by the
+ * OutboxEventRelay, which stamps {@code publishedAt} once the transport
+ * has accepted it, or {@code parkedAt} once it has given up on the event.
+ */
+@Entity
+@Table(name = "domain_event_outbox", indexes = {
+        @Index(name = "uk_domain_event_outbox_event_id", columnList = "event_id", unique = true),
+        @Index(name = "idx_domain_event_outbox_pending", columnList = "published_at, id"),
+        @Index(name = "idx_domain_event_outbox_created", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, length = 36)
+    private String eventId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", length = 64)
+    private String aggregateId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "parked_at")
+    private LocalDateTime parkedAt;
+}
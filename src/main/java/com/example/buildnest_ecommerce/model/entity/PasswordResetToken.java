@@ -8,7 +8,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "password_reset_tokens")
+@Table(name = "password_reset_tokens", indexes = {
+        @Index(name = "idx_password_reset_tokens_expiry", columnList = "expiryDate")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
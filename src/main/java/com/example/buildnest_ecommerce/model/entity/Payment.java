@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "uk_payments_razorpay_order_id", columnList = "razorpay_order_id", unique = true),
+        @Index(name = "idx_payments_order_id", columnList = "order_id")
+})
 public class Payment {
     
     @Id
@@ -0,0 +1,44 @@
+package com.example.buildnest_ecommerce.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a chunked purge. A non-null {@code cutoff} marks a pass that
+ * was interrupted; the next run resumes after {@code lastId} with the same
+ * cutoff instead of rescanning from the start.
+ */
+@Entity
+@Table(name = "purge_checkpoint")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurgeCheckpoint {
+    @Id
+    @Column(length = 100)
+    private String target;
+
+    @Column(nullable = false)
+    private long lastId;
+
+    @Column
+    private LocalDateTime cutoff;
+
+    @Column(nullable = false)
+    private int chunkSize;
+
+    @Column
+    private LocalDateTime lastCompletedAt;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    public PurgeCheckpoint(String target, int chunkSize) {
+        this.target = target;
+        this.chunkSize = chunkSize;
+    }
+}
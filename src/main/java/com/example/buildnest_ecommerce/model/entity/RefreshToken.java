@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_user_id", columnList = "userId"),
+        @Index(name = "idx_refresh_tokens_expiry", columnList = "expiryDate")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
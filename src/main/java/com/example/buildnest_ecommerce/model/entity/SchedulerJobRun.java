@@ -0,0 +1,52 @@
+package com.example.buildnest_ecommerce.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduler_job_run", indexes = {
+        @Index(name = "idx_scheduler_job_run_job", columnList = "jobName, startedAt"),
+        @Index(name = "idx_scheduler_job_run_started", columnList = "startedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerJobRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 150)
+    private String jobName;
+
+    @Column
+    private Integer shardIndex;
+
+    @Column
+    private Integer shardCount;
+
+    @Column(length = 200)
+    private String instanceId;
+
+    @Column(nullable = false)
+    private long fencingToken;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column
+    private LocalDateTime finishedAt;
+
+    @Column
+    private Long durationMs;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(length = 1000)
+    private String error;
+}
@@ -0,0 +1,35 @@
+package com.example.buildnest_ecommerce.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cluster-wide job lock row used when Redis is not the lock provider.
+ * {@code fencingToken} increases on every successful acquisition.
+ */
+@Entity
+@Table(name = "scheduler_lock")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLock {
+    @Id
+    @Column(length = 150)
+    private String name;
+
+    @Column(length = 200)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column
+    private LocalDateTime lockedAt;
+
+    @Column(nullable = false)
+    private long fencingToken;
+}
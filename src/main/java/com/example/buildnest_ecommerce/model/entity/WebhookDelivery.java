@@ -0,0 +1,66 @@
+package com.example.buildnest_ecommerce.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for one webhook event to one subscription. Written in the
+ * transaction that raised the event and drained by the WebhookDispatcher,
+ * which leases rows while it works on them.
+ */
+@Entity
+@Table(name = "webhook_delivery", indexes = {
+        @Index(name = "idx_webhook_delivery_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_webhook_delivery_created", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookDelivery {
+    public static final String PENDING = "PENDING";
+    public static final String IN_FLIGHT = "IN_FLIGHT";
+    public static final String DELIVERED = "DELIVERED";
+    public static final String DEAD = "DEAD";
+    public static final String CANCELLED = "CANCELLED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "subscription_id", nullable = false)
+    private Long subscriptionId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status = PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+}
@@ -4,7 +4,11 @@ import com.example.buildnest_ecommerce.model.entity.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,4 +24,22 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     Page<AuditLog> findByTimestampBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
     
     List<AuditLog> findTop10ByOrderByTimestampDesc();
+
+    List<AuditLog> findByCorrelationIdOrderByTimestampAsc(String correlationId);
+
+    @Query("SELECT a.id FROM AuditLog a WHERE a.timestamp < :cutoff AND a.id > :afterId ORDER BY a.id")
+    List<Long> findIdsOlderThanAfter(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId,
+            Pageable pageable);
+
+    @Query("SELECT MIN(a.timestamp) FROM AuditLog a WHERE a.timestamp < :cutoff")
+    LocalDateTime findOldestTimestamp(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Native, because AuditLog is {@code @Immutable}: the purge must not
+     * depend on how Hibernate treats bulk JPQL on immutable entities.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM audit_logs WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,29 @@
+package com.example.buildnest_ecommerce.repository;
+
+import com.example.buildnest_ecommerce.model.entity.ConsumedEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ConsumedEventRepository extends JpaRepository<ConsumedEvent, Long> {
+
+    @Query("SELECT c.id FROM ConsumedEvent c WHERE c.consumedAt < :cutoff AND c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsConsumedBeforeAfter(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId,
+            Pageable pageable);
+
+    @Query("SELECT MIN(c.consumedAt) FROM ConsumedEvent c WHERE c.consumedAt < :cutoff")
+    LocalDateTime findOldestConsumedAt(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ConsumedEvent c WHERE c.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
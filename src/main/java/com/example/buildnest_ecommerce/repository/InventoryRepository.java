@@ -5,6 +5,7 @@ import com.example.buildnest_ecommerce.model.entity.InventoryStatus;
 import com.example.buildnest_ecommerce.model.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -41,4 +42,11 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
      */
     @Query("SELECT i FROM Inventory i WHERE i.quantityInStock <= i.minimumStockLevel")
     List<Inventory> findBelowThresholdProducts();
+
+    /**
+     * Inventory rows whose product id falls in one shard, for scans split
+     * across replicas.
+     */
+    @Query("SELECT i FROM Inventory i WHERE MOD(i.product.id, :shardCount) = :shardIndex")
+    List<Inventory> findByProductShard(@Param("shardCount") int shardCount, @Param("shardIndex") int shardIndex);
 }
@@ -1,8 +1,12 @@
 package com.example.buildnest_ecommerce.repository;
 
+import com.example.buildnest_ecommerce.model.dto.OrderSummaryDTO;
 import com.example.buildnest_ecommerce.model.entity.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -49,6 +53,52 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @EntityGraph(attributePaths = { "orderItems", "user" })
     List<Order> findByUserId(Long userId);
 
+    /**
+     * Active orders of a user, newest first, without items or associations.
+     */
+    List<Order> findByUserIdAndIsDeletedFalseOrderByCreatedAtDescIdDesc(Long userId);
+
+    /**
+     * Page of a user's order history, newest first, answered from the
+     * {@code idx_orders_user_history} index. A slice avoids the count query.
+     */
+    @Query("SELECT new com.example.buildnest_ecommerce.model.dto.OrderSummaryDTO(" +
+            "o.id, o.orderNumber, o.status, o.totalAmount, o.createdAt, o.updatedAt) " +
+            "FROM Order o WHERE o.user.id = :userId AND o.isDeleted = false " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<OrderSummaryDTO> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Load one order with its items, their products and the shipping address
+     * in a single query, for the order detail view.
+     */
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems i LEFT JOIN FETCH i.product " +
+            "LEFT JOIN FETCH o.shippingAddress WHERE o.id = :id")
+    Optional<Order> findDetailById(@Param("id") Long id);
+
+    /**
+     * Orders with their items, products and shipping address, for rendering
+     * order views in bulk.
+     */
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems i LEFT JOIN FETCH i.product " +
+            "LEFT JOIN FETCH o.shippingAddress WHERE o.id IN :ids")
+    List<Order> findDetailsByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * Keyset page of all order ids, for the order view rebuild.
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Page of all active orders, newest first, for the admin order list. A
+     * slice avoids the count query.
+     */
+    @Query("SELECT new com.example.buildnest_ecommerce.model.dto.OrderSummaryDTO(" +
+            "o.id, o.orderNumber, o.status, o.totalAmount, o.createdAt, o.updatedAt) " +
+            "FROM Order o WHERE o.isDeleted = false ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<OrderSummaryDTO> findSummaries(Pageable pageable);
+
     /**
      * Find order by ID with all related data loaded eagerly.
      * Prevents N+1 queries when accessing order items and user details.
@@ -62,4 +112,25 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     @EntityGraph(attributePaths = { "orderItems", "user" })
     List<Order> findAll();
+
+    /**
+     * Keyset page of soft-deleted order ids for the retention purge.
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.isDeleted = true AND o.deletedAt < :cutoff " +
+            "AND o.id > :afterId ORDER BY o.id")
+    List<Long> findSoftDeletedIdsAfter(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterId") long afterId,
+            Pageable pageable);
+
+    @Query("SELECT MIN(o.deletedAt) FROM Order o WHERE o.isDeleted = true AND o.deletedAt < :cutoff")
+    LocalDateTime findOldestSoftDeletedAt(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.id IN :ids")
+    int deleteItemsByOrderIds(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,25 @@
+package com.example.buildnest_ecommerce.repository;
+
+import com.example.buildnest_ecommerce.model.entity.OrderView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderViewRepository extends JpaRepository<OrderView, Long> {
+
+    @Modifying
+    @Query("DELETE FROM OrderView v WHERE v.orderId IN :ids")
+    int deleteByOrderIds(@Param("ids") List<Long> ids);
+
+    /**
+     * Remove views whose order no longer exists, e.g. after a restore.
+     */
+    @Modifying
+    @Query("DELETE FROM OrderView v WHERE NOT EXISTS (SELECT 1 FROM Order o WHERE o.id = v.orderId)")
+    int deleteOrphans();
+}
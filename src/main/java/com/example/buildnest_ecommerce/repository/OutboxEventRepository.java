@@ -0,0 +1,52 @@
+package com.example.buildnest_ecommerce.repository;
+
+import com.example.buildnest_ecommerce.model.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Unpublished, unparked events in the order they were written.
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.parkedAt IS NULL ORDER BY e.id")
+    List<OutboxEvent> findUnpublished(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :now WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.parkedAt = :now WHERE e.id = :id")
+    int park(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.publishedAt IS NOT NULL AND e.createdAt < :cutoff" +
+            " AND e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsPublishedBeforeAfter(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId,
+            Pageable pageable);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.publishedAt IS NOT NULL AND e.createdAt < :cutoff")
+    LocalDateTime findOldestPublishedCreatedAt(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
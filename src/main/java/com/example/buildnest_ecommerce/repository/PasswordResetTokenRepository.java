@@ -1,12 +1,16 @@
 package com.example.buildnest_ecommerce.repository;
 
 import com.example.buildnest_ecommerce.model.entity.PasswordResetToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -25,4 +29,16 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
     @Modifying
     @Query("DELETE FROM PasswordResetToken t WHERE t.userId = :userId AND t.used = false")
     int invalidateUserTokens(Long userId);
+
+    @Query("SELECT t.id FROM PasswordResetToken t WHERE t.expiryDate < :cutoff AND t.id > :afterId ORDER BY t.id")
+    List<Long> findExpiredIdsAfter(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId,
+            Pageable pageable);
+
+    @Query("SELECT MIN(t.expiryDate) FROM PasswordResetToken t WHERE t.expiryDate < :cutoff")
+    LocalDateTime findOldestExpiry(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
@@ -2,9 +2,44 @@ package com.example.buildnest_ecommerce.repository;
 
 import com.example.buildnest_ecommerce.model.entity.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
-    // Payment repository
+
+    /**
+     * Payments of the given orders, oldest first.
+     */
+    List<Payment> findByOrderIdInOrderByIdAsc(Collection<Long> orderIds);
+
+    Optional<Payment> findByRazorpayOrderId(String razorpayOrderId);
+
+    boolean existsByRazorpayOrderId(String razorpayOrderId);
+
+    /**
+     * The latest payment attempt of an order.
+     */
+    Optional<Payment> findFirstByOrderIdOrderByIdDesc(Long orderId);
+
+    /**
+     * Moves a pending payment to SUCCESS.
+     *
+     * @return 1 if the payment was pending, 0 if another callback got there
+     *         first or the payment is no longer pending
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = 'SUCCESS', p.razorpayPaymentId = :razorpayPaymentId, " +
+            "p.updatedAt = :now WHERE p.id = :id AND p.status = 'PENDING'")
+    int markSucceeded(@Param("id") Long id, @Param("razorpayPaymentId") String razorpayPaymentId,
+            @Param("now") LocalDateTime now);
 }
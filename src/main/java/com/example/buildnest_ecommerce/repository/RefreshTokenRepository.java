@@ -1,12 +1,16 @@
 package com.example.buildnest_ecommerce.repository;
 
 import com.example.buildnest_ecommerce.model.entity.RefreshToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -26,4 +30,16 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate < :now")
     int deleteExpiredTokens(LocalDateTime now);
+
+    @Query("SELECT rt.id FROM RefreshToken rt WHERE rt.expiryDate < :cutoff AND rt.id > :afterId ORDER BY rt.id")
+    List<Long> findExpiredIdsAfter(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId,
+            Pageable pageable);
+
+    @Query("SELECT MIN(rt.expiryDate) FROM RefreshToken rt WHERE rt.expiryDate < :cutoff")
+    LocalDateTime findOldestExpiry(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
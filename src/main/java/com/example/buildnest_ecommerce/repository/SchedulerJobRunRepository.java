@@ -0,0 +1,39 @@
+package com.example.buildnest_ecommerce.repository;
+
+import com.example.buildnest_ecommerce.model.entity.SchedulerJobRun;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SchedulerJobRunRepository extends JpaRepository<SchedulerJobRun, Long> {
+
+    Page<SchedulerJobRun> findByJobNameOrderByStartedAtDesc(String jobName, Pageable pageable);
+
+    /**
+     * Most recent run of every job.
+     */
+    @Query("SELECT r FROM SchedulerJobRun r WHERE r.id IN " +
+            "(SELECT MAX(r2.id) FROM SchedulerJobRun r2 GROUP BY r2.jobName) ORDER BY r.jobName")
+    List<SchedulerJobRun> findLatestPerJob();
+
+    @Query("SELECT r.id FROM SchedulerJobRun r WHERE r.startedAt < :cutoff AND r.id > :afterId ORDER BY r.id")
+    List<Long> findIdsStartedBeforeAfter(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId,
+            Pageable pageable);
+
+    @Query("SELECT MIN(r.startedAt) FROM SchedulerJobRun r WHERE r.startedAt < :cutoff")
+    LocalDateTime findOldestStartedAt(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SchedulerJobRun r WHERE r.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
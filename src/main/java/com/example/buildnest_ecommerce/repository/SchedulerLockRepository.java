@@ -0,0 +1,30 @@
+package com.example.buildnest_ecommerce.repository;
+
+import com.example.buildnest_ecommerce.model.entity.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    /**
+     * Take the lock if its lease has lapsed, bumping the fencing token.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SchedulerLock l SET l.owner = :owner, l.lockedAt = :now, l.lockedUntil = :until, " +
+            "l.fencingToken = l.fencingToken + 1 WHERE l.name = :name AND l.lockedUntil <= :now")
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+            @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :until WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("until") LocalDateTime until);
+}
@@ -1,6 +1,7 @@
 package com.example.buildnest_ecommerce.repository;
 
 import com.example.buildnest_ecommerce.model.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,6 +18,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    /**
+     * Uniqueness probe for registration, answered from the unique indexes on
+     * username and email without loading any rows.
+     */
+    boolean existsByUsernameOrEmail(String username, String email);
+
+    /**
+     * Keyset page of username/email pairs used to warm the registration Bloom
+     * filter without materialising full User entities.
+     */
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email FROM User u " +
+            "WHERE u.id > :afterId ORDER BY u.id")
+    List<UserIdentity> findIdentitiesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     /**
      * Find inactive users (last login before specified date) for engagement
      * campaigns
@@ -31,4 +46,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
             "(SELECT DISTINCT o.user.id FROM Order o " +
             "GROUP BY o.user.id HAVING SUM(o.totalAmount) >= :minValue)")
     List<User> findUsersWithHighOrderValue(@Param("minValue") BigDecimal minValue);
+
+    /**
+     * Closed projection over the unique user identifiers.
+     */
+    interface UserIdentity {
+        Long getId();
+
+        String getUsername();
+
+        String getEmail();
+    }
 }
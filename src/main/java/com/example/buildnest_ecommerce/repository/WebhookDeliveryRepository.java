@@ -0,0 +1,53 @@
+package com.example.buildnest_ecommerce.repository;
+
+import com.example.buildnest_ecommerce.model.entity.WebhookDelivery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WebhookDeliveryRepository extends JpaRepository<WebhookDelivery, Long> {
+
+    /**
+     * Pending rows that are due and in-flight rows whose lease has run out,
+     * oldest first.
+     */
+    @Query("SELECT d.id FROM WebhookDelivery d WHERE (d.status = 'PENDING' AND d.nextAttemptAt <= :now)" +
+            " OR (d.status = 'IN_FLIGHT' AND d.leaseUntil < :now) ORDER BY d.nextAttemptAt, d.id")
+    List<Long> findClaimableIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Leases the rows among {@code ids} that are still claimable; a row
+     * another instance claimed in the meantime is left alone.
+     */
+    @Modifying
+    @Query("UPDATE WebhookDelivery d SET d.status = 'IN_FLIGHT', d.leaseOwner = :owner, d.leaseUntil = :leaseUntil" +
+            " WHERE d.id IN :ids AND ((d.status = 'PENDING' AND d.nextAttemptAt <= :now)" +
+            " OR (d.status = 'IN_FLIGHT' AND d.leaseUntil < :now))")
+    int claim(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+            @Param("leaseUntil") LocalDateTime leaseUntil, @Param("now") LocalDateTime now);
+
+    List<WebhookDelivery> findByLeaseOwnerAndIdIn(String leaseOwner, Collection<Long> ids);
+
+    @Query("SELECT d.id FROM WebhookDelivery d WHERE d.status IN ('DELIVERED', 'DEAD', 'CANCELLED')" +
+            " AND d.createdAt < :cutoff AND d.id > :afterId ORDER BY d.id")
+    List<Long> findIdsFinishedBeforeAfter(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId,
+            Pageable pageable);
+
+    @Query("SELECT MIN(d.createdAt) FROM WebhookDelivery d WHERE d.status IN ('DELIVERED', 'DEAD', 'CANCELLED')" +
+            " AND d.createdAt < :cutoff")
+    LocalDateTime findOldestFinishedCreatedAt(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM WebhookDelivery d WHERE d.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,213 @@
+package com.example.buildnest_ecommerce.security;
+
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HMAC-SHA256 signatures: hex for Razorpay payment callbacks and webhooks,
+ * Base64 for the bodies of outgoing webhooks.
+ *
+ * Looking up the provider and keying a {@link Mac} costs more than signing
+ * a short message, so one keyed prototype is kept per secret. Each platform
+ * thread keeps its own clones of these, with digest, message and text
+ * buffers, and reuses them on every call; a virtual thread, which rarely
+ * signs twice, clones the prototype per call. Digests are encoded with
+ * lookup tables, and a received hex signature is compared with the digest
+ * in constant time without encoding the digest at all.
+ *
+ * To rotate a secret, pass both the new and the previous secret to
+ * {@link #matchesHex}: every one is checked, so the time taken does not
+ * show which of them matched.
+ */
+@Component
+public class HmacSigner {
+
+    public static final String ALGORITHM = "HmacSHA256";
+
+    private static final int DIGEST_LENGTH = 32;
+    private static final int HEX_LENGTH = DIGEST_LENGTH * 2;
+    // Secrets of deleted webhook subscriptions are only dropped when a cache is reset
+    private static final int MAX_CACHED_SECRETS = 1024;
+    private static final int MAX_THREAD_SECRETS = 16;
+    // Longer messages are encoded per call rather than kept in a thread's buffer
+    private static final int MAX_BUFFERED_MESSAGE = 8 * 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final char[] BASE64 =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    private final Map<String, Mac> prototypes = new ConcurrentHashMap<>();
+    private final ThreadLocal<Buffers> threadBuffers = ThreadLocal.withInitial(Buffers::new);
+
+    /**
+     * @return the lower-case hex HMAC-SHA256 of {@code message} under
+     *         {@code secret}
+     */
+    public String hex(String secret, String message) {
+        Buffers buffers = buffers();
+        byte[] digest = buffers.sign(mac(buffers, secret), message);
+        char[] text = buffers.text;
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            text[2 * i] = HEX[(digest[i] >> 4) & 0xf];
+            text[2 * i + 1] = HEX[digest[i] & 0xf];
+        }
+        return new String(text, 0, HEX_LENGTH);
+    }
+
+    /**
+     * @return the Base64 HMAC-SHA256 of {@code body} under {@code secret}
+     */
+    public String base64(String secret, byte[] body) {
+        Buffers buffers = buffers();
+        Mac mac = mac(buffers, secret);
+        mac.update(body);
+        byte[] digest = buffers.finish(mac);
+        char[] text = buffers.text;
+        int length = 0;
+        int i = 0;
+        for (; i + 3 <= DIGEST_LENGTH; i += 3) {
+            int bits = (digest[i] & 0xff) << 16 | (digest[i + 1] & 0xff) << 8 | (digest[i + 2] & 0xff);
+            text[length++] = BASE64[bits >>> 18];
+            text[length++] = BASE64[(bits >>> 12) & 0x3f];
+            text[length++] = BASE64[(bits >>> 6) & 0x3f];
+            text[length++] = BASE64[bits & 0x3f];
+        }
+        // 32 bytes leave two over: three characters and one pad
+        int bits = (digest[i] & 0xff) << 16 | (digest[i + 1] & 0xff) << 8;
+        text[length++] = BASE64[bits >>> 18];
+        text[length++] = BASE64[(bits >>> 12) & 0x3f];
+        text[length++] = BASE64[(bits >>> 6) & 0x3f];
+        text[length++] = '=';
+        return new String(text, 0, length);
+    }
+
+    /**
+     * @param secrets the secrets a valid signature may be made with; null
+     *                and empty entries are skipped
+     * @return true if {@code signature} is the hex HMAC-SHA256 of
+     *         {@code message} under any of {@code secrets}
+     */
+    public boolean matchesHex(String message, String signature, String... secrets) {
+        if (message == null || signature == null) {
+            return false;
+        }
+        boolean matched = false;
+        for (String secret : secrets) {
+            if (secret != null && !secret.isEmpty()) {
+                matched |= matches(secret, message, signature);
+            }
+        }
+        return matched;
+    }
+
+    private boolean matches(String secret, String message, String signature) {
+        Buffers buffers = buffers();
+        byte[] digest = buffers.sign(mac(buffers, secret), message);
+        int length = signature.length();
+        int difference = length ^ HEX_LENGTH;
+        for (int i = 0; i < HEX_LENGTH; i++) {
+            int nibble = (i & 1) == 0 ? (digest[i >> 1] >> 4) & 0xf : digest[i >> 1] & 0xf;
+            difference |= HEX[nibble] ^ (i < length ? signature.charAt(i) : 0);
+        }
+        return difference == 0;
+    }
+
+    private Buffers buffers() {
+        return Thread.currentThread().isVirtual() ? new Buffers() : threadBuffers.get();
+    }
+
+    private Mac mac(Buffers buffers, String secret) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("HMAC secret must not be empty");
+        }
+        if (Thread.currentThread().isVirtual()) {
+            return copy(secret);
+        }
+        Mac mac = buffers.macs.get(secret);
+        if (mac == null) {
+            if (buffers.macs.size() >= MAX_THREAD_SECRETS) {
+                buffers.macs.clear();
+            }
+            mac = copy(secret);
+            buffers.macs.put(secret, mac);
+        }
+        return mac;
+    }
+
+    private Mac copy(String secret) {
+        Mac prototype = prototypes.get(secret);
+        if (prototype == null) {
+            if (prototypes.size() >= MAX_CACHED_SECRETS) {
+                prototypes.clear();
+            }
+            prototype = prototypes.computeIfAbsent(secret, HmacSigner::newMac);
+        }
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return newMac(secret);
+        }
+    }
+
+    private static Mac newMac(String secret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " unavailable", e);
+        }
+    }
+
+    private static final class Buffers {
+        private final Map<String, Mac> macs = new HashMap<>();
+        private final byte[] digest = new byte[DIGEST_LENGTH];
+        private final char[] text = new char[HEX_LENGTH];
+        private byte[] message = new byte[256];
+
+        byte[] sign(Mac mac, String text) {
+            int length = ascii(text);
+            if (length < 0) {
+                mac.update(text.getBytes(StandardCharsets.UTF_8));
+            } else {
+                mac.update(message, 0, length);
+            }
+            return finish(mac);
+        }
+
+        byte[] finish(Mac mac) {
+            try {
+                mac.doFinal(digest, 0);
+                return digest;
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        // Ids and JSON bodies are almost always ASCII, which is its own UTF-8 encoding
+        private int ascii(String text) {
+            int length = text.length();
+            if (length > MAX_BUFFERED_MESSAGE) {
+                return -1;
+            }
+            if (length > message.length) {
+                message = new byte[Math.max(length, message.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                if (c >= 0x80) {
+                    return -1;
+                }
+                message[i] = (byte) c;
+            }
+            return length;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.example.buildnest_ecommerce.service.admin;
 
 import com.example.buildnest_ecommerce.model.elasticsearch.ElasticsearchAuditLog;
-import com.example.buildnest_ecommerce.repository.elasticsearch.ElasticsearchAuditLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -9,6 +8,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -17,6 +17,15 @@ import java.util.stream.Collectors;
  * (RQ-SRCH-04, RQ-MON-01).
  * Provides comprehensive analytics on API errors, performance, and system
  * health.
+ *
+ * Every figure is built from an {@link AuditErrorStats} of bucket counts
+ * rather than from audit documents: ranges starting within the last
+ * {@code local-window-minutes} come from the per-minute counters all
+ * instances share through {@link ApiErrorCounterStore}, older ones from a single cached
+ * Elasticsearch aggregation per range ({@link AuditErrorAggregations}).
+ * Default ranges end at the next whole minute so repeated dashboard loads
+ * share a cache entry. Correlation lookups go through
+ * {@link AuditCorrelationSearch}.
  */
 @Slf4j
 @Service
@@ -24,7 +33,9 @@ import java.util.stream.Collectors;
 @ConditionalOnProperty(name = "elasticsearch.enabled", havingValue = "true", matchIfMissing = false)
 public class AdminAnalyticsService implements IAdminAnalyticsService {
 
-    private final ElasticsearchAuditLogRepository auditLogRepository;
+    private final AuditCorrelationSearch correlationSearch;
+    private final AuditErrorAggregations aggregations;
+    private final ApiErrorCounterStore counterStore;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
     /**
@@ -33,44 +44,38 @@ public class AdminAnalyticsService implements IAdminAnalyticsService {
      */
     public Map<String, Object> getApiErrorsByStatusCode(String startDateStr, String endDateStr) {
         try {
-            LocalDateTime startDate = parseDate(startDateStr, LocalDateTime.now().minusDays(7));
-            LocalDateTime endDate = parseDate(endDateStr, LocalDateTime.now());
+            LocalDateTime endDate = parseDate(endDateStr, defaultEnd());
+            LocalDateTime startDate = parseDate(startDateStr, defaultEnd().minusDays(7));
+            AuditErrorStats stats = stats(startDate, endDate);
 
-            // Get all audit logs within date range
-            List<ElasticsearchAuditLog> allLogs = auditLogRepository
-                    .findByTimestampBetween(startDate, endDate);
-
-            // Group by HTTP status code
-            Map<Integer, List<ElasticsearchAuditLog>> grouped = allLogs.stream()
-                    .filter(log -> log.getHttpStatusCode() != null && log.getHttpStatusCode() >= 400)
-                    .collect(Collectors.groupingBy(ElasticsearchAuditLog::getHttpStatusCode));
-
-            // Build response with statistics
             Map<String, Object> response = new LinkedHashMap<>();
             response.put("startDate", startDate);
             response.put("endDate", endDate);
 
             Map<String, Object> statusCodeStats = new LinkedHashMap<>();
-            grouped.forEach((statusCode, logs) -> {
-                Map<String, Object> stats = new LinkedHashMap<>();
-                stats.put("count", logs.size());
-                stats.put("percentage", String.format("%.2f%%", (logs.size() * 100.0 / allLogs.size())));
-                stats.put("category", getErrorCategory(statusCode));
-                stats.put("errors", logs.stream()
-                        .limit(10)
-                        .map(log -> Map.of(
-                                "id", log.getId(),
-                                "action", log.getAction(),
-                                "timestamp", log.getTimestamp(),
-                                "endpoint", log.getEndpoint() != null ? log.getEndpoint() : "N/A"))
+            stats.statusCounts().forEach((statusCode, count) -> {
+                if (statusCode < 400) {
+                    return;
+                }
+                Map<String, Object> statusStats = new LinkedHashMap<>();
+                statusStats.put("count", count);
+                statusStats.put("percentage", String.format("%.2f%%", (count * 100.0 / stats.totalEvents())));
+                statusStats.put("category", getErrorCategory(statusCode));
+                statusStats.put("errors", stats.samplesByStatus().getOrDefault(statusCode, List.of()).stream()
+                        .map(sample -> {
+                            Map<String, Object> error = new LinkedHashMap<>();
+                            error.put("id", sample.id());
+                            error.put("action", sample.action());
+                            error.put("timestamp", sample.timestamp());
+                            error.put("endpoint", sample.endpoint() != null ? sample.endpoint() : "N/A");
+                            return error;
+                        })
                         .collect(Collectors.toList()));
-                statusCodeStats.put(statusCode.toString(), stats);
+                statusCodeStats.put(statusCode.toString(), statusStats);
             });
 
             response.put("statusCodeStatistics", statusCodeStats);
-            response.put("totalErrors", allLogs.stream()
-                    .filter(log -> log.getHttpStatusCode() != null && log.getHttpStatusCode() >= 400)
-                    .count());
+            response.put("totalErrors", stats.errorCount());
 
             return response;
         } catch (Exception e) {
@@ -85,46 +90,25 @@ public class AdminAnalyticsService implements IAdminAnalyticsService {
      */
     public Map<String, Object> getApiErrorsByEndpoint(String startDateStr, String endDateStr) {
         try {
-            LocalDateTime startDate = parseDate(startDateStr, LocalDateTime.now().minusDays(7));
-            LocalDateTime endDate = parseDate(endDateStr, LocalDateTime.now());
-
-            // Get all error logs within date range
-            List<ElasticsearchAuditLog> errorLogs = auditLogRepository
-                    .findByTimestampBetween(startDate, endDate)
-                    .stream()
-                    .filter(log -> log.getHttpStatusCode() != null && log.getHttpStatusCode() >= 400)
-                    .collect(Collectors.toList());
+            LocalDateTime endDate = parseDate(endDateStr, defaultEnd());
+            LocalDateTime startDate = parseDate(startDateStr, defaultEnd().minusDays(7));
+            AuditErrorStats stats = stats(startDate, endDate);
 
-            // Group by endpoint
-            Map<String, List<ElasticsearchAuditLog>> grouped = errorLogs.stream()
-                    .collect(Collectors.groupingBy(log -> log.getEndpoint() != null ? log.getEndpoint() : "UNKNOWN"));
-
-            // Sort by error count
-            List<Map<String, Object>> endpointStats = grouped.entrySet().stream()
-                    .sorted((e1, e2) -> Integer.compare(e2.getValue().size(), e1.getValue().size()))
-                    .map(entry -> {
-                        List<ElasticsearchAuditLog> logs = entry.getValue();
+            List<Map<String, Object>> endpointStats = stats.endpoints().stream()
+                    .map(endpoint -> {
                         Map<String, Object> stat = new LinkedHashMap<>();
-                        stat.put("endpoint", entry.getKey());
-                        stat.put("totalErrors", logs.size());
-
-                        // Status code breakdown
-                        Map<Integer, Long> statusBreakdown = logs.stream()
-                                .collect(Collectors.groupingBy(
-                                        ElasticsearchAuditLog::getHttpStatusCode,
-                                        Collectors.counting()));
-                        stat.put("statusCodeBreakdown", statusBreakdown);
-
-                        // Error trend (sample)
-                        stat.put("recentErrors", logs.stream()
-                                .sorted(Comparator.comparing(ElasticsearchAuditLog::getTimestamp).reversed())
-                                .limit(5)
-                                .map(log -> Map.of(
-                                        "timestamp", log.getTimestamp(),
-                                        "statusCode", log.getHttpStatusCode(),
-                                        "action", log.getAction()))
+                        stat.put("endpoint", endpoint.endpoint());
+                        stat.put("totalErrors", endpoint.errors());
+                        stat.put("statusCodeBreakdown", endpoint.statusBreakdown());
+                        stat.put("recentErrors", endpoint.recent().stream()
+                                .map(sample -> {
+                                    Map<String, Object> error = new LinkedHashMap<>();
+                                    error.put("timestamp", sample.timestamp());
+                                    error.put("statusCode", sample.statusCode());
+                                    error.put("action", sample.action());
+                                    return error;
+                                })
                                 .collect(Collectors.toList()));
-
                         return stat;
                     })
                     .collect(Collectors.toList());
@@ -132,8 +116,8 @@ public class AdminAnalyticsService implements IAdminAnalyticsService {
             Map<String, Object> response = new LinkedHashMap<>();
             response.put("startDate", startDate);
             response.put("endDate", endDate);
-            response.put("totalErrors", errorLogs.size());
-            response.put("affectedEndpoints", grouped.size());
+            response.put("totalErrors", stats.errorCount());
+            response.put("affectedEndpoints", endpointStats.size());
             response.put("endpointStatistics", endpointStats);
 
             return response;
@@ -148,60 +132,45 @@ public class AdminAnalyticsService implements IAdminAnalyticsService {
      */
     public Map<String, Object> getDashboardData() {
         try {
-            LocalDateTime startDate = LocalDateTime.now().minusDays(7);
-            LocalDateTime endDate = LocalDateTime.now();
-
-            List<ElasticsearchAuditLog> logs = auditLogRepository
-                    .findByTimestampBetween(startDate, endDate);
+            LocalDateTime endDate = defaultEnd();
+            LocalDateTime startDate = endDate.minusDays(7);
+            AuditErrorStats stats = stats(startDate, endDate);
 
             Map<String, Object> dashboard = new LinkedHashMap<>();
 
             // Overall metrics
-            long totalEvents = logs.size();
-            long totalErrors = logs.stream()
-                    .filter(log -> log.getHttpStatusCode() != null && log.getHttpStatusCode() >= 400)
-                    .count();
-            long criticalErrors = logs.stream()
-                    .filter(log -> log.getHttpStatusCode() != null && log.getHttpStatusCode() >= 500)
-                    .count();
-
+            long totalEvents = stats.totalEvents();
+            long totalErrors = stats.errorCount();
             dashboard.put("totalEvents", totalEvents);
             dashboard.put("totalErrors", totalErrors);
-            dashboard.put("criticalErrors", criticalErrors);
+            dashboard.put("criticalErrors", stats.criticalCount());
             dashboard.put("errorRate",
                     totalEvents > 0 ? String.format("%.2f%%", (totalErrors * 100.0 / totalEvents)) : "0.00%");
 
             // Status code distribution
-            Map<Integer, Long> statusDistribution = logs.stream()
-                    .filter(log -> log.getHttpStatusCode() != null)
-                    .collect(Collectors.groupingBy(
-                            ElasticsearchAuditLog::getHttpStatusCode,
-                            Collectors.counting()));
-            dashboard.put("statusDistribution", statusDistribution);
+            dashboard.put("statusDistribution", stats.statusCounts());
 
             // Top endpoints by error count
-            List<Map<String, Object>> topErrorEndpoints = logs.stream()
-                    .filter(log -> log.getHttpStatusCode() != null && log.getHttpStatusCode() >= 400)
-                    .collect(Collectors.groupingBy(ElasticsearchAuditLog::getEndpoint, Collectors.counting()))
-                    .entrySet().stream()
-                    .sorted((e1, e2) -> Long.compare(e2.getValue(), e1.getValue()))
+            List<Map<String, Object>> topErrorEndpoints = stats.endpoints().stream()
                     .limit(10)
-                    .map(e -> {
+                    .map(endpoint -> {
                         Map<String, Object> map = new LinkedHashMap<>();
-                        map.put("endpoint", e.getKey());
-                        map.put("errorCount", e.getValue());
+                        map.put("endpoint", endpoint.endpoint());
+                        map.put("errorCount", endpoint.errors());
                         return map;
                     })
                     .collect(Collectors.toList());
             dashboard.put("topErrorEndpoints", topErrorEndpoints);
 
             // Error category distribution
-            Map<String, Long> categoryDistribution = logs.stream()
-                    .filter(log -> log.getHttpStatusCode() != null && log.getHttpStatusCode() >= 400)
-                    .collect(Collectors.groupingBy(
-                            log -> getErrorCategory(log.getHttpStatusCode()),
-                            Collectors.counting()));
+            Map<String, Long> categoryDistribution = new LinkedHashMap<>();
+            stats.statusCounts().forEach((statusCode, count) -> {
+                if (statusCode >= 400) {
+                    categoryDistribution.merge(getErrorCategory(statusCode), count, Long::sum);
+                }
+            });
             dashboard.put("errorCategoryDistribution", categoryDistribution);
+            dashboard.put("errorTrend", stats.errorTrend());
 
             dashboard.put("timeRange", Map.of("start", startDate, "end", endDate));
             return dashboard;
@@ -211,6 +180,26 @@ public class AdminAnalyticsService implements IAdminAnalyticsService {
         }
     }
 
+    /**
+     * Answers from the shared per-minute counters when they hold the whole
+     * range, otherwise (or when Redis fails mid-read) from the cached
+     * Elasticsearch aggregation.
+     */
+    private AuditErrorStats stats(LocalDateTime startDate, LocalDateTime endDate) {
+        if (counterStore.covers(startDate)) {
+            try {
+                return counterStore.snapshot(startDate, endDate);
+            } catch (Exception e) {
+                log.warn("Shared audit counters unavailable, using Elasticsearch: {}", e.getMessage());
+            }
+        }
+        return aggregations.aggregate(startDate, endDate);
+    }
+
+    private static LocalDateTime defaultEnd() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+    }
+
     /**
      * Categorize HTTP status codes into error types.
      */
@@ -246,16 +235,12 @@ public class AdminAnalyticsService implements IAdminAnalyticsService {
     @Override
     public Map<String, Object> getApiErrorRate(String startDateStr, String endDateStr) {
         try {
-            LocalDateTime startDate = parseDate(startDateStr, LocalDateTime.now().minusDays(7));
-            LocalDateTime endDate = parseDate(endDateStr, LocalDateTime.now());
-
-            List<ElasticsearchAuditLog> logs = auditLogRepository
-                    .findByTimestampBetween(startDate, endDate);
+            LocalDateTime endDate = parseDate(endDateStr, defaultEnd());
+            LocalDateTime startDate = parseDate(startDateStr, defaultEnd().minusDays(7));
+            AuditErrorStats stats = stats(startDate, endDate);
 
-            long totalRequests = logs.size();
-            long errorRequests = logs.stream()
-                    .filter(log -> log.getHttpStatusCode() != null && log.getHttpStatusCode() >= 400)
-                    .count();
+            long totalRequests = stats.totalEvents();
+            long errorRequests = stats.errorCount();
 
             Map<String, Object> response = new LinkedHashMap<>();
             response.put("startDate", startDate);
@@ -279,18 +264,7 @@ public class AdminAnalyticsService implements IAdminAnalyticsService {
     @Override
     public Map<String, Object> getErrorByCorrelationId(String correlationId) {
         try {
-            // Fallback: Search within recent logs since findByCorrelationId is not
-            // available
-            LocalDateTime startDate = LocalDateTime.now().minusDays(7);
-            LocalDateTime endDate = LocalDateTime.now();
-
-            List<ElasticsearchAuditLog> allLogs = auditLogRepository
-                    .findByTimestampBetween(startDate, endDate);
-
-            List<ElasticsearchAuditLog> logs = allLogs.stream()
-                    .filter(log -> correlationId.equals(log.getId()) ||
-                            (log.getAction() != null && log.getAction().contains(correlationId)))
-                    .collect(Collectors.toList());
+            List<ElasticsearchAuditLog> logs = correlationSearch.find(correlationId);
 
             if (logs.isEmpty()) {
                 return Collections.singletonMap("error", "No logs found for correlation ID: " + correlationId);
@@ -0,0 +1,431 @@
+package com.example.buildnest_ecommerce.service.admin;
+
+import com.example.buildnest_ecommerce.config.properties.ElasticsearchProperties;
+import com.example.buildnest_ecommerce.model.elasticsearch.ElasticsearchAuditLog;
+import com.example.buildnest_ecommerce.service.admin.AuditErrorStats.EndpointErrors;
+import com.example.buildnest_ecommerce.service.admin.AuditErrorStats.ErrorSample;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cluster-wide, per-minute counters for recent audit events, fed as events
+ * are handed to Elasticsearch, so analytics for ranges that start inside
+ * {@code local-window-minutes} never query Elasticsearch.
+ *
+ * Recording only touches this instance's memory: a ring of minute buckets
+ * (events per status code and error events per endpoint and status) and a
+ * queue of error samples. Every {@code publish-interval-ms} each instance
+ * adds what it counted since its last publish to the shared Redis hash
+ * {@code <prefix>m:<epochMinute>} (fields {@code t}, {@code s:<status>} and
+ * {@code e:<status>:<endpoint>}) and pushes its samples onto the list
+ * {@code <prefix>samples}, in one Lua script. A snapshot reads every minute
+ * of the range and the samples in one script and adds this instance's
+ * unpublished counts, so figures from other instances lag by at most one
+ * publish interval. Counts that fail to publish are kept for the next
+ * attempt; only an instance that dies loses its last interval.
+ *
+ * {@code <prefix>since} holds the first minute published since the counters
+ * were last idle for longer than the window. {@link #covers(LocalDateTime)}
+ * is false for ranges reaching back before it, and whenever Redis cannot be
+ * read, so such ranges are answered by Elasticsearch. The scripts address
+ * several keys, so they assume a non-clustered Redis.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "elasticsearch.enabled", havingValue = "true", matchIfMissing = false)
+public class ApiErrorCounterStore {
+
+    static final String TOTAL = "t";
+    static final String STATUS = "s:";
+    static final String ENDPOINT_ERRORS = "e:";
+
+    /**
+     * KEYS: since, samples, then one hash per published minute. ARGV: ttl,
+     * sample capacity, current minute, sample count, the samples oldest
+     * first, then per minute hash a field count followed by field and delta
+     * pairs.
+     */
+    private static final RedisScript<Long> PUBLISH_SCRIPT = new DefaultRedisScript<>("""
+            local ttl = ARGV[1]
+            redis.call('SET', KEYS[1], ARGV[3], 'NX')
+            redis.call('PEXPIRE', KEYS[1], ttl)
+            local samples = tonumber(ARGV[4])
+            local pos = 5
+            for i = 1, samples do
+              redis.call('LPUSH', KEYS[2], ARGV[pos])
+              pos = pos + 1
+            end
+            if samples > 0 then
+              redis.call('LTRIM', KEYS[2], 0, tonumber(ARGV[2]) - 1)
+              redis.call('PEXPIRE', KEYS[2], ttl)
+            end
+            for k = 3, #KEYS do
+              local fields = tonumber(ARGV[pos])
+              pos = pos + 1
+              for f = 1, fields do
+                redis.call('HINCRBY', KEYS[k], ARGV[pos], ARGV[pos + 1])
+                pos = pos + 2
+              end
+              redis.call('PEXPIRE', KEYS[k], ttl)
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * KEYS: samples, then one hash per minute of the range. Returns the
+     * sample count, the samples newest first, then index, field and value
+     * triples, the index being the minute's position among the hash keys.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>("""
+            local out = {}
+            local samples = redis.call('LRANGE', KEYS[1], 0, -1)
+            out[1] = tostring(#samples)
+            for _, sample in ipairs(samples) do
+              out[#out + 1] = sample
+            end
+            for k = 2, #KEYS do
+              local fields = redis.call('HGETALL', KEYS[k])
+              for i = 1, #fields, 2 do
+                out[#out + 1] = tostring(k - 2)
+                out[#out + 1] = fields[i]
+                out[#out + 1] = fields[i + 1]
+              end
+            end
+            return out
+            """, List.class);
+
+    private static final class MinuteBucket {
+        private final long minute;
+        private final LongAdder total = new LongAdder();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final Map<String, Map<Integer, LongAdder>> endpointErrors = new ConcurrentHashMap<>();
+
+        private MinuteBucket(long minute) {
+            this.minute = minute;
+        }
+    }
+
+    /**
+     * Figures for one range, merged from Redis and this instance.
+     */
+    private static final class Totals {
+        private long total;
+        private final Map<Integer, Long> statusCounts = new TreeMap<>();
+        private final Map<String, Map<Integer, Long>> endpointCounts = new HashMap<>();
+        private final Map<Long, Long> errorsByMinute = new TreeMap<>();
+
+        private void add(long minute, String field, long count) {
+            if (TOTAL.equals(field)) {
+                total += count;
+            } else if (field.startsWith(STATUS)) {
+                int status = Integer.parseInt(field.substring(STATUS.length()));
+                statusCounts.merge(status, count, Long::sum);
+                if (status >= 400) {
+                    errorsByMinute.merge(minute, count, Long::sum);
+                }
+            } else if (field.startsWith(ENDPOINT_ERRORS)) {
+                int separator = field.indexOf(':', ENDPOINT_ERRORS.length());
+                int status = Integer.parseInt(field.substring(ENDPOINT_ERRORS.length(), separator));
+                endpointCounts.computeIfAbsent(field.substring(separator + 1), key -> new TreeMap<>())
+                        .merge(status, count, Long::sum);
+            }
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final int windowMinutes;
+    private final int sampleCapacity;
+    private final String ttl;
+    private final String keyPrefix;
+    private final String sinceKey;
+    private final String samplesKey;
+    private final AtomicReferenceArray<MinuteBucket> buckets;
+    // Unpublished error samples, newest first
+    private final Deque<ErrorSample> samples = new ArrayDeque<>();
+
+    public ApiErrorCounterStore(ElasticsearchProperties properties, StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper, Clock clock) {
+        ElasticsearchProperties.Analytics analytics = properties.getAnalytics();
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.windowMinutes = Math.max(1, analytics.getLocalWindowMinutes());
+        this.sampleCapacity = Math.max(0, analytics.getSampleCapacity());
+        this.ttl = String.valueOf((windowMinutes + 2) * 60_000L);
+        this.keyPrefix = analytics.getRedisKeyPrefix();
+        this.sinceKey = keyPrefix + "since";
+        this.samplesKey = keyPrefix + "samples";
+        this.buckets = new AtomicReferenceArray<>(windowMinutes + 1);
+    }
+
+    public void record(ElasticsearchAuditLog event) {
+        LocalDateTime timestamp = event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now(clock);
+        long minute = epochMinute(timestamp);
+        if (minute < currentMinute() - windowMinutes) {
+            return;
+        }
+        MinuteBucket bucket = bucketFor(minute);
+        bucket.total.increment();
+        Integer status = event.getHttpStatusCode();
+        if (status == null) {
+            return;
+        }
+        bucket.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (status < 400) {
+            return;
+        }
+        String endpoint = event.getEndpoint() != null ? event.getEndpoint() : AuditErrorAggregations.UNKNOWN_ENDPOINT;
+        bucket.endpointErrors.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, key -> new LongAdder())
+                .increment();
+        if (sampleCapacity > 0) {
+            ErrorSample sample = new ErrorSample(event.getId(), event.getAction(), endpoint, status, timestamp);
+            synchronized (samples) {
+                samples.addFirst(sample);
+                if (samples.size() > sampleCapacity) {
+                    samples.removeLast();
+                }
+            }
+        }
+    }
+
+    private MinuteBucket bucketFor(long minute) {
+        int slot = (int) Math.floorMod(minute, (long) buckets.length());
+        while (true) {
+            MinuteBucket current = buckets.get(slot);
+            if (current != null && current.minute >= minute) {
+                // A newer minute owns the slot only if this event is already outside the window
+                return current.minute == minute ? current : new MinuteBucket(minute);
+            }
+            MinuteBucket fresh = new MinuteBucket(minute);
+            if (buckets.compareAndSet(slot, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    /**
+     * Adds everything counted since the last publish to the shared counters.
+     * If Redis cannot be reached the counts are put back for the next run.
+     */
+    @Scheduled(initialDelayString = "${elasticsearch.analytics.publish-interval-ms:5000}",
+            fixedDelayString = "${elasticsearch.analytics.publish-interval-ms:5000}")
+    public void publish() {
+        long oldest = currentMinute() - windowMinutes;
+        List<String> keys = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        List<Runnable> restore = new ArrayList<>();
+        keys.add(sinceKey);
+        keys.add(samplesKey);
+        args.add(ttl);
+        args.add(String.valueOf(Math.max(1, sampleCapacity)));
+        args.add(String.valueOf(currentMinute()));
+
+        List<ErrorSample> published;
+        synchronized (samples) {
+            published = new ArrayList<>(samples);
+            samples.clear();
+        }
+        args.add(String.valueOf(published.size()));
+        for (int i = published.size() - 1; i >= 0; i--) {
+            args.add(encode(published.get(i)));
+        }
+
+        for (int i = 0; i < buckets.length(); i++) {
+            MinuteBucket bucket = buckets.get(i);
+            if (bucket == null || bucket.minute < oldest) {
+                continue;
+            }
+            List<Object> fields = new ArrayList<>();
+            drain(bucket.total, TOTAL, fields, restore);
+            bucket.statuses.forEach((status, count) -> drain(count, STATUS + status, fields, restore));
+            bucket.endpointErrors.forEach((endpoint, byStatus) -> byStatus.forEach((status, count) ->
+                    drain(count, ENDPOINT_ERRORS + status + ":" + endpoint, fields, restore)));
+            if (!fields.isEmpty()) {
+                keys.add(minuteKey(bucket.minute));
+                args.add(String.valueOf(fields.size() / 2));
+                args.addAll(fields);
+            }
+        }
+        if (published.isEmpty() && keys.size() == 2) {
+            return;
+        }
+
+        try {
+            redisTemplate.execute(PUBLISH_SCRIPT, keys, args.toArray());
+        } catch (Exception e) {
+            log.debug("Could not publish audit counters to Redis, keeping them for the next run: {}",
+                    e.getMessage());
+            restore.forEach(Runnable::run);
+            synchronized (samples) {
+                for (ErrorSample sample : published) {
+                    if (samples.size() >= sampleCapacity) {
+                        break;
+                    }
+                    samples.addLast(sample);
+                }
+            }
+        }
+    }
+
+    private static void drain(LongAdder adder, String field, List<Object> fields, List<Runnable> restore) {
+        long count = adder.sumThenReset();
+        if (count != 0) {
+            fields.add(field);
+            fields.add(String.valueOf(count));
+            restore.add(() -> adder.add(count));
+        }
+    }
+
+    /**
+     * @return true if every minute from {@code start} onwards is held in the
+     *         shared counters
+     */
+    public boolean covers(LocalDateTime start) {
+        long minute = epochMinute(start);
+        if (minute < currentMinute() - windowMinutes) {
+            return false;
+        }
+        try {
+            String since = redisTemplate.opsForValue().get(sinceKey);
+            return since != null && minute >= Long.parseLong(since);
+        } catch (Exception e) {
+            log.debug("Could not read audit counters from Redis: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public AuditErrorStats snapshot(LocalDateTime start, LocalDateTime end) {
+        long from = Math.max(epochMinute(start), currentMinute() - windowMinutes);
+        long to = Math.min(epochMinute(end), currentMinute() + 1);
+        Totals totals = new Totals();
+        List<ErrorSample> recent = new ArrayList<>();
+
+        List<String> keys = new ArrayList<>();
+        keys.add(samplesKey);
+        for (long minute = from; minute <= to; minute++) {
+            keys.add(minuteKey(minute));
+        }
+        List<String> reply = redisTemplate.execute(READ_SCRIPT, keys);
+        List<ErrorSample> shared = new ArrayList<>();
+        if (reply != null && !reply.isEmpty()) {
+            int sampleCount = Integer.parseInt(reply.get(0));
+            for (int i = 1; i <= sampleCount; i++) {
+                shared.add(decode(reply.get(i)));
+            }
+            for (int i = sampleCount + 1; i + 2 < reply.size(); i += 3) {
+                totals.add(from + Integer.parseInt(reply.get(i)), reply.get(i + 1), Long.parseLong(reply.get(i + 2)));
+            }
+        }
+
+        for (int i = 0; i < buckets.length(); i++) {
+            MinuteBucket bucket = buckets.get(i);
+            if (bucket == null || bucket.minute < from || bucket.minute > to) {
+                continue;
+            }
+            totals.add(bucket.minute, TOTAL, bucket.total.sum());
+            bucket.statuses.forEach((status, count) -> totals.add(bucket.minute, STATUS + status, count.sum()));
+            bucket.endpointErrors.forEach((endpoint, byStatus) -> byStatus.forEach((status, count) ->
+                    totals.add(bucket.minute, ENDPOINT_ERRORS + status + ":" + endpoint, count.sum())));
+        }
+
+        synchronized (samples) {
+            recent.addAll(samples);
+        }
+        recent.addAll(shared);
+        // Stable, so samples recorded in the same instant keep their newest-first order
+        recent = recent.stream()
+                .filter(sample -> !sample.timestamp().isBefore(start) && !sample.timestamp().isAfter(end))
+                .sorted(Comparator.comparing(ErrorSample::timestamp).reversed())
+                .limit(sampleCapacity)
+                .toList();
+        return toStats(totals, recent);
+    }
+
+    private static AuditErrorStats toStats(Totals totals, List<ErrorSample> recent) {
+        Map<Integer, List<ErrorSample>> samplesByStatus = new TreeMap<>();
+        for (ErrorSample sample : recent) {
+            List<ErrorSample> forStatus = samplesByStatus.computeIfAbsent(sample.statusCode(), key -> new ArrayList<>());
+            if (forStatus.size() < AuditErrorAggregations.STATUS_SAMPLES) {
+                forStatus.add(sample);
+            }
+        }
+        List<EndpointErrors> endpoints = new ArrayList<>();
+        totals.endpointCounts.forEach((endpoint, byStatus) -> endpoints.add(new EndpointErrors(endpoint,
+                byStatus.values().stream().mapToLong(Long::longValue).sum(), byStatus,
+                recent.stream().filter(sample -> endpoint.equals(sample.endpoint()))
+                        .limit(AuditErrorAggregations.ENDPOINT_SAMPLES).toList())));
+        endpoints.sort(Comparator.comparingLong(EndpointErrors::errors).reversed());
+
+        Map<LocalDateTime, Long> trend = new TreeMap<>();
+        totals.errorsByMinute.forEach((minute, errors) -> {
+            if (errors > 0) {
+                trend.put(LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC), errors);
+            }
+        });
+        long errorCount = sum(totals.statusCounts, 400);
+        long criticalCount = sum(totals.statusCounts, 500);
+        return new AuditErrorStats(totals.total, errorCount, criticalCount, totals.statusCounts, samplesByStatus,
+                endpoints, trend);
+    }
+
+    private String encode(ErrorSample sample) {
+        try {
+            return objectMapper.writeValueAsString(sample);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot encode error sample", e);
+        }
+    }
+
+    private ErrorSample decode(String json) {
+        try {
+            return objectMapper.readValue(json, ErrorSample.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot decode error sample", e);
+        }
+    }
+
+    private static long sum(Map<Integer, Long> statusCounts, int minimumStatus) {
+        return statusCounts.entrySet().stream()
+                .filter(entry -> entry.getKey() >= minimumStatus)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    private String minuteKey(long minute) {
+        return keyPrefix + "m:" + minute;
+    }
+
+    private long currentMinute() {
+        return epochMinute(LocalDateTime.now(clock));
+    }
+
+    private static long epochMinute(LocalDateTime timestamp) {
+        return Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), 60L);
+    }
+}
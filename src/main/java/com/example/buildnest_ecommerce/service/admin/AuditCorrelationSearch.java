@@ -0,0 +1,53 @@
+package com.example.buildnest_ecommerce.service.admin;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.example.buildnest_ecommerce.config.properties.ElasticsearchProperties;
+import com.example.buildnest_ecommerce.model.elasticsearch.ElasticsearchAuditLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Finds the audit events of one request by correlation id. The lookup is a
+ * filter-context term query on the {@code correlationId} keyword across every
+ * daily audit index, so its cost does not grow with the retention period.
+ * Document ids are matched too, so links to a single event keep working.
+ */
+@Component
+@ConditionalOnProperty(name = "elasticsearch.enabled", havingValue = "true", matchIfMissing = false)
+public class AuditCorrelationSearch {
+
+    static final int MAX_EVENTS = 500;
+
+    private final ElasticsearchOperations operations;
+    private final IndexCoordinates index;
+
+    public AuditCorrelationSearch(ElasticsearchOperations operations, ElasticsearchProperties properties) {
+        this.operations = operations;
+        this.index = IndexCoordinates.of(properties.getAnalytics().getIndexPattern());
+    }
+
+    public List<ElasticsearchAuditLog> find(String correlationId) {
+        return operations.search(buildQuery(correlationId), ElasticsearchAuditLog.class, index)
+                .getSearchHits().stream()
+                .map(SearchHit::getContent)
+                .toList();
+    }
+
+    NativeQuery buildQuery(String correlationId) {
+        Query byCorrelation = Query.of(q -> q.constantScore(c -> c.filter(f -> f.bool(b -> b
+                .should(s -> s.term(t -> t.field("correlationId").value(correlationId)))
+                .should(s -> s.ids(i -> i.values(correlationId)))))));
+        return NativeQuery.builder()
+                .withQuery(byCorrelation)
+                .withSort(Sort.by(Sort.Direction.ASC, "timestamp"))
+                .withMaxResults(MAX_EVENTS)
+                .build();
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.buildnest_ecommerce.service.admin;
+
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.LongTermsBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonData;
+import com.example.buildnest_ecommerce.config.properties.ElasticsearchProperties;
+import com.example.buildnest_ecommerce.model.elasticsearch.ElasticsearchAuditLog;
+import com.example.buildnest_ecommerce.service.admin.AuditErrorStats.EndpointErrors;
+import com.example.buildnest_ecommerce.service.admin.AuditErrorStats.ErrorSample;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the admin analytics as one Elasticsearch aggregation request per time
+ * range (RQ-SRCH-04, RQ-MON-01). The request asks for no hits, only
+ * buckets: a terms aggregation on status code, a filters aggregation for the
+ * error and critical totals, and under a 4xx/5xx filter the per-status and
+ * per-endpoint terms (with small top_hits samples) plus an hourly or daily
+ * date_histogram. Results are cached in {@code adminAnalytics} per range.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "elasticsearch.enabled", havingValue = "true", matchIfMissing = false)
+public class AuditErrorAggregations {
+
+    static final int STATUS_SAMPLES = 10;
+    static final int ENDPOINT_SAMPLES = 5;
+    static final String UNKNOWN_ENDPOINT = "UNKNOWN";
+    private static final int STATUS_BUCKETS = 100;
+    private static final List<String> SAMPLE_FIELDS = List.of("action", "endpoint", "httpStatusCode", "timestamp");
+
+    private final ElasticsearchOperations operations;
+    private final IndexCoordinates index;
+    private final int endpointBuckets;
+
+    public AuditErrorAggregations(ElasticsearchOperations operations, ElasticsearchProperties properties) {
+        this.operations = operations;
+        this.index = IndexCoordinates.of(properties.getAnalytics().getIndexPattern());
+        this.endpointBuckets = properties.getAnalytics().getEndpointBuckets();
+    }
+
+    @Cacheable(value = "adminAnalytics", key = "#start.toString() + '/' + #end.toString()")
+    public AuditErrorStats aggregate(LocalDateTime start, LocalDateTime end) {
+        NativeQuery query = buildQuery(start, end);
+        SearchHits<ElasticsearchAuditLog> hits = operations.search(query, ElasticsearchAuditLog.class, index);
+        Map<String, Aggregate> aggregations = aggregates(hits);
+
+        Map<String, Aggregate> errors = aggregations.containsKey("errors")
+                ? aggregations.get("errors").filter().aggregations()
+                : Map.of();
+        Map<String, Long> outcome = new LinkedHashMap<>();
+        if (aggregations.containsKey("outcome")) {
+            aggregations.get("outcome").filters().buckets().keyed()
+                    .forEach((key, bucket) -> outcome.put(key, bucket.docCount()));
+        }
+
+        return new AuditErrorStats(
+                hits.getTotalHits(),
+                outcome.getOrDefault("errors", 0L),
+                outcome.getOrDefault("critical", 0L),
+                statusCounts(aggregations.get("status")),
+                samplesByStatus(errors.get("by_status")),
+                endpoints(errors.get("by_endpoint")),
+                trend(errors.get("trend")));
+    }
+
+    NativeQuery buildQuery(LocalDateTime start, LocalDateTime end) {
+        Query inRange = Query.of(q -> q.range(r -> r.date(d -> d.field("timestamp")
+                .gte(start.toString())
+                .lte(end.toString()))));
+        String interval = Duration.between(start, end).toDays() > 7 ? "1d" : "1h";
+
+        Aggregation errorDetails = Aggregation.of(a -> a.filter(statusAtLeast(400))
+                .aggregations("by_status", s -> s
+                        .terms(t -> t.field("httpStatusCode").size(STATUS_BUCKETS))
+                        .aggregations("samples", latest(STATUS_SAMPLES)))
+                .aggregations("by_endpoint", e -> e
+                        .terms(t -> t.field("endpoint").missing(UNKNOWN_ENDPOINT).size(endpointBuckets))
+                        .aggregations("by_status", statusTerms())
+                        .aggregations("recent", latest(ENDPOINT_SAMPLES)))
+                .aggregations("trend", h -> h
+                        .dateHistogram(d -> d.field("timestamp").fixedInterval(i -> i.time(interval)))));
+
+        return NativeQuery.builder()
+                .withQuery(inRange)
+                .withMaxResults(0)
+                .withTrackTotalHits(true)
+                .withAggregation("status", statusTerms())
+                .withAggregation("outcome", Aggregation.of(a -> a.filters(f -> f.filters(b -> b.keyed(Map.of(
+                        "errors", statusAtLeast(400),
+                        "critical", statusAtLeast(500)))))))
+                .withAggregation("errors", errorDetails)
+                .build();
+    }
+
+    private static Aggregation statusTerms() {
+        return Aggregation.of(a -> a.terms(t -> t.field("httpStatusCode").size(STATUS_BUCKETS)));
+    }
+
+    private static Aggregation latest(int size) {
+        return Aggregation.of(a -> a.topHits(t -> t.size(size)
+                .sort(s -> s.field(f -> f.field("timestamp").order(SortOrder.Desc)))
+                .source(src -> src.filter(f -> f.includes(SAMPLE_FIELDS)))));
+    }
+
+    private static Query statusAtLeast(int status) {
+        return Query.of(q -> q.range(r -> r.number(n -> n.field("httpStatusCode").gte((double) status))));
+    }
+
+    private static Map<String, Aggregate> aggregates(SearchHits<?> hits) {
+        if (!(hits.getAggregations() instanceof ElasticsearchAggregations container)) {
+            return Map.of();
+        }
+        Map<String, Aggregate> aggregates = new LinkedHashMap<>();
+        for (Map.Entry<String, ElasticsearchAggregation> entry : container.aggregationsAsMap().entrySet()) {
+            aggregates.put(entry.getKey(), entry.getValue().aggregation().getAggregate());
+        }
+        return aggregates;
+    }
+
+    private static Map<Integer, Long> statusCounts(Aggregate aggregate) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        for (LongTermsBucket bucket : longBuckets(aggregate)) {
+            counts.put((int) bucket.key(), bucket.docCount());
+        }
+        return counts;
+    }
+
+    private static Map<Integer, List<ErrorSample>> samplesByStatus(Aggregate aggregate) {
+        Map<Integer, List<ErrorSample>> samples = new TreeMap<>();
+        for (LongTermsBucket bucket : longBuckets(aggregate)) {
+            samples.put((int) bucket.key(), samples(bucket.aggregations().get("samples")));
+        }
+        return samples;
+    }
+
+    private static List<EndpointErrors> endpoints(Aggregate aggregate) {
+        if (aggregate == null || !aggregate.isSterms()) {
+            return List.of();
+        }
+        List<EndpointErrors> endpoints = new ArrayList<>();
+        for (StringTermsBucket bucket : aggregate.sterms().buckets().array()) {
+            endpoints.add(new EndpointErrors(bucket.key().stringValue(), bucket.docCount(),
+                    statusCounts(bucket.aggregations().get("by_status")),
+                    samples(bucket.aggregations().get("recent"))));
+        }
+        return endpoints;
+    }
+
+    private static Map<LocalDateTime, Long> trend(Aggregate aggregate) {
+        Map<LocalDateTime, Long> trend = new TreeMap<>();
+        if (aggregate == null || !aggregate.isDateHistogram()) {
+            return trend;
+        }
+        for (DateHistogramBucket bucket : aggregate.dateHistogram().buckets().array()) {
+            trend.put(LocalDateTime.ofInstant(Instant.ofEpochMilli(bucket.key()), ZoneOffset.UTC), bucket.docCount());
+        }
+        return trend;
+    }
+
+    private static List<LongTermsBucket> longBuckets(Aggregate aggregate) {
+        // A range with no documents can come back as an unmapped string terms aggregate
+        if (aggregate == null || !aggregate.isLterms()) {
+            return Collections.emptyList();
+        }
+        return aggregate.lterms().buckets().array();
+    }
+
+    private static List<ErrorSample> samples(Aggregate aggregate) {
+        if (aggregate == null || !aggregate.isTopHits()) {
+            return List.of();
+        }
+        List<ErrorSample> samples = new ArrayList<>();
+        for (Hit<JsonData> hit : aggregate.topHits().hits().hits()) {
+            if (hit.source() == null) {
+                continue;
+            }
+            JsonObject source = hit.source().toJson().asJsonObject();
+            samples.add(new ErrorSample(hit.id(), string(source, "action"), string(source, "endpoint"),
+                    source.get("httpStatusCode") instanceof JsonNumber status ? status.intValue() : null,
+                    timestamp(source.get("timestamp"))));
+        }
+        return samples;
+    }
+
+    private static String string(JsonObject source, String field) {
+        JsonValue value = source.get(field);
+        return value == null || value.getValueType() == JsonValue.ValueType.NULL ? null : source.getString(field);
+    }
+
+    private static LocalDateTime timestamp(JsonValue value) {
+        if (value instanceof JsonNumber millis) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis.longValue()), ZoneOffset.UTC);
+        }
+        if (!(value instanceof JsonString string)) {
+            return null;
+        }
+        String text = string.getString();
+        try {
+            return LocalDateTime.parse(text.endsWith("Z") ? text.substring(0, text.length() - 1) : text);
+        } catch (DateTimeParseException e) {
+            log.debug("Unparseable audit timestamp {}", text);
+            return null;
+        }
+    }
+}
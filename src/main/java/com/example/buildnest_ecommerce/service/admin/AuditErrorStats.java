@@ -0,0 +1,39 @@
+package com.example.buildnest_ecommerce.service.admin;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-aggregated audit figures for one time range: bucket counts and a few
+ * sample events, never the raw documents. Produced either by an
+ * Elasticsearch aggregation ({@link AuditErrorAggregations}) or by the
+ * in-process {@link ApiErrorCounterStore}, and serializable so it can sit in
+ * the {@code adminAnalytics} cache.
+ *
+ * @param totalEvents     all audit events in the range
+ * @param errorCount      events with status 400 or above
+ * @param criticalCount   events with status 500 or above
+ * @param statusCounts    events per HTTP status code, ascending
+ * @param samplesByStatus newest error events per error status code
+ * @param endpoints       error counts per endpoint, busiest first
+ * @param errorTrend      errors per time bucket, keyed by bucket start
+ */
+public record AuditErrorStats(
+        long totalEvents,
+        long errorCount,
+        long criticalCount,
+        Map<Integer, Long> statusCounts,
+        Map<Integer, List<ErrorSample>> samplesByStatus,
+        List<EndpointErrors> endpoints,
+        Map<LocalDateTime, Long> errorTrend) implements Serializable {
+
+    public record ErrorSample(String id, String action, String endpoint, Integer statusCode,
+            LocalDateTime timestamp) implements Serializable {
+    }
+
+    public record EndpointErrors(String endpoint, long errors, Map<Integer, Long> statusBreakdown,
+            List<ErrorSample> recent) implements Serializable {
+    }
+}
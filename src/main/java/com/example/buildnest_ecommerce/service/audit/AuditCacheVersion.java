@@ -0,0 +1,72 @@
+package com.example.buildnest_ecommerce.service.audit;
+
+import com.example.buildnest_ecommerce.config.properties.AuditProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generation number embedded in every {@code auditLogs} cache key.
+ *
+ * Writers bump it once per flushed batch instead of evicting the whole
+ * region; entries cached under an older generation are simply never read
+ * again and age out by TTL. The counter lives in Redis so a write on one pod
+ * invalidates reads on all of them. Readers re-fetch it at most every
+ * {@code audit.cache.version-refresh-ms}, so a new audit row can take that
+ * long to show up in a cached page. If Redis is unreachable the local copy
+ * is used and bumped in place.
+ */
+@Slf4j
+@Component("auditCacheVersion")
+public class AuditCacheVersion {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String key;
+    private final long refreshMs;
+    private final AtomicLong version = new AtomicLong();
+    private volatile long fetchedAt;
+
+    public AuditCacheVersion(StringRedisTemplate redisTemplate, AuditProperties auditProperties) {
+        this.redisTemplate = redisTemplate;
+        this.key = auditProperties.getCache().getVersionKey();
+        this.refreshMs = auditProperties.getCache().getVersionRefreshMs();
+    }
+
+    /**
+     * @return the generation to use in cache keys
+     */
+    public long current() {
+        long now = System.currentTimeMillis();
+        if (now - fetchedAt >= refreshMs) {
+            fetchedAt = now;
+            try {
+                String stored = redisTemplate.opsForValue().get(key);
+                if (stored != null) {
+                    version.set(Long.parseLong(stored));
+                }
+            } catch (Exception e) {
+                log.debug("Could not read audit cache version, using local value: {}", e.getMessage());
+            }
+        }
+        return version.get();
+    }
+
+    /**
+     * Moves every pod to a new generation.
+     */
+    public void bump() {
+        try {
+            Long next = redisTemplate.opsForValue().increment(key);
+            if (next != null) {
+                version.set(next);
+                fetchedAt = System.currentTimeMillis();
+                return;
+            }
+        } catch (Exception e) {
+            log.debug("Could not bump audit cache version in Redis, bumping locally: {}", e.getMessage());
+        }
+        version.incrementAndGet();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.buildnest_ecommerce.service.audit;
 
 import com.example.buildnest_ecommerce.model.entity.AuditLog;
 import com.example.buildnest_ecommerce.repository.AuditLogRepository;
+import com.example.buildnest_ecommerce.util.CorrelationId;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,16 +10,17 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Audit Log Service with distributed caching (RQ-NFR-03).
  * Implements Redis-based caching for frequently accessed audit logs.
- * Async logging prevents impact on request processing.
+ * Events are handed to {@link AuditLogWriter}, which batches the inserts off
+ * the request thread. Cache keys carry the {@link AuditCacheVersion}
+ * generation, so writes invalidate cached pages without evicting the region.
  */
 @Slf4j
 @Service
@@ -27,9 +29,11 @@ import java.time.LocalDateTime;
 public class AuditLogService implements IAuditLogService {
     private final AuditLogRepository auditLogRepository;
     private final ObjectMapper objectMapper;
+    private final AuditLogWriter auditLogWriter;
 
     /**
-     * Log an audit action asynchronously with cache invalidation.
+     * Queue an audit action for the batched writer. Values are serialized
+     * here so the row reflects their state at the time of the call.
      * 
      * @param userId     User performing the action
      * @param action     Action type (CREATE, UPDATE, DELETE, etc.)
@@ -40,9 +44,6 @@ public class AuditLogService implements IAuditLogService {
      * @param oldValue   Previous value (for updates)
      * @param newValue   New value (for updates)
      */
-    @Async
-    @Transactional
-    @CacheEvict(value = { "auditLogs" }, allEntries = true)
     public void logAction(Long userId, String action, String entityType, Long entityId,
             String ipAddress, String userAgent, Object oldValue, Object newValue) {
         try {
@@ -61,40 +62,36 @@ public class AuditLogService implements IAuditLogService {
                     .newValue(newValue != null ? objectMapper.writeValueAsString(newValue) : null)
                     .httpStatusCode(200)
                     .errorCategory("SUCCESS")
+                    .correlationId(CorrelationId.current())
                     .build();
 
-            auditLogRepository.save(auditLog);
-            log.debug("Audit log created: {} - {} on {} ID {}", userId, action, entityType, entityId);
+            auditLogWriter.submit(auditLog);
+            log.debug("Audit log queued: {} - {} on {} ID {}", userId, action, entityType, entityId);
         } catch (Exception e) {
             log.error("Failed to create audit log", e);
         }
     }
 
     /**
-     * Log authentication event asynchronously.
+     * Log authentication event.
      * 
      * @param userId    User ID
      * @param action    Action type (LOGIN, LOGOUT, FAILED_LOGIN, etc.)
      * @param ipAddress Client IP
      * @param userAgent Client user agent
      */
-    @Async
-    @Transactional
-    @CacheEvict(value = { "auditLogs" }, allEntries = true)
     public void logAuthenticationEvent(Long userId, String action, String ipAddress, String userAgent) {
         logAction(userId, action, "AUTHENTICATION", null, ipAddress, userAgent, null, null);
     }
 
     /**
-     * Log password change event asynchronously.
+     * Log password change event.
      * 
      * @param userId    User ID
      * @param ipAddress Client IP
      * @param userAgent Client user agent
      */
-    @Async
-    @Transactional
-    @CacheEvict(value = { "auditLogs", "userPermissions" }, allEntries = true)
+    @CacheEvict(value = "userPermissions", allEntries = true)
     public void logPasswordChange(Long userId, String ipAddress, String userAgent) {
         logAction(userId, "PASSWORD_CHANGE", "USER", userId, ipAddress, userAgent, null, null);
     }
@@ -107,7 +104,7 @@ public class AuditLogService implements IAuditLogService {
      * @param pageable Pagination parameters
      * @return Page of audit logs
      */
-    @Cacheable(value = "auditLogs", key = "'user-' + #userId + '-page-' + #pageable.pageNumber")
+    @Cacheable(value = "auditLogs", key = "@auditCacheVersion.current() + ':user-' + #userId + '-page-' + #pageable.pageNumber")
     public Page<AuditLog> getAuditLogsByUserId(Long userId, Pageable pageable) {
         return auditLogRepository.findByUserId(userId, pageable);
     }
@@ -120,7 +117,7 @@ public class AuditLogService implements IAuditLogService {
      * @param pageable Pagination parameters
      * @return Page of audit logs
      */
-    @Cacheable(value = "auditLogs", key = "'action-' + #action + '-page-' + #pageable.pageNumber")
+    @Cacheable(value = "auditLogs", key = "@auditCacheVersion.current() + ':action-' + #action + '-page-' + #pageable.pageNumber")
     public Page<AuditLog> getAuditLogsByAction(String action, Pageable pageable) {
         return auditLogRepository.findByAction(action, pageable);
     }
@@ -134,7 +131,7 @@ public class AuditLogService implements IAuditLogService {
      * @param pageable   Pagination parameters
      * @return Page of audit logs
      */
-    @Cacheable(value = "auditLogs", key = "'entity-' + #entityType + '-' + #entityId + '-page-' + #pageable.pageNumber")
+    @Cacheable(value = "auditLogs", key = "@auditCacheVersion.current() + ':entity-' + #entityType + '-' + #entityId + '-page-' + #pageable.pageNumber")
     public Page<AuditLog> getAuditLogsByEntity(String entityType, Long entityId, Pageable pageable) {
         return auditLogRepository.findByEntityTypeAndEntityId(entityType, entityId, pageable);
     }
@@ -148,7 +145,7 @@ public class AuditLogService implements IAuditLogService {
      * @param pageable Pagination parameters
      * @return Page of audit logs
      */
-    @Cacheable(value = "auditLogs", key = "'range-' + #start + '-' + #end + '-page-' + #pageable.pageNumber")
+    @Cacheable(value = "auditLogs", key = "@auditCacheVersion.current() + ':range-' + #start + '-' + #end + '-page-' + #pageable.pageNumber")
     public Page<AuditLog> getAuditLogsByDateRange(LocalDateTime start, LocalDateTime end, Pageable pageable) {
         return auditLogRepository.findByTimestampBetween(start, end, pageable);
     }
@@ -160,8 +157,18 @@ public class AuditLogService implements IAuditLogService {
      * @param pageable Pagination parameters
      * @return Page of audit logs
      */
-    @Cacheable(value = "auditLogs", key = "'all-page-' + #pageable.pageNumber")
+    @Cacheable(value = "auditLogs", key = "@auditCacheVersion.current() + ':all-page-' + #pageable.pageNumber")
     public Page<AuditLog> getAllAuditLogs(Pageable pageable) {
         return auditLogRepository.findAll(pageable);
     }
+
+    /**
+     * Get audit logs recorded under a correlation id, oldest first.
+     * 
+     * @param correlationId Correlation ID
+     * @return Audit logs for the request
+     */
+    public List<AuditLog> getAuditLogsByCorrelationId(String correlationId) {
+        return auditLogRepository.findByCorrelationIdOrderByTimestampAsc(correlationId);
+    }
 }
@@ -0,0 +1,386 @@
+package com.example.buildnest_ecommerce.service.audit;
+
+import com.example.buildnest_ecommerce.config.properties.AuditProperties;
+import com.example.buildnest_ecommerce.model.entity.AuditLog;
+import com.example.buildnest_ecommerce.service.spool.DiskSpool;
+import com.example.buildnest_ecommerce.service.spool.SpoolManager;
+import com.example.buildnest_ecommerce.util.RingBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Batched, asynchronous writer for {@code audit_logs}.
+ *
+ * Callers hand finished rows to {@link #submit(AuditLog)}, which only claims
+ * a slot in a bounded lock-free {@link RingBuffer}. One daemon thread drains
+ * the buffer and inserts rows with a single JDBC batch whenever
+ * {@code batch-size} events are waiting or {@code flush-interval-ms} has
+ * passed since the oldest one arrived, then bumps the
+ * {@link AuditCacheVersion} once for the whole batch.
+ *
+ * When the buffer is full the {@code overflow-policy} decides: {@code drop}
+ * discards the event immediately, {@code block} waits up to
+ * {@code block-timeout-ms} for space before discarding. Either way the
+ * caller is never failed by auditing. On shutdown new events are refused
+ * and the consumer writes out whatever is still buffered before the
+ * datasource closes.
+ *
+ * A batch that fails because the database is unreachable or overloaded is
+ * appended to the {@code audit} {@link DiskSpool} instead of being lost, and
+ * the spool's shipper replays it with the same batch insert once the
+ * database is back. Only events the spool cannot take either are counted as
+ * failed. Any other failure is retried row by row: a row the database still
+ * refuses, such as one with a value too long for its column, can never be
+ * written, so it is logged and counted as rejected rather than spooled,
+ * where it would block every event behind it. Replayed batches are handled
+ * the same way.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    static final String INSERT_SQL = "INSERT INTO audit_logs (user_id, action, entity_type, entity_id, timestamp,"
+            + " ip_address, user_agent, old_value, new_value, http_status_code, error_category, correlation_id)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String SPOOL_NAME = "audit";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditCacheVersion cacheVersion;
+    private final SpoolManager spoolManager;
+    private final ObjectMapper objectMapper;
+    private final RingBuffer<AuditLog> buffer;
+    private final boolean blockWhenFull;
+    private final long blockTimeoutNanos;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long shutdownTimeoutMs;
+    private final Counter droppedCounter;
+    private final Counter spooledCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+    private volatile Thread consumer;
+    private volatile boolean closed;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, AuditCacheVersion cacheVersion,
+            AuditProperties auditProperties, SpoolManager spoolManager, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        AuditProperties.Writer properties = auditProperties.getWriter();
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheVersion = cacheVersion;
+        this.spoolManager = spoolManager;
+        this.objectMapper = objectMapper;
+        this.buffer = new RingBuffer<>(properties.getBufferCapacity());
+        this.blockWhenFull = "block".equalsIgnoreCase(properties.getOverflowPolicy());
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getBlockTimeoutMs());
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, properties.getFlushIntervalMs()));
+        this.shutdownTimeoutMs = properties.getShutdownTimeoutMs();
+
+        Gauge.builder("audit.buffer.depth", buffer, RingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.capacity", buffer, RingBuffer::capacity)
+                .description("Audit event buffer capacity")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.events.dropped")
+                .description("Audit events discarded because the buffer was full or closed")
+                .register(meterRegistry);
+        this.spooledCounter = Counter.builder("audit.events.spooled")
+                .description("Audit events spooled to disk because their batch insert failed")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("audit.events.failed")
+                .description("Audit events lost because their batch insert failed and could not be spooled")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("audit.events.rejected")
+                .description("Audit events skipped because the database refused them for a reason a retry cannot fix")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("audit.batch.size")
+                .description("Audit events written per batch insert")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.batch.duration")
+                .description("Wall time of one audit batch insert")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (spoolManager.hasBacklog(SPOOL_NAME)) {
+            try {
+                openSpool();
+            } catch (IOException e) {
+                log.error("Failed to reopen audit spool; spooled events stay on disk", e);
+            }
+        }
+        Thread thread = new Thread(this::consume, "audit-writer");
+        thread.setDaemon(true);
+        consumer = thread;
+        thread.start();
+    }
+
+    /**
+     * Queues an audit row for the next batch.
+     *
+     * @return false if the event was dropped
+     */
+    public boolean submit(AuditLog auditLog) {
+        if (closed || !enqueue(auditLog)) {
+            droppedCounter.increment();
+            log.debug("Audit buffer full or closed, dropped {} event for user {}",
+                    auditLog.getAction(), auditLog.getUserId());
+            return false;
+        }
+        if (buffer.size() >= batchSize) {
+            wakeConsumer();
+        }
+        return true;
+    }
+
+    private boolean enqueue(AuditLog auditLog) {
+        if (buffer.offer(auditLog)) {
+            return true;
+        }
+        if (!blockWhenFull) {
+            return false;
+        }
+        wakeConsumer();
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            if (buffer.offer(auditLog)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void wakeConsumer() {
+        Thread thread = consumer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void consume() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        long oldestAt = 0L;
+        while (!closed) {
+            boolean wasEmpty = batch.isEmpty();
+            buffer.drainTo(batch, batchSize - batch.size());
+            if (wasEmpty && !batch.isEmpty()) {
+                oldestAt = System.nanoTime();
+            }
+            long waited = System.nanoTime() - oldestAt;
+            if (batch.size() >= batchSize || (!batch.isEmpty() && waited >= flushIntervalNanos)) {
+                flush(batch);
+                continue;
+            }
+            LockSupport.parkNanos(this, batch.isEmpty() ? flushIntervalNanos : flushIntervalNanos - waited);
+        }
+        drainRemaining(batch);
+    }
+
+    private void drainRemaining(List<AuditLog> batch) {
+        while (buffer.drainTo(batch, batchSize - batch.size()) > 0 || !batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    void flush(List<AuditLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            insert(batch);
+            batchSizeSummary.record(batch.size());
+            log.debug("Wrote {} audit events", batch.size());
+        } catch (Exception e) {
+            if (isTransient(e)) {
+                log.warn("Failed to write batch of {} audit events, spooling: {}", batch.size(), e.getMessage());
+                spool(batch);
+            } else {
+                log.warn("Failed to write batch of {} audit events, retrying row by row: {}", batch.size(),
+                        e.getMessage());
+                List<AuditLog> unwritten = insertEach(batch);
+                if (!unwritten.isEmpty()) {
+                    spool(unwritten);
+                }
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batch.clear();
+        }
+    }
+
+    private void insert(List<AuditLog> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, row) -> {
+            ps.setLong(1, row.getUserId());
+            ps.setString(2, row.getAction());
+            ps.setString(3, row.getEntityType());
+            if (row.getEntityId() != null) {
+                ps.setLong(4, row.getEntityId());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setTimestamp(5, Timestamp.valueOf(row.getTimestamp()));
+            ps.setString(6, row.getIpAddress());
+            ps.setString(7, row.getUserAgent());
+            ps.setString(8, row.getOldValue());
+            ps.setString(9, row.getNewValue());
+            ps.setInt(10, row.getHttpStatusCode());
+            ps.setString(11, row.getErrorCategory());
+            ps.setString(12, row.getCorrelationId());
+        });
+        cacheVersion.bump();
+    }
+
+    /**
+     * Inserts rows one at a time, rejecting those that fail for good. Stops
+     * at the first transient failure.
+     *
+     * @return the rows not yet written, from the one that failed transiently
+     */
+    private List<AuditLog> insertEach(List<AuditLog> rows) {
+        for (int i = 0; i < rows.size(); i++) {
+            AuditLog row = rows.get(i);
+            try {
+                insert(List.of(row));
+            } catch (Exception e) {
+                if (isTransient(e)) {
+                    return rows.subList(i, rows.size());
+                }
+                reject(row, e);
+            }
+        }
+        return List.of();
+    }
+
+    private void reject(Object row, Exception e) {
+        rejectedCounter.increment();
+        String record;
+        try {
+            record = row instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8)
+                    : objectMapper.writeValueAsString(row);
+        } catch (Exception serialization) {
+            record = String.valueOf(row);
+        }
+        log.error("Skipping audit event the database cannot accept ({}): {}", e.getMessage(), record);
+    }
+
+    /**
+     * The database was unreachable, timed out or asked for a retry; writing
+     * the same rows again later may succeed.
+     */
+    static boolean isTransient(Throwable e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    private void spool(List<AuditLog> batch) {
+        int spooled = 0;
+        try {
+            DiskSpool spool = openSpool();
+            for (AuditLog row : batch) {
+                if (!spool.append(objectMapper.writeValueAsBytes(row))) {
+                    break;
+                }
+                spooled++;
+            }
+        } catch (Exception e) {
+            log.error("Failed to spool audit events", e);
+        }
+        spooledCounter.increment(spooled);
+        if (spooled < batch.size()) {
+            failedCounter.increment(batch.size() - spooled);
+            log.error("Lost {} audit events: database and spool both unavailable", batch.size() - spooled);
+        }
+    }
+
+    private DiskSpool openSpool() throws IOException {
+        return spoolManager.open(SPOOL_NAME, this::replay);
+    }
+
+    /**
+     * Writes spooled records back. Throws, so the shipper retries the batch,
+     * only if the database is still unavailable; records that cannot be read
+     * or written are rejected and the checkpoint moves past them.
+     */
+    void replay(List<byte[]> records) throws Exception {
+        List<AuditLog> rows = new ArrayList<>(records.size());
+        for (byte[] record : records) {
+            try {
+                rows.add(objectMapper.readValue(record, AuditLog.class));
+            } catch (IOException e) {
+                reject(record, e);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            insert(rows);
+        } catch (Exception e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            List<AuditLog> unwritten = insertEach(rows);
+            if (!unwritten.isEmpty()) {
+                throw new IOException(unwritten.size() + " spooled audit events still failing", e);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting events and waits up to {@code shutdown-timeout-ms} for
+     * the consumer to write everything still buffered. If the consumer was
+     * never started the buffer is drained on the calling thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        Thread thread = consumer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(shutdownTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (thread.isAlive()) {
+                log.warn("Audit writer did not drain within {} ms; {} events still buffered",
+                        shutdownTimeoutMs, buffer.size());
+                return;
+            }
+        }
+        drainRemaining(new ArrayList<>(batchSize));
+    }
+
+    int pending() {
+        return buffer.size();
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Interface for Audit Log Service operations.
@@ -91,4 +92,13 @@ public interface IAuditLogService {
      * @return Page of audit logs
      */
     Page<AuditLog> getAllAuditLogs(Pageable pageable);
+
+    /**
+     * Get every audit log recorded under one request correlation id, oldest
+     * first. Served by the correlation id index.
+     * 
+     * @param correlationId Correlation ID
+     * @return Audit logs for the request
+     */
+    List<AuditLog> getAuditLogsByCorrelationId(String correlationId);
 }
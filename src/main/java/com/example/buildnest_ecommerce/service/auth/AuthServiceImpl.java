@@ -1,5 +1,7 @@
 package com.example.buildnest_ecommerce.service.auth;
 
+import com.example.buildnest_ecommerce.exception.DuplicateResourceException;
+import com.example.buildnest_ecommerce.exception.ServiceOverloadedException;
 import com.example.buildnest_ecommerce.model.entity.RefreshToken;
 import com.example.buildnest_ecommerce.model.entity.Role;
 import com.example.buildnest_ecommerce.model.entity.User;
@@ -14,10 +16,10 @@ import com.example.buildnest_ecommerce.event.UserRegisteredEvent;
 import com.example.buildnest_ecommerce.util.ValidationUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -43,7 +45,8 @@ public class AuthServiceImpl implements AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final RegistrationBloomFilter registrationBloomFilter;
     private final RefreshTokenService refreshTokenService;
     private final AuditLogService auditLogService;
     private final DomainEventPublisher domainEventPublisher;
@@ -60,6 +63,7 @@ public class AuthServiceImpl implements AuthService {
      * @param password the user's password (required)
      * @return AuthResponse containing access token, refresh token, and token type
      * @throws RuntimeException if username not found or authentication fails
+     * @throws ServiceOverloadedException if the hashing pool shed the request
      */
     @Override
     public AuthResponse login(String username, String password) {
@@ -84,6 +88,9 @@ public class AuthServiceImpl implements AuthService {
             response.setTokenType("Bearer");
             response.setUsername(username);
             return response;
+        } catch (ServiceOverloadedException e) {
+            log.warn("Login shed for user {}: {}", username, e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Login failed for user: {}", username, e);
             throw new RuntimeException("Login failed: " + e.getMessage());
@@ -93,27 +100,29 @@ public class AuthServiceImpl implements AuthService {
     /**
      * Registers a new user account.
      *
-     * Validates username and email uniqueness, enforces password policy,
-     * creates user with default USER role, and publishes UserRegisteredEvent.
+     * Uniqueness is settled in three tiers: the in-memory Bloom filter clears
+     * names that have never been seen, an indexed existence query confirms
+     * possible hits, and the unique constraints on username and email are the
+     * final arbiter for races between concurrent signups. The password is
+     * hashed on the bounded {@link PasswordHashingService} pool.
      *
      * @param registerRequest the registration request containing username, email,
      *                        password, and names
-     * @throws RuntimeException if username or email already exists
+     * @throws DuplicateResourceException if username or email already exists
      * @throws RuntimeException if password does not meet policy requirements
+     * @throws ServiceOverloadedException if the hashing pool is saturated
      * @see com.example.buildnest_ecommerce.util.ValidationUtil#validatePassword(String)
      */
     @Override
     public void register(RegisterRequest registerRequest) {
         log.info("User registration attempt: {}", registerRequest.getUsername());
 
-        // Check if user already exists
-        boolean userExists = userRepository.findAll().stream()
-                .anyMatch(u -> u.getUsername().equals(registerRequest.getUsername()) ||
-                        u.getEmail().equals(registerRequest.getEmail()));
-
-        if (userExists) {
+        // Check if user already exists (Bloom filter first, index probe on possible hit)
+        if (registrationBloomFilter.mightBeTaken(registerRequest.getUsername(), registerRequest.getEmail())
+                && userRepository.existsByUsernameOrEmail(registerRequest.getUsername(),
+                        registerRequest.getEmail())) {
             log.warn("Registration failed: Username or email already exists - {}", registerRequest.getUsername());
-            throw new RuntimeException("Username or email already exists");
+            throw new DuplicateResourceException("Username or email already exists");
         }
 
         // Enforce password policy
@@ -123,7 +132,7 @@ public class AuthServiceImpl implements AuthService {
         User newUser = new User();
         newUser.setUsername(registerRequest.getUsername());
         newUser.setEmail(registerRequest.getEmail());
-        newUser.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        newUser.setPassword(passwordHashingService.encode(registerRequest.getPassword(), HashingLane.REGISTRATION));
         newUser.setFirstName(registerRequest.getFirstName());
         newUser.setLastName(registerRequest.getLastName());
         newUser.setIsActive(true);
@@ -138,8 +147,16 @@ public class AuthServiceImpl implements AuthService {
         roles.add(userRole);
         newUser.setRoles(roles);
 
-        // Save user
-        User savedUser = userRepository.save(newUser);
+        // Save user; the unique constraints catch signups that raced past the checks
+        User savedUser;
+        try {
+            savedUser = userRepository.save(newUser);
+        } catch (DataIntegrityViolationException e) {
+            registrationBloomFilter.add(registerRequest.getUsername(), registerRequest.getEmail());
+            log.warn("Registration failed: Unique constraint violated - {}", registerRequest.getUsername());
+            throw new DuplicateResourceException("Username or email already exists");
+        }
+        registrationBloomFilter.add(savedUser.getUsername(), savedUser.getEmail());
         log.info("User registered successfully: {}", registerRequest.getUsername());
 
         // Log registration event
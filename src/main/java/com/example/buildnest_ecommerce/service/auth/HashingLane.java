@@ -0,0 +1,11 @@
+package com.example.buildnest_ecommerce.service.auth;
+
+/**
+ * Priority lanes on the password hashing pool. Lower ordinal runs first, so a
+ * registration burst cannot delay interactive logins.
+ */
+public enum HashingLane {
+    LOGIN,
+    PASSWORD_CHANGE,
+    REGISTRATION
+}
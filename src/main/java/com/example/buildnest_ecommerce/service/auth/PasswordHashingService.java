@@ -0,0 +1,251 @@
+package com.example.buildnest_ecommerce.service.auth;
+
+import com.example.buildnest_ecommerce.config.properties.AuthProperties;
+import com.example.buildnest_ecommerce.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated, bounded pool.
+ *
+ * BCrypt is deliberately CPU-expensive; running it directly on Tomcat threads
+ * lets a login or signup burst occupy the whole request pool. Here at most
+ * {@code poolSize} hashes run at once. Waiting work is ordered by
+ * {@link HashingLane} so logins overtake registrations, and each lane has its
+ * own queue bound beyond which callers are shed with
+ * {@link ServiceOverloadedException} (rendered as 503 with Retry-After).
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<HashingLane, Integer> laneCapacity = new EnumMap<>(HashingLane.class);
+    private final Map<HashingLane, AtomicInteger> lanePending = new EnumMap<>(HashingLane.class);
+    private final Map<HashingLane, Counter> laneRejected = new EnumMap<>(HashingLane.class);
+    private final Map<HashingLane, Timer> laneWait = new EnumMap<>(HashingLane.class);
+    private final Map<HashingLane, Timer> laneEncode = new EnumMap<>(HashingLane.class);
+    private final Map<HashingLane, Timer> laneMatches = new EnumMap<>(HashingLane.class);
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, AuthProperties authProperties,
+            MeterRegistry meterRegistry) {
+        AuthProperties.PasswordHashing properties = authProperties.getPasswordHashing();
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = properties.getTimeoutMs();
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getPoolSize(), properties.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("auth.password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+
+        for (HashingLane lane : HashingLane.values()) {
+            String tag = lane.name().toLowerCase();
+            laneCapacity.put(lane, lane == HashingLane.LOGIN
+                    ? properties.getLoginQueueCapacity()
+                    : properties.getQueueCapacity());
+            AtomicInteger pending = new AtomicInteger();
+            lanePending.put(lane, pending);
+            Gauge.builder("auth.password.hashing.lane.pending", pending, AtomicInteger::get)
+                    .description("Password hashing tasks queued per lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            laneRejected.put(lane, Counter.builder("auth.password.hashing.rejected")
+                    .description("Password hashing tasks shed because the lane queue was full")
+                    .tag("lane", tag)
+                    .register(meterRegistry));
+            laneWait.put(lane, Timer.builder("auth.password.hashing.wait")
+                    .description("Time password hashing tasks spent queued")
+                    .tag("lane", tag)
+                    .register(meterRegistry));
+            laneEncode.put(lane, Timer.builder("auth.password.hashing.cost")
+                    .description("Wall time of a single BCrypt operation")
+                    .tag("lane", tag)
+                    .tag("operation", "encode")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+            laneMatches.put(lane, Timer.builder("auth.password.hashing.cost")
+                    .description("Wall time of a single BCrypt operation")
+                    .tag("lane", tag)
+                    .tag("operation", "matches")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Hashes a raw password on the hashing pool.
+     *
+     * @param rawPassword the password to hash
+     * @param lane        the priority lane for the caller
+     * @return the encoded hash
+     * @throws ServiceOverloadedException if the lane is full or the hash does
+     *                                    not complete within the timeout
+     */
+    public String encode(String rawPassword, HashingLane lane) {
+        Timer cost = laneEncode.get(lane);
+        return execute(lane, () -> cost.recordCallable(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Verifies a raw password against a stored hash on the hashing pool.
+     *
+     * @throws ServiceOverloadedException if the lane is full or verification
+     *                                    does not complete within the timeout
+     */
+    public boolean matches(String rawPassword, String encodedPassword, HashingLane lane) {
+        Timer cost = laneMatches.get(lane);
+        return execute(lane, () -> cost.recordCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * @return true when the stored hash was produced with a weaker cost factor
+     *         than currently configured
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * A {@link PasswordEncoder} view that routes every operation through the
+     * given lane, for collaborators such as the authentication provider that
+     * expect a plain encoder.
+     */
+    public PasswordEncoder forLane(HashingLane lane) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return PasswordHashingService.this.encode(rawPassword.toString(), lane);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return PasswordHashingService.this.matches(rawPassword.toString(), encodedPassword, lane);
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return PasswordHashingService.this.upgradeEncoding(encodedPassword);
+            }
+        };
+    }
+
+    private <T> T execute(HashingLane lane, Callable<T> work) {
+        AtomicInteger pending = lanePending.get(lane);
+        if (pending.incrementAndGet() > laneCapacity.get(lane)) {
+            pending.decrementAndGet();
+            laneRejected.get(lane).increment();
+            log.warn("Password hashing lane {} full ({} waiting), shedding request", lane, laneCapacity.get(lane));
+            throw new ServiceOverloadedException("Password hashing capacity exhausted, please retry",
+                    retryAfterSeconds);
+        }
+
+        LaneTask<T> task = new LaneTask<>(lane, sequence.getAndIncrement(), work, pending, laneWait.get(lane));
+        executor.execute(task);
+        try {
+            return task.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            task.cancel(true);
+            throw new ServiceOverloadedException("Password hashing timed out", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queued hashing task ordered by lane, then FIFO within a lane. The lane
+     * slot is released exactly once, either when a worker picks the task up or
+     * when it is cancelled while still queued.
+     */
+    private static final class LaneTask<T> extends FutureTask<T> implements Comparable<LaneTask<?>> {
+        private final HashingLane lane;
+        private final long sequence;
+        private final AtomicInteger pending;
+        private final Timer waitTimer;
+        private final long enqueuedAt = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        LaneTask(HashingLane lane, long sequence, Callable<T> work, AtomicInteger pending, Timer waitTimer) {
+            super(work);
+            this.lane = lane;
+            this.sequence = sequence;
+            this.pending = pending;
+            this.waitTimer = waitTimer;
+        }
+
+        @Override
+        public void run() {
+            if (release()) {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            }
+            super.run();
+        }
+
+        @Override
+        protected void done() {
+            release();
+        }
+
+        private boolean release() {
+            if (released.compareAndSet(false, true)) {
+                pending.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int compareTo(LaneTask<?> other) {
+            int byLane = Integer.compare(lane.ordinal(), other.lane.ordinal());
+            return byLane != 0 ? byLane : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.buildnest_ecommerce.service.auth;
+
+import com.example.buildnest_ecommerce.repository.UserRepository;
+import com.example.buildnest_ecommerce.security.CustomUserDetails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Adaptive BCrypt cost migration.
+ *
+ * The authentication provider calls {@link #updatePassword} after a
+ * successful login whenever the stored hash was produced with a lower cost
+ * factor than {@code auth.password-hashing.bcrypt-strength}, so raising the
+ * strength rolls forward one login at a time without a bulk rehash.
+ */
+@Slf4j
+@Service
+public class PasswordUpgradeService implements UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final Counter rehashCounter;
+
+    public PasswordUpgradeService(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.rehashCounter = Counter.builder("auth.password.rehash")
+                .description("Stored password hashes upgraded to the current cost factor on login")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByUsername(user.getUsername()).ifPresent(entity -> {
+            entity.setPassword(newPassword);
+            entity.setUpdatedAt(LocalDateTime.now());
+            userRepository.save(entity);
+            rehashCounter.increment();
+            log.info("Upgraded password hash cost for user: {}", entity.getId());
+        });
+        if (user instanceof CustomUserDetails customUserDetails) {
+            customUserDetails.setPassword(newPassword);
+            return customUserDetails;
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+}
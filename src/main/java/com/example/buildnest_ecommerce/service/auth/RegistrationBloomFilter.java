@@ -0,0 +1,111 @@
+package com.example.buildnest_ecommerce.service.auth;
+
+import com.example.buildnest_ecommerce.config.properties.AuthProperties;
+import com.example.buildnest_ecommerce.repository.UserRepository;
+import com.example.buildnest_ecommerce.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * In-memory Bloom filter over registered usernames and emails.
+ *
+ * Lets registration skip the uniqueness query entirely for names that have
+ * definitely never been seen by this pod. A hit is only a hint and is
+ * confirmed with {@link UserRepository#existsByUsernameOrEmail(String, String)};
+ * registrations made on other pods are caught by the unique constraints.
+ * Until the startup rebuild completes every lookup reports "maybe taken" so
+ * the database check is never skipped on a cold filter.
+ */
+@Slf4j
+@Component
+public class RegistrationBloomFilter {
+
+    private static final String USERNAME_PREFIX = "u:";
+    private static final String EMAIL_PREFIX = "e:";
+
+    private final UserRepository userRepository;
+    private final AuthProperties.Registration properties;
+    private final BloomFilter filter;
+    private final Counter definiteMissCounter;
+    private final Counter possibleHitCounter;
+    private volatile boolean ready;
+
+    public RegistrationBloomFilter(UserRepository userRepository, AuthProperties authProperties,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.properties = authProperties.getRegistration();
+        this.filter = new BloomFilter(properties.getBloomExpectedInsertions(),
+                properties.getBloomFalsePositiveRate());
+        this.definiteMissCounter = Counter.builder("auth.registration.bloom")
+                .description("Registration uniqueness pre-checks answered by the Bloom filter")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.possibleHitCounter = Counter.builder("auth.registration.bloom")
+                .description("Registration uniqueness pre-checks answered by the Bloom filter")
+                .tag("result", "possible_hit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads every existing username and email in keyset-paged batches.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long loaded = 0;
+        long lastId = 0L;
+        try {
+            List<UserRepository.UserIdentity> batch;
+            do {
+                batch = userRepository.findIdentitiesAfter(lastId,
+                        PageRequest.of(0, properties.getBloomRebuildBatchSize()));
+                for (UserRepository.UserIdentity identity : batch) {
+                    add(identity.getUsername(), identity.getEmail());
+                    lastId = identity.getId();
+                }
+                loaded += batch.size();
+            } while (batch.size() == properties.getBloomRebuildBatchSize());
+            ready = true;
+            log.info("Registration Bloom filter loaded {} users in {} ms ({} bits, {} hash functions)",
+                    loaded, System.currentTimeMillis() - start, filter.getBitCount(), filter.getHashFunctions());
+        } catch (Exception e) {
+            log.error("Failed to rebuild registration Bloom filter; falling back to database checks", e);
+        }
+    }
+
+    /**
+     * Records a newly registered user.
+     */
+    public void add(String username, String email) {
+        if (username != null) {
+            filter.put(USERNAME_PREFIX + username);
+        }
+        if (email != null) {
+            filter.put(EMAIL_PREFIX + email);
+        }
+    }
+
+    /**
+     * @return false only when neither the username nor the email can exist
+     */
+    public boolean mightBeTaken(String username, String email) {
+        if (!ready) {
+            return true;
+        }
+        boolean possible = filter.mightContain(USERNAME_PREFIX + username)
+                || filter.mightContain(EMAIL_PREFIX + email);
+        (possible ? possibleHitCounter : definiteMissCounter).increment();
+        return possible;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+}
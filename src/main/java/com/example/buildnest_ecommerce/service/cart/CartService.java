@@ -3,10 +3,24 @@ package com.example.buildnest_ecommerce.service.cart;
 import com.example.buildnest_ecommerce.model.entity.Cart;
 import com.example.buildnest_ecommerce.model.payload.CartResponseDTO;
 
+/**
+ * Shopping cart operations. Selected with {@code cart.store}: {@code jpa}
+ * reads and writes MySQL on every call, {@code redis} keeps active carts in
+ * Redis and writes them to MySQL behind.
+ */
 public interface CartService {
     Cart addToCart(Long userId, Long productId, Integer quantity);
     CartResponseDTO getCartByUserId(Long userId);
     void removeItemFromCart(Long cartItemId);
+    void removeProductFromCart(Long userId, Long productId);
     void clearCart(Long userId);
     Double getCartTotal(Long userId);
+
+    /**
+     * Write the user's cart to MySQL now, so that it can be read from the
+     * {@code carts} and {@code cart_items} tables, as checkout does.
+     *
+     * @return true if rows were written
+     */
+    boolean persistCart(Long userId);
 }
@@ -12,6 +12,7 @@ import com.example.buildnest_ecommerce.repository.ProductRepository;
 import com.example.buildnest_ecommerce.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
@@ -20,6 +21,7 @@ import java.util.List;
 
 @Slf4j
 @Service
+@ConditionalOnProperty(name = "cart.store", havingValue = "jpa", matchIfMissing = true)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @SuppressWarnings("null")
@@ -116,6 +118,22 @@ public class CartServiceImpl implements CartService {
         cartItemRepository.deleteById(cartItemId);
     }
 
+    @Override
+    @Transactional
+    public void removeProductFromCart(Long userId, Long productId) {
+        log.info("Removing product {} from cart for user {}", productId, userId);
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+
+        Cart cart = cartRepository.findByUser(user)
+                .orElseThrow(() -> new RuntimeException("Cart not found for user: " + userId));
+
+        if (cart.getItems().removeIf(item -> item.getProduct().getId().equals(productId))) {
+            cartRepository.save(cart);
+        }
+    }
+
     @Override
     @Transactional
     public void clearCart(Long userId) {
@@ -137,4 +155,12 @@ public class CartServiceImpl implements CartService {
         log.info("Getting cart total for user: {}", userId);
         return getCartByUserId(userId).getTotalAmount();
     }
+
+    /**
+     * No-op: every change is already written to MySQL.
+     */
+    @Override
+    public boolean persistCart(Long userId) {
+        return false;
+    }
 }
@@ -0,0 +1,471 @@
+package com.example.buildnest_ecommerce.service.cart;
+
+import com.example.buildnest_ecommerce.config.properties.CartProperties;
+import com.example.buildnest_ecommerce.model.entity.Cart;
+import com.example.buildnest_ecommerce.model.entity.CartItem;
+import com.example.buildnest_ecommerce.model.entity.Product;
+import com.example.buildnest_ecommerce.model.entity.User;
+import com.example.buildnest_ecommerce.model.payload.CartItemResponseDTO;
+import com.example.buildnest_ecommerce.model.payload.CartResponseDTO;
+import com.example.buildnest_ecommerce.repository.CartItemRepository;
+import com.example.buildnest_ecommerce.repository.CartRepository;
+import com.example.buildnest_ecommerce.repository.ProductRepository;
+import com.example.buildnest_ecommerce.repository.UserRepository;
+import com.example.buildnest_ecommerce.service.product.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Redis-resident shopping carts.
+ *
+ * Each active cart is the hash {@code <prefix><userId>} with the fields
+ * {@code id} (the {@code carts} row), and per product {@code q:<productId>}
+ * (quantity), {@code p:<productId>} (price when first added) and, once the
+ * line has been written, {@code i:<productId>} (the {@code cart_items} row).
+ * The hash expires {@code cart.ttl-ms} after its last change. Adding to a
+ * cart is one Lua script (HINCRBY, HSETNX, PEXPIRE and SADD to the dirty set
+ * {@code <prefix>dirty}) after a product lookup from the {@code products}
+ * cache; reading it is one HGETALL and a cached product lookup per line.
+ *
+ * MySQL is written behind: {@link #persistCart} replaces the cart's rows
+ * with the hash, at checkout and for every dirty cart each write-behind
+ * interval. A cart that is not in Redis, because it predates this store or
+ * has expired, is loaded from its rows on first use, so no migration step is
+ * needed. Lines that have not been written yet have no cart item id; remove
+ * them with {@link #removeProductFromCart}.
+ *
+ * Only the first touch of a cart, persisting and clearing open a database
+ * transaction; adding to and reading a cart do not.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "cart.store", havingValue = "redis")
+@SuppressWarnings("null")
+public class RedisCartService implements CartService {
+
+    static final String CART_ID = "id";
+    static final String QUANTITY = "q:";
+    static final String PRICE = "p:";
+    static final String ITEM_ID = "i:";
+
+    /**
+     * KEYS: cart, dirty set. ARGV: product id, quantity delta, price, ttl,
+     * user id. Returns the cart id, or nil if the cart is not in Redis. A line
+     * whose quantity drops to zero or below is removed.
+     */
+    private static final RedisScript<String> ADD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              return false
+            end
+            local quantity = redis.call('HINCRBY', KEYS[1], 'q:' .. ARGV[1], ARGV[2])
+            if quantity <= 0 then
+              redis.call('HDEL', KEYS[1], 'q:' .. ARGV[1], 'p:' .. ARGV[1], 'i:' .. ARGV[1])
+            else
+              redis.call('HSETNX', KEYS[1], 'p:' .. ARGV[1], ARGV[3])
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            redis.call('SADD', KEYS[2], ARGV[5])
+            return redis.call('HGET', KEYS[1], 'id')
+            """, String.class);
+
+    /**
+     * KEYS: cart, dirty set. ARGV: product id, ttl, user id. Returns the
+     * number of fields removed, or nil if the cart is not in Redis.
+     */
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              return false
+            end
+            local removed = redis.call('HDEL', KEYS[1], 'q:' .. ARGV[1], 'p:' .. ARGV[1], 'i:' .. ARGV[1])
+            if removed > 0 then
+              redis.call('PEXPIRE', KEYS[1], ARGV[2])
+              redis.call('SADD', KEYS[2], ARGV[3])
+            end
+            return removed
+            """, Long.class);
+
+    /**
+     * KEYS: cart. ARGV: ttl, then field and value pairs. Leaves a cart that
+     * is already in Redis alone and returns 0.
+     */
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+              return 0
+            end
+            redis.call('HSET', KEYS[1], unpack(ARGV, 2))
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS: cart, dirty set. ARGV: cart id, ttl, user id.
+     */
+    private static final RedisScript<Long> CLEAR_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], 'id', ARGV[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return redis.call('SREM', KEYS[2], ARGV[3])
+            """, Long.class);
+
+    /**
+     * KEYS: cart. ARGV: product id and cart item id pairs. Records written
+     * rows for lines that are still in the cart.
+     */
+    private static final RedisScript<Long> WRITTEN_SCRIPT = new DefaultRedisScript<>("""
+            for i = 1, #ARGV, 2 do
+              if redis.call('HEXISTS', KEYS[1], 'q:' .. ARGV[i]) == 1 then
+                redis.call('HSET', KEYS[1], 'i:' .. ARGV[i], ARGV[i + 1])
+              end
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final ProductService productService;
+    private final String keyPrefix;
+    private final String dirtyKey;
+    private final String ttl;
+
+    public RedisCartService(StringRedisTemplate redisTemplate, CartRepository cartRepository,
+            CartItemRepository cartItemRepository, ProductRepository productRepository,
+            UserRepository userRepository, ProductService productService, CartProperties cartProperties) {
+        this.redisTemplate = redisTemplate;
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.productRepository = productRepository;
+        this.userRepository = userRepository;
+        this.productService = productService;
+        this.keyPrefix = cartProperties.getRedisKeyPrefix();
+        this.dirtyKey = keyPrefix + "dirty";
+        this.ttl = String.valueOf(cartProperties.getTtlMs());
+    }
+
+    @Override
+    public Cart addToCart(Long userId, Long productId, Integer quantity) {
+        log.debug("Adding product {} to cart for user {}", productId, userId);
+
+        Product product = productService.getProductById(productId);
+        String cartId = add(userId, productId, quantity, product.getPrice());
+        if (cartId == null) {
+            load(userId, true);
+            cartId = add(userId, productId, quantity, product.getPrice());
+        }
+
+        User user = new User();
+        user.setId(userId);
+        Cart cart = new Cart();
+        cart.setId(cartId == null ? null : Long.valueOf(cartId));
+        cart.setUser(user);
+        cart.setItems(new ArrayList<>());
+        return cart;
+    }
+
+    @Override
+    public CartResponseDTO getCartByUserId(Long userId) {
+        log.debug("Fetching cart for user: {}", userId);
+
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(key(userId));
+        if (fields == null || fields.isEmpty()) {
+            fields = load(userId, false);
+        }
+
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        List<CartItemResponseDTO> itemDTOs = new ArrayList<>();
+        for (Map.Entry<Long, Line> entry : lines(fields).entrySet()) {
+            Line line = entry.getValue();
+            CartItemResponseDTO dto = new CartItemResponseDTO();
+            dto.setCartItemId(line.itemId);
+            dto.setProductId(entry.getKey());
+            dto.setProductName(productName(entry.getKey()));
+            dto.setQuantity(line.quantity);
+            dto.setPrice(line.price.doubleValue());
+
+            BigDecimal itemTotal = line.price.multiply(new BigDecimal(line.quantity));
+            dto.setItemTotal(itemTotal.doubleValue());
+            totalAmount = totalAmount.add(itemTotal);
+            itemDTOs.add(dto);
+        }
+
+        CartResponseDTO response = new CartResponseDTO();
+        response.setCartId(Long.valueOf((String) fields.get(CART_ID)));
+        response.setUserId(userId);
+        response.setItems(itemDTOs);
+        response.setTotalAmount(totalAmount.doubleValue());
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public void removeItemFromCart(Long cartItemId) {
+        log.info("Removing item {} from cart", cartItemId);
+
+        cartItemRepository.findById(cartItemId).ifPresent(item -> redisTemplate.opsForHash().delete(
+                key(item.getCart().getUser().getId()),
+                QUANTITY + item.getProduct().getId(),
+                PRICE + item.getProduct().getId(),
+                ITEM_ID + item.getProduct().getId()));
+        cartItemRepository.deleteById(cartItemId);
+    }
+
+    @Override
+    public void removeProductFromCart(Long userId, Long productId) {
+        log.debug("Removing product {} from cart for user {}", productId, userId);
+
+        if (remove(userId, productId) == null) {
+            load(userId, false);
+            remove(userId, productId);
+        }
+    }
+
+    /**
+     * Empties the cart's rows now and the Redis cart once the transaction
+     * commits, so a rolled-back checkout leaves the cart as it was.
+     */
+    @Override
+    @Transactional
+    public void clearCart(Long userId) {
+        log.info("Clearing cart for user: {}", userId);
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+
+        Cart cart = cartRepository.findByUser(user)
+                .orElseThrow(() -> new RuntimeException("Cart not found for user: " + userId));
+
+        cartItemRepository.deleteAll(cart.getItems());
+        cart.getItems().clear();
+        cartRepository.save(cart);
+
+        afterCommit(() -> redisTemplate.execute(CLEAR_SCRIPT, List.of(key(userId), dirtyKey),
+                String.valueOf(cart.getId()), ttl, String.valueOf(userId)));
+    }
+
+    @Override
+    public Double getCartTotal(Long userId) {
+        return getCartByUserId(userId).getTotalAmount();
+    }
+
+    /**
+     * Replace the cart's rows with its Redis hash. A cart that is not in
+     * Redis has nothing newer than its rows and is skipped. If the
+     * transaction does not commit, the cart is marked dirty again.
+     */
+    @Override
+    @Transactional
+    public boolean persistCart(Long userId) {
+        String member = String.valueOf(userId);
+        redisTemplate.opsForSet().remove(dirtyKey, member);
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(key(userId));
+        if (fields == null || fields.isEmpty()) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        redisTemplate.opsForSet().add(dirtyKey, member);
+                    }
+                }
+            });
+        }
+
+        Long cartId = Long.valueOf((String) fields.get(CART_ID));
+        Cart cart = cartRepository.findById(cartId).orElse(null);
+        if (cart == null) {
+            log.warn("Cart {} of user {} no longer exists; dropping its Redis copy", cartId, userId);
+            redisTemplate.delete(key(userId));
+            return false;
+        }
+        if (cart.getItems() == null) {
+            cart.setItems(new ArrayList<>());
+        }
+
+        Map<Long, Line> lines = lines(fields);
+        Iterator<CartItem> rows = cart.getItems().iterator();
+        while (rows.hasNext()) {
+            CartItem row = rows.next();
+            Line line = lines.remove(row.getProduct().getId());
+            if (line == null) {
+                rows.remove();
+            } else {
+                row.setQuantity(line.quantity);
+                row.setPrice(line.price);
+            }
+        }
+        List<CartItem> added = new ArrayList<>();
+        for (Map.Entry<Long, Line> entry : lines.entrySet()) {
+            CartItem row = new CartItem();
+            row.setCart(cart);
+            row.setProduct(productRepository.getReferenceById(entry.getKey()));
+            row.setQuantity(entry.getValue().quantity);
+            row.setPrice(entry.getValue().price);
+            cart.getItems().add(row);
+            added.add(row);
+        }
+        cartRepository.saveAndFlush(cart);
+
+        if (!added.isEmpty()) {
+            List<String> written = new ArrayList<>();
+            for (CartItem row : added) {
+                written.add(String.valueOf(row.getProduct().getId()));
+                written.add(String.valueOf(row.getId()));
+            }
+            afterCommit(() -> redisTemplate.execute(WRITTEN_SCRIPT, List.of(key(userId)), written.toArray()));
+        }
+        log.debug("Wrote cart {} of user {}: {} lines", cartId, userId, cart.getItems().size());
+        return true;
+    }
+
+    /**
+     * Take up to {@code count} carts changed since they were last written.
+     */
+    public List<Long> pollDirty(int count) {
+        List<String> members = redisTemplate.opsForSet().pop(dirtyKey, count);
+        List<Long> userIds = new ArrayList<>();
+        if (members != null) {
+            for (String member : members) {
+                userIds.add(Long.valueOf(member));
+            }
+        }
+        return userIds;
+    }
+
+    private String add(Long userId, Long productId, Integer quantity, BigDecimal price) {
+        return redisTemplate.execute(ADD_SCRIPT, List.of(key(userId), dirtyKey),
+                String.valueOf(productId), String.valueOf(quantity), price.toPlainString(), ttl,
+                String.valueOf(userId));
+    }
+
+    private Long remove(Long userId, Long productId) {
+        return redisTemplate.execute(REMOVE_SCRIPT, List.of(key(userId), dirtyKey),
+                String.valueOf(productId), ttl, String.valueOf(userId));
+    }
+
+    /**
+     * Copy the user's cart from its rows into Redis, creating the cart row
+     * first if {@code create} is set. Two first adds can race to create it;
+     * the loser hits the unique {@code cart.user_id} key and reads the row the
+     * winner created.
+     *
+     * @return the cart's fields as they are now in Redis
+     */
+    private Map<Object, Object> load(Long userId, boolean create) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+
+        Cart cart = cartRepository.findByUser(user).orElse(null);
+        if (cart == null) {
+            if (!create) {
+                throw new RuntimeException("Cart not found for user: " + userId);
+            }
+            cart = new Cart();
+            cart.setUser(user);
+            cart.setItems(new ArrayList<>());
+            try {
+                cart = cartRepository.saveAndFlush(cart);
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Cart of user {} created concurrently", userId);
+                cart = cartRepository.findByUser(user)
+                        .orElseThrow(() -> new RuntimeException("Cart not found for user: " + userId));
+            }
+        }
+
+        Map<Object, Object> fields = new TreeMap<>();
+        fields.put(CART_ID, String.valueOf(cart.getId()));
+        if (cart.getItems() != null) {
+            for (CartItem item : cart.getItems()) {
+                Long productId = item.getProduct().getId();
+                fields.put(QUANTITY + productId, String.valueOf(item.getQuantity()));
+                fields.put(PRICE + productId, item.getPrice().toPlainString());
+                fields.put(ITEM_ID + productId, String.valueOf(item.getId()));
+            }
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(ttl);
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+
+        Long loaded = redisTemplate.execute(LOAD_SCRIPT, List.of(key(userId)), args.toArray());
+        if (loaded != null && loaded == 0) {
+            // Another request loaded it first and may already have changed it
+            Map<Object, Object> current = redisTemplate.opsForHash().entries(key(userId));
+            if (current != null && !current.isEmpty()) {
+                return current;
+            }
+        }
+        log.debug("Loaded cart {} of user {} into Redis", cart.getId(), userId);
+        return fields;
+    }
+
+    private String productName(Long productId) {
+        try {
+            return productService.getProductById(productId).getName();
+        } catch (RuntimeException e) {
+            log.debug("No product {} for cart line: {}", productId, e.getMessage());
+            return null;
+        }
+    }
+
+    private String key(Long userId) {
+        return keyPrefix + userId;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Lines by product id, in product order.
+     */
+    private static Map<Long, Line> lines(Map<Object, Object> fields) {
+        Map<Long, Line> lines = new TreeMap<>();
+        for (Map.Entry<Object, Object> field : fields.entrySet()) {
+            String name = (String) field.getKey();
+            if (!name.startsWith(QUANTITY)) {
+                continue;
+            }
+            String productId = name.substring(QUANTITY.length());
+            Object price = fields.get(PRICE + productId);
+            Object itemId = fields.get(ITEM_ID + productId);
+            lines.put(Long.valueOf(productId), new Line(
+                    Integer.valueOf((String) field.getValue()),
+                    price == null ? BigDecimal.ZERO : new BigDecimal((String) price),
+                    itemId == null ? null : Long.valueOf((String) itemId)));
+        }
+        return lines;
+    }
+
+    private record Line(Integer quantity, BigDecimal price, Long itemId) {
+    }
+}
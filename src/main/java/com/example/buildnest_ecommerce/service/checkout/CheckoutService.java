@@ -2,6 +2,9 @@ package com.example.buildnest_ecommerce.service.checkout;
 
 import com.example.buildnest_ecommerce.model.dto.CheckoutRequestDTO;
 import com.example.buildnest_ecommerce.model.entity.Order;
+import com.example.buildnest_ecommerce.model.entity.Payment;
+
+import java.util.concurrent.CompletableFuture;
 
 public interface CheckoutService {
     /**
@@ -35,4 +38,12 @@ public interface CheckoutService {
      * @return Total amount
      */
     Double calculateFinalTotal(Long cartId);
+
+    /**
+     * Start paying for a pending order without waiting for the gateway
+     * @param userId User who placed the order
+     * @param orderId Order to pay for
+     * @return The PENDING payment once the gateway has created its order
+     */
+    CompletableFuture<Payment> initiatePayment(Long userId, Long orderId);
 }
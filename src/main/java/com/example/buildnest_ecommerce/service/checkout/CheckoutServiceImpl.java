@@ -8,6 +8,7 @@ import com.example.buildnest_ecommerce.repository.OrderRepository;
 import com.example.buildnest_ecommerce.repository.UserRepository;
 import com.example.buildnest_ecommerce.service.cart.CartService;
 import com.example.buildnest_ecommerce.service.inventory.InventoryService;
+import com.example.buildnest_ecommerce.service.payment.PaymentService;
 // import com.example.buildnest_ecommerce.service.order.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +20,7 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +33,7 @@ public class CheckoutServiceImpl implements CheckoutService {
     private final CartRepository cartRepository;
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
+    private final PaymentService paymentService;
     
     @Override
     @Transactional
@@ -126,10 +129,26 @@ public class CheckoutServiceImpl implements CheckoutService {
         return savedOrder;
     }
     
+    @Override
+    public CompletableFuture<Payment> initiatePayment(Long userId, Long orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        if (!order.getUser().getId().equals(userId) || Boolean.TRUE.equals(order.getIsDeleted())) {
+            throw new ResourceNotFoundException("Order not found with id: " + orderId);
+        }
+        if (order.getStatus() != Order.OrderStatus.PENDING) {
+            throw new IllegalArgumentException("Order " + orderId + " is " + order.getStatus() + ", not awaiting payment");
+        }
+        return paymentService.initiatePaymentAsync(orderId, order.getTotalAmount().doubleValue());
+    }
+    
     @Override
     public boolean validateCheckout(Long userId, Long cartId) {
         log.debug("Validating checkout for user: {}, cart: {}", userId, cartId);
         
+        // Carts held in Redis are written to their rows before they are read
+        cartService.persistCart(userId);
+        
         try {
             // Check cart exists
             Cart cart = cartRepository.findById(cartId)
@@ -168,6 +187,10 @@ public class CheckoutServiceImpl implements CheckoutService {
         try {
             Cart cart = cartRepository.findById(cartId)
                     .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
+            if (cartService.persistCart(cart.getUser().getId())) {
+                cart = cartRepository.findById(cartId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
+            }
             
             BigDecimal cartTotal = cart.getItems().stream()
                     .map(CartItem::getTotalPrice)
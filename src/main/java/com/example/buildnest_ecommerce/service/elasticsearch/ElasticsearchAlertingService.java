@@ -1,5 +1,6 @@
 package com.example.buildnest_ecommerce.service.elasticsearch;
 
+import com.example.buildnest_ecommerce.aspect.ClusterSingleton;
 import com.example.buildnest_ecommerce.model.elasticsearch.ElasticsearchMetrics;
 import com.example.buildnest_ecommerce.repository.elasticsearch.ElasticsearchMetricsRepository;
 import lombok.RequiredArgsConstructor;
@@ -47,6 +48,7 @@ public class ElasticsearchAlertingService {
      * Monitor metrics every minute for threshold violations (RQ-ES-ALRT-02, RQ-ES-ALRT-03).
      */
     @Scheduled(fixedDelay = 60000)
+    @ClusterSingleton(leaseMs = 120_000L, minHoldMs = 50_000L)
     public void monitorMetrics() {
         if (!alertingEnabled || webhookUrl.isEmpty()) {
             return;
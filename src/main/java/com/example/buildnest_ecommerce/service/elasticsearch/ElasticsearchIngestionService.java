@@ -4,10 +4,12 @@ import com.example.buildnest_ecommerce.model.elasticsearch.ElasticsearchAuditLog
 import com.example.buildnest_ecommerce.model.elasticsearch.ElasticsearchMetrics;
 import com.example.buildnest_ecommerce.repository.elasticsearch.ElasticsearchAuditLogRepository;
 import com.example.buildnest_ecommerce.repository.elasticsearch.ElasticsearchMetricsRepository;
+import com.example.buildnest_ecommerce.service.admin.ApiErrorCounterStore;
+import com.example.buildnest_ecommerce.service.elasticsearch.ingest.ElasticsearchBulkIndexer;
+import com.example.buildnest_ecommerce.util.CorrelationId;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,7 +19,9 @@ import java.util.UUID;
  * Service for Elasticsearch event ingestion and storage (RQ-ES-ING-01,
  * RQ-ES-ING-02, RQ-ES-ING-04).
  * Handles reliable ingestion and storage of audit logs and metrics in
- * Elasticsearch.
+ * Elasticsearch. Documents are queued on the {@link ElasticsearchBulkIndexer}
+ * and shipped in {@code _bulk} requests rather than saved one at a time,
+ * and counted in the {@link ApiErrorCounterStore} for recent-range analytics.
  * Only enabled when elasticsearch.enabled=true.
  */
 @Slf4j
@@ -28,12 +32,13 @@ public class ElasticsearchIngestionService {
 
     private final ElasticsearchAuditLogRepository auditLogRepository;
     private final ElasticsearchMetricsRepository metricsRepository;
+    private final ElasticsearchBulkIndexer bulkIndexer;
+    private final ApiErrorCounterStore errorCounterStore;
 
     /**
      * Index audit log in Elasticsearch asynchronously (RQ-ES-LOG-04, RQ-ES-ING-04).
      * Ensures non-blocking ingestion for reliable delivery.
      */
-    @Async
     public void indexAuditLog(Long userId, String action, String entityType, Long entityId,
             String ipAddress, String userAgent, String oldValue, String newValue) {
         indexAuditLogWithStatus(userId, action, entityType, entityId, ipAddress, userAgent, oldValue, newValue, 200,
@@ -44,7 +49,6 @@ public class ElasticsearchIngestionService {
      * Index audit log with HTTP status code (RQ-SRCH-04, RQ-ES-LOG-04).
      * Extended method for capturing API error events with status codes.
      */
-    @Async
     public void indexAuditLogWithStatus(Long userId, String action, String entityType, Long entityId,
             String ipAddress, String userAgent, String oldValue, String newValue,
             Integer httpStatusCode, String endpoint, String errorCategory) {
@@ -77,10 +81,12 @@ public class ElasticsearchIngestionService {
                     .httpStatusCode(httpStatusCode)
                     .errorCategory(resolvedErrorCategory)
                     .endpoint(endpoint)
+                    .correlationId(CorrelationId.current())
                     .build();
 
-            auditLogRepository.save(esLog);
-            log.debug("Audit log indexed in Elasticsearch: {} - {} (Status: {})", action, userId, httpStatusCode);
+            bulkIndexer.index(esLog, esLog.getId());
+            errorCounterStore.record(esLog);
+            log.debug("Audit log queued for Elasticsearch: {} - {} (Status: {})", action, userId, httpStatusCode);
         } catch (Exception e) {
             log.error("Failed to index audit log in Elasticsearch", e);
             // Graceful degradation - application continues even if Elasticsearch fails
@@ -115,7 +121,6 @@ public class ElasticsearchIngestionService {
      * Index metrics in Elasticsearch asynchronously (RQ-ES-MON-01, RQ-ES-ING-04).
      * Stores performance metrics for historical trend analysis.
      */
-    @Async
     public void indexMetrics(String metricName, Double value, String unit, String service,
             String host, String environment) {
         try {
@@ -130,8 +135,8 @@ public class ElasticsearchIngestionService {
                     .environment(environment)
                     .build();
 
-            metricsRepository.save(metrics);
-            log.debug("Metric indexed in Elasticsearch: {} = {}", metricName, value);
+            bulkIndexer.index(metrics, metrics.getId());
+            log.debug("Metric queued for Elasticsearch: {} = {}", metricName, value);
         } catch (Exception e) {
             log.error("Failed to index metrics in Elasticsearch", e);
         }
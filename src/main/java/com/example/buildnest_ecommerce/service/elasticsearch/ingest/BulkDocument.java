@@ -0,0 +1,23 @@
+package com.example.buildnest_ecommerce.service.elasticsearch.ingest;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A document waiting to be sent in a {@code _bulk} request, already
+ * rendered to its JSON source.
+ *
+ * @param index      target index name
+ * @param id         document id
+ * @param source     JSON source
+ * @param enqueuedAt epoch millis at which the document was first accepted,
+ *                   kept across retries and spills so lag stays end-to-end
+ */
+public record BulkDocument(String index, String id, String source, long enqueuedAt) {
+
+    /**
+     * Approximate request bytes: the source plus the action line.
+     */
+    public long sizeInBytes() {
+        return source.getBytes(StandardCharsets.UTF_8).length + index.length() + id.length() + 32L;
+    }
+}
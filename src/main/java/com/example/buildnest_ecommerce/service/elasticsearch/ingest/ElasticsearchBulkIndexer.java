@@ -0,0 +1,391 @@
+package com.example.buildnest_ecommerce.service.elasticsearch.ingest;
+
+import com.example.buildnest_ecommerce.config.properties.ElasticsearchProperties;
+import com.example.buildnest_ecommerce.service.spool.DiskSpool;
+import com.example.buildnest_ecommerce.service.spool.SpoolManager;
+import com.example.buildnest_ecommerce.util.RingBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.BulkOptions;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Buffers Elasticsearch documents and ships them with {@code _bulk} instead
+ * of one request per save.
+ *
+ * {@link #index(Object, String)} renders the document with the mapping
+ * converter and claims a slot in a bounded {@link RingBuffer}; it never
+ * waits on the cluster. A single consumer thread sends a bulk request as
+ * soon as {@code max-actions} documents or {@code max-bytes} of source are
+ * waiting, or the oldest has waited {@code flush-interval-ms}.
+ *
+ * Items the cluster rejects with 429 or 5xx are retried with exponential
+ * backoff up to {@code max-retries}; other per-item failures (mapping
+ * errors) are counted and dropped. If the cluster cannot be reached at all,
+ * or retries run out, the batch is appended to the {@code elasticsearch}
+ * {@link DiskSpool}, whose shipper keeps re-sending it until the cluster
+ * accepts it.
+ *
+ * {@code elasticsearch.ingest.lag} records the time from acceptance to
+ * acknowledgement for every indexed document, spilled ones included.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "elasticsearch.enabled", havingValue = "true", matchIfMissing = false)
+public class ElasticsearchBulkIndexer {
+
+    static final String SPOOL_NAME = "elasticsearch";
+
+    private final ElasticsearchOperations operations;
+    private final SpoolManager spoolManager;
+    private final ObjectMapper objectMapper;
+    private final RingBuffer<BulkDocument> buffer;
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final int maxActions;
+    private final long maxBytes;
+    private final long flushIntervalNanos;
+    private final int maxRetries;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long shutdownTimeoutMs;
+    private final Counter indexedCounter;
+    private final Counter retriedCounter;
+    private final Counter rejectedCounter;
+    private final Counter spilledCounter;
+    private final Counter replayedCounter;
+    private final Counter droppedCounter;
+    private final DistributionSummary bulkSize;
+    private final Timer bulkTimer;
+    private final Timer lagTimer;
+    private volatile Thread consumer;
+    private volatile boolean closed;
+    private long batchBytes;
+
+    public ElasticsearchBulkIndexer(ElasticsearchOperations operations, ElasticsearchProperties elasticsearchProperties,
+            SpoolManager spoolManager, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        ElasticsearchProperties.Ingest properties = elasticsearchProperties.getIngest();
+        this.operations = operations;
+        this.spoolManager = spoolManager;
+        this.objectMapper = objectMapper;
+        this.buffer = new RingBuffer<>(properties.getQueueCapacity());
+        this.maxActions = Math.max(1, properties.getMaxActions());
+        this.maxBytes = properties.getMaxBytes();
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, properties.getFlushIntervalMs()));
+        this.maxRetries = properties.getMaxRetries();
+        this.initialBackoffMs = properties.getInitialBackoffMs();
+        this.maxBackoffMs = properties.getMaxBackoffMs();
+        this.shutdownTimeoutMs = properties.getShutdownTimeoutMs();
+
+        Gauge.builder("elasticsearch.ingest.queue.depth", buffer, RingBuffer::size)
+                .description("Documents waiting for a bulk request")
+                .register(meterRegistry);
+        Gauge.builder("elasticsearch.ingest.queue.bytes", bufferedBytes, AtomicLong::get)
+                .description("Source bytes waiting for a bulk request")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.indexedCounter = documents(meterRegistry, "indexed");
+        this.retriedCounter = documents(meterRegistry, "retried");
+        this.rejectedCounter = documents(meterRegistry, "rejected");
+        this.spilledCounter = documents(meterRegistry, "spilled");
+        this.replayedCounter = documents(meterRegistry, "replayed");
+        this.droppedCounter = documents(meterRegistry, "dropped");
+        this.bulkSize = DistributionSummary.builder("elasticsearch.ingest.bulk.size")
+                .description("Documents per bulk request")
+                .register(meterRegistry);
+        this.bulkTimer = Timer.builder("elasticsearch.ingest.bulk.duration")
+                .description("Wall time of one bulk request")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("elasticsearch.ingest.lag")
+                .description("Time from accepting a document to Elasticsearch acknowledging it")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static Counter documents(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("elasticsearch.ingest.documents")
+                .description("Documents handled by the bulk indexer, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (spoolManager.hasBacklog(SPOOL_NAME)) {
+            try {
+                openSpool();
+            } catch (IOException e) {
+                log.error("Failed to reopen Elasticsearch spool; spooled documents stay on disk", e);
+            }
+        }
+        Thread thread = new Thread(this::consume, "es-bulk-indexer");
+        thread.setDaemon(true);
+        consumer = thread;
+        thread.start();
+    }
+
+    /**
+     * Queues a mapped entity for the index its {@code @Document} resolves to.
+     *
+     * @return false if the document was dropped because the queue was full
+     */
+    public boolean index(Object document, String id) {
+        String indexName = operations.getIndexCoordinatesFor(document.getClass()).getIndexName();
+        String source = operations.getElasticsearchConverter().mapObject(document).toJson();
+        return enqueue(new BulkDocument(indexName, id, source, System.currentTimeMillis()));
+    }
+
+    boolean enqueue(BulkDocument document) {
+        if (closed || !buffer.offer(document)) {
+            droppedCounter.increment();
+            log.debug("Bulk indexer queue full or closed, dropped document {} for {}", document.id(),
+                    document.index());
+            return false;
+        }
+        if (bufferedBytes.addAndGet(document.sizeInBytes()) >= maxBytes || buffer.size() >= maxActions) {
+            Thread thread = consumer;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+        return true;
+    }
+
+    private void consume() {
+        List<BulkDocument> batch = new ArrayList<>(maxActions);
+        long oldestAt = 0L;
+        while (!closed) {
+            boolean wasEmpty = batch.isEmpty();
+            fill(batch);
+            long now = System.nanoTime();
+            if (wasEmpty && !batch.isEmpty()) {
+                oldestAt = now;
+            }
+            long waited = now - oldestAt;
+            if (batch.size() >= maxActions || batchBytes >= maxBytes
+                    || (!batch.isEmpty() && waited >= flushIntervalNanos)) {
+                flush(batch);
+                continue;
+            }
+            LockSupport.parkNanos(this, batch.isEmpty() ? flushIntervalNanos : flushIntervalNanos - waited);
+        }
+        drainRemaining(batch);
+    }
+
+    private void fill(List<BulkDocument> batch) {
+        while (batch.size() < maxActions && batchBytes < maxBytes && buffer.drainTo(batch, 1) == 1) {
+            long size = batch.get(batch.size() - 1).sizeInBytes();
+            batchBytes += size;
+            bufferedBytes.addAndGet(-size);
+        }
+    }
+
+    private void flush(List<BulkDocument> batch) {
+        ship(batch);
+        batch.clear();
+        batchBytes = 0L;
+    }
+
+    private void drainRemaining(List<BulkDocument> batch) {
+        fill(batch);
+        while (!batch.isEmpty()) {
+            flush(batch);
+            fill(batch);
+        }
+    }
+
+    /**
+     * Sends the batch, retrying retryable item failures, and spills whatever
+     * is left undelivered.
+     *
+     * @return false if the cluster could not be reached
+     */
+    boolean ship(List<BulkDocument> batch) {
+        List<BulkDocument> pending = batch;
+        long backoffMs = initialBackoffMs;
+        for (int attempt = 0;; attempt++) {
+            List<BulkDocument> retryable;
+            long start = System.nanoTime();
+            try {
+                operations.bulkIndex(toQueries(pending), BulkOptions.defaultOptions(),
+                        IndexCoordinates.of(pending.get(0).index()));
+                acknowledge(pending);
+                return true;
+            } catch (BulkFailureException e) {
+                retryable = partition(pending, e.getFailedDocuments());
+            } catch (Exception e) {
+                log.warn("Elasticsearch bulk request failed, spilling {} documents: {}", pending.size(),
+                        e.getMessage());
+                spill(pending);
+                return false;
+            } finally {
+                bulkSize.record(pending.size());
+                bulkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+
+            if (retryable.isEmpty()) {
+                return true;
+            }
+            if (attempt >= maxRetries) {
+                log.warn("{} documents still failing after {} retries, spilling", retryable.size(), maxRetries);
+                spill(retryable);
+                return true;
+            }
+            retriedCounter.increment(retryable.size());
+            sleep(backoffMs);
+            backoffMs = Math.min(maxBackoffMs, backoffMs * 2);
+            pending = retryable;
+        }
+    }
+
+    /**
+     * Acknowledges the documents that made it and returns the ones worth
+     * retrying. Items rejected for reasons a retry cannot fix are dropped.
+     */
+    private List<BulkDocument> partition(List<BulkDocument> sent,
+            Map<String, BulkFailureException.FailureDetails> failures) {
+        List<BulkDocument> delivered = new ArrayList<>(sent.size());
+        List<BulkDocument> retryable = new ArrayList<>();
+        for (BulkDocument document : sent) {
+            BulkFailureException.FailureDetails failure = failures.get(document.id());
+            if (failure == null) {
+                delivered.add(document);
+            } else if (isRetryable(failure.status())) {
+                retryable.add(document);
+            } else {
+                rejectedCounter.increment();
+                log.error("Elasticsearch rejected document {} in {} (status {}): {}", document.id(),
+                        document.index(), failure.status(), failure.errorMessage());
+            }
+        }
+        acknowledge(delivered);
+        return retryable;
+    }
+
+    private static boolean isRetryable(Integer status) {
+        return status == null || status == 429 || status >= 500;
+    }
+
+    private void acknowledge(List<BulkDocument> documents) {
+        long now = System.currentTimeMillis();
+        for (BulkDocument document : documents) {
+            lagTimer.record(Math.max(0L, now - document.enqueuedAt()), TimeUnit.MILLISECONDS);
+        }
+        indexedCounter.increment(documents.size());
+    }
+
+    private void spill(List<BulkDocument> documents) {
+        int spilled = 0;
+        try {
+            DiskSpool spool = openSpool();
+            for (BulkDocument document : documents) {
+                if (!spool.append(objectMapper.writeValueAsBytes(document))) {
+                    break;
+                }
+                spilled++;
+            }
+        } catch (Exception e) {
+            log.error("Failed to spool Elasticsearch documents", e);
+        }
+        spilledCounter.increment(spilled);
+        if (spilled < documents.size()) {
+            droppedCounter.increment(documents.size() - spilled);
+            log.error("Spool full or unavailable, dropped {} Elasticsearch documents", documents.size() - spilled);
+        }
+    }
+
+    private DiskSpool openSpool() throws IOException {
+        return spoolManager.open(SPOOL_NAME, this::replay);
+    }
+
+    /**
+     * Spool sink. Throws while any document is still retryable so the whole
+     * chunk stays spooled; documents are indexed by id, so re-sending the
+     * ones that already made it is harmless.
+     */
+    void replay(List<byte[]> records) throws IOException {
+        List<BulkDocument> documents = new ArrayList<>(records.size());
+        for (byte[] record : records) {
+            documents.add(objectMapper.readValue(record, BulkDocument.class));
+        }
+        try {
+            operations.bulkIndex(toQueries(documents), BulkOptions.defaultOptions(),
+                    IndexCoordinates.of(documents.get(0).index()));
+            acknowledge(documents);
+        } catch (BulkFailureException e) {
+            List<BulkDocument> retryable = partition(documents, e.getFailedDocuments());
+            if (!retryable.isEmpty()) {
+                throw new IOException(retryable.size() + " spooled documents still failing", e);
+            }
+        }
+        replayedCounter.increment(documents.size());
+    }
+
+    private static List<IndexQuery> toQueries(List<BulkDocument> documents) {
+        List<IndexQuery> queries = new ArrayList<>(documents.size());
+        for (BulkDocument document : documents) {
+            queries.add(new IndexQueryBuilder()
+                    .withId(document.id())
+                    .withIndex(document.index())
+                    .withSource(document.source())
+                    .build());
+        }
+        return queries;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops accepting documents and waits for the consumer to send or spool
+     * everything still queued.
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        Thread thread = consumer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(shutdownTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (thread.isAlive()) {
+                log.warn("Bulk indexer did not drain within {} ms; {} documents still queued",
+                        shutdownTimeoutMs, buffer.size());
+            }
+            return;
+        }
+        drainRemaining(new ArrayList<>(maxActions));
+    }
+
+    int pending() {
+        return buffer.size();
+    }
+}
@@ -6,6 +6,7 @@ import com.example.buildnest_ecommerce.model.entity.InventoryThresholdBreachEven
 import com.example.buildnest_ecommerce.repository.InventoryRepository;
 import com.example.buildnest_ecommerce.repository.InventoryThresholdBreachEventRepository;
 import com.example.buildnest_ecommerce.service.notification.NotificationService;
+import com.example.buildnest_ecommerce.service.scheduler.lock.ClusterJobContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -31,11 +32,19 @@ public class InventoryMonitoringService {
 
     /**
      * Monitor all inventory levels continuously (RQ-INV-MON-01).
-     * This is called by the scheduled task.
+     * This is called by the scheduled task; when it runs as one shard of a
+     * cluster job only that shard's products are scanned.
      */
     public void monitorInventoryLevels() {
-        log.info("Starting inventory monitoring scan");
-        List<Inventory> allInventories = inventoryRepository.findAll();
+        ClusterJobContext shard = ClusterJobContext.current().filter(ClusterJobContext::isSharded).orElse(null);
+        List<Inventory> allInventories;
+        if (shard != null) {
+            log.info("Starting inventory monitoring scan for shard {}/{}", shard.shardIndex(), shard.shardCount());
+            allInventories = inventoryRepository.findByProductShard(shard.shardCount(), shard.shardIndex());
+        } else {
+            log.info("Starting inventory monitoring scan");
+            allInventories = inventoryRepository.findAll();
+        }
 
         int alertsGenerated = 0;
         for (Inventory inventory : allInventories) {
@@ -0,0 +1,234 @@
+package com.example.buildnest_ecommerce.service.notification;
+
+import com.example.buildnest_ecommerce.config.AsyncConfig;
+import com.example.buildnest_ecommerce.service.notification.AlertCoalescer.Alert;
+import com.example.buildnest_ecommerce.service.notification.AlertCoalescer.AlertGroup;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers alert digests to the webhook, email and Slack channels
+ * (RQ-ALRT-04). Each call is one outbound message, sent on the
+ * notifications executor lane.
+ *
+ * A digest holding a single alert keeps the original per-alert payload; a
+ * larger one lists every group with its count and a few sample alerts.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "elasticsearch.enabled", havingValue = "true", matchIfMissing = false)
+@RequiredArgsConstructor
+public class AlertChannelSender {
+
+    public static final String WEBHOOK = "webhook";
+    public static final String EMAIL = "email";
+    public static final String SLACK = "slack";
+
+    private final RestTemplate restTemplate;
+
+    @Value("${elasticsearch.alert.webhook-url:}")
+    private String webhookUrl;
+
+    @Value("${elasticsearch.alert.email.enabled:false}")
+    private boolean emailEnabled;
+
+    @Value("${elasticsearch.alert.email.to:}")
+    private String emailRecipients;
+
+    @Value("${elasticsearch.alert.slack.enabled:false}")
+    private boolean slackEnabled;
+
+    @Value("${elasticsearch.alert.slack.webhook:}")
+    private String slackWebhookUrl;
+
+    @Value("${elasticsearch.alert.smtp.host:}")
+    private String smtpHost;
+
+    @Value("${elasticsearch.alert.smtp.port:587}")
+    private int smtpPort;
+
+    /**
+     * @return the channels that are configured, in delivery order
+     */
+    public List<String> enabledChannels() {
+        List<String> channels = new ArrayList<>(3);
+        if (!webhookUrl.isEmpty()) {
+            channels.add(WEBHOOK);
+        }
+        if (emailEnabled && !emailRecipients.isEmpty()) {
+            channels.add(EMAIL);
+        }
+        if (slackEnabled && !slackWebhookUrl.isEmpty()) {
+            channels.add(SLACK);
+        }
+        return channels;
+    }
+
+    /**
+     * Send one digest message through {@code channel}.
+     */
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
+    public void send(String channel, List<AlertGroup> digest) {
+        switch (channel) {
+            case WEBHOOK -> sendWebhookAlert(digest);
+            case EMAIL -> sendEmailAlert(digest);
+            case SLACK -> sendSlackAlert(digest);
+            default -> log.warn("Unknown alert channel {}", channel);
+        }
+    }
+
+    /**
+     * Send alert via webhook (RQ-ALRT-04).
+     */
+    private void sendWebhookAlert(List<AlertGroup> digest) {
+        try {
+            Map<String, Object> payload = single(digest)
+                    ? buildAlertPayload(digest.get(0).samples().get(0))
+                    : buildDigestPayload(digest);
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            HttpEntity<Map<String, Object>> request = new HttpEntity<>(payload, headers);
+            restTemplate.postForObject(webhookUrl, request, String.class);
+            log.debug("Webhook alert sent successfully");
+        } catch (Exception e) {
+            log.error("Failed to send webhook alert", e);
+        }
+    }
+
+    /**
+     * Send alert via email (RQ-ALRT-04).
+     * Integrates with SMTP server for email delivery.
+     */
+    private void sendEmailAlert(List<AlertGroup> digest) {
+        try {
+            log.info("Email alert digest with {} groups would be sent to: {} (SMTP integration ready)",
+                    digest.size(), emailRecipients);
+            // Email integration would be implemented with JavaMailSender
+            // This is a placeholder for the email notification channel
+        } catch (Exception e) {
+            log.error("Failed to send email alert", e);
+        }
+    }
+
+    /**
+     * Send alert via Slack (RQ-ALRT-04).
+     * Sends one formatted message with an attachment per alert group.
+     */
+    private void sendSlackAlert(List<AlertGroup> digest) {
+        try {
+            Map<String, Object> slackPayload = new LinkedHashMap<>();
+            slackPayload.put("attachments", digest.stream().map(this::buildSlackAttachment).toList());
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            HttpEntity<Map<String, Object>> request = new HttpEntity<>(slackPayload, headers);
+            restTemplate.postForObject(slackWebhookUrl, request, String.class);
+            log.debug("Slack alert sent successfully");
+        } catch (Exception e) {
+            log.error("Failed to send Slack alert", e);
+        }
+    }
+
+    private Map<String, Object> buildSlackAttachment(AlertGroup group) {
+        Map<String, Object> attachment = new LinkedHashMap<>();
+
+        // Determine color based on severity
+        String color = "warning";
+        if ("CRITICAL".equalsIgnoreCase(group.severity())) {
+            color = "danger";
+        } else if ("INFO".equalsIgnoreCase(group.severity())) {
+            color = "good";
+        }
+
+        List<Map<String, String>> fields = new ArrayList<>();
+        fields.add(Map.of("title", "Severity", "value", String.valueOf(group.severity()), "short", "true"));
+        if (group.count() == 1) {
+            Alert alert = group.samples().get(0);
+            attachment.put("title", group.title());
+            attachment.put("text", alert.message());
+            fields.add(Map.of("title", "Timestamp", "value", LocalDateTime.now().toString(), "short", "true"));
+            if (alert.metadata() != null) {
+                alert.metadata().forEach((key, value) -> fields.add(
+                        Map.of("title", key, "value", String.valueOf(value), "short", "true")));
+            }
+        } else {
+            attachment.put("title", group.title() + " (" + group.count() + " alerts)");
+            attachment.put("text", sampleText(group));
+            fields.add(Map.of("title", "First", "value", group.firstRaisedAt().toString(), "short", "true"));
+            fields.add(Map.of("title", "Last", "value", group.lastRaisedAt().toString(), "short", "true"));
+        }
+        attachment.put("color", color);
+        attachment.put("ts", group.lastRaisedAt().getEpochSecond());
+        attachment.put("fields", fields);
+        return attachment;
+    }
+
+    private static String sampleText(AlertGroup group) {
+        String text = group.samples().stream().map(Alert::message).collect(Collectors.joining("\n"));
+        int more = group.count() - group.samples().size();
+        return more > 0 ? text + "\n...and " + more + " more" : text;
+    }
+
+    /**
+     * Build standard alert payload for webhook.
+     */
+    private Map<String, Object> buildAlertPayload(Alert alert) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("timestamp", LocalDateTime.now());
+        payload.put("title", alert.title());
+        payload.put("message", alert.message());
+        payload.put("severity", alert.severity());
+
+        if (alert.metadata() != null) {
+            payload.putAll(alert.metadata());
+        }
+
+        return payload;
+    }
+
+    /**
+     * Build digest payload for webhook: one entry per group, most severe first.
+     */
+    private Map<String, Object> buildDigestPayload(List<AlertGroup> digest) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("timestamp", LocalDateTime.now());
+        payload.put("title", "Alert digest");
+        payload.put("severity", digest.get(0).severity());
+        payload.put("alertCount", digest.stream().mapToInt(AlertGroup::count).sum());
+
+        List<Map<String, Object>> groups = new ArrayList<>(digest.size());
+        for (AlertGroup group : digest) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("title", group.title());
+            entry.put("severity", group.severity());
+            entry.put("count", group.count());
+            entry.put("firstRaisedAt", group.firstRaisedAt().toString());
+            entry.put("lastRaisedAt", group.lastRaisedAt().toString());
+            entry.put("samples", group.samples().stream().map(this::buildAlertPayload).toList());
+            groups.add(entry);
+        }
+        payload.put("groups", groups);
+        return payload;
+    }
+
+    private static boolean single(List<AlertGroup> digest) {
+        return digest.size() == 1 && digest.get(0).count() == 1;
+    }
+}
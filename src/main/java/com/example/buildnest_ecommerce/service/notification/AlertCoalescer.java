@@ -0,0 +1,270 @@
+package com.example.buildnest_ecommerce.service.notification;
+
+import com.example.buildnest_ecommerce.config.properties.AlertProperties;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.TimeMeter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects alerts raised through {@link NotificationService} and turns them
+ * into at most one message per channel per window.
+ *
+ * An alert whose title, severity and message were already seen within
+ * {@code notification.alerts.dedupe-ttl-ms} is dropped as a duplicate. The
+ * rest are grouped by title and severity until the next flush, every
+ * {@code notification.alerts.window-ms}, when each enabled channel is handed
+ * a single digest of everything it has not yet sent. A channel that has
+ * used up its {@code messages-per-minute} keeps its groups and sends them
+ * with the next window, so a burst of 2,000 low-stock alerts becomes one
+ * Slack message listing one group of 2,000.
+ *
+ * Meters: {@code notification.alerts.received},
+ * {@code notification.alerts.suppressed},
+ * {@code notification.alerts.delivered} and {@code notification.messages}
+ * (tagged {@code channel}, and {@code outcome=sent|deferred} for messages),
+ * plus a {@code notification.alerts.pending} gauge.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "elasticsearch.enabled", havingValue = "true", matchIfMissing = false)
+public final class AlertCoalescer {
+
+    public record Alert(String title, String message, String severity, Map<String, Object> metadata,
+            Instant raisedAt) {
+    }
+
+    public record AlertGroup(String title, String severity, int count, Instant firstRaisedAt,
+            Instant lastRaisedAt, List<Alert> samples) {
+    }
+
+    private record GroupKey(String title, String severity) {
+    }
+
+    private static final class PendingGroup {
+        private final GroupKey key;
+        private final List<Alert> samples = new ArrayList<>();
+        private int count;
+        private Instant firstRaisedAt;
+        private Instant lastRaisedAt;
+
+        private PendingGroup(GroupKey key) {
+            this.key = key;
+        }
+
+        private void add(Alert alert, int maxSamples) {
+            count++;
+            if (firstRaisedAt == null) {
+                firstRaisedAt = alert.raisedAt();
+            }
+            lastRaisedAt = alert.raisedAt();
+            if (samples.size() < maxSamples) {
+                samples.add(alert);
+            }
+        }
+
+        private void merge(PendingGroup other, int maxSamples) {
+            count += other.count;
+            if (firstRaisedAt == null || other.firstRaisedAt.isBefore(firstRaisedAt)) {
+                firstRaisedAt = other.firstRaisedAt;
+            }
+            if (lastRaisedAt == null || other.lastRaisedAt.isAfter(lastRaisedAt)) {
+                lastRaisedAt = other.lastRaisedAt;
+            }
+            for (Alert sample : other.samples) {
+                if (samples.size() >= maxSamples) {
+                    break;
+                }
+                samples.add(sample);
+            }
+        }
+
+        private AlertGroup snapshot() {
+            return new AlertGroup(key.title(), key.severity(), count, firstRaisedAt, lastRaisedAt,
+                    List.copyOf(samples));
+        }
+    }
+
+    private final AlertChannelSender sender;
+    private final AlertProperties properties;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final TimeMeter timeMeter;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Long> fingerprints = new HashMap<>();
+    private Map<GroupKey, PendingGroup> window = new LinkedHashMap<>();
+    private final Map<String, Map<GroupKey, PendingGroup>> backlogs = new HashMap<>();
+    private final Map<String, Bucket> limits = new HashMap<>();
+    private final Counter received;
+    private final Counter suppressed;
+
+    public AlertCoalescer(AlertChannelSender sender, AlertProperties properties, Clock clock,
+            MeterRegistry meterRegistry) {
+        this.sender = sender;
+        this.properties = properties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.timeMeter = new TimeMeter() {
+            @Override
+            public long currentTimeNanos() {
+                return TimeUnit.MILLISECONDS.toNanos(clock.millis());
+            }
+
+            @Override
+            public boolean isWallClockBased() {
+                return true;
+            }
+        };
+        this.received = meterRegistry.counter("notification.alerts.received");
+        this.suppressed = meterRegistry.counter("notification.alerts.suppressed");
+        Gauge.builder("notification.alerts.pending", this, AlertCoalescer::pending)
+                .description("Alerts collected in the current window")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues an alert for the next digest.
+     *
+     * @return false if it duplicates an alert seen within the dedupe TTL
+     */
+    public boolean submit(String title, String message, String severity, Map<String, Object> metadata) {
+        long now = clock.millis();
+        Alert alert = new Alert(title, message, severity, metadata, Instant.ofEpochMilli(now));
+        String fingerprint = title + '\u0000' + severity + '\u0000' + message;
+        received.increment();
+        lock.lock();
+        try {
+            Long expiresAt = fingerprints.get(fingerprint);
+            if (expiresAt != null && expiresAt > now) {
+                suppressed.increment();
+                return false;
+            }
+            if (expiresAt != null || fingerprints.size() < properties.getDedupeMaxEntries()) {
+                fingerprints.put(fingerprint, now + properties.getDedupeTtlMs());
+            }
+            window.computeIfAbsent(new GroupKey(title, severity), PendingGroup::new)
+                    .add(alert, maxSamples());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the current window and hands each enabled channel one digest of
+     * its unsent groups, as far as its rate limit allows.
+     */
+    @Scheduled(initialDelayString = "${notification.alerts.window-ms:30000}",
+            fixedDelayString = "${notification.alerts.window-ms:30000}")
+    public void flush() {
+        List<String> channels = sender.enabledChannels();
+        Map<String, List<AlertGroup>> digests = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            Map<GroupKey, PendingGroup> closed = window;
+            window = new LinkedHashMap<>();
+            expireFingerprints(clock.millis());
+            int maxSamples = maxSamples();
+            for (String channel : channels) {
+                Map<GroupKey, PendingGroup> backlog = backlogs.computeIfAbsent(channel, c -> new LinkedHashMap<>());
+                closed.values().forEach(group -> backlog.computeIfAbsent(group.key, PendingGroup::new)
+                        .merge(group, maxSamples));
+                if (backlog.isEmpty()) {
+                    continue;
+                }
+                if (!limit(channel).tryConsume(1)) {
+                    meterRegistry.counter("notification.messages", "channel", channel, "outcome", "deferred")
+                            .increment();
+                    continue;
+                }
+                digests.put(channel, backlog.values().stream()
+                        .map(PendingGroup::snapshot)
+                        .sorted(Comparator.comparingInt((AlertGroup group) -> severityRank(group.severity()))
+                                .reversed())
+                        .toList());
+                backlog.clear();
+            }
+            backlogs.keySet().retainAll(channels);
+        } finally {
+            lock.unlock();
+        }
+        digests.forEach(this::send);
+    }
+
+    private void send(String channel, List<AlertGroup> digest) {
+        int alerts = digest.stream().mapToInt(AlertGroup::count).sum();
+        try {
+            sender.send(channel, digest);
+            meterRegistry.counter("notification.messages", "channel", channel, "outcome", "sent").increment();
+            meterRegistry.counter("notification.alerts.delivered", "channel", channel).increment(alerts);
+            log.debug("Queued {} digest with {} alerts in {} groups", channel, alerts, digest.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to queue {} alert digest with {} alerts: {}", channel, alerts, e.getMessage());
+        }
+    }
+
+    private Bucket limit(String channel) {
+        return limits.computeIfAbsent(channel, c -> {
+            int perMinute = Math.max(1, properties.messagesPerMinute(c));
+            return Bucket.builder()
+                    .addLimit(Bandwidth.simple(perMinute, Duration.ofMinutes(1)))
+                    .withCustomTimePrecision(timeMeter)
+                    .build();
+        });
+    }
+
+    private int maxSamples() {
+        return Math.max(1, properties.getMaxSamplesPerGroup());
+    }
+
+    private void expireFingerprints(long now) {
+        Iterator<Long> expiries = fingerprints.values().iterator();
+        while (expiries.hasNext()) {
+            if (expiries.next() <= now) {
+                expiries.remove();
+            }
+        }
+    }
+
+    private double pending() {
+        lock.lock();
+        try {
+            return window.values().stream().mapToInt(group -> group.count).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static int severityRank(String severity) {
+        if (severity == null) {
+            return 0;
+        }
+        return switch (severity.toUpperCase(Locale.ROOT)) {
+            case "CRITICAL" -> 4;
+            case "HIGH" -> 3;
+            case "MEDIUM", "WARN", "WARNING" -> 2;
+            case "LOW", "INFO" -> 1;
+            default -> 0;
+        };
+    }
+}
@@ -2,21 +2,18 @@ package com.example.buildnest_ecommerce.service.notification;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 
-import java.time.LocalDateTime;
 import java.util.*;
 
 /**
  * Multi-channel Notification Service (RQ-ALRT-04).
  * Supports webhook, email, and Slack notifications for alert delivery.
  * Enables authorized personnel notification when thresholds are exceeded.
+ * Alerts are not sent one by one: {@link AlertCoalescer} drops duplicates and
+ * sends one digest per channel per window, so raising an alert never waits
+ * on a slow channel.
  */
 @Slf4j
 @Service
@@ -24,147 +21,20 @@ import java.util.*;
 @RequiredArgsConstructor
 public class NotificationService {
 
-    private final RestTemplate restTemplate;
-
-    @Value("${elasticsearch.alert.webhook-url:}")
-    private String webhookUrl;
-
-    @Value("${elasticsearch.alert.email.enabled:false}")
-    private boolean emailEnabled;
-
-    @Value("${elasticsearch.alert.email.to:}")
-    private String emailRecipients;
-
-    @Value("${elasticsearch.alert.slack.enabled:false}")
-    private boolean slackEnabled;
-
-    @Value("${elasticsearch.alert.slack.webhook:}")
-    private String slackWebhookUrl;
-
-    @Value("${elasticsearch.alert.smtp.host:}")
-    private String smtpHost;
-
-    @Value("${elasticsearch.alert.smtp.port:587}")
-    private int smtpPort;
+    private final AlertCoalescer coalescer;
 
     /**
      * Send alert through all configured channels (RQ-ALRT-04).
      * Supports webhook, email, and Slack notifications.
      */
     public void sendAlert(String title, String message, String severity, Map<String, Object> metadata) {
-        log.info("Sending alert: {} - {}", title, message);
-
-        // Send webhook notification
-        if (!webhookUrl.isEmpty()) {
-            sendWebhookAlert(title, message, severity, metadata);
-        }
-
-        // Send email notification
-        if (emailEnabled && !emailRecipients.isEmpty()) {
-            sendEmailAlert(title, message, severity, metadata);
-        }
-
-        // Send Slack notification
-        if (slackEnabled && !slackWebhookUrl.isEmpty()) {
-            sendSlackAlert(title, message, severity, metadata);
-        }
-    }
-
-    /**
-     * Send alert via webhook (RQ-ALRT-04).
-     */
-    private void sendWebhookAlert(String title, String message, String severity, Map<String, Object> metadata) {
-        try {
-            Map<String, Object> payload = buildAlertPayload(title, message, severity, metadata);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(payload, headers);
-            restTemplate.postForObject(webhookUrl, request, String.class);
-            log.debug("Webhook alert sent successfully");
-        } catch (Exception e) {
-            log.error("Failed to send webhook alert", e);
-        }
-    }
-
-    /**
-     * Send alert via email (RQ-ALRT-04).
-     * Integrates with SMTP server for email delivery.
-     */
-    private void sendEmailAlert(String title, String message, String severity, Map<String, Object> metadata) {
-        try {
-            log.info("Email alert would be sent to: {} (SMTP integration ready)", emailRecipients);
-            // Email integration would be implemented with JavaMailSender
-            // This is a placeholder for the email notification channel
-        } catch (Exception e) {
-            log.error("Failed to send email alert", e);
+        if (coalescer.submit(title, message, severity, metadata)) {
+            log.info("Queued alert: {} - {}", title, message);
+        } else {
+            log.debug("Suppressed duplicate alert: {} - {}", title, message);
         }
     }
 
-    /**
-     * Send alert via Slack (RQ-ALRT-04).
-     * Sends formatted message to Slack workspace via webhook.
-     */
-    private void sendSlackAlert(String title, String message, String severity, Map<String, Object> metadata) {
-        try {
-            Map<String, Object> slackPayload = new LinkedHashMap<>();
-            Map<String, Object> attachments = new LinkedHashMap<>();
-
-            // Determine color based on severity
-            String color = "warning";
-            if ("CRITICAL".equalsIgnoreCase(severity)) {
-                color = "danger";
-            } else if ("INFO".equalsIgnoreCase(severity)) {
-                color = "good";
-            }
-
-            attachments.put("color", color);
-            attachments.put("title", title);
-            attachments.put("text", message);
-            attachments.put("ts", System.currentTimeMillis() / 1000);
-
-            List<Map<String, String>> fields = new ArrayList<>();
-            fields.add(Map.of("title", "Severity", "value", severity, "short", "true"));
-            fields.add(Map.of("title", "Timestamp", "value", LocalDateTime.now().toString(), "short", "true"));
-
-            if (metadata != null) {
-                metadata.forEach((key, value) -> {
-                    fields.add(Map.of("title", key, "value", value.toString(), "short", "true"));
-                });
-            }
-
-            attachments.put("fields", fields);
-            slackPayload.put("attachments", List.of(attachments));
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(slackPayload, headers);
-            restTemplate.postForObject(slackWebhookUrl, request, String.class);
-            log.debug("Slack alert sent successfully");
-        } catch (Exception e) {
-            log.error("Failed to send Slack alert", e);
-        }
-    }
-
-    /**
-     * Build standard alert payload for webhook.
-     */
-    private Map<String, Object> buildAlertPayload(String title, String message, String severity,
-            Map<String, Object> metadata) {
-        Map<String, Object> payload = new LinkedHashMap<>();
-        payload.put("timestamp", LocalDateTime.now());
-        payload.put("title", title);
-        payload.put("message", message);
-        payload.put("severity", severity);
-
-        if (metadata != null) {
-            payload.putAll(metadata);
-        }
-
-        return payload;
-    }
-
     /**
      * Send authentication failure alert (RQ-ALRT-01, RQ-SEC-OBS-01).
      */
@@ -1,11 +1,13 @@
 package com.example.buildnest_ecommerce.service.order;
 
 import com.example.buildnest_ecommerce.model.dto.OrderResponseDTO;
+import com.example.buildnest_ecommerce.model.dto.OrderSummaryDTO;
 import com.example.buildnest_ecommerce.model.entity.Order;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 
 public interface OrderService {
-    List<Order> getAllOrders();
+    Slice<OrderSummaryDTO> getAllOrders(int page, int size);
     Order getOrderById(Long orderId);
     Order createOrder(Order order);
     Order updateOrder(Long orderId, Order order);
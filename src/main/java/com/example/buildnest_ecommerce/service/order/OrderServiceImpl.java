@@ -1,13 +1,17 @@
 package com.example.buildnest_ecommerce.service.order;
 
 import com.example.buildnest_ecommerce.model.dto.OrderResponseDTO;
+import com.example.buildnest_ecommerce.model.dto.OrderSummaryDTO;
 import com.example.buildnest_ecommerce.model.entity.Order;
 import com.example.buildnest_ecommerce.event.DomainEventPublisher;
 import com.example.buildnest_ecommerce.event.OrderPlacedEvent;
 import com.example.buildnest_ecommerce.event.OrderStatusChangedEvent;
+import com.example.buildnest_ecommerce.event.OrderUpdatedEvent;
 import com.example.buildnest_ecommerce.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
@@ -32,20 +36,24 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 @SuppressWarnings("null")
 public class OrderServiceImpl implements OrderService {
+    static final int MAX_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final DomainEventPublisher domainEventPublisher;
 
     /**
-     * Retrieves all active (non-deleted) orders.
+     * Retrieves one page of active (non-deleted) orders, newest first, as
+     * summaries without items or associations.
      *
-     * @return a list of all non-deleted orders
+     * @param page zero-based page number
+     * @param size page size, capped at {@value #MAX_PAGE_SIZE}
+     * @return the page of order summaries
      */
     @Override
-    public List<Order> getAllOrders() {
-        log.info("Fetching all non-deleted orders");
-        return orderRepository.findAll().stream()
-                .filter(o -> !o.getIsDeleted())
-                .collect(Collectors.toList());
+    public Slice<OrderSummaryDTO> getAllOrders(int page, int size) {
+        log.info("Fetching page {} of non-deleted orders", page);
+        return orderRepository.findSummaries(
+                PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE))));
     }
 
     /**
@@ -98,7 +106,9 @@ public class OrderServiceImpl implements OrderService {
         existingOrder.setTotalAmount(order.getTotalAmount());
         existingOrder.setShippingAddress(order.getShippingAddress());
         existingOrder.setUpdatedAt(LocalDateTime.now());
-        return orderRepository.save(existingOrder);
+        Order saved = orderRepository.save(existingOrder);
+        domainEventPublisher.publish(new OrderUpdatedEvent(this, saved.getId(), saved.getUser().getId()));
+        return saved;
     }
 
     /**
@@ -108,12 +118,14 @@ public class OrderServiceImpl implements OrderService {
      * @throws RuntimeException if order is not found
      */
     @Override
+    @Transactional
     public void deleteOrder(Long orderId) {
         log.info("Soft deleting order with id: {}", orderId);
         Order order = getOrderById(orderId);
         order.setIsDeleted(true);
         order.setDeletedAt(LocalDateTime.now());
         orderRepository.save(order);
+        domainEventPublisher.publish(new OrderUpdatedEvent(this, order.getId(), order.getUser().getId()));
     }
 
     /**
@@ -125,16 +137,14 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public List<Order> getOrdersByUserId(Long userId) {
         log.info("Fetching non-deleted orders for user: {}", userId);
-        return orderRepository.findAll().stream()
-                .filter(o -> o.getUser().getId().equals(userId) && !o.getIsDeleted())
-                .collect(Collectors.toList());
+        return orderRepository.findByUserIdAndIsDeletedFalseOrderByCreatedAtDescIdDesc(userId);
     }
 
     /**
      * Updates the status of an order.
      *
      * Validates the new status, updates the order, and publishes
-     * OrderStatusChangedEvent.
+     * OrderStatusChangedEvent once the transaction commits.
      *
      * @param orderId the ID of the order to update (required)
      * @param status  the new order status (required, must be valid OrderStatus enum
@@ -143,6 +153,7 @@ public class OrderServiceImpl implements OrderService {
      * @throws RuntimeException if order is not found or status is invalid
      */
     @Override
+    @Transactional
     public Order updateOrderStatus(Long orderId, String status) {
         log.info("Updating order status with id: {}, status: {}", orderId, status);
         Order order = getOrderById(orderId);
@@ -152,7 +163,8 @@ public class OrderServiceImpl implements OrderService {
             order.setUpdatedAt(LocalDateTime.now());
             Order saved = orderRepository.save(order);
             domainEventPublisher.publish(
-                    new OrderStatusChangedEvent(this, saved.getId(), previousStatus, saved.getStatus().toString()));
+                    new OrderStatusChangedEvent(this, saved.getId(), saved.getUser().getId(), previousStatus,
+                            saved.getStatus().toString()));
             return saved;
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Invalid order status: " + status);
@@ -0,0 +1,136 @@
+package com.example.buildnest_ecommerce.service.order;
+
+import com.example.buildnest_ecommerce.config.properties.OrderViewProperties;
+import com.example.buildnest_ecommerce.model.entity.Order;
+import com.example.buildnest_ecommerce.model.entity.OrderView;
+import com.example.buildnest_ecommerce.model.entity.Payment;
+import com.example.buildnest_ecommerce.repository.OrderRepository;
+import com.example.buildnest_ecommerce.repository.OrderViewRepository;
+import com.example.buildnest_ecommerce.repository.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Regenerates the {@code order_view} table from the source tables.
+ *
+ * Order ids are read by keyset in chunks of
+ * {@code orders.view.rebuild-chunk-size}; up to
+ * {@code orders.view.rebuild-parallelism} chunks are rendered at once, each
+ * in its own transaction. Existing views keep their status history. Views
+ * of orders that no longer exist are removed at the end. Only one rebuild
+ * runs at a time per instance.
+ */
+@Slf4j
+@Component
+public class OrderViewRebuilder {
+
+    public record RebuildResult(int orders, int chunks, int orphansRemoved, long durationMs) {
+    }
+
+    private final OrderRepository orderRepository;
+    private final OrderViewRepository viewRepository;
+    private final PaymentRepository paymentRepository;
+    private final OrderViewService viewService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OrderViewRebuilder(OrderRepository orderRepository, OrderViewRepository viewRepository,
+            PaymentRepository paymentRepository, OrderViewService viewService,
+            PlatformTransactionManager transactionManager, OrderViewProperties properties) {
+        this.orderRepository = orderRepository;
+        this.viewRepository = viewRepository;
+        this.paymentRepository = paymentRepository;
+        this.viewService = viewService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, properties.getRebuildChunkSize());
+        this.parallelism = Math.max(1, properties.getRebuildParallelism());
+    }
+
+    /**
+     * @throws IllegalStateException if a rebuild is already running or a
+     *                               chunk failed
+     */
+    public RebuildResult rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("An order view rebuild is already running");
+        }
+        long started = System.nanoTime();
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, task -> {
+            Thread thread = new Thread(task, "order-view-rebuild-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Semaphore slots = new Semaphore(parallelism);
+            List<Future<Integer>> chunks = new ArrayList<>();
+            long afterId = 0L;
+            while (true) {
+                List<Long> ids = orderRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+                slots.acquire();
+                chunks.add(workers.submit(() -> {
+                    try {
+                        return transactionTemplate.execute(status -> rebuildChunk(ids));
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+            int orders = 0;
+            for (Future<Integer> chunk : chunks) {
+                orders += chunk.get();
+            }
+            Integer orphans = transactionTemplate.execute(status -> viewRepository.deleteOrphans());
+            RebuildResult result = new RebuildResult(orders, chunks.size(), orphans == null ? 0 : orphans,
+                    (System.nanoTime() - started) / 1_000_000L);
+            log.info("Rebuilt {} order views in {} chunks, removed {} orphans, in {} ms", result.orders(),
+                    result.chunks(), result.orphansRemoved(), result.durationMs());
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Order view rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Order view rebuild failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            workers.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    private int rebuildChunk(List<Long> ids) {
+        List<Order> orders = orderRepository.findDetailsByIds(ids);
+        Map<Long, OrderView> existing = viewRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(OrderView::getOrderId, Function.identity()));
+        Map<Long, List<Payment>> payments = paymentRepository.findByOrderIdInOrderByIdAsc(ids).stream()
+                .collect(Collectors.groupingBy(Payment::getOrderId));
+        List<OrderView> views = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            views.add(viewService.render(order, payments.getOrDefault(order.getId(), List.of()),
+                    existing.get(order.getId())));
+        }
+        viewRepository.saveAll(views);
+        return views.size();
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.buildnest_ecommerce.service.order;
+
+import com.example.buildnest_ecommerce.event.OrderPlacedEvent;
+import com.example.buildnest_ecommerce.event.OrderStatusChangedEvent;
+import com.example.buildnest_ecommerce.event.OrderUpdatedEvent;
+import com.example.buildnest_ecommerce.event.PaymentFailedEvent;
+import com.example.buildnest_ecommerce.event.PaymentSuccessfulEvent;
+import com.example.buildnest_ecommerce.model.dto.OrderResponseDTO;
+import com.example.buildnest_ecommerce.model.dto.PublicOrderDTO;
+import com.example.buildnest_ecommerce.model.entity.Address;
+import com.example.buildnest_ecommerce.model.entity.Order;
+import com.example.buildnest_ecommerce.model.entity.OrderItem;
+import com.example.buildnest_ecommerce.model.entity.OrderView;
+import com.example.buildnest_ecommerce.model.entity.Payment;
+import com.example.buildnest_ecommerce.repository.OrderRepository;
+import com.example.buildnest_ecommerce.repository.OrderViewRepository;
+import com.example.buildnest_ecommerce.repository.PaymentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Maintains and serves the {@code order_view} read model.
+ *
+ * Every order and payment event re-renders the order's view from the
+ * source tables in the transaction that handles the event, keeping the
+ * status history and payment outcome the events carry. Reads are a single
+ * primary-key lookup; an order whose view has not been written yet is
+ * rendered from the source tables instead. Controllers get the view as a
+ * {@link PublicOrderDTO} or {@link OrderResponseDTO}, never the entity.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderViewService {
+
+    private static final TypeReference<List<Map<String, Object>>> HISTORY_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<List<PublicOrderDTO.PublicOrderItemDTO>> PUBLIC_ITEMS_TYPE =
+            new TypeReference<>() {
+            };
+
+    private final OrderViewRepository viewRepository;
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    /**
+     * @throws RuntimeException if there is no such order
+     */
+    @Transactional(readOnly = true)
+    public OrderView getOrderView(Long orderId) {
+        return viewRepository.findById(orderId)
+                .or(() -> orderRepository.findDetailById(orderId)
+                        .map(order -> render(order, payments(orderId), null)))
+                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+    }
+
+    /**
+     * @throws IllegalAccessException if the order belongs to another user
+     * @throws RuntimeException       if there is no such active order
+     */
+    @Transactional(readOnly = true)
+    public OrderView getUserOrderView(Long userId, Long orderId) throws IllegalAccessException {
+        OrderView view = getOrderView(orderId);
+        if (view.isDeleted()) {
+            throw new RuntimeException("Order not found with id: " + orderId);
+        }
+        if (!view.getUserId().equals(userId)) {
+            log.warn("Access denied: User {} tried to access order {} of user {}", userId, orderId,
+                    view.getUserId());
+            throw new IllegalAccessException("Access denied: This order does not belong to you");
+        }
+        return view;
+    }
+
+    /**
+     * The customer's view of one of their orders.
+     *
+     * @throws IllegalAccessException if the order belongs to another user
+     * @throws RuntimeException       if there is no such active order
+     */
+    @Transactional(readOnly = true)
+    public PublicOrderDTO getUserOrder(Long userId, Long orderId) throws IllegalAccessException {
+        return toPublicOrder(getUserOrderView(userId, orderId));
+    }
+
+    /**
+     * @throws RuntimeException if there is no such order
+     */
+    @Transactional(readOnly = true)
+    public OrderResponseDTO getOrder(Long orderId) {
+        OrderView view = getOrderView(orderId);
+        return new OrderResponseDTO(view.getOrderId(), view.getUserId(), view.getStatus(),
+                view.getTotalAmount() == null ? null : view.getTotalAmount().doubleValue(), view.getCreatedAt(),
+                view.getUpdatedAt());
+    }
+
+    PublicOrderDTO toPublicOrder(OrderView view) {
+        List<PublicOrderDTO.PublicOrderItemDTO> items;
+        try {
+            // Lines also carry discount and subtotal, which the public form leaves out
+            items = objectMapper.readerFor(PUBLIC_ITEMS_TYPE)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(view.getItems());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable order view items", e);
+        }
+        return new PublicOrderDTO(view.getOrderId(), view.getOrderNumber(), view.getTotalAmount(), view.getStatus(),
+                view.getCreatedAt(), view.getUpdatedAt(), view.getShippingAddress(), items);
+    }
+
+    @EventListener
+    @Transactional
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        project(event.getOrderId(), view -> {
+        });
+    }
+
+    @EventListener
+    @Transactional
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        project(event.getOrderId(), view -> appendStatus(view, event.getNewStatus(), LocalDateTime.now(clock)));
+    }
+
+    @EventListener
+    @Transactional
+    public void onOrderUpdated(OrderUpdatedEvent event) {
+        project(event.getOrderId(), view -> {
+        });
+    }
+
+    @EventListener
+    @Transactional
+    public void onPaymentSucceeded(PaymentSuccessfulEvent event) {
+        project(event.getOrderId(), view -> {
+            view.setPaymentStatus("SUCCESS");
+            view.setPaymentId(event.getPaymentId());
+        });
+    }
+
+    @EventListener
+    @Transactional
+    public void onPaymentFailed(PaymentFailedEvent event) {
+        project(event.getOrderId(), view -> view.setPaymentStatus("FAILED"));
+    }
+
+    private void project(Long orderId, Consumer<OrderView> change) {
+        if (orderId == null) {
+            return;
+        }
+        OrderView existing = viewRepository.findById(orderId).orElse(null);
+        Order order = orderRepository.findDetailById(orderId).orElse(null);
+        if (order == null) {
+            if (existing != null) {
+                viewRepository.delete(existing);
+            }
+            return;
+        }
+        OrderView view = render(order, payments(orderId), existing);
+        change.accept(view);
+        viewRepository.save(view);
+    }
+
+    private List<Payment> payments(Long orderId) {
+        return paymentRepository.findByOrderIdInOrderByIdAsc(List.of(orderId));
+    }
+
+    /**
+     * Renders the view of {@code order} from the source tables.
+     *
+     * @param payments the order's payments, oldest first; the last one sets
+     *                 the payment status
+     * @param existing the current view, whose status history is kept, or
+     *                 null to start the history from the current status
+     */
+    OrderView render(Order order, List<Payment> payments, OrderView existing) {
+        OrderView view = existing != null ? existing : new OrderView();
+        view.setOrderId(order.getId());
+        view.setUserId(order.getUser().getId());
+        view.setOrderNumber(order.getOrderNumber());
+        view.setStatus(order.getStatus() == null ? null : order.getStatus().name());
+        view.setTotalAmount(order.getTotalAmount());
+        view.setDiscountAmount(order.getDiscountAmount());
+        view.setTaxAmount(order.getTaxAmount());
+        view.setShippingAmount(order.getShippingAmount());
+        view.setTrackingNumber(order.getTrackingNumber());
+        view.setShippingAddress(formatAddress(order.getShippingAddress()));
+        view.setDeleted(Boolean.TRUE.equals(order.getIsDeleted()));
+        view.setCreatedAt(order.getCreatedAt());
+        view.setUpdatedAt(order.getUpdatedAt());
+        view.setRefreshedAt(LocalDateTime.now(clock));
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        if (order.getOrderItems() != null) {
+            order.getOrderItems().stream()
+                    .sorted(Comparator.comparing(OrderItem::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .forEach(item -> {
+                        Map<String, Object> line = new LinkedHashMap<>();
+                        line.put("productId", item.getProduct() == null ? null : item.getProduct().getId());
+                        line.put("productName", item.getProduct() == null ? null : item.getProduct().getName());
+                        line.put("quantity", item.getQuantity());
+                        line.put("price", item.getPrice());
+                        line.put("discountAmount", item.getDiscountAmount());
+                        line.put("subtotal", item.getSubtotal());
+                        items.add(line);
+                    });
+        }
+        view.setItems(write(items));
+        view.setItemCount(items.size());
+
+        if (!payments.isEmpty()) {
+            Payment latest = payments.get(payments.size() - 1);
+            view.setPaymentStatus(latest.getStatus());
+            view.setPaymentId(latest.getId());
+        }
+        if (existing == null || existing.getStatusHistory() == null) {
+            view.setStatusHistory(write(new ArrayList<>()));
+            appendStatus(view, view.getStatus(),
+                    order.getUpdatedAt() != null ? order.getUpdatedAt() : order.getCreatedAt());
+        }
+        return view;
+    }
+
+    // Entries are {status, at}; a repeat of the latest status is not recorded again
+    private void appendStatus(OrderView view, String status, LocalDateTime at) {
+        if (status == null) {
+            return;
+        }
+        List<Map<String, Object>> history = readHistory(view.getStatusHistory());
+        if (!history.isEmpty() && Objects.equals(history.get(history.size() - 1).get("status"), status)) {
+            return;
+        }
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("status", status);
+        entry.put("at", at == null ? null : at.toString());
+        history.add(entry);
+        view.setStatusHistory(write(history));
+    }
+
+    private List<Map<String, Object>> readHistory(String json) {
+        try {
+            return new ArrayList<>(objectMapper.readValue(json, HISTORY_TYPE));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable order status history", e);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to render order view", e);
+        }
+    }
+
+    private static String formatAddress(Address addr) {
+        if (addr == null) {
+            return null;
+        }
+        return addr.getStreetAddress() + ", "
+                + addr.getCity() + ", "
+                + addr.getState() + " "
+                + addr.getPostalCode() + ", "
+                + addr.getCountry();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.buildnest_ecommerce.service.order;
+
+import com.example.buildnest_ecommerce.event.OrderPlacedEvent;
+import com.example.buildnest_ecommerce.event.OrderStatusChangedEvent;
+import com.example.buildnest_ecommerce.event.OrderUpdatedEvent;
+import com.example.buildnest_ecommerce.model.dto.OrderSummaryDTO;
+import com.example.buildnest_ecommerce.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A customer's order history.
+ *
+ * Lists are read as {@link OrderSummaryDTO} projections a page at a time
+ * from the {@code idx_orders_user_history} index, newest first, without
+ * touching order items; a single order, with its items, is read from the
+ * order view. The newest {@value #RECENT_ORDERS} summaries of each user are
+ * kept in the {@code orders} cache, so the first page of "My Orders" is
+ * normally served without a query; the entry is dropped when an order of
+ * that user is placed, changes status, is edited or is deleted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UserOrderHistoryService {
+
+    static final String CACHE_NAME = "orders";
+    static final int RECENT_ORDERS = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * @param page zero-based page number
+     * @param size page size, capped at {@value #MAX_PAGE_SIZE}
+     * @return the user's active orders, newest first
+     */
+    public Slice<OrderSummaryDTO> getOrderHistory(Long userId, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest pageable = PageRequest.of(Math.max(0, page), pageSize);
+        if (pageable.getPageNumber() > 0 || pageSize > RECENT_ORDERS) {
+            return orderRepository.findSummariesByUserId(userId, pageable);
+        }
+        List<OrderSummaryDTO> recent = recentOrders(userId);
+        return new SliceImpl<>(recent.subList(0, Math.min(pageSize, recent.size())), pageable,
+                recent.size() > pageSize);
+    }
+
+    /**
+     * Drops the user's cached recent orders, after the current transaction
+     * commits if there is one.
+     */
+    public void evictRecentOrders(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    @EventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        evictRecentOrders(event.getUserId());
+    }
+
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        evictRecentOrders(event.getUserId());
+    }
+
+    @EventListener
+    public void onOrderUpdated(OrderUpdatedEvent event) {
+        evictRecentOrders(event.getUserId());
+    }
+
+    // One row past RECENT_ORDERS is kept so a full first page knows whether more follow
+    private List<OrderSummaryDTO> recentOrders(Long userId) {
+        Cache cache = cache();
+        try {
+            @SuppressWarnings("unchecked")
+            List<OrderSummaryDTO> cached = cache.get(userId, List.class);
+            if (cached != null) {
+                return cached;
+            }
+        } catch (RuntimeException e) {
+            log.debug("Recent orders cache unavailable for user {}: {}", userId, e.getMessage());
+            return loadRecentOrders(userId);
+        }
+        List<OrderSummaryDTO> recent = loadRecentOrders(userId);
+        try {
+            cache.put(userId, recent);
+        } catch (RuntimeException e) {
+            log.debug("Failed to cache recent orders for user {}: {}", userId, e.getMessage());
+        }
+        return recent;
+    }
+
+    private void evict(Long userId) {
+        try {
+            cache().evict(userId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict recent orders of user {}; they expire with the cache TTL: {}", userId,
+                    e.getMessage());
+        }
+    }
+
+    private List<OrderSummaryDTO> loadRecentOrders(Long userId) {
+        return new ArrayList<>(orderRepository
+                .findSummariesByUserId(userId, PageRequest.of(0, RECENT_ORDERS + 1)).getContent());
+    }
+
+    private Cache cache() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            throw new IllegalStateException("Cache '" + CACHE_NAME + "' is not configured");
+        }
+        return cache;
+    }
+}
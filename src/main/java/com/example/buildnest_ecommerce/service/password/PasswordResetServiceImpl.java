@@ -5,12 +5,13 @@ import com.example.buildnest_ecommerce.model.entity.User;
 import com.example.buildnest_ecommerce.repository.PasswordResetTokenRepository;
 import com.example.buildnest_ecommerce.repository.UserRepository;
 import com.example.buildnest_ecommerce.service.audit.AuditLogService;
+import com.example.buildnest_ecommerce.service.auth.HashingLane;
+import com.example.buildnest_ecommerce.service.auth.PasswordHashingService;
 import com.example.buildnest_ecommerce.service.token.RefreshTokenService;
 import com.example.buildnest_ecommerce.util.ValidationUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,7 +25,7 @@ import java.util.UUID;
 public class PasswordResetServiceImpl implements PasswordResetService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final RefreshTokenService refreshTokenService;
     private final AuditLogService auditLogService;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
@@ -98,7 +99,7 @@ public class PasswordResetServiceImpl implements PasswordResetService {
         validationUtil.validatePassword(newPassword);
 
         // Update password
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword, HashingLane.PASSWORD_CHANGE));
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
 
@@ -125,7 +126,7 @@ public class PasswordResetServiceImpl implements PasswordResetService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Verify old password
-        if (!passwordEncoder.matches(oldPassword, user.getPassword())) {
+        if (!passwordHashingService.matches(oldPassword, user.getPassword(), HashingLane.PASSWORD_CHANGE)) {
             throw new IllegalArgumentException("Old password is incorrect");
         }
 
@@ -133,7 +134,7 @@ public class PasswordResetServiceImpl implements PasswordResetService {
         validationUtil.validatePassword(newPassword);
 
         // Update password
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword, HashingLane.PASSWORD_CHANGE));
         userRepository.save(user);
 
         // Revoke all refresh tokens upon credential change
@@ -0,0 +1,90 @@
+package com.example.buildnest_ecommerce.service.payment;
+
+import com.example.buildnest_ecommerce.config.properties.PaymentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gateway payment ids whose callback has already been applied.
+ *
+ * Razorpay retries a callback until it is acknowledged, so the same payment
+ * id can arrive several times, on any pod. Processed ids are kept in Redis
+ * for {@code payment.callback.seen-ttl-ms} and in a bounded local map; a
+ * repeat is answered without touching the payment row again. The map alone
+ * is used while Redis is unreachable. This is only a shortcut: the
+ * conditional status update in {@link PaymentServiceImpl} still applies a
+ * callback at most once when the id is not found here.
+ */
+@Slf4j
+@Component
+public class PaymentCallbackRegistry {
+
+    private final StringRedisTemplate redisTemplate;
+    private final Clock clock;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final Map<String, Long> local;
+
+    public PaymentCallbackRegistry(StringRedisTemplate redisTemplate, PaymentProperties paymentProperties,
+            Clock clock) {
+        PaymentProperties.Callback callback = paymentProperties.getCallback();
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+        this.keyPrefix = callback.getKeyPrefix();
+        this.ttl = Duration.ofMillis(Math.max(1_000L, callback.getSeenTtlMs()));
+        int capacity = Math.max(1, callback.getLocalCapacity());
+        this.local = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return true if a callback for this gateway payment id was applied
+     *         within the retention window
+     */
+    public boolean isProcessed(String razorpayPaymentId) {
+        long now = clock.millis();
+        synchronized (local) {
+            Long expiresAt = local.get(razorpayPaymentId);
+            if (expiresAt != null) {
+                if (expiresAt > now) {
+                    return true;
+                }
+                local.remove(razorpayPaymentId);
+            }
+        }
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(keyPrefix + razorpayPaymentId))) {
+                remember(razorpayPaymentId, now);
+                return true;
+            }
+        } catch (Exception e) {
+            log.debug("Payment callback registry unavailable, using local entries: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    public void markProcessed(String razorpayPaymentId) {
+        remember(razorpayPaymentId, clock.millis());
+        try {
+            redisTemplate.opsForValue().set(keyPrefix + razorpayPaymentId, "1", ttl);
+        } catch (Exception e) {
+            log.debug("Could not record payment callback {} in Redis: {}", razorpayPaymentId, e.getMessage());
+        }
+    }
+
+    private void remember(String razorpayPaymentId, long now) {
+        synchronized (local) {
+            local.put(razorpayPaymentId, now + ttl.toMillis());
+        }
+    }
+}
@@ -2,9 +2,18 @@ package com.example.buildnest_ecommerce.service.payment;
 
 import com.example.buildnest_ecommerce.model.entity.Payment;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface PaymentService {
     Payment initiatePayment(Long orderId, Double amount);
+
+    /**
+     * Creates the gateway order off the calling thread.
+     *
+     * @return the saved PENDING payment, or a future failed with
+     *         PaymentProcessingException or ExternalServiceException
+     */
+    CompletableFuture<Payment> initiatePaymentAsync(Long orderId, Double amount);
     Payment processPaymentCallback(String razorpayOrderId, String razorpayPaymentId, String razorpaySignature);
     Payment getPaymentByOrderId(Long orderId);
     List<Payment> getPaymentsByUserId(Long userId);
@@ -2,17 +2,25 @@ package com.example.buildnest_ecommerce.service.payment;
 
 import com.example.buildnest_ecommerce.model.entity.Payment;
 import com.example.buildnest_ecommerce.event.DomainEventPublisher;
-import com.example.buildnest_ecommerce.event.PaymentFailedEvent;
 import com.example.buildnest_ecommerce.event.PaymentSuccessfulEvent;
 import com.example.buildnest_ecommerce.repository.PaymentRepository;
-import com.example.buildnest_ecommerce.integration.RazorpayClientAdapter;
+import com.example.buildnest_ecommerce.integration.PaymentGatewayClient;
 import com.example.buildnest_ecommerce.exception.PaymentProcessingException;
 import com.example.buildnest_ecommerce.exception.ExternalServiceException;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Payment Service Implementation
@@ -21,24 +29,58 @@ import java.util.List;
  * management.
  * Manages payment initiation, callback processing, and payment status tracking.
  *
+ * Callbacks find their payment through the unique {@code razorpay_order_id}
+ * index and are idempotent on the Razorpay payment id: a repeat seen by the
+ * {@link PaymentCallbackRegistry} returns the payment as it stands, and the
+ * PENDING to SUCCESS transition is a conditional update, so two deliveries
+ * racing each other apply once and publish one PaymentSuccessfulEvent. The
+ * update and the event's outbox row commit in one transaction, and the
+ * payment id is recorded as processed only after that commit.
+ * Meters: {@code payments.callback.latency} timer tagged with the outcome
+ * ({@code success}, {@code duplicate}, {@code failed}) and a
+ * {@code payments.callback.duplicates} counter.
+ *
  * @author BuildNest Team
  * @version 1.0
  * @since 1.0.0
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 @SuppressWarnings("null")
 public class PaymentServiceImpl implements PaymentService {
+    private static final String CALLBACK_TIMER = "payments.callback.latency";
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_DUPLICATE = "duplicate";
+    private static final String OUTCOME_FAILED = "failed";
+
     private final PaymentRepository paymentRepository;
-    private final RazorpayClientAdapter razorpayAdapter;
+    private final PaymentGatewayClient paymentGateway;
     private final DomainEventPublisher domainEventPublisher;
+    private final PaymentCallbackRegistry callbackRegistry;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter duplicateCallbacks;
+
+    public PaymentServiceImpl(PaymentRepository paymentRepository, PaymentGatewayClient paymentGateway,
+            DomainEventPublisher domainEventPublisher, PaymentCallbackRegistry callbackRegistry,
+            MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.domainEventPublisher = domainEventPublisher;
+        this.callbackRegistry = callbackRegistry;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.duplicateCallbacks = Counter.builder("payments.callback.duplicates")
+                .description("Payment callbacks for a payment id that was already applied")
+                .register(meterRegistry);
+    }
 
     /**
      * Initiates a payment by creating a Razorpay order.
      *
      * Creates a payment record with PENDING status and communicates with Razorpay
-     * to generate an order ID for payment processing.
+     * to generate an order ID for payment processing. Blocks until the gateway
+     * answers; see {@link #initiatePaymentAsync(Long, Double)}.
      *
      * @param orderId the ID of the order for which payment is initiated (required)
      * @param amount  the payment amount in rupees (required)
@@ -46,40 +88,83 @@ public class PaymentServiceImpl implements PaymentService {
      */
     @Override
     public Payment initiatePayment(Long orderId, Double amount) {
-        log.info("Initiating payment for order: {}, amount: {}", orderId, amount);
-        Payment payment = new Payment();
-        payment.setOrderId(orderId);
-        payment.setAmount(amount);
-        payment.setStatus("PENDING");
-        payment.setCreatedAt(LocalDateTime.now());
-
         try {
-            // Call Razorpay to create order
-            String razorpayOrderId = razorpayAdapter.createOrder(amount, orderId);
-            payment.setRazorpayOrderId(razorpayOrderId);
+            return initiatePaymentAsync(orderId, amount).join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) unwrap(e);
+        }
+    }
+
+    /**
+     * Initiates a payment without waiting for the gateway.
+     *
+     * The Razorpay order is created on the payments lane and the PENDING
+     * payment is saved when it arrives. Gateway timeouts, an open circuit
+     * breaker and a full lane fail the future with ExternalServiceException.
+     *
+     * @param orderId the ID of the order for which payment is initiated (required)
+     * @param amount  the payment amount in rupees (required)
+     * @return the created Payment entity with Razorpay order ID
+     */
+    @Override
+    public CompletableFuture<Payment> initiatePaymentAsync(Long orderId, Double amount) {
+        log.info("Initiating payment for order: {}, amount: {}", orderId, amount);
+        LocalDateTime requestedAt = LocalDateTime.now();
+        return paymentGateway.createOrder(amount, orderId).handle((razorpayOrderId, error) -> {
+            if (error != null) {
+                throw initiationFailure(unwrap(error));
+            }
             log.info("Razorpay order created with id: {}", razorpayOrderId);
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid payment parameters: {}", e.getMessage(), e);
-            payment.setStatus("FAILED");
-            throw new PaymentProcessingException("Invalid payment parameters: " + e.getMessage());
-        } catch (ExternalServiceException e) {
+            Payment payment = new Payment();
+            payment.setOrderId(orderId);
+            payment.setAmount(amount);
+            payment.setStatus("PENDING");
+            payment.setCreatedAt(requestedAt);
+            payment.setRazorpayOrderId(razorpayOrderId);
+            return paymentRepository.save(payment);
+        });
+    }
+
+    private RuntimeException initiationFailure(Throwable error) {
+        if (error instanceof IllegalArgumentException) {
+            log.error("Invalid payment parameters: {}", error.getMessage(), error);
+            return new PaymentProcessingException("Invalid payment parameters: " + error.getMessage());
+        }
+        if (error instanceof ExternalServiceException e) {
             log.error("Razorpay service error: {}", e.getMessage(), e);
-            payment.setStatus("FAILED");
-            throw e;
-        } catch (RuntimeException e) {
-            log.error("Unexpected error creating Razorpay order: {}", e.getMessage(), e);
-            payment.setStatus("FAILED");
-            throw new PaymentProcessingException("Payment initiation failed: " + e.getMessage());
+            return e;
+        }
+        if (error instanceof CallNotPermittedException) {
+            log.warn("Razorpay circuit breaker is open, payment not initiated");
+            return new ExternalServiceException("Razorpay", "payment gateway temporarily unavailable");
+        }
+        if (error instanceof TimeoutException) {
+            log.error("Razorpay did not answer in time");
+            return new ExternalServiceException("Razorpay", "payment gateway timed out");
         }
+        if (error instanceof RejectedExecutionException) {
+            log.warn("Payment gateway lane is full, payment not initiated");
+            return new ExternalServiceException("Razorpay", "too many payments in progress");
+        }
+        log.error("Unexpected error creating Razorpay order: {}", error.getMessage(), error);
+        return new PaymentProcessingException("Payment initiation failed: " + error.getMessage());
+    }
 
-        return paymentRepository.save(payment);
+    private static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
     }
 
     /**
      * Processes payment callback from Razorpay.
      *
      * Verifies the payment signature, updates payment status to SUCCESS,
-     * and publishes PaymentSuccessfulEvent or PaymentFailedEvent accordingly.
+     * and publishes PaymentSuccessfulEvent. A callback that fails verification
+     * is rejected without an event, as it cannot be tied to an order.
+     * A repeated callback for the same Razorpay payment returns the payment
+     * without updating it or publishing again.
      *
      * @param razorpayOrderId   the Razorpay order ID (required)
      * @param razorpayPaymentId the Razorpay payment ID (required)
@@ -87,37 +172,82 @@ public class PaymentServiceImpl implements PaymentService {
      *                          (required)
      * @return the updated Payment entity with SUCCESS status
      * @throws RuntimeException if signature is invalid or payment is not found
+     * @throws PaymentProcessingException if the payment is no longer pending
+     *                                    and was not settled by this payment ID
      */
     @Override
     public Payment processPaymentCallback(String razorpayOrderId, String razorpayPaymentId, String razorpaySignature) {
         log.info("Processing payment callback for Razorpay order: {}", razorpayOrderId);
-        Long relatedOrderId = null;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_FAILED;
         try {
-            // Verify signature
-            boolean isValid = razorpayAdapter.verifySignature(razorpayOrderId, razorpayPaymentId, razorpaySignature);
+            Payment payment = verifyCallback(razorpayOrderId, razorpayPaymentId, razorpaySignature);
+            if (callbackRegistry.isProcessed(razorpayPaymentId)) {
+                log.info("Duplicate callback for payment {} ignored", razorpayPaymentId);
+                outcome = OUTCOME_DUPLICATE;
+                return payment;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            Boolean applied = transactionTemplate.execute(status -> {
+                if (paymentRepository.markSucceeded(payment.getId(), razorpayPaymentId, now) == 0) {
+                    return false;
+                }
+                domainEventPublisher.publish(new PaymentSuccessfulEvent(this, payment.getId(),
+                        payment.getOrderId(), java.math.BigDecimal.valueOf(payment.getAmount())));
+                return true;
+            });
+            if (!Boolean.TRUE.equals(applied)) {
+                Payment current = paymentRepository.findById(payment.getId()).orElse(payment);
+                if (!"SUCCESS".equals(current.getStatus())
+                        || !razorpayPaymentId.equals(current.getRazorpayPaymentId())) {
+                    log.warn("Callback for payment {} rejected: payment {} is {}", razorpayPaymentId,
+                            current.getId(), current.getStatus());
+                    throw new PaymentProcessingException(
+                            "Payment " + current.getId() + " is already " + current.getStatus());
+                }
+                callbackRegistry.markProcessed(razorpayPaymentId);
+                log.info("Duplicate callback for payment {} ignored", razorpayPaymentId);
+                outcome = OUTCOME_DUPLICATE;
+                return current;
+            }
+
+            payment.setRazorpayPaymentId(razorpayPaymentId);
+            payment.setStatus("SUCCESS");
+            payment.setUpdatedAt(now);
+            callbackRegistry.markProcessed(razorpayPaymentId);
+            outcome = OUTCOME_SUCCESS;
+            return payment;
+        } finally {
+            if (OUTCOME_DUPLICATE.equals(outcome)) {
+                duplicateCallbacks.increment();
+            }
+            sample.stop(Timer.builder(CALLBACK_TIMER)
+                    .description("Time to process a payment gateway callback")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * @return the payment a callback with a valid signature refers to
+     * @throws RuntimeException if the signature is invalid or the payment is
+     *                          unknown; no order is known then, so no
+     *                          PaymentFailedEvent is published
+     */
+    private Payment verifyCallback(String razorpayOrderId, String razorpayPaymentId, String razorpaySignature) {
+        try {
+            boolean isValid = paymentGateway.verifySignature(razorpayOrderId, razorpayPaymentId, razorpaySignature);
 
             if (!isValid) {
                 log.warn("Invalid signature for payment: {}", razorpayPaymentId);
                 throw new RuntimeException("Invalid payment signature");
             }
 
-            // Find and update payment
-            Payment payment = paymentRepository.findAll().stream()
-                    .filter(p -> p.getRazorpayOrderId().equals(razorpayOrderId))
-                    .findFirst()
+            return paymentRepository.findByRazorpayOrderId(razorpayOrderId)
                     .orElseThrow(() -> new RuntimeException("Payment not found"));
-            relatedOrderId = payment.getOrderId();
-
-            payment.setRazorpayPaymentId(razorpayPaymentId);
-            payment.setStatus("SUCCESS");
-            payment.setUpdatedAt(LocalDateTime.now());
-            Payment saved = paymentRepository.save(payment);
-            domainEventPublisher.publish(new PaymentSuccessfulEvent(this, saved.getId(), saved.getOrderId(),
-                    java.math.BigDecimal.valueOf(saved.getAmount())));
-            return saved;
         } catch (Exception e) {
             log.error("Error processing payment callback", e);
-            domainEventPublisher.publish(new PaymentFailedEvent(this, relatedOrderId, e.getMessage()));
             throw new RuntimeException("Payment processing failed", e);
         }
     }
@@ -132,9 +262,7 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     public Payment getPaymentByOrderId(Long orderId) {
         log.info("Fetching payment for order: {}", orderId);
-        return paymentRepository.findAll().stream()
-                .filter(p -> p.getOrderId().equals(orderId))
-                .findFirst()
+        return paymentRepository.findFirstByOrderIdOrderByIdDesc(orderId)
                 .orElseThrow(() -> new RuntimeException("Payment not found for order: " + orderId));
     }
 
@@ -151,7 +279,7 @@ public class PaymentServiceImpl implements PaymentService {
         Payment payment = getPaymentById(paymentId);
 
         try {
-            razorpayAdapter.refundPayment(payment.getRazorpayPaymentId(), payment.getAmount());
+            paymentGateway.refundPayment(payment.getRazorpayPaymentId(), payment.getAmount()).join();
             payment.setStatus("REFUNDED");
             payment.setUpdatedAt(LocalDateTime.now());
             paymentRepository.save(payment);
@@ -1,14 +1,11 @@
 package com.example.buildnest_ecommerce.service.payment;
 
+import com.example.buildnest_ecommerce.security.HmacSigner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
-
 /**
  * Payment Signature Validation Service
  * 
@@ -17,6 +14,8 @@ import java.nio.charset.StandardCharsets;
  * - Prevents payment tampering and ensures authenticity
  * - Logs all validation attempts for audit trail
  * - Implements cryptographic best practices
+ * - Accepts signatures made with razorpay.key.previous-secret while a
+ *   secret rotation is in progress
  * 
  * SYS-PAY-006: Payment signature verification with PCI DSS compliance
  */
@@ -25,9 +24,14 @@ import java.nio.charset.StandardCharsets;
 @RequiredArgsConstructor
 public class PaymentSignatureValidationService {
 
+    private final HmacSigner hmacSigner;
+
     @Value("${razorpay.key.secret}")
     private String razorpayKeySecret;
 
+    @Value("${razorpay.key.previous-secret:}")
+    private String razorpayPreviousKeySecret;
+
     @Value("${razorpay.key.id}")
     private String razorpayKeyId;
 
@@ -49,14 +53,10 @@ public class PaymentSignatureValidationService {
         }
 
         try {
-            // Construct the message in correct format
-            String message = orderId + "|" + paymentId;
-
-            // Generate HMAC-SHA256 hash using Razorpay secret key
-            String generatedSignature = generateHmacSHA256(message, razorpayKeySecret);
-
-            // Perform constant-time comparison to prevent timing attacks
-            boolean isValid = constantTimeEquals(generatedSignature, signature);
+            // Constant-time HMAC-SHA256 check of "orderId|paymentId" under the
+            // current Razorpay secret and, during a rotation, the previous one
+            boolean isValid = hmacSigner.matchesHex(orderId + "|" + paymentId, signature,
+                    razorpayKeySecret, razorpayPreviousKeySecret);
 
             if (isValid) {
                 log.info("✓ Payment signature validated successfully for orderId: {} paymentId: {}", orderId,
@@ -91,8 +91,7 @@ public class PaymentSignatureValidationService {
         }
 
         try {
-            String generatedSignature = generateHmacSHA256(body, webhookSecret);
-            boolean isValid = constantTimeEquals(generatedSignature, receivedSignature);
+            boolean isValid = hmacSigner.matchesHex(body, receivedSignature, webhookSecret);
 
             if (isValid) {
                 log.info("✓ Webhook signature validated successfully");
@@ -109,73 +108,6 @@ public class PaymentSignatureValidationService {
         }
     }
 
-    /**
-     * Generates HMAC-SHA256 hash
-     * 
-     * PCI DSS Requirement: Use strong cryptography (SHA-256 or higher)
-     * 
-     * @param message Message to hash
-     * @param secret  Secret key for HMAC
-     * @return Hex-encoded HMAC-SHA256 hash
-     */
-    private String generateHmacSHA256(String message, String secret) throws Exception {
-        Mac sha256_HMAC = Mac.getInstance("HmacSHA256");
-        SecretKeySpec secret_key = new SecretKeySpec(
-                secret.getBytes(StandardCharsets.UTF_8),
-                "HmacSHA256");
-        sha256_HMAC.init(secret_key);
-
-        byte[] hash = sha256_HMAC.doFinal(message.getBytes(StandardCharsets.UTF_8));
-        return bytesToHex(hash);
-    }
-
-    /**
-     * Converts byte array to hexadecimal string
-     * 
-     * @param bytes Bytes to convert
-     * @return Hex string representation
-     */
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : bytes) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
-        }
-        return hexString.toString();
-    }
-
-    /**
-     * Constant-time string comparison to prevent timing attacks
-     * 
-     * PCI DSS Security Best Practice: Prevent cryptographic attacks
-     * 
-     * @param a First string
-     * @param b Second string
-     * @return true if strings are equal (using constant-time comparison)
-     */
-    private boolean constantTimeEquals(String a, String b) {
-        if (a == null || b == null) {
-            return false;
-        }
-
-        byte[] aBytes = a.getBytes(StandardCharsets.UTF_8);
-        byte[] bBytes = b.getBytes(StandardCharsets.UTF_8);
-
-        if (aBytes.length != bBytes.length) {
-            return false;
-        }
-
-        int result = 0;
-        for (int i = 0; i < aBytes.length; i++) {
-            result |= aBytes[i] ^ bBytes[i];
-        }
-
-        return result == 0;
-    }
-
     /**
      * Validates input parameters for signature verification
      * 
@@ -1,5 +1,6 @@
 package com.example.buildnest_ecommerce.service.product;
 
+import com.example.buildnest_ecommerce.aspect.ClusterSingleton;
 import com.example.buildnest_ecommerce.model.dto.CreateProductRequest;
 import com.example.buildnest_ecommerce.model.entity.Product;
 import com.example.buildnest_ecommerce.repository.ProductRepository;
@@ -157,9 +158,11 @@ public class ProductServiceImpl implements ProductService {
 
     /**
      * Clear product cache daily at 2 AM
-     * Ensures fresh data and prevents stale cache issues
+     * Ensures fresh data and prevents stale cache issues. The cache is shared
+     * in Redis, so one pod evicting is enough.
      */
     @Scheduled(cron = "0 0 2 * * ?")
+    @ClusterSingleton
     @CacheEvict(allEntries = true)
     public void clearProductCache() {
         log.info("Clearing product cache - scheduled task");
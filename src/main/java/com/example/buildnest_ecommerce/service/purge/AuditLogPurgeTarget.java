@@ -0,0 +1,47 @@
+package com.example.buildnest_ecommerce.service.purge;
+
+import com.example.buildnest_ecommerce.config.properties.PurgeProperties;
+import com.example.buildnest_ecommerce.repository.AuditLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Audit log entries older than {@code purge.audit-log-retention-days}.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditLogPurgeTarget implements PurgeTarget {
+
+    private final AuditLogRepository auditLogRepository;
+    private final PurgeProperties properties;
+
+    @Override
+    public String getName() {
+        return "audit_logs";
+    }
+
+    @Override
+    public LocalDateTime cutoff(LocalDateTime now) {
+        return now.minusDays(properties.getAuditLogRetentionDays());
+    }
+
+    @Override
+    public List<Long> findEligibleIds(LocalDateTime cutoff, long afterId, int limit) {
+        return auditLogRepository.findIdsOlderThanAfter(cutoff, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public int deleteByIds(List<Long> ids) {
+        return auditLogRepository.deleteByIds(ids);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestEligible(LocalDateTime cutoff) {
+        return Optional.ofNullable(auditLogRepository.findOldestTimestamp(cutoff));
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.buildnest_ecommerce.service.purge;
+
+import com.example.buildnest_ecommerce.config.properties.PurgeProperties;
+import com.example.buildnest_ecommerce.model.entity.PurgeCheckpoint;
+import com.example.buildnest_ecommerce.repository.PurgeCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deletes old rows in primary-key-ordered chunks.
+ *
+ * Each chunk is a separate short DELETE by id list, followed by a pause, so
+ * locks are held briefly and replicas can keep up. The chunk size adapts to
+ * the observed statement latency: it grows by a quarter while deletes finish
+ * well under {@code purge.target-statement-ms} and halves when they exceed
+ * it. Progress is checkpointed after every chunk; a run that reaches
+ * {@code purge.max-run-ms} (or dies with the pod) resumes from the
+ * checkpoint on the next run.
+ */
+@Slf4j
+@Service
+public class ChunkedPurgeService {
+
+    private final PurgeCheckpointRepository checkpointRepository;
+    private final PurgeProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TargetMetrics> metrics = new ConcurrentHashMap<>();
+    private final Map<String, AtomicBoolean> running = new ConcurrentHashMap<>();
+
+    public ChunkedPurgeService(PurgeCheckpointRepository checkpointRepository, PurgeProperties properties,
+            MeterRegistry meterRegistry) {
+        this.checkpointRepository = checkpointRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs (or resumes) a purge pass over the target.
+     *
+     * @return number of rows deleted by this run
+     */
+    public long purge(PurgeTarget target) {
+        AtomicBoolean guard = running.computeIfAbsent(target.getName(), name -> new AtomicBoolean());
+        if (!guard.compareAndSet(false, true)) {
+            log.info("Purge of {} already running, skipping", target.getName());
+            return 0;
+        }
+        try {
+            return run(target, metrics.computeIfAbsent(target.getName(), this::registerMetrics));
+        } finally {
+            guard.set(false);
+        }
+    }
+
+    private long run(PurgeTarget target, TargetMetrics targetMetrics) {
+        LocalDateTime now = LocalDateTime.now();
+        PurgeCheckpoint checkpoint = checkpointRepository.findById(target.getName())
+                .orElseGet(() -> new PurgeCheckpoint(target.getName(), properties.getInitialChunkSize()));
+        boolean resuming = checkpoint.getCutoff() != null;
+        LocalDateTime cutoff = resuming ? checkpoint.getCutoff() : target.cutoff(now);
+        long afterId = resuming ? checkpoint.getLastId() : 0L;
+        int chunkSize = clamp(checkpoint.getChunkSize());
+        if (resuming) {
+            log.info("Resuming purge of {} after id {} (cutoff {})", target.getName(), afterId, cutoff);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getMaxRunMs());
+        long started = System.nanoTime();
+        long deleted = 0;
+        boolean completed = false;
+        while (true) {
+            List<Long> ids = target.findEligibleIds(cutoff, afterId, chunkSize);
+            if (ids.isEmpty()) {
+                completed = true;
+                break;
+            }
+
+            long statementStart = System.nanoTime();
+            int removed = target.deleteByIds(ids);
+            long statementNanos = System.nanoTime() - statementStart;
+            targetMetrics.chunkTimer.record(statementNanos, TimeUnit.NANOSECONDS);
+            targetMetrics.deletedCounter.increment(removed);
+            deleted += removed;
+            afterId = ids.get(ids.size() - 1);
+
+            int requested = chunkSize;
+            chunkSize = adapt(chunkSize, TimeUnit.NANOSECONDS.toMillis(statementNanos));
+            targetMetrics.chunkSize = chunkSize;
+            saveCheckpoint(checkpoint, afterId, cutoff, chunkSize);
+
+            if (ids.size() < requested) {
+                completed = true;
+                break;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                log.info("Purge of {} reached its time budget after {} rows; will resume after id {}",
+                        target.getName(), deleted, afterId);
+                break;
+            }
+            pause();
+        }
+
+        if (completed) {
+            checkpoint.setLastCompletedAt(LocalDateTime.now());
+            saveCheckpoint(checkpoint, 0L, null, chunkSize);
+        }
+
+        double seconds = Math.max(1e-3, (System.nanoTime() - started) / 1e9);
+        targetMetrics.rowsPerSecond = deleted / seconds;
+        LocalDateTime currentCutoff = target.cutoff(LocalDateTime.now());
+        targetMetrics.lagSeconds = target.findOldestEligible(currentCutoff)
+                .map(oldest -> (double) Duration.between(oldest, currentCutoff).toSeconds())
+                .orElse(0.0);
+        if (deleted > 0) {
+            log.info("Purged {} rows from {} in {} ms ({} rows/s, chunk size {})", deleted, target.getName(),
+                    (long) (seconds * 1000), (long) targetMetrics.rowsPerSecond, chunkSize);
+        }
+        return deleted;
+    }
+
+    int adapt(int chunkSize, long statementMs) {
+        long target = properties.getTargetStatementMs();
+        if (statementMs > target) {
+            return clamp(chunkSize / 2);
+        }
+        if (statementMs < target / 2) {
+            return clamp(chunkSize + Math.max(1, chunkSize / 4));
+        }
+        return chunkSize;
+    }
+
+    private int clamp(int chunkSize) {
+        return Math.max(properties.getMinChunkSize(), Math.min(properties.getMaxChunkSize(), chunkSize));
+    }
+
+    private void saveCheckpoint(PurgeCheckpoint checkpoint, long lastId, LocalDateTime cutoff, int chunkSize) {
+        checkpoint.setLastId(lastId);
+        checkpoint.setCutoff(cutoff);
+        checkpoint.setChunkSize(chunkSize);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+    }
+
+    private void pause() {
+        if (properties.getPauseMs() <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(properties.getPauseMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TargetMetrics registerMetrics(String name) {
+        TargetMetrics targetMetrics = new TargetMetrics();
+        targetMetrics.chunkSize = properties.getInitialChunkSize();
+        targetMetrics.deletedCounter = Counter.builder("purge.rows.deleted")
+                .description("Rows removed by background purges")
+                .tag("target", name)
+                .register(meterRegistry);
+        targetMetrics.chunkTimer = Timer.builder("purge.chunk.duration")
+                .description("Latency of a single purge DELETE")
+                .tag("target", name)
+                .register(meterRegistry);
+        Gauge.builder("purge.rows.per.second", targetMetrics, m -> m.rowsPerSecond)
+                .description("Delete throughput of the last purge run")
+                .tag("target", name)
+                .register(meterRegistry);
+        Gauge.builder("purge.lag.seconds", targetMetrics, m -> m.lagSeconds)
+                .description("How far the oldest row still eligible for purge lies behind the cutoff")
+                .tag("target", name)
+                .register(meterRegistry);
+        Gauge.builder("purge.chunk.size", targetMetrics, m -> m.chunkSize)
+                .description("Current adaptive purge chunk size")
+                .tag("target", name)
+                .register(meterRegistry);
+        return targetMetrics;
+    }
+
+    private static final class TargetMetrics {
+        private Counter deletedCounter;
+        private Timer chunkTimer;
+        private volatile double rowsPerSecond;
+        private volatile double lagSeconds;
+        private volatile int chunkSize;
+    }
+}
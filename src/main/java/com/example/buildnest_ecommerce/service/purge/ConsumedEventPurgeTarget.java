@@ -0,0 +1,49 @@
+package com.example.buildnest_ecommerce.service.purge;
+
+import com.example.buildnest_ecommerce.config.properties.PurgeProperties;
+import com.example.buildnest_ecommerce.repository.ConsumedEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Consumer idempotency records older than
+ * {@code purge.domain-event-retention-days}; by then the event can no
+ * longer be redelivered from the outbox.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsumedEventPurgeTarget implements PurgeTarget {
+
+    private final ConsumedEventRepository consumedEventRepository;
+    private final PurgeProperties properties;
+
+    @Override
+    public String getName() {
+        return "consumed_events";
+    }
+
+    @Override
+    public LocalDateTime cutoff(LocalDateTime now) {
+        return now.minusDays(properties.getDomainEventRetentionDays());
+    }
+
+    @Override
+    public List<Long> findEligibleIds(LocalDateTime cutoff, long afterId, int limit) {
+        return consumedEventRepository.findIdsConsumedBeforeAfter(cutoff, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public int deleteByIds(List<Long> ids) {
+        return consumedEventRepository.deleteByIds(ids);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestEligible(LocalDateTime cutoff) {
+        return Optional.ofNullable(consumedEventRepository.findOldestConsumedAt(cutoff));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.buildnest_ecommerce.service.purge;
+
+import com.example.buildnest_ecommerce.config.properties.PurgeProperties;
+import com.example.buildnest_ecommerce.repository.OrderRepository;
+import com.example.buildnest_ecommerce.repository.OrderViewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Orders soft-deleted more than {@code purge.deleted-order-retention-days}
+ * ago, together with their items and order views. Payments reference orders by id only and
+ * are kept as financial records.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeletedOrderPurgeTarget implements PurgeTarget {
+
+    private final OrderRepository orderRepository;
+    private final OrderViewRepository orderViewRepository;
+    private final PurgeProperties properties;
+
+    @Override
+    public String getName() {
+        return "deleted_orders";
+    }
+
+    @Override
+    public LocalDateTime cutoff(LocalDateTime now) {
+        return now.minusDays(properties.getDeletedOrderRetentionDays());
+    }
+
+    @Override
+    public List<Long> findEligibleIds(LocalDateTime cutoff, long afterId, int limit) {
+        return orderRepository.findSoftDeletedIdsAfter(cutoff, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional
+    public int deleteByIds(List<Long> ids) {
+        orderRepository.deleteItemsByOrderIds(ids);
+        orderViewRepository.deleteByOrderIds(ids);
+        return orderRepository.deleteByIds(ids);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestEligible(LocalDateTime cutoff) {
+        return Optional.ofNullable(orderRepository.findOldestSoftDeletedAt(cutoff));
+    }
+}
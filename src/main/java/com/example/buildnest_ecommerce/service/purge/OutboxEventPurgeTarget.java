@@ -0,0 +1,48 @@
+package com.example.buildnest_ecommerce.service.purge;
+
+import com.example.buildnest_ecommerce.config.properties.PurgeProperties;
+import com.example.buildnest_ecommerce.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Published domain event outbox rows created more than
+ * {@code purge.domain-event-retention-days} ago.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEventPurgeTarget implements PurgeTarget {
+
+    private final OutboxEventRepository outboxRepository;
+    private final PurgeProperties properties;
+
+    @Override
+    public String getName() {
+        return "domain_event_outbox";
+    }
+
+    @Override
+    public LocalDateTime cutoff(LocalDateTime now) {
+        return now.minusDays(properties.getDomainEventRetentionDays());
+    }
+
+    @Override
+    public List<Long> findEligibleIds(LocalDateTime cutoff, long afterId, int limit) {
+        return outboxRepository.findIdsPublishedBeforeAfter(cutoff, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public int deleteByIds(List<Long> ids) {
+        return outboxRepository.deleteByIds(ids);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestEligible(LocalDateTime cutoff) {
+        return Optional.ofNullable(outboxRepository.findOldestPublishedCreatedAt(cutoff));
+    }
+}
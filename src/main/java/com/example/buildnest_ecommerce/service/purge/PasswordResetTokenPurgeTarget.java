@@ -0,0 +1,45 @@
+package com.example.buildnest_ecommerce.service.purge;
+
+import com.example.buildnest_ecommerce.repository.PasswordResetTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Expired rows of {@code password_reset_tokens}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PasswordResetTokenPurgeTarget implements PurgeTarget {
+
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Override
+    public String getName() {
+        return "password_reset_tokens";
+    }
+
+    @Override
+    public LocalDateTime cutoff(LocalDateTime now) {
+        return now;
+    }
+
+    @Override
+    public List<Long> findEligibleIds(LocalDateTime cutoff, long afterId, int limit) {
+        return passwordResetTokenRepository.findExpiredIdsAfter(cutoff, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public int deleteByIds(List<Long> ids) {
+        return passwordResetTokenRepository.deleteByIds(ids);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestEligible(LocalDateTime cutoff) {
+        return Optional.ofNullable(passwordResetTokenRepository.findOldestExpiry(cutoff));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.buildnest_ecommerce.service.purge;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A table whose old rows are removed by {@link ChunkedPurgeService}.
+ *
+ * Implementations expose the eligible primary keys in ascending order and a
+ * delete by id list; the service owns chunking, pacing and checkpoints.
+ */
+public interface PurgeTarget {
+
+    /**
+     * Stable name used for the checkpoint row and metric tags.
+     */
+    String getName();
+
+    /**
+     * @return rows older than this instant are eligible for deletion
+     */
+    LocalDateTime cutoff(LocalDateTime now);
+
+    /**
+     * @return up to {@code limit} eligible ids greater than {@code afterId},
+     *         in ascending order
+     */
+    List<Long> findEligibleIds(LocalDateTime cutoff, long afterId, int limit);
+
+    /**
+     * Delete the given rows in one short transaction.
+     *
+     * @return number of rows deleted
+     */
+    int deleteByIds(List<Long> ids);
+
+    /**
+     * @return timestamp of the oldest eligible row, used to report purge lag
+     */
+    Optional<LocalDateTime> findOldestEligible(LocalDateTime cutoff);
+}
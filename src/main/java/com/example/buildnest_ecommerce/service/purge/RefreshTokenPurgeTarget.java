@@ -0,0 +1,45 @@
+package com.example.buildnest_ecommerce.service.purge;
+
+import com.example.buildnest_ecommerce.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Expired rows of {@code refresh_tokens}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenPurgeTarget implements PurgeTarget {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Override
+    public String getName() {
+        return "refresh_tokens";
+    }
+
+    @Override
+    public LocalDateTime cutoff(LocalDateTime now) {
+        return now;
+    }
+
+    @Override
+    public List<Long> findEligibleIds(LocalDateTime cutoff, long afterId, int limit) {
+        return refreshTokenRepository.findExpiredIdsAfter(cutoff, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public int deleteByIds(List<Long> ids) {
+        return refreshTokenRepository.deleteByIds(ids);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestEligible(LocalDateTime cutoff) {
+        return Optional.ofNullable(refreshTokenRepository.findOldestExpiry(cutoff));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.buildnest_ecommerce.service.purge;
+
+import com.example.buildnest_ecommerce.config.properties.PurgeProperties;
+import com.example.buildnest_ecommerce.repository.SchedulerJobRunRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Scheduler run history older than {@code purge.job-run-retention-days}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SchedulerJobRunPurgeTarget implements PurgeTarget {
+
+    private final SchedulerJobRunRepository jobRunRepository;
+    private final PurgeProperties properties;
+
+    @Override
+    public String getName() {
+        return "scheduler_job_runs";
+    }
+
+    @Override
+    public LocalDateTime cutoff(LocalDateTime now) {
+        return now.minusDays(properties.getJobRunRetentionDays());
+    }
+
+    @Override
+    public List<Long> findEligibleIds(LocalDateTime cutoff, long afterId, int limit) {
+        return jobRunRepository.findIdsStartedBeforeAfter(cutoff, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public int deleteByIds(List<Long> ids) {
+        return jobRunRepository.deleteByIds(ids);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestEligible(LocalDateTime cutoff) {
+        return Optional.ofNullable(jobRunRepository.findOldestStartedAt(cutoff));
+    }
+}
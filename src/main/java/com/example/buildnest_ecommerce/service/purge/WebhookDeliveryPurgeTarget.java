@@ -0,0 +1,48 @@
+package com.example.buildnest_ecommerce.service.purge;
+
+import com.example.buildnest_ecommerce.config.properties.PurgeProperties;
+import com.example.buildnest_ecommerce.repository.WebhookDeliveryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finished webhook outbox rows (delivered, dead or cancelled) created more
+ * than {@code purge.webhook-delivery-retention-days} ago.
+ */
+@Component
+@RequiredArgsConstructor
+public class WebhookDeliveryPurgeTarget implements PurgeTarget {
+
+    private final WebhookDeliveryRepository deliveryRepository;
+    private final PurgeProperties properties;
+
+    @Override
+    public String getName() {
+        return "webhook_deliveries";
+    }
+
+    @Override
+    public LocalDateTime cutoff(LocalDateTime now) {
+        return now.minusDays(properties.getWebhookDeliveryRetentionDays());
+    }
+
+    @Override
+    public List<Long> findEligibleIds(LocalDateTime cutoff, long afterId, int limit) {
+        return deliveryRepository.findIdsFinishedBeforeAfter(cutoff, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public int deleteByIds(List<Long> ids) {
+        return deliveryRepository.deleteByIds(ids);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestEligible(LocalDateTime cutoff) {
+        return Optional.ofNullable(deliveryRepository.findOldestFinishedCreatedAt(cutoff));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.buildnest_ecommerce.service.scheduler;
+
+import com.example.buildnest_ecommerce.aspect.ClusterSingleton;
+import com.example.buildnest_ecommerce.config.properties.CartProperties;
+import com.example.buildnest_ecommerce.service.cart.RedisCartService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Writes Redis carts that changed since their last write to MySQL.
+ * Carts are taken from the dirty set a batch at a time until it is empty;
+ * a cart that fails is marked dirty again and the run stops after that
+ * batch, so it is retried on the next run rather than in a loop.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cart.store", havingValue = "redis")
+public class CartWriteBehindScheduler {
+
+    private final RedisCartService cartService;
+    private final CartProperties cartProperties;
+
+    @Scheduled(initialDelayString = "${cart.write-behind.interval-ms:60000}",
+            fixedDelayString = "${cart.write-behind.interval-ms:60000}")
+    @ClusterSingleton(leaseMs = 300_000L)
+    public void writeDirtyCarts() {
+        int batchSize = cartProperties.getWriteBehind().getBatchSize();
+        int written = 0;
+        int failed = 0;
+        List<Long> userIds;
+        do {
+            userIds = cartService.pollDirty(batchSize);
+            for (Long userId : userIds) {
+                try {
+                    if (cartService.persistCart(userId)) {
+                        written++;
+                    }
+                } catch (Exception e) {
+                    failed++;
+                    log.warn("Could not write cart of user {}: {}", userId, e.getMessage());
+                }
+            }
+        } while (userIds.size() == batchSize && failed == 0);
+        if (written > 0 || failed > 0) {
+            log.info("Cart write-behind: {} written, {} failed", written, failed);
+        }
+    }
+}
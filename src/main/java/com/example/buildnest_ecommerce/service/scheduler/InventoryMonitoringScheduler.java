@@ -1,5 +1,6 @@
 package com.example.buildnest_ecommerce.service.scheduler;
 
+import com.example.buildnest_ecommerce.aspect.ClusterSingleton;
 import com.example.buildnest_ecommerce.service.inventory.InventoryMonitoringService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,9 +23,10 @@ public class InventoryMonitoringScheduler {
 
     /**
      * Monitor inventory levels every 5 minutes (RQ-INV-MON-01, RQ-INV-MON-02,
-     * RQ-INV-MON-03).
+     * RQ-INV-MON-03). Sharded by product id so replicas split the scan.
      */
     @Scheduled(cron = "0 */5 * * * ?")
+    @ClusterSingleton(shards = "${scheduler.inventory-monitoring.shards:4}", leaseMs = 240_000L)
     @Transactional
     public void monitorInventoryLevels() {
         log.debug("Executing scheduled inventory monitoring task");
@@ -39,6 +41,7 @@ public class InventoryMonitoringScheduler {
      * Daily inventory summary report at 2 AM (RQ-INV-REP-01).
      */
     @Scheduled(cron = "0 0 2 * * ?")
+    @ClusterSingleton
     @Transactional
     public void generateDailyInventorySummary() {
         log.info("Generating daily inventory summary report");
@@ -0,0 +1,113 @@
+package com.example.buildnest_ecommerce.service.scheduler;
+
+import com.example.buildnest_ecommerce.aspect.ClusterSingleton;
+import com.example.buildnest_ecommerce.service.purge.AuditLogPurgeTarget;
+import com.example.buildnest_ecommerce.service.purge.ChunkedPurgeService;
+import com.example.buildnest_ecommerce.service.purge.ConsumedEventPurgeTarget;
+import com.example.buildnest_ecommerce.service.purge.DeletedOrderPurgeTarget;
+import com.example.buildnest_ecommerce.service.purge.OutboxEventPurgeTarget;
+import com.example.buildnest_ecommerce.service.purge.SchedulerJobRunPurgeTarget;
+import com.example.buildnest_ecommerce.service.purge.WebhookDeliveryPurgeTarget;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Scheduled retention purges for audit logs, soft-deleted orders,
+ * scheduler run history, finished webhook deliveries and relayed domain
+ * events. All run off-peak through {@link ChunkedPurgeService},
+ * on one pod at a time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RetentionPurgeScheduler {
+
+    private final ChunkedPurgeService purgeService;
+    private final AuditLogPurgeTarget auditLogPurgeTarget;
+    private final DeletedOrderPurgeTarget deletedOrderPurgeTarget;
+    private final SchedulerJobRunPurgeTarget jobRunPurgeTarget;
+    private final WebhookDeliveryPurgeTarget webhookDeliveryPurgeTarget;
+    private final OutboxEventPurgeTarget outboxEventPurgeTarget;
+    private final ConsumedEventPurgeTarget consumedEventPurgeTarget;
+
+    /**
+     * Remove audit log entries past retention.
+     * Runs every 24 hours at 3 AM.
+     */
+    @Scheduled(cron = "0 0 3 * * ?")
+    @ClusterSingleton(leaseMs = 900_000L)
+    public void purgeAuditLogs() {
+        log.info("Starting audit log retention purge");
+        try {
+            long deletedCount = purgeService.purge(auditLogPurgeTarget);
+            log.info("Purged {} audit log entries", deletedCount);
+        } catch (Exception e) {
+            log.error("Error during audit log retention purge", e);
+        }
+    }
+
+    /**
+     * Hard-delete orders soft-deleted before the retention window.
+     * Runs every 24 hours at 3:30 AM.
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    @ClusterSingleton(leaseMs = 900_000L)
+    public void purgeDeletedOrders() {
+        log.info("Starting soft-deleted order purge");
+        try {
+            long deletedCount = purgeService.purge(deletedOrderPurgeTarget);
+            log.info("Purged {} soft-deleted orders", deletedCount);
+        } catch (Exception e) {
+            log.error("Error during soft-deleted order purge", e);
+        }
+    }
+
+    /**
+     * Remove scheduler run history past retention.
+     * Runs every 24 hours at 3:45 AM.
+     */
+    @Scheduled(cron = "0 45 3 * * ?")
+    @ClusterSingleton(leaseMs = 900_000L)
+    public void purgeJobRuns() {
+        try {
+            long deletedCount = purgeService.purge(jobRunPurgeTarget);
+            log.info("Purged {} scheduler job runs", deletedCount);
+        } catch (Exception e) {
+            log.error("Error during scheduler job run purge", e);
+        }
+    }
+
+    /**
+     * Remove finished webhook deliveries past retention.
+     * Runs every 24 hours at 3:50 AM.
+     */
+    @Scheduled(cron = "0 50 3 * * ?")
+    @ClusterSingleton(leaseMs = 900_000L)
+    public void purgeWebhookDeliveries() {
+        try {
+            long deletedCount = purgeService.purge(webhookDeliveryPurgeTarget);
+            log.info("Purged {} webhook deliveries", deletedCount);
+        } catch (Exception e) {
+            log.error("Error during webhook delivery purge", e);
+        }
+    }
+
+    /**
+     * Remove published outbox events and consumer idempotency records past
+     * retention.
+     * Runs every 24 hours at 3:55 AM.
+     */
+    @Scheduled(cron = "0 55 3 * * ?")
+    @ClusterSingleton(leaseMs = 900_000L)
+    public void purgeDomainEvents() {
+        try {
+            long outboxCount = purgeService.purge(outboxEventPurgeTarget);
+            long consumedCount = purgeService.purge(consumedEventPurgeTarget);
+            log.info("Purged {} outbox events and {} consumed event records", outboxCount, consumedCount);
+        } catch (Exception e) {
+            log.error("Error during domain event purge", e);
+        }
+    }
+}
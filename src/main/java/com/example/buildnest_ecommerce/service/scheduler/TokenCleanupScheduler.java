@@ -1,12 +1,13 @@
 package com.example.buildnest_ecommerce.service.scheduler;
 
-import com.example.buildnest_ecommerce.repository.PasswordResetTokenRepository;
-import com.example.buildnest_ecommerce.repository.RefreshTokenRepository;
+import com.example.buildnest_ecommerce.aspect.ClusterSingleton;
+import com.example.buildnest_ecommerce.service.purge.ChunkedPurgeService;
+import com.example.buildnest_ecommerce.service.purge.PasswordResetTokenPurgeTarget;
+import com.example.buildnest_ecommerce.service.token.RefreshTokenStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -19,19 +20,21 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class TokenCleanupScheduler {
     
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final ChunkedPurgeService purgeService;
+    private final PasswordResetTokenPurgeTarget passwordResetTokenPurgeTarget;
     
     /**
      * Clean up expired refresh tokens.
-     * Runs every 24 hours at 2 AM.
+     * Runs every 24 hours at 2 AM. The store purges in small chunks, each in
+     * its own transaction, so no long-running lock is held on the table.
      */
     @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional
+    @ClusterSingleton(leaseMs = 900_000L)
     public void cleanupExpiredRefreshTokens() {
         log.info("Starting cleanup of expired refresh tokens");
         try {
-            int deletedCount = refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now());
+            long deletedCount = refreshTokenStore.purgeExpired(LocalDateTime.now());
             log.info("Cleaned up {} expired refresh tokens", deletedCount);
         } catch (Exception e) {
             log.error("Error during refresh token cleanup", e);
@@ -40,14 +43,14 @@ public class TokenCleanupScheduler {
     
     /**
      * Clean up expired password reset tokens.
-     * Runs every 6 hours.
+     * Runs every 6 hours, in chunks like the refresh token purge.
      */
     @Scheduled(cron = "0 0 */6 * * ?")
-    @Transactional
+    @ClusterSingleton(leaseMs = 900_000L)
     public void cleanupExpiredPasswordResetTokens() {
         log.info("Starting cleanup of expired password reset tokens");
         try {
-            int deletedCount = passwordResetTokenRepository.deleteExpiredTokens(LocalDateTime.now());
+            long deletedCount = purgeService.purge(passwordResetTokenPurgeTarget);
             log.info("Cleaned up {} expired password reset tokens", deletedCount);
         } catch (Exception e) {
             log.error("Error during password reset token cleanup", e);
@@ -0,0 +1,48 @@
+package com.example.buildnest_ecommerce.service.scheduler.lock;
+
+import java.util.Optional;
+
+/**
+ * The lock and shard a {@code @ClusterSingleton} job is currently running
+ * under, bound to the executing thread for the duration of the job.
+ *
+ * @param jobName      job name
+ * @param fencingToken token of the held lock
+ * @param shardIndex   shard handled by this invocation
+ * @param shardCount   total shards (1 for unsharded jobs)
+ */
+public record ClusterJobContext(String jobName, long fencingToken, int shardIndex, int shardCount) {
+
+    private static final ThreadLocal<ClusterJobContext> CURRENT = new ThreadLocal<>();
+
+    public static Optional<ClusterJobContext> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    static void bind(ClusterJobContext context) {
+        CURRENT.set(context);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    /**
+     * @return true if the id falls in this invocation's shard
+     */
+    public boolean owns(long id) {
+        return shardOf(id, shardCount) == shardIndex;
+    }
+
+    /**
+     * Shard of an id: a plain modulo, matching the {@code MOD(id, count)}
+     * predicate used by sharded repository queries.
+     */
+    public static int shardOf(long id, int shardCount) {
+        return (int) Math.floorMod(id, (long) shardCount);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.buildnest_ecommerce.service.scheduler.lock;
+
+import com.example.buildnest_ecommerce.config.properties.SchedulerProperties;
+import com.example.buildnest_ecommerce.model.entity.SchedulerJobRun;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes job bodies under cluster-wide locks.
+ *
+ * An unsharded job takes one lock per tick; the pod that wins runs it and
+ * the others skip. A sharded job has one lock per shard. Every pod walks
+ * all shards starting at an offset derived from its instance id, so with as
+ * many pods as shards each pod usually ends up with its own shard, and with
+ * fewer pods the remaining shards are still picked up.
+ */
+@Slf4j
+@Service
+public class ClusterJobRunner {
+
+    /**
+     * Work executed under the lock.
+     */
+    @FunctionalInterface
+    public interface JobBody {
+        Object run() throws Throwable;
+    }
+
+    private final JobLockProvider lockProvider;
+    private final SchedulerJobHistoryService historyService;
+    private final SchedulerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String instanceId;
+
+    public ClusterJobRunner(JobLockProvider lockProvider, SchedulerJobHistoryService historyService,
+            SchedulerProperties properties, MeterRegistry meterRegistry) {
+        this.lockProvider = lockProvider;
+        this.historyService = historyService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.instanceId = properties.getInstanceId().isBlank() ? defaultInstanceId() : properties.getInstanceId();
+    }
+
+    /**
+     * Runs the body once per acquired shard; shards held elsewhere are skipped.
+     *
+     * @return the body's result for the last shard run here, or null if none
+     */
+    public Object run(String jobName, Duration lease, Duration minHold, int shards, JobBody body) throws Throwable {
+        if (!properties.getLock().isEnabled()) {
+            return body.run();
+        }
+        int shardCount = Math.max(1, shards);
+        int offset = ClusterJobContext.shardOf(instanceId.hashCode(), shardCount);
+        Object result = null;
+        for (int i = 0; i < shardCount; i++) {
+            int shard = (offset + i) % shardCount;
+            String lockName = shardCount == 1 ? jobName : jobName + "#" + shard;
+            Optional<JobLock> lock = lockProvider.tryAcquire(lockName, instanceId + ":" + UUID.randomUUID(), lease);
+            if (lock.isEmpty()) {
+                skipped(jobName).increment();
+                log.debug("Job {} is held by another instance, skipping", lockName);
+                continue;
+            }
+            result = runLocked(new ClusterJobContext(jobName, lock.get().fencingToken(), shard, shardCount),
+                    lock.get(), minHold, body);
+        }
+        return result;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    private Object runLocked(ClusterJobContext context, JobLock lock, Duration minHold, JobBody body)
+            throws Throwable {
+        SchedulerJobRun run = historyService.started(context, instanceId);
+        ClusterJobContext.bind(context);
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return body.run();
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            ClusterJobContext.clear();
+            Timer.builder("scheduler.job.duration")
+                    .description("Duration of cluster-locked scheduled job runs")
+                    .tag("job", context.jobName())
+                    .tag("status", failure == null ? "succeeded" : "failed")
+                    .register(meterRegistry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+            historyService.finished(run, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), failure);
+            try {
+                lockProvider.release(lock, minHold);
+            } catch (Exception e) {
+                log.warn("Failed to release lock {}; it expires with its lease", lock.name(), e);
+            }
+        }
+    }
+
+    private Counter skipped(String jobName) {
+        return Counter.builder("scheduler.job.skipped")
+                .description("Scheduled ticks skipped because another instance held the lock")
+                .tag("job", jobName)
+                .register(meterRegistry);
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.buildnest_ecommerce.service.scheduler.lock;
+
+import java.time.Instant;
+
+/**
+ * A held cluster-wide job lock.
+ *
+ * @param name         lock name (job name, plus shard suffix for sharded jobs)
+ * @param owner        unique owner value written by this acquisition
+ * @param fencingToken strictly increasing per lock name; writers guarded by
+ *                     the lock can reject work carrying an older token
+ * @param acquiredAt   when the lock was taken
+ */
+public record JobLock(String name, String owner, long fencingToken, Instant acquiredAt) {
+}
@@ -0,0 +1,23 @@
+package com.example.buildnest_ecommerce.service.scheduler.lock;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Lease-based mutual exclusion for scheduled jobs across pods. Selected with
+ * {@code scheduler.lock.provider} ({@code redis} or {@code jpa}).
+ */
+public interface JobLockProvider {
+
+    /**
+     * @param lease upper bound on how long the lock is held if the owner dies
+     * @return the lock, or empty if another owner holds it
+     */
+    Optional<JobLock> tryAcquire(String name, String owner, Duration lease);
+
+    /**
+     * Release the lock, keeping it held until {@code acquiredAt + minHold}
+     * so pods whose clocks tick slightly later do not rerun the job.
+     */
+    void release(JobLock lock, Duration minHold);
+}
@@ -0,0 +1,66 @@
+package com.example.buildnest_ecommerce.service.scheduler.lock;
+
+import com.example.buildnest_ecommerce.model.entity.SchedulerLock;
+import com.example.buildnest_ecommerce.repository.SchedulerLockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+/**
+ * Job locks as rows of {@code scheduler_lock}, used when
+ * {@code scheduler.lock.provider} is {@code jpa} or unset (production sets
+ * {@code redis}; tests use this provider). A lock is taken with a
+ * conditional UPDATE on an expired lease, which also bumps the fencing
+ * token; the row is created on first use.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "scheduler.lock.provider", havingValue = "jpa", matchIfMissing = true)
+public class JpaJobLockProvider implements JobLockProvider {
+
+    private final SchedulerLockRepository lockRepository;
+
+    @Override
+    public Optional<JobLock> tryAcquire(String name, String owner, Duration lease) {
+        Optional<JobLock> lock = acquire(name, owner, lease);
+        if (lock.isPresent() || lockRepository.existsById(name)) {
+            return lock;
+        }
+        try {
+            lockRepository.saveAndFlush(new SchedulerLock(name, null, LocalDateTime.now().minusSeconds(1), null, 0L));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Lock row {} created concurrently", name);
+        }
+        return acquire(name, owner, lease);
+    }
+
+    @Override
+    public void release(JobLock lock, Duration minHold) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime holdUntil = LocalDateTime.ofInstant(lock.acquiredAt().plus(minHold), ZoneId.systemDefault());
+        LocalDateTime until = holdUntil.isAfter(now) ? holdUntil : now;
+        lockRepository.release(lock.name(), lock.owner(), until);
+    }
+
+    /**
+     * The token is read after the UPDATE commits; no other owner can bump it
+     * while our lease is live.
+     */
+    private Optional<JobLock> acquire(String name, String owner, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        if (lockRepository.tryAcquire(name, owner, now, now.plus(lease)) == 0) {
+            return Optional.empty();
+        }
+        long token = lockRepository.findById(name).map(SchedulerLock::getFencingToken).orElse(0L);
+        return Optional.of(new JobLock(name, owner, token, Instant.now()));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.buildnest_ecommerce.service.scheduler.lock;
+
+import com.example.buildnest_ecommerce.config.properties.SchedulerProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Job locks as {@code SET NX PX} keys. A companion counter key supplies the
+ * fencing token; both are touched in one script so a token is only issued
+ * to the owner that actually won the SET. Release is compare-and-delete (or
+ * compare-and-shorten when a minimum hold remains).
+ */
+@Component
+@ConditionalOnProperty(name = "scheduler.lock.provider", havingValue = "redis")
+public class RedisJobLockProvider implements JobLockProvider {
+
+    /**
+     * KEYS: lock, fence. ARGV: owner, lease ms.
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+              return redis.call('INCR', KEYS[2])
+            end
+            return false
+            """, Long.class);
+
+    /**
+     * KEYS: lock. ARGV: owner, remaining min hold ms.
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+              return 0
+            end
+            if tonumber(ARGV[2]) > 0 then
+              redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            else
+              redis.call('DEL', KEYS[1])
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+
+    public RedisJobLockProvider(StringRedisTemplate redisTemplate, SchedulerProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = properties.getLock().getRedisKeyPrefix();
+    }
+
+    @Override
+    public Optional<JobLock> tryAcquire(String name, String owner, Duration lease) {
+        Long token = redisTemplate.execute(ACQUIRE_SCRIPT,
+                List.of(keyPrefix + name, keyPrefix + name + ":fence"),
+                owner, String.valueOf(lease.toMillis()));
+        if (token == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new JobLock(name, owner, token, Instant.now()));
+    }
+
+    @Override
+    public void release(JobLock lock, Duration minHold) {
+        long remaining = Duration.between(Instant.now(), lock.acquiredAt().plus(minHold)).toMillis();
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(keyPrefix + lock.name()),
+                lock.owner(), String.valueOf(Math.max(0L, remaining)));
+    }
+}
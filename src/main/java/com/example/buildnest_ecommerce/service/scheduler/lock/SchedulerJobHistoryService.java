@@ -0,0 +1,75 @@
+package com.example.buildnest_ecommerce.service.scheduler.lock;
+
+import com.example.buildnest_ecommerce.model.entity.SchedulerJobRun;
+import com.example.buildnest_ecommerce.repository.SchedulerJobRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cluster-wide record of scheduled job executions, written by
+ * {@link com.example.buildnest_ecommerce.aspect.ClusterSingletonAspect}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SchedulerJobHistoryService {
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_SUCCEEDED = "SUCCEEDED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final SchedulerJobRunRepository jobRunRepository;
+
+    public SchedulerJobRun started(ClusterJobContext context, String instanceId) {
+        SchedulerJobRun run = new SchedulerJobRun();
+        run.setJobName(context.jobName());
+        if (context.isSharded()) {
+            run.setShardIndex(context.shardIndex());
+            run.setShardCount(context.shardCount());
+        }
+        run.setInstanceId(instanceId);
+        run.setFencingToken(context.fencingToken());
+        run.setStartedAt(LocalDateTime.now());
+        run.setStatus(STATUS_RUNNING);
+        return save(run);
+    }
+
+    public void finished(SchedulerJobRun run, long durationMs, Throwable failure) {
+        run.setFinishedAt(LocalDateTime.now());
+        run.setDurationMs(durationMs);
+        run.setStatus(failure == null ? STATUS_SUCCEEDED : STATUS_FAILED);
+        if (failure != null) {
+            String message = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+            run.setError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        }
+        save(run);
+    }
+
+    public List<SchedulerJobRun> getLatestRuns() {
+        return jobRunRepository.findLatestPerJob();
+    }
+
+    public Page<SchedulerJobRun> getRuns(String jobName, Pageable pageable) {
+        return jobRunRepository.findByJobNameOrderByStartedAtDesc(jobName, pageable);
+    }
+
+    /**
+     * History is best effort: a failed write must never stop the job.
+     */
+    private SchedulerJobRun save(SchedulerJobRun run) {
+        try {
+            return jobRunRepository.save(run);
+        } catch (Exception e) {
+            log.warn("Failed to record run of job {}: {}", run.getJobName(), e.getMessage());
+            return run;
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package com.example.buildnest_ecommerce.service.spool;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Segmented, memory-mapped append-only log.
+ *
+ * Records are framed as {@code [length:int][crc32c:int][payload]} inside
+ * fixed-size segment files named after the logical offset of their first
+ * byte, so offsets run contiguously across segments. An append is a CRC, a
+ * few puts into the mapped region of the active segment and a volatile
+ * publish of the new end offset; it never waits on a backend. When the
+ * active segment is full a new one is mapped, unless that would take the
+ * spool past its {@code maxBytes} quota, in which case the append is
+ * refused.
+ *
+ * One reader (a {@link SpoolShipper}) walks the log from the persisted
+ * checkpoint and calls {@link #commit(long)} once records are delivered;
+ * segments wholly behind the checkpoint are deleted. On open, every segment
+ * is scanned and the log ends at the first zero length or CRC mismatch, so a
+ * torn write from a crash is dropped rather than replayed.
+ *
+ * Durability follows {@link FsyncPolicy}: {@code ALWAYS} forces the segment
+ * on every append, {@code INTERVAL} leaves it to {@link #syncIfDue()}, and
+ * {@code NEVER} leaves it to the OS.
+ */
+@Slf4j
+public class DiskSpool implements Closeable {
+
+    public enum FsyncPolicy {
+        ALWAYS, INTERVAL, NEVER;
+
+        public static FsyncPolicy from(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Records read from the log and the offset just past the last of them.
+     */
+    public record Batch(List<byte[]> records, long nextOffset) {
+        public boolean isEmpty() {
+            return records.isEmpty();
+        }
+    }
+
+    static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final String name;
+    private final Path directory;
+    private final int segmentBytes;
+    private final long maxBytes;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    // A lock rather than a monitor: appends and syncs force mapped pages, which would pin a virtual thread
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder corrupt = new LongAdder();
+    private Segment active;
+    private boolean closed;
+    private volatile long writeOffset;
+    private volatile long checkpoint;
+    private volatile boolean dirty;
+    private long lastSyncAt = System.nanoTime();
+
+    public DiskSpool(String name, Path directory, int segmentBytes, long maxBytes, FsyncPolicy fsyncPolicy,
+            long fsyncIntervalMs) throws IOException {
+        if (segmentBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("segmentBytes must exceed the record header");
+        }
+        if (maxBytes < segmentBytes) {
+            throw new IllegalArgumentException("maxBytes must hold at least one segment");
+        }
+        this.name = name;
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs);
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    /**
+     * @return true if {@code directory} holds segments from an earlier run
+     */
+    public static boolean hasSegments(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return false;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.anyMatch(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            long base = Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+            Segment segment = Segment.map(file, base, segmentBytes);
+            segment.limit = scan(segment);
+            segments.put(base, segment);
+        }
+        if (segments.isEmpty()) {
+            active = Segment.map(segmentPath(0L), 0L, segmentBytes);
+            segments.put(0L, active);
+        } else {
+            active = segments.lastEntry().getValue();
+        }
+        writeOffset = active.base + active.limit;
+
+        long stored = readCheckpoint();
+        checkpoint = Math.max(segments.firstKey(), Math.min(stored, writeOffset));
+        if (writeOffset > checkpoint) {
+            log.info("Spool {} recovered {} unshipped bytes across {} segments", name, writeOffset - checkpoint,
+                    segments.size());
+        }
+    }
+
+    private int scan(Segment segment) {
+        int position = 0;
+        int capacity = segment.capacity();
+        while (position + HEADER_BYTES <= capacity) {
+            int length = segment.buffer.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > capacity) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            segment.buffer.get(position + HEADER_BYTES, payload);
+            if (crc(payload) != segment.buffer.getInt(position + 4)) {
+                corrupt.increment();
+                log.warn("Spool {} segment {} ends in a torn record at {}; truncating", name, segment.base,
+                        position);
+                break;
+            }
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    /**
+     * Appends one record.
+     *
+     * @return false if the spool is closed or at its disk quota
+     */
+    public boolean append(byte[] payload) {
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (payload.length == 0 || recordBytes > segmentBytes) {
+            throw new IllegalArgumentException("record must be 1.." + (segmentBytes - HEADER_BYTES) + " bytes");
+        }
+        int crc = crc(payload);
+        MappedByteBuffer toForce = null;
+        appendLock.lock();
+        try {
+            if (closed || (active.limit + recordBytes > active.capacity() && !roll())) {
+                rejected.increment();
+                return false;
+            }
+            int position = active.limit;
+            active.buffer.putInt(position, payload.length);
+            active.buffer.putInt(position + 4, crc);
+            active.buffer.put(position + HEADER_BYTES, payload);
+            active.limit = position + recordBytes;
+            writeOffset = active.base + active.limit;
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                toForce = active.buffer;
+            } else {
+                dirty = true;
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        if (toForce != null) {
+            toForce.force();
+        }
+        appended.increment();
+        return true;
+    }
+
+    private boolean roll() {
+        if ((long) (segments.size() + 1) * segmentBytes > maxBytes) {
+            log.warn("Spool {} reached its {} byte quota; refusing appends until the shipper catches up", name,
+                    maxBytes);
+            return false;
+        }
+        try {
+            active.buffer.force();
+            Segment next = Segment.map(segmentPath(writeOffset), writeOffset, segmentBytes);
+            segments.put(next.base, next);
+            active = next;
+            return true;
+        } catch (IOException e) {
+            log.error("Spool {} could not create a new segment", name, e);
+            return false;
+        }
+    }
+
+    /**
+     * Reads up to {@code maxRecords} records starting at {@code fromOffset}.
+     * Must only be called by the single reader of this spool.
+     */
+    public Batch read(long fromOffset, int maxRecords) {
+        List<byte[]> records = new ArrayList<>();
+        long end = writeOffset;
+        long offset = fromOffset;
+        while (records.size() < maxRecords && offset < end) {
+            Map.Entry<Long, Segment> entry = segments.floorEntry(offset);
+            if (entry == null) {
+                offset = segments.firstKey();
+                continue;
+            }
+            Segment segment = entry.getValue();
+            int position = (int) (offset - segment.base);
+            if (position >= segment.limit) {
+                Long next = segments.higherKey(segment.base);
+                if (next == null) {
+                    break;
+                }
+                offset = next;
+                continue;
+            }
+            int length = segment.buffer.getInt(position);
+            byte[] payload = new byte[length];
+            segment.buffer.get(position + HEADER_BYTES, payload);
+            if (crc(payload) != segment.buffer.getInt(position + 4)) {
+                corrupt.increment();
+                Long next = segments.higherKey(segment.base);
+                log.error("Spool {} has a corrupt record at offset {}; skipping rest of segment", name, offset);
+                offset = next != null ? next : segment.base + segment.limit;
+                continue;
+            }
+            records.add(payload);
+            offset += HEADER_BYTES + length;
+        }
+        return new Batch(records, offset);
+    }
+
+    /**
+     * Persists the reader's position and deletes segments wholly behind it.
+     */
+    public void commit(long offset) throws IOException {
+        checkpoint = offset;
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temporary, Long.toString(offset), StandardCharsets.UTF_8);
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+
+        for (Segment segment : segments.values()) {
+            boolean sealed = segments.higherKey(segment.base) != null;
+            if (!sealed || segment.base + segment.limit > offset) {
+                break;
+            }
+            segments.remove(segment.base);
+            segment.close();
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(Files.readString(file, StandardCharsets.UTF_8).trim());
+        } catch (NumberFormatException e) {
+            log.warn("Spool {} checkpoint is unreadable; replaying from the oldest segment", name);
+            return 0L;
+        }
+    }
+
+    /**
+     * Forces the active segment if the {@code INTERVAL} policy is due.
+     */
+    public void syncIfDue() {
+        if (fsyncPolicy != FsyncPolicy.INTERVAL || !dirty || System.nanoTime() - lastSyncAt < fsyncIntervalNanos) {
+            return;
+        }
+        lastSyncAt = System.nanoTime();
+        MappedByteBuffer buffer;
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            dirty = false;
+            buffer = active.buffer;
+        } finally {
+            appendLock.unlock();
+        }
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Segment segment : segments.values()) {
+                segment.buffer.force();
+                segment.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    public long getWriteOffset() {
+        return writeOffset;
+    }
+
+    /**
+     * Bytes appended but not yet committed by the reader.
+     */
+    public long getLagBytes() {
+        return Math.max(0L, writeOffset - checkpoint);
+    }
+
+    /**
+     * Mapped segment bytes on disk, the figure the quota applies to.
+     */
+    public long getDiskBytes() {
+        return (long) segments.size() * segmentBytes;
+    }
+
+    public long getAppended() {
+        return appended.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getCorrupt() {
+        return corrupt.sum();
+    }
+
+    private static final class Segment {
+        private final long base;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private volatile int limit;
+
+        private Segment(long base, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.base = base;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment map(Path path, long base, int segmentBytes) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            int size = (int) Math.max(segmentBytes, Math.min(Integer.MAX_VALUE, channel.size()));
+            return new Segment(base, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close spool segment {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
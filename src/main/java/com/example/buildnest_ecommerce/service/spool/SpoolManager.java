@@ -0,0 +1,132 @@
+package com.example.buildnest_ecommerce.service.spool;
+
+import com.example.buildnest_ecommerce.config.properties.SpoolProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Owns the named {@link DiskSpool}s under {@code spool.directory} and the
+ * {@link SpoolShipper} draining each one.
+ *
+ * Spools are opened on first use, so a node that never loses its backends
+ * never creates spool files; components that spool call
+ * {@link #hasBacklog(String)} at startup to resume shipping records left by
+ * a previous run.
+ */
+@Slf4j
+@Component
+public class SpoolManager {
+
+    private record Handle(DiskSpool spool, SpoolShipper shipper) {
+    }
+
+    private final SpoolProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Handle> handles = new LinkedHashMap<>();
+    // Opening maps files and shutdown forces them, so callers on virtual threads must not pin on a monitor
+    private final ReentrantLock lock = new ReentrantLock();
+    private boolean closed;
+
+    public SpoolManager(SpoolProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Opens the named spool, starting a shipper that forwards its records to
+     * {@code sink}. Later calls return the same spool and ignore the sink.
+     */
+    public DiskSpool open(String name, SpoolShipper.Sink sink) throws IOException {
+        lock.lock();
+        try {
+            Handle handle = handles.get(name);
+            if (handle != null) {
+                return handle.spool();
+            }
+            if (closed) {
+                throw new IOException("Spool manager is shut down");
+            }
+            DiskSpool spool = new DiskSpool(name, directory(name), properties.getSegmentBytes(),
+                    properties.getMaxBytes(), DiskSpool.FsyncPolicy.from(properties.getFsyncPolicy()),
+                    properties.getFsyncIntervalMs());
+            SpoolShipper shipper = new SpoolShipper(spool, sink, properties.getShipBatchSize(),
+                    properties.getShipIdleMs(), properties.getMaxBackoffMs());
+            registerMeters(spool, shipper);
+            handles.put(name, new Handle(spool, shipper));
+            shipper.start();
+            log.info("Opened spool {} at {}", name, directory(name));
+            return spool;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true if the named spool has segments on disk from an earlier run
+     */
+    public boolean hasBacklog(String name) {
+        return DiskSpool.hasSegments(directory(name));
+    }
+
+    private Path directory(String name) {
+        return Path.of(properties.getDirectory()).resolve(name);
+    }
+
+    private void registerMeters(DiskSpool spool, SpoolShipper shipper) {
+        String name = spool.getName();
+        Gauge.builder("spool.disk.bytes", spool, DiskSpool::getDiskBytes)
+                .description("Segment bytes on disk, counted against the spool quota")
+                .tag("name", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("spool.lag.bytes", spool, DiskSpool::getLagBytes)
+                .description("Spooled bytes not yet shipped to the backend")
+                .tag("name", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        records(name, "appended", spool, DiskSpool::getAppended);
+        records(name, "rejected", spool, DiskSpool::getRejected);
+        records(name, "corrupt", spool, DiskSpool::getCorrupt);
+        records(name, "shipped", shipper, SpoolShipper::getShipped);
+        FunctionCounter.builder("spool.ship.failures", shipper, SpoolShipper::getFailures)
+                .description("Spool shipments that failed and were retried")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    private <T> void records(String name, String outcome, T source, ToDoubleFunction<T> count) {
+        FunctionCounter.builder("spool.records", source, count)
+                .description("Spool records, by outcome")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stops every shipper, then flushes and unmaps the spools. Unshipped
+     * records stay on disk for the next start.
+     */
+    @PreDestroy
+    public void shutdown() {
+        lock.lock();
+        try {
+            closed = true;
+            handles.values().forEach(handle -> handle.shipper().close());
+            handles.values().forEach(handle -> handle.spool().close());
+            handles.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.buildnest_ecommerce.service.spool;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Background reader for one {@link DiskSpool}. Forwards records to a
+ * {@link Sink} in batches from the persisted checkpoint and commits the new
+ * offset only after the sink returns, so delivery is at-least-once and a
+ * crash between ship and commit re-sends the last batch. Sink failures back
+ * off exponentially up to {@code maxBackoffMs}; the records stay on disk.
+ */
+@Slf4j
+public class SpoolShipper {
+
+    private static final long INITIAL_BACKOFF_MS = 100L;
+
+    /**
+     * Delivers a batch of spooled records to the backend. Must throw if any
+     * record was not accepted and may be on a retry. A record the backend
+     * will never accept must be dropped or dead-lettered by the sink instead:
+     * the shipper retries a failed batch from the same checkpoint, so such a
+     * record would hold back everything spooled after it.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void ship(List<byte[]> records) throws Exception;
+    }
+
+    private final DiskSpool spool;
+    private final Sink sink;
+    private final int batchSize;
+    private final long idleNanos;
+    private final long maxBackoffMs;
+    private final LongAdder shipped = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile boolean closed;
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+    private volatile Thread thread;
+
+    public SpoolShipper(DiskSpool spool, Sink sink, int batchSize, long idleMs, long maxBackoffMs) {
+        this.spool = spool;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMs);
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public void start() {
+        lifecycleLock.lock();
+        try {
+            if (thread != null) {
+                return;
+            }
+            thread = new Thread(this::run, "spool-shipper-" + spool.getName());
+            thread.setDaemon(true);
+            thread.start();
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Unparks the shipper so freshly appended records go out without waiting
+     * for the idle interval.
+     */
+    public void wake() {
+        Thread current = thread;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private void run() {
+        long backoffMs = 0L;
+        while (!closed) {
+            spool.syncIfDue();
+            try {
+                if (shipOnce()) {
+                    backoffMs = 0L;
+                    continue;
+                }
+                LockSupport.parkNanos(idleNanos);
+            } catch (Exception e) {
+                failures.increment();
+                backoffMs = backoffMs == 0L ? Math.min(INITIAL_BACKOFF_MS, maxBackoffMs)
+                        : Math.min(backoffMs * 2, maxBackoffMs);
+                log.warn("Spool {} shipment failed, {} bytes pending; retrying in {} ms: {}", spool.getName(),
+                        spool.getLagBytes(), backoffMs, e.getMessage());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs));
+            }
+        }
+    }
+
+    /**
+     * Ships one batch from the checkpoint and commits it.
+     *
+     * @return false if there was nothing to ship
+     */
+    boolean shipOnce() throws Exception {
+        DiskSpool.Batch batch = spool.read(spool.getCheckpoint(), batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+        sink.ship(batch.records());
+        spool.commit(batch.nextOffset());
+        shipped.add(batch.records().size());
+        return true;
+    }
+
+    public void close() {
+        closed = true;
+        Thread current;
+        lifecycleLock.lock();
+        try {
+            current = thread;
+        } finally {
+            lifecycleLock.unlock();
+        }
+        if (current == null) {
+            return;
+        }
+        LockSupport.unpark(current);
+        try {
+            current.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getShipped() {
+        return shipped.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+}
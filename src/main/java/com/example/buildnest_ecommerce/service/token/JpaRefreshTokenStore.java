@@ -0,0 +1,74 @@
+package com.example.buildnest_ecommerce.service.token;
+
+import com.example.buildnest_ecommerce.model.entity.RefreshToken;
+import com.example.buildnest_ecommerce.repository.RefreshTokenRepository;
+import com.example.buildnest_ecommerce.service.purge.ChunkedPurgeService;
+import com.example.buildnest_ecommerce.service.purge.RefreshTokenPurgeTarget;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Relational refresh-token store (default, and fallback when Redis is not
+ * deployed). Expired rows are removed by {@link ChunkedPurgeService} so no
+ * single DELETE holds locks on a large range of the table.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "auth.refresh-tokens.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ChunkedPurgeService purgeService;
+    private final RefreshTokenPurgeTarget purgeTarget;
+
+    @Override
+    @Transactional
+    public RefreshToken issue(Long userId, String rawToken, LocalDateTime expiryDate) {
+        refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUserId(userId);
+        refreshToken.setToken(rawToken);
+        refreshToken.setExpiryDate(expiryDate);
+        refreshToken.setRevoked(false);
+        return refreshTokenRepository.save(refreshToken);
+    }
+
+    @Override
+    public Optional<RefreshToken> find(String rawToken) {
+        return refreshTokenRepository.findByToken(rawToken);
+    }
+
+    @Override
+    @Transactional
+    public Optional<RefreshToken> rotate(String oldRawToken, String newRawToken, LocalDateTime expiryDate) {
+        Optional<RefreshToken> oldToken = refreshTokenRepository.findByToken(oldRawToken);
+        if (oldToken.isEmpty()
+                || refreshTokenRepository.revokeByToken(oldRawToken, LocalDateTime.now()) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(issue(oldToken.get().getUserId(), newRawToken, expiryDate));
+    }
+
+    @Override
+    @Transactional
+    public boolean revoke(String rawToken) {
+        return refreshTokenRepository.revokeByToken(rawToken, LocalDateTime.now()) > 0;
+    }
+
+    @Override
+    @Transactional
+    public int revokeAll(Long userId) {
+        return refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+    }
+
+    @Override
+    public long purgeExpired(LocalDateTime now) {
+        return purgeService.purge(purgeTarget);
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.buildnest_ecommerce.service.token;
+
+import com.example.buildnest_ecommerce.config.properties.AuthProperties;
+import com.example.buildnest_ecommerce.model.entity.RefreshToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Redis refresh-token store.
+ *
+ * Only the SHA-256 of a token is stored, as key {@code <prefix>t:<hash>}
+ * holding the owner and timestamps, with a native TTL equal to the token's
+ * remaining lifetime. Each user's live hashes are kept in the set
+ * {@code <prefix>u:<userId>}, so revoking the family is one SMEMBERS and a
+ * DEL instead of an UPDATE over the user's rows. Expired tokens disappear on
+ * their own; stale set members are dropped the next time the family is
+ * touched, and the set itself expires with the newest token.
+ *
+ * Issue, rotate and revoke each run as a single Lua script. The scripts
+ * derive the family key from the stored owner, so they assume a
+ * non-clustered Redis (or one where both keys hash to the same slot).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "auth.refresh-tokens.store", havingValue = "redis")
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String REVOKE_FAMILY = """
+            local function revokeFamily(familyKey, tokenPrefix)
+              local members = redis.call('SMEMBERS', familyKey)
+              local revoked = 0
+              for _, hash in ipairs(members) do
+                revoked = revoked + redis.call('DEL', tokenPrefix .. hash)
+              end
+              redis.call('DEL', familyKey)
+              return revoked
+            end
+            """;
+
+    private static final String CREATE_TOKEN = """
+            local function createToken(tokenKey, familyKey, hash, userId, expiry, created, ttl)
+              redis.call('HSET', tokenKey, 'userId', userId, 'expiry', expiry, 'created', created)
+              redis.call('PEXPIRE', tokenKey, ttl)
+              redis.call('SADD', familyKey, hash)
+              redis.call('PEXPIRE', familyKey, ttl)
+            end
+            """;
+
+    /**
+     * KEYS: family, new token. ARGV: token prefix, hash, userId, expiry,
+     * created, ttl.
+     */
+    private static final RedisScript<Long> ISSUE_SCRIPT = new DefaultRedisScript<>(
+            REVOKE_FAMILY + CREATE_TOKEN + """
+                    local revoked = revokeFamily(KEYS[1], ARGV[1])
+                    createToken(KEYS[2], KEYS[1], ARGV[2], ARGV[3], ARGV[4], ARGV[5], ARGV[6])
+                    return revoked
+                    """, Long.class);
+
+    /**
+     * KEYS: old token, new token. ARGV: token prefix, family prefix, hash,
+     * expiry, created, ttl. Returns the owner, or nil if the old token is
+     * gone (expired, revoked or already rotated).
+     */
+    private static final RedisScript<String> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            REVOKE_FAMILY + CREATE_TOKEN + """
+                    local userId = redis.call('HGET', KEYS[1], 'userId')
+                    if not userId then
+                      return false
+                    end
+                    local familyKey = ARGV[2] .. userId
+                    revokeFamily(familyKey, ARGV[1])
+                    redis.call('DEL', KEYS[1])
+                    createToken(KEYS[2], familyKey, ARGV[3], userId, ARGV[4], ARGV[5], ARGV[6])
+                    return userId
+                    """, String.class);
+
+    /**
+     * KEYS: token. ARGV: family prefix, hash.
+     */
+    private static final RedisScript<Long> REVOKE_SCRIPT = new DefaultRedisScript<>("""
+            local userId = redis.call('HGET', KEYS[1], 'userId')
+            if not userId then
+              return 0
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('SREM', ARGV[1] .. userId, ARGV[2])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS: family. ARGV: token prefix.
+     */
+    private static final RedisScript<Long> REVOKE_ALL_SCRIPT = new DefaultRedisScript<>(
+            REVOKE_FAMILY + "return revokeFamily(KEYS[1], ARGV[1])", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String tokenPrefix;
+    private final String familyPrefix;
+
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate, AuthProperties authProperties) {
+        this.redisTemplate = redisTemplate;
+        String prefix = authProperties.getRefreshTokens().getRedisKeyPrefix();
+        this.tokenPrefix = prefix + "t:";
+        this.familyPrefix = prefix + "u:";
+    }
+
+    @Override
+    public RefreshToken issue(Long userId, String rawToken, LocalDateTime expiryDate) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        String hash = hash(rawToken);
+        redisTemplate.execute(ISSUE_SCRIPT,
+                List.of(familyPrefix + userId, tokenPrefix + hash),
+                tokenPrefix, hash, String.valueOf(userId),
+                String.valueOf(toEpochMillis(expiryDate)), String.valueOf(toEpochMillis(createdAt)),
+                String.valueOf(ttlMillis(createdAt, expiryDate)));
+        return toToken(rawToken, userId, expiryDate, createdAt);
+    }
+
+    @Override
+    public Optional<RefreshToken> find(String rawToken) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(tokenPrefix + hash(rawToken));
+        if (fields == null || fields.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(toToken(rawToken,
+                Long.valueOf((String) fields.get("userId")),
+                fromEpochMillis(Long.parseLong((String) fields.get("expiry"))),
+                fromEpochMillis(Long.parseLong((String) fields.get("created")))));
+    }
+
+    @Override
+    public Optional<RefreshToken> rotate(String oldRawToken, String newRawToken, LocalDateTime expiryDate) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        String newHash = hash(newRawToken);
+        String userId = redisTemplate.execute(ROTATE_SCRIPT,
+                List.of(tokenPrefix + hash(oldRawToken), tokenPrefix + newHash),
+                tokenPrefix, familyPrefix, newHash,
+                String.valueOf(toEpochMillis(expiryDate)), String.valueOf(toEpochMillis(createdAt)),
+                String.valueOf(ttlMillis(createdAt, expiryDate)));
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return Optional.of(toToken(newRawToken, Long.valueOf(userId), expiryDate, createdAt));
+    }
+
+    @Override
+    public boolean revoke(String rawToken) {
+        String hash = hash(rawToken);
+        Long revoked = redisTemplate.execute(REVOKE_SCRIPT, List.of(tokenPrefix + hash), familyPrefix, hash);
+        return revoked != null && revoked > 0;
+    }
+
+    @Override
+    public int revokeAll(Long userId) {
+        Long revoked = redisTemplate.execute(REVOKE_ALL_SCRIPT, List.of(familyPrefix + userId), tokenPrefix);
+        return revoked == null ? 0 : revoked.intValue();
+    }
+
+    /**
+     * No-op: Redis expires token keys by TTL.
+     */
+    @Override
+    public long purgeExpired(LocalDateTime now) {
+        return 0;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static RefreshToken toToken(String rawToken, Long userId, LocalDateTime expiryDate,
+            LocalDateTime createdAt) {
+        RefreshToken token = new RefreshToken();
+        token.setToken(rawToken);
+        token.setUserId(userId);
+        token.setExpiryDate(expiryDate);
+        token.setCreatedAt(createdAt);
+        token.setRevoked(false);
+        return token;
+    }
+
+    private static long ttlMillis(LocalDateTime from, LocalDateTime to) {
+        return Math.max(1L, Duration.between(from, to).toMillis());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.buildnest_ecommerce.service.token;
+
+import com.example.buildnest_ecommerce.model.entity.RefreshToken;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Persistence contract for refresh tokens.
+ *
+ * Implementations keep at most one live token per user: issuing a token
+ * revokes the rest of the user's token family. Selected with
+ * {@code auth.refresh-tokens.store} ({@code jpa} or {@code redis}).
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Revoke every live token of the user and store a new one.
+     *
+     * @param userId     owner of the token
+     * @param rawToken   token value handed to the client
+     * @param expiryDate absolute expiry
+     * @return the stored token
+     */
+    RefreshToken issue(Long userId, String rawToken, LocalDateTime expiryDate);
+
+    /**
+     * @param rawToken token value presented by the client
+     * @return the stored token, if it exists
+     */
+    Optional<RefreshToken> find(String rawToken);
+
+    /**
+     * Atomically consume {@code oldRawToken} and issue {@code newRawToken} for
+     * the same user.
+     *
+     * @return the new token, or empty if the old token was already consumed
+     */
+    Optional<RefreshToken> rotate(String oldRawToken, String newRawToken, LocalDateTime expiryDate);
+
+    /**
+     * @return true if a live token was revoked
+     */
+    boolean revoke(String rawToken);
+
+    /**
+     * @return number of tokens revoked
+     */
+    int revokeAll(Long userId);
+
+    /**
+     * Remove expired tokens.
+     *
+     * @return number of tokens removed
+     */
+    long purgeExpired(LocalDateTime now);
+}
@@ -0,0 +1,586 @@
+package com.example.buildnest_ecommerce.service.webhook;
+
+import com.example.buildnest_ecommerce.config.properties.WebhookProperties;
+import com.example.buildnest_ecommerce.model.entity.WebhookDelivery;
+import com.example.buildnest_ecommerce.repository.WebhookDeliveryRepository;
+import com.example.buildnest_ecommerce.security.HmacSigner;
+import com.example.buildnest_ecommerce.service.webhook.WebhookSubscriptionCache.Subscriber;
+import com.example.buildnest_ecommerce.util.TimerWheel;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers the {@code webhook_delivery} outbox.
+ *
+ * One daemon thread claims due rows in batches by leasing them to this
+ * instance (a row another instance leased first is skipped) and writes the
+ * outcomes of finished attempts back with one JDBC batch per cycle. Sends
+ * go out through the non-blocking JDK {@link HttpClient}; no thread waits
+ * on a response or a backoff.
+ *
+ * Per endpoint (scheme, host and port of the target URL) at most
+ * {@code max-concurrency-per-endpoint} requests are in flight, the rest
+ * queue in memory, and a circuit breaker stops sending while the endpoint
+ * keeps failing; rows it short-circuits are released as pending until the
+ * circuit may close. A failed attempt is retried after an exponential backoff
+ * with jitter, scheduled on a {@link TimerWheel}, until
+ * {@code webhook.max-retries} retries are used up and the row is marked
+ * {@code DEAD}. A row stays leased while it waits, so if this instance dies
+ * the lease runs out and any instance picks the row up again; delivery is
+ * at-least-once and receivers can deduplicate on {@code X-Webhook-Delivery}.
+ */
+@Slf4j
+@Component
+public class WebhookDispatcher {
+
+    static final String EVENT_HEADER = "X-Webhook-Event";
+    static final String DELIVERY_HEADER = "X-Webhook-Delivery";
+    static final String SIGNATURE_HEADER = "X-Webhook-Signature";
+
+    static final String UPDATE_DELIVERY_SQL = "UPDATE webhook_delivery SET status = ?, attempts = ?,"
+            + " next_attempt_at = ?, lease_until = ?, last_error = ?, delivered_at = ? WHERE id = ? AND lease_owner = ?";
+    static final String UPDATE_SUBSCRIPTION_SQL = "UPDATE webhook_subscription SET failure_count ="
+            + " COALESCE(failure_count, 0) + ?, last_delivery_status = ?, updated_at = ? WHERE id = ?";
+
+    private static final int MAX_ACTIVE_BATCHES = 10;
+    private static final int TIMER_SLOTS = 512;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    /**
+     * A leased row being worked on. The lease owner changes if this instance
+     * re-claims the row while it is still queued here. The body is shared
+     * with the other rows of the same event in the claimed batch, and the
+     * signature is kept for retries as long as the secret stays the same.
+     */
+    static final class Job {
+        private final long id;
+        private final long subscriptionId;
+        private final String eventType;
+        private final byte[] body;
+        private volatile int attempts;
+        private volatile String leaseOwner;
+        private volatile Signature signature;
+
+        Job(long id, long subscriptionId, String eventType, byte[] body, int attempts, String leaseOwner) {
+            this.id = id;
+            this.subscriptionId = subscriptionId;
+            this.eventType = eventType;
+            this.body = body;
+            this.attempts = attempts;
+            this.leaseOwner = leaseOwner;
+        }
+    }
+
+    private record Signature(String secret, String value) {
+    }
+
+    /**
+     * Row update for one finished attempt; {@code subscriptionStatus} is null
+     * when the attempt should not touch the subscription's counters.
+     */
+    record Outcome(long deliveryId, String leaseOwner, String status, int attempts, LocalDateTime nextAttemptAt,
+            LocalDateTime leaseUntil, String error, LocalDateTime deliveredAt, long subscriptionId,
+            String subscriptionStatus) {
+    }
+
+    private static final class Endpoint {
+        private final CircuitBreaker breaker;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<Job> waiting = new ArrayDeque<>();
+        private int inFlight;
+
+        private Endpoint(CircuitBreaker breaker) {
+            this.breaker = breaker;
+        }
+    }
+
+    private final WebhookDeliveryRepository repository;
+    private final WebhookSubscriptionCache subscriptions;
+    private final HmacSigner signer;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final CircuitBreakerConfig circuitConfig;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final long leaseMs;
+    private final int maxConcurrencyPerEndpoint;
+    private final Duration requestTimeout;
+    private final int maxRetries;
+    private final long retryDelayMs;
+    private final long maxBackoffMs;
+    private final long circuitOpenMs;
+    private final HttpClient httpClient;
+    private final TimerWheel timer;
+    private final String owner = UUID.randomUUID().toString();
+    private final AtomicLong claims = new AtomicLong();
+    private final Map<Long, Job> active = new ConcurrentHashMap<>();
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Outcome> outcomes = new ConcurrentLinkedQueue<>();
+    private final Counter deliveredCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+    private final Counter cancelledCounter;
+    private final Counter shortCircuitedCounter;
+    private final Timer requestTimer;
+    private volatile Thread poller;
+    private volatile boolean closed;
+
+    public WebhookDispatcher(WebhookDeliveryRepository repository, WebhookSubscriptionCache subscriptions,
+            HmacSigner signer, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            CircuitBreakerRegistry circuitBreakerRegistry, WebhookProperties webhookProperties, Clock clock,
+            MeterRegistry meterRegistry) {
+        WebhookProperties.Delivery properties = webhookProperties.getDelivery();
+        this.repository = repository;
+        this.subscriptions = subscriptions;
+        this.signer = signer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.clock = clock;
+        this.enabled = properties.isEnabled();
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, properties.getPollIntervalMs()));
+        this.leaseMs = properties.getLeaseMs();
+        this.maxConcurrencyPerEndpoint = Math.max(1, properties.getMaxConcurrencyPerEndpoint());
+        this.requestTimeout = Duration.ofMillis(properties.getRequestTimeoutMs());
+        this.maxRetries = Math.max(0, webhookProperties.getMaxRetries());
+        this.retryDelayMs = Math.max(1L, webhookProperties.getRetryDelayMs());
+        this.maxBackoffMs = Math.max(retryDelayMs, properties.getMaxBackoffMs());
+        this.circuitOpenMs = properties.getCircuitOpenMs();
+        this.circuitConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.getCircuitFailureRateThreshold())
+                .minimumNumberOfCalls(properties.getCircuitMinimumCalls())
+                .slidingWindowSize(Math.max(properties.getCircuitMinimumCalls(), 20))
+                .waitDurationInOpenState(Duration.ofMillis(properties.getCircuitOpenMs()))
+                .permittedNumberOfCallsInHalfOpenState(1)
+                .build();
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.timer = new TimerWheel("webhook-retry-timer", Math.max(1L, properties.getTimerTickMs()),
+                TimeUnit.MILLISECONDS, TIMER_SLOTS);
+
+        this.deliveredCounter = outcomeCounter(meterRegistry, "delivered");
+        this.retriedCounter = outcomeCounter(meterRegistry, "retried");
+        this.deadCounter = outcomeCounter(meterRegistry, "dead");
+        this.cancelledCounter = outcomeCounter(meterRegistry, "cancelled");
+        this.shortCircuitedCounter = outcomeCounter(meterRegistry, "short_circuited");
+        this.requestTimer = Timer.builder("webhook.delivery.duration")
+                .description("Time from sending a webhook to its response or failure")
+                .register(meterRegistry);
+        Gauge.builder("webhook.delivery.active", active, Map::size)
+                .description("Leased webhook deliveries in flight, queued per endpoint or waiting to retry")
+                .register(meterRegistry);
+        Gauge.builder("webhook.delivery.scheduled", timer, TimerWheel::getPending)
+                .description("Webhook retries waiting on the timer wheel")
+                .register(meterRegistry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("webhook.deliveries")
+                .description("Webhook delivery attempts, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Webhook delivery is disabled; outbox rows stay pending");
+            return;
+        }
+        Thread thread = new Thread(this::run, "webhook-dispatcher");
+        thread.setDaemon(true);
+        poller = thread;
+        thread.start();
+    }
+
+    /**
+     * Claims new rows now instead of at the next poll; called after a
+     * transaction that wrote to the outbox commits.
+     */
+    public void wake() {
+        Thread current = poller;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            int claimed = 0;
+            try {
+                flushOutcomes();
+                claimed = claimDue();
+            } catch (Exception e) {
+                log.warn("Webhook dispatch cycle failed: {}", e.getMessage());
+            }
+            if (claimed < batchSize) {
+                LockSupport.parkNanos(this, pollIntervalNanos);
+            }
+        }
+    }
+
+    /**
+     * Leases up to one batch of due rows and starts sending them.
+     *
+     * @return number of rows claimed
+     */
+    int claimDue() {
+        int room = batchSize * MAX_ACTIVE_BATCHES - active.size();
+        if (room <= 0) {
+            return 0;
+        }
+        int limit = Math.min(batchSize, room);
+        LocalDateTime now = LocalDateTime.now(clock);
+        String leaseOwner = owner + ":" + claims.incrementAndGet();
+        List<WebhookDelivery> rows = transactionTemplate.execute(status -> {
+            List<Long> ids = repository.findClaimableIds(now, PageRequest.of(0, limit));
+            if (ids.isEmpty()) {
+                return List.<WebhookDelivery>of();
+            }
+            repository.claim(ids, leaseOwner, now.plus(leaseMs, ChronoUnit.MILLIS), now);
+            return repository.findByLeaseOwnerAndIdIn(leaseOwner, ids);
+        });
+        if (rows == null) {
+            return 0;
+        }
+        // Rows of one event carry the same payload; encode it once for all of them
+        Map<String, byte[]> bodies = new HashMap<>();
+        for (WebhookDelivery row : rows) {
+            byte[] body = bodies.computeIfAbsent(row.getPayload(), payload -> payload.getBytes(StandardCharsets.UTF_8));
+            Job job = new Job(row.getId(), row.getSubscriptionId(), row.getEventType(), body, row.getAttempts(),
+                    leaseOwner);
+            Job running = active.putIfAbsent(job.id, job);
+            if (running != null) {
+                // Our own lease ran out while the job was queued; keep it under the new one
+                running.leaseOwner = leaseOwner;
+                continue;
+            }
+            dispatch(job);
+        }
+        return rows.size();
+    }
+
+    void dispatch(Job job) {
+        if (closed) {
+            return;
+        }
+        Subscriber subscriber = subscriptions.get(job.subscriptionId);
+        if (subscriber == null) {
+            cancel(job);
+            return;
+        }
+        Endpoint endpoint = endpoints.computeIfAbsent(endpointKey(subscriber.targetUrl()), this::newEndpoint);
+        endpoint.lock.lock();
+        try {
+            if (endpoint.inFlight >= maxConcurrencyPerEndpoint) {
+                endpoint.waiting.add(job);
+                return;
+            }
+            endpoint.inFlight++;
+        } finally {
+            endpoint.lock.unlock();
+        }
+        if (!trySend(endpoint, subscriber, job)) {
+            release(endpoint);
+        }
+    }
+
+    private Endpoint newEndpoint(String key) {
+        return new Endpoint(circuitBreakerRegistry.circuitBreaker("webhook:" + key, circuitConfig));
+    }
+
+    /**
+     * Sends {@code job} using a slot the caller already holds.
+     *
+     * @return false if nothing was sent and the slot is still the caller's
+     */
+    private boolean trySend(Endpoint endpoint, Subscriber subscriber, Job job) {
+        if (!endpoint.breaker.tryAcquirePermission()) {
+            shortCircuitedCounter.increment();
+            postpone(job, circuitOpenMs, "Circuit open for " + endpoint.breaker.getName());
+            return false;
+        }
+        HttpRequest request;
+        try {
+            request = request(subscriber, job);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            endpoint.breaker.releasePermission();
+            failed(job, e.getMessage());
+            return false;
+        }
+        long started = System.nanoTime();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> completed(endpoint, job, started, response, error));
+        return true;
+    }
+
+    private HttpRequest request(Subscriber subscriber, Job job) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(subscriber.targetUrl()))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header(EVENT_HEADER, job.eventType)
+                .header(DELIVERY_HEADER, Long.toString(job.id))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(job.body));
+        if (subscriber.secret() != null) {
+            builder.header(SIGNATURE_HEADER, signature(job, subscriber.secret()));
+        }
+        return builder.build();
+    }
+
+    private String signature(Job job, String secret) {
+        Signature signature = job.signature;
+        if (signature == null || !signature.secret().equals(secret)) {
+            signature = new Signature(secret, signer.base64(secret, job.body));
+            job.signature = signature;
+        }
+        return signature.value();
+    }
+
+    private void completed(Endpoint endpoint, Job job, long started, HttpResponse<Void> response,
+            Throwable error) {
+        long elapsed = System.nanoTime() - started;
+        requestTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        release(endpoint);
+        if (error == null && response.statusCode() / 100 == 2) {
+            endpoint.breaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+            deliveredCounter.increment();
+            finish(job, WebhookDelivery.DELIVERED, job.attempts + 1, null, "DELIVERED");
+            return;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        String reason = cause != null ? cause.getClass().getSimpleName() + ": " + cause.getMessage()
+                : "HTTP " + response.statusCode();
+        endpoint.breaker.onError(elapsed, TimeUnit.NANOSECONDS, cause != null ? cause : new IOException(reason));
+        failed(job, reason);
+    }
+
+    /**
+     * Hands the caller's slot to the next queued job for the endpoint, or
+     * frees it if none can be sent.
+     */
+    private void release(Endpoint endpoint) {
+        while (true) {
+            Job next;
+            endpoint.lock.lock();
+            try {
+                next = endpoint.waiting.poll();
+                if (next == null) {
+                    endpoint.inFlight--;
+                    return;
+                }
+            } finally {
+                endpoint.lock.unlock();
+            }
+            Subscriber subscriber = subscriptions.get(next.subscriptionId);
+            if (subscriber == null) {
+                cancel(next);
+            } else if (trySend(endpoint, subscriber, next)) {
+                return;
+            }
+        }
+    }
+
+    private void failed(Job job, String reason) {
+        int attempts = job.attempts + 1;
+        if (attempts > maxRetries) {
+            deadCounter.increment();
+            log.warn("Webhook delivery {} to subscription {} failed after {} attempts: {}", job.id,
+                    job.subscriptionId, attempts, reason);
+            finish(job, WebhookDelivery.DEAD, attempts, reason, "DEAD");
+            return;
+        }
+        retriedCounter.increment();
+        retry(job, attempts, backoffMs(attempts, retryDelayMs, maxBackoffMs), reason, true);
+    }
+
+    private void retry(Job job, int attempts, long delayMs, String reason, boolean countsAsFailure) {
+        job.attempts = attempts;
+        LocalDateTime nextAttemptAt = LocalDateTime.now(clock).plus(delayMs, ChronoUnit.MILLIS);
+        outcomes.add(new Outcome(job.id, job.leaseOwner, WebhookDelivery.IN_FLIGHT, attempts, nextAttemptAt,
+                nextAttemptAt.plus(leaseMs, ChronoUnit.MILLIS), truncate(reason), null, job.subscriptionId,
+                countsAsFailure ? "FAILED" : null));
+        if (!timer.schedule(delayMs, TimeUnit.MILLISECONDS, () -> dispatch(job))) {
+            // Shutting down: the lease runs out and the row is claimed again
+            active.remove(job.id);
+        }
+    }
+
+    /**
+     * Gives the row back as pending after {@code delayMs} without using a
+     * retry. The job leaves {@code active}, so rows for an endpoint whose
+     * circuit is open do not hold claim room that other endpoints could use.
+     */
+    private void postpone(Job job, long delayMs, String reason) {
+        active.remove(job.id);
+        LocalDateTime nextAttemptAt = LocalDateTime.now(clock).plus(delayMs, ChronoUnit.MILLIS);
+        outcomes.add(new Outcome(job.id, job.leaseOwner, WebhookDelivery.PENDING, job.attempts, nextAttemptAt, null,
+                truncate(reason), null, job.subscriptionId, null));
+    }
+
+    private void cancel(Job job) {
+        cancelledCounter.increment();
+        finish(job, WebhookDelivery.CANCELLED, job.attempts, "Subscription is no longer active", null);
+    }
+
+    private void finish(Job job, String status, int attempts, String error, String subscriptionStatus) {
+        active.remove(job.id);
+        LocalDateTime now = LocalDateTime.now(clock);
+        outcomes.add(new Outcome(job.id, job.leaseOwner, status, attempts, now, null, truncate(error),
+                WebhookDelivery.DELIVERED.equals(status) ? now : null, job.subscriptionId, subscriptionStatus));
+    }
+
+    /**
+     * Writes the outcomes recorded since the last call: one batch for the
+     * delivery rows, one for the subscriptions' failure counters. A row whose
+     * lease has meanwhile passed to another claim is left alone.
+     */
+    void flushOutcomes() {
+        List<Outcome> batch = new ArrayList<>();
+        Outcome outcome;
+        while ((outcome = outcomes.poll()) != null) {
+            batch.add(outcome);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Long, int[]> failures = new LinkedHashMap<>();
+        Map<Long, String> lastStatus = new LinkedHashMap<>();
+        for (Outcome each : batch) {
+            if (each.subscriptionStatus() != null) {
+                failures.computeIfAbsent(each.subscriptionId(), id -> new int[1])[0] +=
+                        "DELIVERED".equals(each.subscriptionStatus()) ? 0 : 1;
+                lastStatus.put(each.subscriptionId(), each.subscriptionStatus());
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_DELIVERY_SQL, batch, batch.size(), WebhookDispatcher::bindOutcome);
+            if (!lastStatus.isEmpty()) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+                jdbcTemplate.batchUpdate(UPDATE_SUBSCRIPTION_SQL, new ArrayList<>(lastStatus.entrySet()),
+                        lastStatus.size(), (ps, entry) -> {
+                            ps.setInt(1, failures.get(entry.getKey())[0]);
+                            ps.setString(2, entry.getValue());
+                            ps.setTimestamp(3, now);
+                            ps.setLong(4, entry.getKey());
+                        });
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to record {} webhook delivery outcomes; the rows are retried once their lease runs out:"
+                    + " {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static void bindOutcome(PreparedStatement ps, Outcome outcome) throws SQLException {
+        ps.setString(1, outcome.status());
+        ps.setInt(2, outcome.attempts());
+        ps.setTimestamp(3, Timestamp.valueOf(outcome.nextAttemptAt()));
+        setTimestamp(ps, 4, outcome.leaseUntil());
+        ps.setString(5, outcome.error());
+        setTimestamp(ps, 6, outcome.deliveredAt());
+        ps.setLong(7, outcome.deliveryId());
+        ps.setString(8, outcome.leaseOwner());
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        }
+    }
+
+    /**
+     * Exponential backoff with equal jitter: half of the capped delay is
+     * fixed, the other half random, so retries of many deliveries that failed
+     * together spread out without ever collapsing to zero.
+     */
+    static long backoffMs(int attempt, long baseMs, long maxMs) {
+        long ceiling = Math.min(maxMs, baseMs << Math.min(Math.max(attempt - 1, 0), 30));
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+
+    static String endpointKey(String targetUrl) {
+        try {
+            URI uri = URI.create(targetUrl);
+            int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+            return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+        } catch (IllegalArgumentException e) {
+            return targetUrl;
+        }
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * Stops claiming, records what has finished and drops the rest; rows
+     * still leased are picked up again after their lease.
+     */
+    @PreDestroy
+    public void stop() {
+        closed = true;
+        Thread current = poller;
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        timer.close();
+        httpClient.shutdownNow();
+        flushOutcomes();
+    }
+}
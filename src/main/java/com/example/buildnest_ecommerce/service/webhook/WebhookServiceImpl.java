@@ -1,25 +1,24 @@
 package com.example.buildnest_ecommerce.service.webhook;
 
+import com.example.buildnest_ecommerce.model.entity.WebhookDelivery;
 import com.example.buildnest_ecommerce.model.entity.WebhookSubscription;
 import com.example.buildnest_ecommerce.model.payload.WebhookSubscriptionRequest;
 import com.example.buildnest_ecommerce.model.payload.WebhookSubscriptionResponse;
+import com.example.buildnest_ecommerce.repository.WebhookDeliveryRepository;
 import com.example.buildnest_ecommerce.repository.WebhookSubscriptionRepository;
+import com.example.buildnest_ecommerce.service.webhook.WebhookSubscriptionCache.Subscriber;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.LocalDateTime;
-import java.util.Base64;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -29,11 +28,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class WebhookServiceImpl implements WebhookService {
 
-    private static final int MAX_RETRIES = 3;
-
     private final WebhookSubscriptionRepository repository;
-    private final RestTemplate restTemplate;
+    private final WebhookDeliveryRepository deliveryRepository;
+    private final WebhookSubscriptionCache subscriptions;
+    private final WebhookDispatcher dispatcher;
     private final ObjectMapper objectMapper;
+    private final Clock clock;
 
     @Override
     @Transactional
@@ -48,6 +48,7 @@ public class WebhookServiceImpl implements WebhookService {
         subscription.setUpdatedAt(LocalDateTime.now());
 
         WebhookSubscription saved = repository.save(subscription);
+        afterCommit(subscriptions::refresh);
         return toResponse(saved);
     }
 
@@ -66,6 +67,7 @@ public class WebhookServiceImpl implements WebhookService {
         subscription.setActive(false);
         subscription.setUpdatedAt(LocalDateTime.now());
         WebhookSubscription saved = repository.save(subscription);
+        afterCommit(subscriptions::refresh);
         return toResponse(saved);
     }
 
@@ -73,76 +75,54 @@ public class WebhookServiceImpl implements WebhookService {
     @Transactional
     public void deleteSubscription(Long id) {
         repository.deleteById(id);
+        afterCommit(subscriptions::refresh);
     }
 
+    /**
+     * Writes one outbox row per active subscriber in the caller's transaction,
+     * so the event is delivered if and only if that transaction commits. The
+     * {@link WebhookDispatcher} sends the rows, and is woken once they commit.
+     */
     @Override
-    @Async
+    @Transactional
     public void dispatchEvent(String eventType, Map<String, Object> payload) {
-        List<WebhookSubscription> subscriptions = repository.findByEventTypeAndActiveTrue(eventType);
-        for (WebhookSubscription subscription : subscriptions) {
-            deliverWithRetries(subscription, payload);
+        List<Subscriber> subscribers = subscriptions.forEvent(eventType);
+        if (subscribers.isEmpty()) {
+            return;
         }
-    }
-
-    private void deliverWithRetries(WebhookSubscription subscription, Map<String, Object> payload) {
-        int attempt = 0;
-        boolean delivered = false;
-
-        while (attempt < MAX_RETRIES && !delivered) {
-            attempt++;
-            try {
-                deliver(subscription, payload);
-                delivered = true;
-                updateStatus(subscription, "DELIVERED");
-            } catch (Exception ex) {
-                log.warn("Webhook delivery failed (attempt {} of {}) for subscription {}", attempt, MAX_RETRIES,
-                        subscription.getId(), ex);
-                updateFailure(subscription, "FAILED");
-
-                if (attempt < MAX_RETRIES) {
-                    try {
-                        Thread.sleep(500L * attempt);
-                    } catch (InterruptedException ignored) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
-            }
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Webhook payload for " + eventType + " is not serializable", e);
         }
-    }
-
-    private void deliver(WebhookSubscription subscription, Map<String, Object> payload) throws Exception {
-        String body = objectMapper.writeValueAsString(payload);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("X-Webhook-Event", subscription.getEventType());
-
-        if (subscription.getSecret() != null && !subscription.getSecret().isBlank()) {
-            headers.set("X-Webhook-Signature", generateSignature(body, subscription.getSecret()));
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<WebhookDelivery> deliveries = new ArrayList<>(subscribers.size());
+        for (Subscriber subscriber : subscribers) {
+            WebhookDelivery delivery = new WebhookDelivery();
+            delivery.setSubscriptionId(subscriber.id());
+            delivery.setEventType(eventType);
+            delivery.setPayload(body);
+            delivery.setStatus(WebhookDelivery.PENDING);
+            delivery.setNextAttemptAt(now);
+            delivery.setCreatedAt(now);
+            deliveries.add(delivery);
         }
-
-        HttpEntity<String> request = new HttpEntity<>(body, headers);
-        restTemplate.postForObject(subscription.getTargetUrl(), request, String.class);
-    }
-
-    private String generateSignature(String payload, String secret) throws Exception {
-        Mac sha256Hmac = Mac.getInstance("HmacSHA256");
-        SecretKeySpec secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-        sha256Hmac.init(secretKey);
-        byte[] hash = sha256Hmac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
-        return Base64.getEncoder().encodeToString(hash);
+        deliveryRepository.saveAll(deliveries);
+        afterCommit(dispatcher::wake);
     }
 
-    private void updateFailure(WebhookSubscription subscription, String status) {
-        subscription.setFailureCount(subscription.getFailureCount() + 1);
-        subscription.setLastDeliveryStatus(status);
-        subscription.setUpdatedAt(LocalDateTime.now());
-        repository.save(subscription);
-    }
-
-    private void updateStatus(WebhookSubscription subscription, String status) {
-        subscription.setLastDeliveryStatus(status);
-        subscription.setUpdatedAt(LocalDateTime.now());
-        repository.save(subscription);
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     private WebhookSubscriptionResponse toResponse(WebhookSubscription subscription) {
@@ -0,0 +1,92 @@
+package com.example.buildnest_ecommerce.service.webhook;
+
+import com.example.buildnest_ecommerce.model.entity.WebhookSubscription;
+import com.example.buildnest_ecommerce.repository.WebhookSubscriptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the active webhook subscriptions, indexed by event type
+ * and by id, so raising an event or sending a delivery never queries
+ * {@code webhook_subscription}.
+ *
+ * The whole set is reloaded after every subscription change on this
+ * instance and every {@code webhook.delivery.subscription-refresh-ms} to
+ * pick up changes made on other instances. Readers always see one complete
+ * snapshot.
+ */
+@Slf4j
+@Component
+public class WebhookSubscriptionCache {
+
+    public record Subscriber(Long id, String eventType, String targetUrl, String secret) {
+    }
+
+    private record Snapshot(Map<String, List<Subscriber>> byEventType, Map<Long, Subscriber> byId) {
+    }
+
+    private final WebhookSubscriptionRepository repository;
+    private volatile Snapshot snapshot;
+
+    public WebhookSubscriptionCache(WebhookSubscriptionRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * @return active subscribers of {@code eventType}, possibly empty
+     */
+    public List<Subscriber> forEvent(String eventType) {
+        return current().byEventType().getOrDefault(eventType, List.of());
+    }
+
+    /**
+     * @return the subscriber, or null if it is no longer active
+     */
+    public Subscriber get(Long id) {
+        return current().byId().get(id);
+    }
+
+    @Scheduled(initialDelayString = "${webhook.delivery.subscription-refresh-ms:30000}",
+            fixedDelayString = "${webhook.delivery.subscription-refresh-ms:30000}")
+    public void refresh() {
+        try {
+            snapshot = load();
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh webhook subscriptions; keeping the previous set: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = load();
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        List<Subscriber> subscribers = repository.findByActiveTrue().stream()
+                .map(WebhookSubscriptionCache::toSubscriber)
+                .toList();
+        Map<Long, Subscriber> byId = new HashMap<>();
+        subscribers.forEach(subscriber -> byId.put(subscriber.id(), subscriber));
+        Map<String, List<Subscriber>> byEventType = subscribers.stream()
+                .collect(Collectors.groupingBy(Subscriber::eventType, Collectors.toUnmodifiableList()));
+        log.debug("Loaded {} active webhook subscriptions", subscribers.size());
+        return new Snapshot(Map.copyOf(byEventType), Map.copyOf(byId));
+    }
+
+    private static Subscriber toSubscriber(WebhookSubscription subscription) {
+        String secret = subscription.getSecret() == null || subscription.getSecret().isBlank()
+                ? null
+                : subscription.getSecret();
+        return new Subscriber(subscription.getId(), subscription.getEventType(), subscription.getTargetUrl(), secret);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.buildnest_ecommerce.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free Bloom filter over strings.
+ *
+ * Bits live in an {@link AtomicLongArray} so concurrent {@link #put(String)}
+ * calls never lose updates. Index derivation uses the Kirsch-Mitzenmacher
+ * double-hashing scheme over a 128-bit MurmurHash3 of the UTF-8 bytes.
+ *
+ * A negative answer from {@link #mightContain(String)} is exact; a positive
+ * answer is only probabilistic and must be confirmed against the source of
+ * truth.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final LongAdder insertions = new LongAdder();
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1)");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate)
+                / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE, (optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashFunctions = Math.max(1,
+                (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long[] hash = murmur3(value);
+        long combined = hash[0];
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitCount;
+            setBit(index);
+            combined += hash[1];
+        }
+        insertions.increment();
+    }
+
+    public boolean mightContain(String value) {
+        long[] hash = murmur3(value);
+        long combined = hash[0];
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitCount;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+            combined += hash[1];
+        }
+        return true;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    /**
+     * MurmurHash3 x64 128-bit (seed 0) over the UTF-8 encoding of the value.
+     */
+    @SuppressWarnings("fallthrough")
+    private static long[] murmur3(String value) {
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        final long c1 = 0x87c37b91114253d5L;
+        final long c2 = 0x4cf5ad432745937fL;
+        long h1 = 0;
+        long h2 = 0;
+        int blocks = data.length / 16;
+
+        for (int i = 0; i < blocks; i++) {
+            long k1 = getLong(data, i * 16);
+            long k2 = getLong(data, i * 16 + 8);
+
+            k1 *= c1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= c2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            k2 *= c2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= c1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        long k1 = 0;
+        long k2 = 0;
+        int tail = blocks * 16;
+        switch (data.length & 15) {
+            case 15: k2 ^= (long) (data[tail + 14] & 0xff) << 48;
+            case 14: k2 ^= (long) (data[tail + 13] & 0xff) << 40;
+            case 13: k2 ^= (long) (data[tail + 12] & 0xff) << 32;
+            case 12: k2 ^= (long) (data[tail + 11] & 0xff) << 24;
+            case 11: k2 ^= (long) (data[tail + 10] & 0xff) << 16;
+            case 10: k2 ^= (long) (data[tail + 9] & 0xff) << 8;
+            case 9:
+                k2 ^= data[tail + 8] & 0xff;
+                k2 *= c2;
+                k2 = Long.rotateLeft(k2, 33);
+                k2 *= c1;
+                h2 ^= k2;
+            case 8: k1 ^= (long) (data[tail + 7] & 0xff) << 56;
+            case 7: k1 ^= (long) (data[tail + 6] & 0xff) << 48;
+            case 6: k1 ^= (long) (data[tail + 5] & 0xff) << 40;
+            case 5: k1 ^= (long) (data[tail + 4] & 0xff) << 32;
+            case 4: k1 ^= (long) (data[tail + 3] & 0xff) << 24;
+            case 3: k1 ^= (long) (data[tail + 2] & 0xff) << 16;
+            case 2: k1 ^= (long) (data[tail + 1] & 0xff) << 8;
+            case 1:
+                k1 ^= data[tail] & 0xff;
+                k1 *= c1;
+                k1 = Long.rotateLeft(k1, 31);
+                k1 *= c2;
+                h1 ^= k1;
+            default:
+                break;
+        }
+
+        h1 ^= data.length;
+        h2 ^= data.length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+        return new long[] { h1, h2 };
+    }
+
+    private static long getLong(byte[] data, int offset) {
+        return (data[offset] & 0xffL)
+                | (data[offset + 1] & 0xffL) << 8
+                | (data[offset + 2] & 0xffL) << 16
+                | (data[offset + 3] & 0xffL) << 24
+                | (data[offset + 4] & 0xffL) << 32
+                | (data[offset + 5] & 0xffL) << 40
+                | (data[offset + 6] & 0xffL) << 48
+                | (data[offset + 7] & 0xffL) << 56;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
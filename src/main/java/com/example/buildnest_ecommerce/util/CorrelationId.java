@@ -0,0 +1,45 @@
+package com.example.buildnest_ecommerce.util;
+
+import org.slf4j.MDC;
+
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Correlation id of the current unit of work, held in the SLF4J MDC under
+ * {@link #MDC_KEY}. {@link com.example.buildnest_ecommerce.interceptor.CorrelationIdFilter}
+ * sets it per request; {@link MdcTaskDecorator} and
+ * {@link com.example.buildnest_ecommerce.interceptor.CorrelationIdRequestInterceptor}
+ * carry it to async tasks and outbound calls. Audit events store it so one
+ * request's trail can be fetched with a single term lookup.
+ */
+public final class CorrelationId {
+
+    public static final String HEADER = "X-Correlation-ID";
+    public static final String MDC_KEY = "correlationId";
+    public static final int MAX_LENGTH = 64;
+
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9._:-]{1," + MAX_LENGTH + "}");
+
+    private CorrelationId() {
+    }
+
+    /**
+     * @return the id bound to this thread, or null outside a request or task
+     */
+    public static String current() {
+        return MDC.get(MDC_KEY);
+    }
+
+    public static String generate() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Inbound ids are stored and indexed, so only short token-like values
+     * are accepted; anything else is replaced with a fresh id.
+     */
+    public static boolean isValid(String candidate) {
+        return candidate != null && VALID.matcher(candidate).matches();
+    }
+}
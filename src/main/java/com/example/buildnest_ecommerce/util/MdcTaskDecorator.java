@@ -0,0 +1,36 @@
+package com.example.buildnest_ecommerce.util;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Copies the submitting thread's MDC (including the {@link CorrelationId})
+ * onto the thread that runs the task, and restores the worker's own context
+ * afterwards so pooled threads do not leak ids between tasks.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            apply(context);
+            try {
+                runnable.run();
+            } finally {
+                apply(previous);
+            }
+        };
+    }
+
+    private static void apply(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
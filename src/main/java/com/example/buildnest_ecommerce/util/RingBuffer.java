@@ -0,0 +1,116 @@
+package com.example.buildnest_ecommerce.util;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free multi-producer / single-consumer ring buffer.
+ *
+ * Each slot carries a sequence number (Vyukov's bounded queue): a producer
+ * claims a position with one CAS on the tail and publishes by advancing the
+ * slot's sequence, and the consumer only reads slots whose sequence shows
+ * they have been published. {@link #offer(Object)} never blocks; it returns
+ * false when the buffer is full so the caller can pick its own overflow
+ * policy.
+ *
+ * {@link #drainTo(Collection, int)} must only ever be called from one thread
+ * at a time.
+ */
+public class RingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    public RingBuffer(int requestedCapacity) {
+        if (requestedCapacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (requestedCapacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must not exceed 2^30");
+        }
+        // Two slots minimum: with one, "free for the next lap" and
+        // "published" would share a sequence value.
+        int rounded = Integer.highestOneBit(requestedCapacity) == requestedCapacity
+                ? requestedCapacity
+                : Integer.highestOneBit(requestedCapacity) << 1;
+        this.capacity = Math.max(2, rounded);
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the buffer is full
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code maxElements} published elements into {@code sink},
+     * in the order they were claimed.
+     *
+     * @return the number of elements moved
+     */
+    public int drainTo(Collection<? super E> sink, int maxElements) {
+        long position = head;
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            sink.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.set(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /**
+     * Approximate number of claimed but not yet drained elements.
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(capacity, size));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
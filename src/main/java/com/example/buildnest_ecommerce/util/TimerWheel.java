@@ -0,0 +1,142 @@
+package com.example.buildnest_ecommerce.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timer wheel for many short, coarse-grained delays.
+ *
+ * {@link #schedule(long, TimeUnit, Runnable)} only appends to a lock-free
+ * inbox; one daemon thread advances the wheel once per tick, moves new
+ * timeouts into the slot their deadline hashes to (with a round count for
+ * deadlines more than one revolution away) and runs the ones that are due.
+ * Nothing sleeps per timeout, so thousands of pending retries cost one
+ * thread and a list entry each.
+ *
+ * Deadlines are rounded up to the next tick. Tasks run on the wheel thread
+ * and must hand real work elsewhere; an exception is logged and does not
+ * stop the wheel. Tasks still pending at {@link #close()} are dropped.
+ */
+@Slf4j
+public final class TimerWheel implements AutoCloseable {
+
+    private static final class Timeout {
+        private final long deadline;
+        private final Runnable task;
+        private long rounds;
+
+        private Timeout(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+    }
+
+    private final long tickNanos;
+    private final int mask;
+    private final ArrayDeque<Timeout>[] slots;
+    private final ConcurrentLinkedQueue<Timeout> inbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long startNanos;
+    private final Thread worker;
+    private volatile boolean closed;
+    private long tick;
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public TimerWheel(String name, long tickDuration, TimeUnit unit, int requestedSlots) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive");
+        }
+        if (requestedSlots <= 0 || requestedSlots > 1 << 20) {
+            throw new IllegalArgumentException("slots must be 1..2^20");
+        }
+        int size = Integer.highestOneBit(requestedSlots) == requestedSlots
+                ? requestedSlots
+                : Integer.highestOneBit(requestedSlots) << 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.mask = size - 1;
+        this.slots = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Runs {@code task} on the wheel thread once {@code delay} has passed.
+     *
+     * @return false if the wheel is closed
+     */
+    public boolean schedule(long delay, TimeUnit unit, Runnable task) {
+        if (closed) {
+            return false;
+        }
+        inbox.add(new Timeout(System.nanoTime() + unit.toNanos(Math.max(0L, delay)), task));
+        pending.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * @return timeouts scheduled and not yet run
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    private void run() {
+        while (!closed) {
+            long tickDeadline = startNanos + (tick + 1) * tickNanos;
+            long wait;
+            while (!closed && (wait = tickDeadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, wait);
+            }
+            if (closed) {
+                return;
+            }
+            transferInbox();
+            expire(slots[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferInbox() {
+        Timeout timeout;
+        while ((timeout = inbox.poll()) != null) {
+            long dueTick = Math.max(tick, (timeout.deadline - startNanos + tickNanos - 1) / tickNanos - 1);
+            timeout.rounds = (dueTick - tick) / slots.length;
+            slots[(int) (dueTick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(ArrayDeque<Timeout> slot) {
+        Iterator<Timeout> timeouts = slot.iterator();
+        while (timeouts.hasNext()) {
+            Timeout timeout = timeouts.next();
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                continue;
+            }
+            timeouts.remove();
+            pending.decrementAndGet();
+            try {
+                timeout.task.run();
+            } catch (RuntimeException e) {
+                log.error("Timer task failed on {}", worker.getName(), e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+    }
+}
@@ -189,3 +189,190 @@ VALUES
     (1, 'OPC 53 Grade Cement', 'Premium cement for construction', 350.00, 'Cement', 1000),
     (2, 'Steel Rebar 16mm', 'High strength steel reinforcement', 70.00, 'Steel', 5000),
     (3, 'Brick 9x4x3 inch', 'Standard building brick', 12.00, 'Brick', 50000);
+
+--changeset buildnest-team:006-purge-checkpoint-table
+--comment: Resumable progress for chunked background purges
+
+CREATE TABLE IF NOT EXISTS purge_checkpoint (
+    target VARCHAR(100) PRIMARY KEY,
+    last_id BIGINT NOT NULL,
+    cutoff TIMESTAMP NULL,
+    chunk_size INT NOT NULL,
+    last_completed_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL
+);
+
+--changeset buildnest-team:007-scheduler-lock-tables
+--comment: Cluster-wide job locks and scheduled job run history
+
+CREATE TABLE IF NOT EXISTS scheduler_lock (
+    name VARCHAR(150) PRIMARY KEY,
+    owner VARCHAR(200),
+    locked_until TIMESTAMP NOT NULL,
+    locked_at TIMESTAMP NULL,
+    fencing_token BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_job_run (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_name VARCHAR(150) NOT NULL,
+    shard_index INT,
+    shard_count INT,
+    instance_id VARCHAR(200),
+    fencing_token BIGINT NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP NULL,
+    duration_ms BIGINT,
+    status VARCHAR(20) NOT NULL,
+    error VARCHAR(1000)
+);
+
+CREATE INDEX idx_scheduler_job_run_job ON scheduler_job_run(job_name, started_at);
+CREATE INDEX idx_scheduler_job_run_started ON scheduler_job_run(started_at);
+
+--changeset buildnest-team:008-audit-logs-correlation-id dbms:mysql
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:1 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'audit_logs'
+--comment: Correlation id column and index for per-request audit lookups
+
+ALTER TABLE audit_logs ADD COLUMN correlation_id VARCHAR(64);
+CREATE INDEX idx_audit_correlation_id ON audit_logs(correlation_id);
+
+--changeset buildnest-team:009-webhook-delivery-outbox
+--comment: Outbox of webhook deliveries, written with the domain change and drained by the dispatcher
+
+CREATE TABLE IF NOT EXISTS webhook_delivery (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    subscription_id BIGINT NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    lease_owner VARCHAR(100),
+    lease_until TIMESTAMP NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL,
+    delivered_at TIMESTAMP NULL
+);
+
+CREATE INDEX idx_webhook_delivery_due ON webhook_delivery(status, next_attempt_at);
+CREATE INDEX idx_webhook_delivery_created ON webhook_delivery(created_at);
+
+--changeset buildnest-team:010-domain-event-outbox
+--comment: Outbox of domain events, written with the domain change and relayed to the event transport, plus the consumer-side record of handled events
+
+CREATE TABLE IF NOT EXISTS domain_event_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id VARCHAR(64),
+    payload TEXT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL,
+    published_at TIMESTAMP NULL
+);
+
+CREATE UNIQUE INDEX uk_domain_event_outbox_event_id ON domain_event_outbox(event_id);
+CREATE INDEX idx_domain_event_outbox_pending ON domain_event_outbox(published_at, id);
+CREATE INDEX idx_domain_event_outbox_created ON domain_event_outbox(created_at);
+
+CREATE TABLE IF NOT EXISTS consumed_event (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    consumer VARCHAR(100) NOT NULL,
+    event_id VARCHAR(36) NOT NULL,
+    consumed_at TIMESTAMP NOT NULL
+);
+
+CREATE UNIQUE INDEX uk_consumed_event ON consumed_event(consumer, event_id);
+CREATE INDEX idx_consumed_event_consumed_at ON consumed_event(consumed_at);
+
+--changeset buildnest-team:011-order-view-read-model
+--comment: Denormalized order read model served by primary key, maintained from order and payment events
+
+CREATE TABLE IF NOT EXISTS order_view (
+    order_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    order_number VARCHAR(100),
+    status VARCHAR(20),
+    payment_status VARCHAR(20),
+    payment_id BIGINT,
+    total_amount DECIMAL(12, 2),
+    discount_amount DECIMAL(12, 2),
+    tax_amount DECIMAL(12, 2),
+    shipping_amount DECIMAL(12, 2),
+    tracking_number VARCHAR(255),
+    shipping_address VARCHAR(500),
+    item_count INT NOT NULL DEFAULT 0,
+    items TEXT NOT NULL,
+    status_history TEXT NOT NULL,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    refreshed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_order_view_user_created ON order_view(user_id, created_at);
+
+--changeset buildnest-team:012-domain-event-outbox-parked
+--comment: Outbox events the relay gave up on after events.outbox.max-attempts stay out of the relay's way until requeued
+
+ALTER TABLE domain_event_outbox ADD COLUMN parked_at TIMESTAMP NULL;
+
+--changeset buildnest-team:013-orders-user-history-index dbms:mysql
+--preconditions onFail:CONTINUE
+--precondition-sql-check expectedResult:1 SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'orders' AND column_name = 'is_deleted'
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'orders' AND index_name = 'idx_orders_user_history'
+--comment: Covering index for a user's order history, newest first; waits for the soft-delete columns, which the orders table above predates
+
+CREATE INDEX idx_orders_user_history ON orders(user_id, is_deleted, created_at DESC, id DESC, status, total_amount, order_number, updated_at);
+
+--changeset buildnest-team:014-payments-razorpay-order-unique dbms:mysql
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:1 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'payments'
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'payments' AND index_name = 'uk_payments_razorpay_order_id'
+--comment: One payment per gateway order, so callback lookups by razorpay_order_id hit a single row
+
+CREATE UNIQUE INDEX uk_payments_razorpay_order_id ON payments(razorpay_order_id);
+
+--changeset buildnest-team:015-payments-order-id-index dbms:mysql
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:1 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'payments'
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'payments' AND index_name = 'idx_payments_order_id'
+--comment: Payment lookups by order id
+
+CREATE INDEX idx_payments_order_id ON payments(order_id);
+
+--changeset buildnest-team:016-refresh-tokens-user-id-index dbms:mysql
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:1 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'refresh_tokens'
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'refresh_tokens' AND index_name = 'idx_refresh_tokens_user_id'
+--comment: Refresh token lookups and revocation by user
+
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens(user_id);
+
+--changeset buildnest-team:017-refresh-tokens-expiry-index dbms:mysql
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:1 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'refresh_tokens'
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'refresh_tokens' AND index_name = 'idx_refresh_tokens_expiry'
+--comment: Range scan for the expired refresh token purge
+
+CREATE INDEX idx_refresh_tokens_expiry ON refresh_tokens(expiry_date);
+
+--changeset buildnest-team:018-password-reset-tokens-expiry-index dbms:mysql
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:1 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'password_reset_tokens'
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'password_reset_tokens' AND index_name = 'idx_password_reset_tokens_expiry'
+--comment: Range scan for the expired password reset token purge
+
+CREATE INDEX idx_password_reset_tokens_expiry ON password_reset_tokens(expiry_date);
+
+--changeset buildnest-team:019-orders-deleted-at-index dbms:mysql
+--preconditions onFail:CONTINUE
+--precondition-sql-check expectedResult:2 SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'orders' AND column_name IN ('is_deleted', 'deleted_at')
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'orders' AND index_name = 'idx_orders_deleted_at'
+--comment: Range scan for the purge of soft-deleted orders; waits for the soft-delete columns, like 013
+
+CREATE INDEX idx_orders_deleted_at ON orders(is_deleted, deleted_at);
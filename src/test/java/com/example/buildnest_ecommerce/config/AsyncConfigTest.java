@@ -0,0 +1,163 @@
+package com.example.buildnest_ecommerce.config;
+
+import com.example.buildnest_ecommerce.config.properties.AsyncProperties;
+import com.example.buildnest_ecommerce.util.CorrelationId;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AsyncTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        MDC.clear();
+        SecurityContextHolder.clearContext();
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private AsyncTaskExecutor start(AsyncProperties.Lane lane) {
+        executor = AsyncConfig.lane("test", lane, 1_000L, meterRegistry);
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.initialize();
+        }
+        return executor;
+    }
+
+    private double rejected() {
+        return meterRegistry.get("async.executor.rejected").tag("name", "test").counter().count();
+    }
+
+    @Test
+    void tasksRunWithSubmitterContextAndAreTimed() throws Exception {
+        start(new AsyncProperties.Lane(1, 1, 10, "abort"));
+        MDC.put(CorrelationId.MDC_KEY, "req-1");
+        Authentication user = new UsernamePasswordAuthenticationToken("alice", null);
+        SecurityContextHolder.getContext().setAuthentication(user);
+        AtomicReference<String> correlation = new AtomicReference<>();
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+        AtomicReference<String> thread = new AtomicReference<>();
+
+        executor.submit(() -> {
+            correlation.set(CorrelationId.current());
+            authentication.set(SecurityContextHolder.getContext().getAuthentication());
+            thread.set(Thread.currentThread().getName());
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals("req-1", correlation.get());
+        assertSame(user, authentication.get());
+        assertTrue(thread.get().startsWith("async-test-"));
+        Timer duration = meterRegistry.get("async.executor.duration").tag("name", "test").timer();
+        long deadline = System.currentTimeMillis() + 2_000L;
+        while (duration.count() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5L);
+        }
+        assertEquals(1, duration.count());
+        assertEquals(1, meterRegistry.get("async.executor.wait").tag("name", "test").timer().count());
+    }
+
+    @Test
+    void fullLaneRejectsAndCounts() throws Exception {
+        start(new AsyncProperties.Lane(1, 1, 1, "abort"));
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            release.await();
+            return null;
+        });
+        executor.submit(() -> { });
+
+        assertEquals(1.0, meterRegistry.get("async.executor.queued").tag("name", "test").gauge().value());
+        assertThrows(TaskRejectedException.class, () -> executor.submit(() -> { }));
+        assertEquals(1.0, rejected());
+        release.countDown();
+    }
+
+    @Test
+    void callerRunsWhenLaneIsFull() throws Exception {
+        start(new AsyncProperties.Lane(1, 1, 1, "caller-runs"));
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            release.await();
+            return null;
+        });
+        executor.submit(() -> { });
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        executor.submit(() -> ranOn.set(Thread.currentThread())).get(5, TimeUnit.SECONDS);
+
+        assertSame(Thread.currentThread(), ranOn.get());
+        assertEquals(1.0, rejected());
+        release.countDown();
+    }
+
+    @Test
+    void virtualLaneCapsConcurrencyAndAppliesPolicy() throws Exception {
+        AsyncProperties.Lane lane = new AsyncProperties.Lane(1, 1, 0, "discard");
+        lane.setVirtualThreads(true);
+        start(lane);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Boolean> virtual = new AtomicReference<>();
+        Future<?> running = executor.submit(() -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            release.await();
+            return null;
+        });
+        AtomicReference<Boolean> ranExtra = new AtomicReference<>(false);
+
+        executor.execute(() -> ranExtra.set(true));
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        assertTrue(virtual.get());
+        assertFalse(ranExtra.get());
+        assertEquals(1.0, rejected());
+    }
+
+    @Test
+    void virtualLaneDecoratesTasksTheCallerRuns() throws Exception {
+        AsyncProperties.Lane lane = new AsyncProperties.Lane(1, 1, 0, "caller-runs");
+        lane.setVirtualThreads(true);
+        start(lane);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> running = executor.submit(() -> {
+            release.await();
+            return null;
+        });
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        executor.execute(() -> ranOn.set(Thread.currentThread()));
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        assertSame(Thread.currentThread(), ranOn.get());
+        assertEquals(1.0, rejected());
+        assertEquals(2, meterRegistry.get("async.executor.wait").tag("name", "test").timer().count());
+    }
+
+    @Test
+    void unknownPolicyIsRejectedAtStartup() {
+        assertThrows(IllegalArgumentException.class,
+                () -> AsyncConfig.lane("test", new AsyncProperties.Lane(1, 1, 1, "retry"), 1_000L, meterRegistry));
+    }
+}
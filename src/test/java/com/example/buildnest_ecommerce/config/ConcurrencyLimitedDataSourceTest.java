@@ -0,0 +1,104 @@
+package com.example.buildnest_ecommerce.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ConcurrencyLimitedDataSource Tests")
+class ConcurrencyLimitedDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+
+    @Test
+    @DisplayName("Should hold a permit until the connection is closed")
+    void testPermitHeldUntilClose() throws Exception {
+        Connection target = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(target);
+        ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(pool, 2, 1_000L);
+
+        Connection first = limited.getConnection();
+        Connection second = limited.getConnection();
+        assertEquals(0, limited.getAvailablePermits());
+
+        first.close();
+        first.close();
+        assertEquals(1, limited.getAvailablePermits());
+        verify(target, times(2)).close();
+
+        second.close();
+        assertEquals(2, limited.getAvailablePermits());
+    }
+
+    @Test
+    @DisplayName("Should time out when every permit is taken")
+    void testTimesOutWhenExhausted() throws Exception {
+        when(pool.getConnection()).thenReturn(mock(Connection.class));
+        ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(pool, 1, 50L);
+        limited.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, limited::getConnection);
+        assertEquals(1, limited.getTimeouts());
+        verify(pool, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should hand a released permit to a waiting thread")
+    void testWaiterGetsReleasedPermit() throws Exception {
+        when(pool.getConnection()).thenReturn(mock(Connection.class));
+        ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(pool, 1, 5_000L);
+        Connection held = limited.getConnection();
+
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limited.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (limited.getWaitingThreads() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, limited.getWaitingThreads());
+
+        held.close();
+        assertNotNull(waiter.get(2, TimeUnit.SECONDS));
+        assertEquals(0, limited.getTimeouts());
+    }
+
+    @Test
+    @DisplayName("Should return the permit when the pool fails")
+    void testReleasesPermitOnPoolFailure() throws Exception {
+        when(pool.getConnection()).thenThrow(new SQLException("pool down"));
+        ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(pool, 1, 50L);
+
+        assertThrows(SQLException.class, limited::getConnection);
+        assertEquals(1, limited.getAvailablePermits());
+    }
+
+    @Test
+    @DisplayName("Should pass other calls through to the pooled connection")
+    void testDelegatesConnectionCalls() throws Exception {
+        Connection target = mock(Connection.class);
+        when(target.getAutoCommit()).thenReturn(true);
+        when(target.unwrap(Connection.class)).thenReturn(target);
+        when(pool.getConnection()).thenReturn(target);
+        ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(pool, 1, 50L);
+
+        try (Connection connection = limited.getConnection()) {
+            assertTrue(connection.getAutoCommit());
+            assertSame(target, connection.unwrap(Connection.class));
+            assertEquals(connection, connection);
+        }
+        assertEquals(1, limited.getAvailablePermits());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.buildnest_ecommerce.config;
+
+import com.example.buildnest_ecommerce.config.properties.DatabaseConcurrencyProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DatabaseConcurrencyConfig Tests")
+class DatabaseConcurrencyConfigTest {
+
+    @Test
+    @DisplayName("Should size permits and wait from the Hikari pool by default")
+    void testDefaultsFollowPool() {
+        try (HikariDataSource pool = pool()) {
+            ConcurrencyLimitedDataSource limited = DatabaseConcurrencyConfig.limit(pool,
+                    new DatabaseConcurrencyProperties());
+
+            assertEquals(7, limited.getMaxPermits());
+            assertEquals(7, limited.getAvailablePermits());
+        }
+    }
+
+    @Test
+    @DisplayName("Should prefer explicitly configured permits")
+    void testExplicitPermits() {
+        DatabaseConcurrencyProperties properties = new DatabaseConcurrencyProperties();
+        properties.setPermits(3);
+        try (HikariDataSource pool = pool()) {
+            assertEquals(3, DatabaseConcurrencyConfig.limit(pool, properties).getMaxPermits());
+        }
+    }
+
+    @Test
+    @DisplayName("Should wrap only Hikari pools and keep the pool reachable")
+    void testPostProcessorWrapsHikariOnly() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("properties", new DatabaseConcurrencyProperties());
+        var processor = DatabaseConcurrencyConfig.databaseConcurrencyLimiter(
+                beans.getBeanProvider(DatabaseConcurrencyProperties.class));
+        try (HikariDataSource pool = pool()) {
+            Object wrapped = processor.postProcessAfterInitialization(pool, "dataSource");
+
+            assertInstanceOf(ConcurrencyLimitedDataSource.class, wrapped);
+            assertSame(pool, DataSourceUnwrapper.unwrap((DataSource) wrapped, HikariDataSource.class));
+        }
+        Object other = new Object();
+        assertSame(other, processor.postProcessAfterInitialization(other, "other"));
+    }
+
+    @Test
+    @DisplayName("Should close the pool when the wrapper is closed")
+    void testCloseReachesPool() throws Exception {
+        HikariDataSource pool = pool();
+        ConcurrencyLimitedDataSource limited = DatabaseConcurrencyConfig.limit(pool,
+                new DatabaseConcurrencyProperties());
+
+        limited.close();
+
+        assertTrue(pool.isClosed());
+    }
+
+    private static HikariDataSource pool() {
+        // Not started: the pool only opens connections on first getConnection()
+        HikariDataSource pool = new HikariDataSource();
+        pool.setMaximumPoolSize(7);
+        pool.setConnectionTimeout(1_500L);
+        return pool;
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.buildnest_ecommerce.controller.admin;
 
 import com.example.buildnest_ecommerce.model.entity.Order;
+import com.example.buildnest_ecommerce.model.dto.OrderResponseDTO;
 import com.example.buildnest_ecommerce.service.order.OrderService;
+import com.example.buildnest_ecommerce.service.order.OrderViewRebuilder;
+import com.example.buildnest_ecommerce.service.order.OrderViewService;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 
 import java.util.Collections;
@@ -12,25 +16,28 @@ import static org.mockito.Mockito.*;
 
 class AdminOrderControllerTest {
 
+    private final OrderViewService orderViewService = mock(OrderViewService.class);
+    private final OrderViewRebuilder orderViewRebuilder = mock(OrderViewRebuilder.class);
+
     @Test
     void getAllOrdersSuccessAndFailure() {
         OrderService orderService = mock(OrderService.class);
-        when(orderService.getAllOrders()).thenReturn(Collections.singletonList(new Order()));
+        when(orderService.getAllOrders(0, 20)).thenReturn(new SliceImpl<>(Collections.emptyList()));
 
-        AdminOrderController controller = new AdminOrderController(orderService);
-        assertEquals(HttpStatus.OK, controller.getAllOrders().getStatusCode());
+        AdminOrderController controller = new AdminOrderController(orderService, orderViewService, orderViewRebuilder);
+        assertEquals(HttpStatus.OK, controller.getAllOrders(0, 20).getStatusCode());
 
-        when(orderService.getAllOrders()).thenThrow(new RuntimeException("fail"));
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, controller.getAllOrders().getStatusCode());
+        when(orderService.getAllOrders(0, 20)).thenThrow(new RuntimeException("fail"));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, controller.getAllOrders(0, 20).getStatusCode());
     }
 
     @Test
     void getOrderByIdSuccessAndFailure() {
         OrderService orderService = mock(OrderService.class);
-        when(orderService.getOrderById(1L)).thenReturn(new Order());
-        when(orderService.getOrderById(2L)).thenThrow(new RuntimeException("not found"));
+        when(orderViewService.getOrder(1L)).thenReturn(new OrderResponseDTO());
+        when(orderViewService.getOrder(2L)).thenThrow(new RuntimeException("not found"));
 
-        AdminOrderController controller = new AdminOrderController(orderService);
+        AdminOrderController controller = new AdminOrderController(orderService, orderViewService, orderViewRebuilder);
         assertEquals(HttpStatus.OK, controller.getOrderById(1L).getStatusCode());
         assertEquals(HttpStatus.NOT_FOUND, controller.getOrderById(2L).getStatusCode());
     }
@@ -40,7 +47,7 @@ class AdminOrderControllerTest {
         OrderService orderService = mock(OrderService.class);
         when(orderService.updateOrderStatus(eq(1L), eq("CONFIRMED"))).thenReturn(new Order());
 
-        AdminOrderController controller = new AdminOrderController(orderService);
+        AdminOrderController controller = new AdminOrderController(orderService, orderViewService, orderViewRebuilder);
         assertEquals(HttpStatus.OK, controller.updateOrderStatus(1L, "CONFIRMED").getStatusCode());
 
         when(orderService.updateOrderStatus(eq(2L), eq("BAD"))).thenThrow(new RuntimeException("bad"));
@@ -50,4 +57,15 @@ class AdminOrderControllerTest {
         assertEquals(HttpStatus.OK, controller.deleteOrder(1L).getStatusCode());
         assertEquals(HttpStatus.BAD_REQUEST, controller.deleteOrder(2L).getStatusCode());
     }
+
+    @Test
+    void rebuildReportsConflictWhileRunning() {
+        AdminOrderController controller = new AdminOrderController(mock(OrderService.class), orderViewService,
+                orderViewRebuilder);
+        when(orderViewRebuilder.rebuild()).thenReturn(new OrderViewRebuilder.RebuildResult(3, 1, 0, 5L))
+                .thenThrow(new IllegalStateException("An order view rebuild is already running"));
+
+        assertEquals(HttpStatus.OK, controller.rebuildOrderViews().getStatusCode());
+        assertEquals(HttpStatus.CONFLICT, controller.rebuildOrderViews().getStatusCode());
+    }
 }
@@ -0,0 +1,35 @@
+package com.example.buildnest_ecommerce.controller.admin;
+
+import com.example.buildnest_ecommerce.model.entity.SchedulerJobRun;
+import com.example.buildnest_ecommerce.service.scheduler.lock.SchedulerJobHistoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpStatus;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SchedulerAdminControllerTest {
+
+    @Test
+    void getJobsReturnsLatestRuns() {
+        SchedulerJobHistoryService historyService = mock(SchedulerJobHistoryService.class);
+        when(historyService.getLatestRuns()).thenReturn(List.of(new SchedulerJobRun()));
+
+        SchedulerAdminController controller = new SchedulerAdminController(historyService);
+        assertEquals(1, controller.getJobs().getBody().size());
+    }
+
+    @Test
+    void getJobRunsReturnsPage() {
+        SchedulerJobHistoryService historyService = mock(SchedulerJobHistoryService.class);
+        when(historyService.getRuns(eq("job"), any()))
+                .thenReturn(new PageImpl<>(Collections.singletonList(new SchedulerJobRun())));
+
+        SchedulerAdminController controller = new SchedulerAdminController(historyService);
+        assertEquals(HttpStatus.OK, controller.getJobRuns("job", 0, 20).getStatusCode());
+    }
+}
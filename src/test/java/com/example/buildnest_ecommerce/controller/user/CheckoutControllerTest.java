@@ -3,7 +3,9 @@ package com.example.buildnest_ecommerce.controller.user;
 import com.example.buildnest_ecommerce.config.TestElasticsearchConfig;
 import com.example.buildnest_ecommerce.config.TestSecurityConfig;
 import com.example.buildnest_ecommerce.model.dto.CheckoutRequestDTO;
+import com.example.buildnest_ecommerce.exception.ExternalServiceException;
 import com.example.buildnest_ecommerce.model.entity.Order;
+import com.example.buildnest_ecommerce.model.entity.Payment;
 import com.example.buildnest_ecommerce.security.CustomUserDetails;
 import com.example.buildnest_ecommerce.service.checkout.CheckoutService;
 import com.example.buildnest_ecommerce.service.ratelimit.RateLimiterService;
@@ -22,6 +24,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -31,8 +34,10 @@ import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -107,6 +112,53 @@ class CheckoutControllerTest {
                                 .andExpect(status().isCreated());
         }
 
+        @Test
+        void testInitiatePaymentRespondsWhenTheGatewayAnswers() throws Exception {
+                Payment payment = new Payment();
+                payment.setId(7L);
+                payment.setRazorpayOrderId("order_rp");
+                CompletableFuture<Payment> pending = new CompletableFuture<>();
+                when(checkoutService.initiatePayment(1L, 30L)).thenReturn(pending);
+
+                var result = mockMvc.perform(post("/api/checkout/payment/30")
+                                .with(user(userDetails)))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                pending.complete(payment);
+
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isCreated())
+                                .andExpect(jsonPath("$.data.razorpayOrderId").value("order_rp"));
+        }
+
+        @Test
+        void testInitiatePaymentGatewayUnavailable() throws Exception {
+                when(checkoutService.initiatePayment(1L, 31L)).thenReturn(CompletableFuture.failedFuture(
+                                new ExternalServiceException("Razorpay", "payment gateway timed out")));
+
+                var result = mockMvc.perform(post("/api/checkout/payment/31")
+                                .with(user(userDetails)))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isServiceUnavailable())
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+
+        @Test
+        void testInitiatePaymentOrderNotAwaitingPayment() throws Exception {
+                doThrow(new IllegalArgumentException("Order 32 is CONFIRMED, not awaiting payment"))
+                                .when(checkoutService).initiatePayment(1L, 32L);
+
+                var result = mockMvc.perform(post("/api/checkout/payment/32")
+                                .with(user(userDetails)))
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isBadRequest());
+        }
+
         @Test
         void testProcessCheckoutValid() throws Exception {
                 Order order = new Order();
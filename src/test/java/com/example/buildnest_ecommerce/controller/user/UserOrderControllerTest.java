@@ -1,9 +1,13 @@
 package com.example.buildnest_ecommerce.controller.user;
 
-import com.example.buildnest_ecommerce.model.dto.OrderResponseDTO;
+import com.example.buildnest_ecommerce.model.dto.OrderSummaryDTO;
+import com.example.buildnest_ecommerce.model.dto.PublicOrderDTO;
 import com.example.buildnest_ecommerce.security.CustomUserDetails;
-import com.example.buildnest_ecommerce.service.order.OrderService;
+import com.example.buildnest_ecommerce.service.order.OrderViewService;
+import com.example.buildnest_ecommerce.service.order.UserOrderHistoryService;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 
@@ -15,6 +19,10 @@ import static org.mockito.Mockito.*;
 
 class UserOrderControllerTest {
 
+    private final UserOrderHistoryService historyService = mock(UserOrderHistoryService.class);
+    private final OrderViewService viewService = mock(OrderViewService.class);
+    private final UserOrderController controller = new UserOrderController(historyService, viewService);
+
     private Authentication auth() {
         Authentication authentication = mock(Authentication.class);
         CustomUserDetails details = new CustomUserDetails(1L, "user", "u@example.com", "pass",
@@ -25,39 +33,32 @@ class UserOrderControllerTest {
 
     @Test
     void getOrdersAndOrderDetails() throws Exception {
-        OrderService orderService = mock(OrderService.class);
-        when(orderService.getOrderResponsesByUserId(1L)).thenReturn(List.of(new OrderResponseDTO()));
-        when(orderService.getUserOrderById(1L, 2L)).thenReturn(new OrderResponseDTO());
+        when(historyService.getOrderHistory(1L, 0, 20))
+                .thenReturn(new SliceImpl<>(List.of(new OrderSummaryDTO()), PageRequest.of(0, 20), false));
+        when(viewService.getUserOrder(1L, 2L)).thenReturn(new PublicOrderDTO());
 
-        UserOrderController controller = new UserOrderController(orderService);
-        assertEquals(HttpStatus.OK, controller.getUserOrders(auth()).getStatusCode());
+        assertEquals(HttpStatus.OK, controller.getUserOrders(auth(), 0, 20).getStatusCode());
         assertEquals(HttpStatus.OK, controller.getOrderDetails(2L, auth()).getStatusCode());
     }
 
     @Test
     void handlesForbiddenAndNotFound() throws Exception {
-        OrderService orderService = mock(OrderService.class);
-        when(orderService.getUserOrderById(1L, 2L)).thenThrow(new IllegalAccessException("no"));
+        when(viewService.getUserOrder(1L, 2L)).thenThrow(new IllegalAccessException("no"));
 
-        UserOrderController controller = new UserOrderController(orderService);
         assertEquals(HttpStatus.FORBIDDEN, controller.getOrderDetails(2L, auth()).getStatusCode());
     }
 
     @Test
     void handlesOrderListError() {
-        OrderService orderService = mock(OrderService.class);
-        when(orderService.getOrderResponsesByUserId(1L)).thenThrow(new RuntimeException("fail"));
+        when(historyService.getOrderHistory(1L, 0, 20)).thenThrow(new RuntimeException("fail"));
 
-        UserOrderController controller = new UserOrderController(orderService);
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, controller.getUserOrders(auth()).getStatusCode());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, controller.getUserOrders(auth(), 0, 20).getStatusCode());
     }
 
     @Test
     void handlesOrderNotFound() throws Exception {
-        OrderService orderService = mock(OrderService.class);
-        when(orderService.getUserOrderById(1L, 3L)).thenThrow(new RuntimeException("missing"));
+        when(viewService.getUserOrder(1L, 3L)).thenThrow(new RuntimeException("missing"));
 
-        UserOrderController controller = new UserOrderController(orderService);
         assertEquals(HttpStatus.NOT_FOUND, controller.getOrderDetails(3L, auth()).getStatusCode());
     }
 }
@@ -0,0 +1,164 @@
+package com.example.buildnest_ecommerce.event;
+
+import com.example.buildnest_ecommerce.config.properties.EventBusProperties;
+import com.example.buildnest_ecommerce.event.bus.DomainEventCodec;
+import com.example.buildnest_ecommerce.event.bus.OutboxEventRelay;
+import com.example.buildnest_ecommerce.model.entity.OutboxEvent;
+import com.example.buildnest_ecommerce.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DomainEventPublisherTest {
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final OutboxEventRepository outboxRepository = mock(OutboxEventRepository.class);
+    private final OutboxEventRelay relay = mock(OutboxEventRelay.class);
+    private final EventBusProperties properties = new EventBusProperties();
+    private final DomainEventCodec codec = new DomainEventCodec(new ObjectMapper());
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final DomainEventPublisher publisher = new DomainEventPublisher(eventPublisher, outboxRepository,
+            codec, relay, properties, Clock.systemDefaultZone(), transactionManager);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(publisher);
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(s -> s.beforeCommit(false));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OutboxEvent> savedRows() {
+        ArgumentCaptor<List<OutboxEvent>> rows = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).saveAll(rows.capture());
+        return rows.getValue();
+    }
+
+    @Test
+    void writesBusEventsToTheOutbox() {
+        publisher.publish(new PaymentFailedEvent(this, 12L, "declined"));
+
+        List<OutboxEvent> rows = savedRows();
+        assertEquals(1, rows.size());
+        assertEquals("payment.failed", rows.get(0).getEventType());
+        assertEquals("12", rows.get(0).getAggregateId());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        verify(relay).wake();
+    }
+
+    @Test
+    void collectsEventsUntilTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publish(new PaymentFailedEvent(this, 12L, "declined"));
+        publisher.publish(new UserRegisteredEvent(this, 3L, "a@b.c"));
+
+        verifyNoInteractions(outboxRepository, relay);
+        commit();
+        assertEquals(List.of("payment.failed", "user.registered"),
+                savedRows().stream().map(OutboxEvent::getEventType).toList());
+        verify(relay).wake();
+        assertNull(TransactionSynchronizationManager.getResource(publisher));
+    }
+
+    @Test
+    void mergesRepeatedEventsForTheSameAggregate() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publish(new OrderStatusChangedEvent(this, 5L, "PENDING", "CONFIRMED"));
+        publisher.publish(new LowStockWarningEvent(this, 9L, "Cement", 4, 5));
+        publisher.publish(new OrderStatusChangedEvent(this, 5L, "CONFIRMED", "SHIPPED"));
+        publisher.publish(new LowStockWarningEvent(this, 9L, "Cement", 0, 5));
+        publisher.publish(new LowStockWarningEvent(this, 10L, "Sand", 1, 5));
+        commit();
+
+        List<OutboxEvent> rows = savedRows();
+        assertEquals(3, rows.size());
+        OrderStatusChangedEvent status = (OrderStatusChangedEvent) codec.decode(codec.fromOutbox(rows.get(0)), this);
+        assertEquals("PENDING", status.getPreviousStatus());
+        assertEquals("SHIPPED", status.getNewStatus());
+        LowStockWarningEvent cement = (LowStockWarningEvent) codec.decode(codec.fromOutbox(rows.get(1)), this);
+        assertEquals(0, cement.getCurrentStock());
+        assertEquals("10", rows.get(2).getAggregateId());
+    }
+
+    @Test
+    void dropsEventsWhenTheTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publish(new PaymentFailedEvent(this, 12L, "declined"));
+        publisher.publish(new Object());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(outboxRepository, relay, eventPublisher);
+        assertNull(TransactionSynchronizationManager.getResource(publisher));
+    }
+
+    @Test
+    void publishesOtherEventsInProcess() {
+        Object event = new Object();
+
+        publisher.publish(event);
+
+        verify(eventPublisher).publishEvent(event);
+        verifyNoInteractions(outboxRepository, relay);
+    }
+
+    @Test
+    void publishesInProcessAfterCommitWhenTheOutboxIsDisabled() {
+        properties.getOutbox().setEnabled(false);
+        TransactionSynchronizationManager.initSynchronization();
+        PaymentFailedEvent event = new PaymentFailedEvent(this, 12L, "declined");
+
+        publisher.publish(event);
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        commit();
+        verify(eventPublisher).publishEvent((Object) event);
+        verifyNoInteractions(outboxRepository, relay);
+    }
+
+    @Test
+    void publishesEachEventAfterCommitInANewTransaction() {
+        properties.getOutbox().setEnabled(false);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        doAnswer(invocation -> {
+            // A listener raising events of its own must not add them to the finished batch
+            assertNull(TransactionSynchronizationManager.getResource(publisher));
+            return null;
+        }).when(eventPublisher).publishEvent(any(Object.class));
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publish(new PaymentFailedEvent(this, 12L, "declined"));
+        publisher.publish(new UserRegisteredEvent(this, 3L, "a@b.c"));
+        commit();
+
+        verify(transactionManager, times(2)).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager, times(2)).commit(any());
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.buildnest_ecommerce.event.bus;
+
+import com.example.buildnest_ecommerce.event.LowStockWarningEvent;
+import com.example.buildnest_ecommerce.event.OrderPlacedEvent;
+import com.example.buildnest_ecommerce.event.PaymentFailedEvent;
+import com.example.buildnest_ecommerce.event.PaymentSuccessfulEvent;
+import com.example.buildnest_ecommerce.model.entity.Order;
+import com.example.buildnest_ecommerce.model.entity.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainEventCodecTest {
+
+    private final DomainEventCodec codec = new DomainEventCodec(new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    private final Clock clock = Clock.systemDefaultZone();
+
+    private Object roundTrip(Object event) {
+        OutboxEvent row = codec.toOutbox(codec.encode(event, clock));
+        return codec.decode(codec.fromOutbox(row), this);
+    }
+
+    @Test
+    void orderPlacedKeepsTheFieldsListenersRead() {
+        Order order = new Order();
+        order.setId(42L);
+        order.setStatus(Order.OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("1234.50"));
+
+        EventEnvelope envelope = codec.encode(new OrderPlacedEvent(this, order, 7L), clock);
+        OrderPlacedEvent decoded = (OrderPlacedEvent) codec.decode(codec.fromOutbox(codec.toOutbox(envelope)), this);
+
+        assertEquals("order.placed", envelope.eventType());
+        assertEquals("order:42", envelope.partitionKey());
+        assertEquals(42L, decoded.getOrderId());
+        assertEquals("PENDING", decoded.getStatus());
+        assertEquals(new BigDecimal("1234.50"), decoded.getTotalAmount());
+        assertEquals(7L, decoded.getUserId());
+    }
+
+    @Test
+    void paymentAndInventoryEventsRoundTrip() {
+        PaymentSuccessfulEvent success = (PaymentSuccessfulEvent) roundTrip(
+                new PaymentSuccessfulEvent(this, 3L, 9L, new BigDecimal("99.99")));
+        assertEquals(3L, success.getPaymentId());
+        assertEquals(9L, success.getOrderId());
+        assertEquals(new BigDecimal("99.99"), success.getAmount());
+
+        LowStockWarningEvent lowStock = (LowStockWarningEvent) roundTrip(
+                new LowStockWarningEvent(this, 5L, "Cement", 2, 10));
+        assertEquals(5L, lowStock.getProductId());
+        assertEquals("Cement", lowStock.getProductName());
+        assertEquals(2, lowStock.getCurrentStock());
+        assertEquals(10, lowStock.getMinimumStock());
+    }
+
+    @Test
+    void eventWithoutAggregateIdHasNoPartitionKey() {
+        EventEnvelope envelope = codec.encode(new PaymentFailedEvent(this, null, "declined"), clock);
+
+        assertNull(envelope.aggregateId());
+        assertNull(envelope.partitionKey());
+        assertEquals("declined", ((PaymentFailedEvent) codec.decode(envelope, this)).getReason());
+    }
+
+    @Test
+    void envelopeSurvivesTheWireFormat() {
+        EventEnvelope envelope = codec.encode(new LowStockWarningEvent(this, 5L, "Cement", 2, 10), clock);
+
+        EventEnvelope read = codec.read(codec.write(envelope));
+
+        assertEquals(envelope.eventId(), read.eventId());
+        assertEquals(envelope.occurredAt(), read.occurredAt());
+        assertEquals("product:5", read.partitionKey());
+    }
+
+    @Test
+    void onlyRegisteredEventsUseTheBus() {
+        assertFalse(codec.supports("not an event"));
+        assertNull(codec.decode(new EventEnvelope("id", "unknown.type", "x", "1", clock.instant(), Map.of()), this));
+    }
+}
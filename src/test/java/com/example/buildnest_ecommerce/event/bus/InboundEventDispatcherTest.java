@@ -0,0 +1,69 @@
+package com.example.buildnest_ecommerce.event.bus;
+
+import com.example.buildnest_ecommerce.config.properties.EventBusProperties;
+import com.example.buildnest_ecommerce.event.UserRegisteredEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class InboundEventDispatcherTest {
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Clock clock = Clock.systemDefaultZone();
+    private final DomainEventCodec codec = new DomainEventCodec(new ObjectMapper());
+    private final InboundEventDispatcher dispatcher = new InboundEventDispatcher(codec, eventPublisher, jdbcTemplate,
+            mock(PlatformTransactionManager.class), new EventBusProperties(), clock, meterRegistry);
+
+    private double consumed(String outcome) {
+        return meterRegistry.get("events.consumed").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void publishesAnEventTheFirstTimeItArrives() {
+        EventEnvelope envelope = codec.encode(new UserRegisteredEvent(this, 8L, "a@b.c"), clock);
+
+        assertTrue(dispatcher.dispatch(envelope));
+
+        verify(jdbcTemplate).update(eq(InboundEventDispatcher.INSERT_CONSUMED_SQL), eq("buildnest-ecommerce"),
+                eq(envelope.eventId()), any());
+        ArgumentCaptor<Object> published = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(published.capture());
+        assertEquals(8L, ((UserRegisteredEvent) published.getValue()).getUserId());
+        assertEquals(1.0, consumed("handled"));
+    }
+
+    @Test
+    void skipsAnEventAlreadyConsumed() {
+        when(jdbcTemplate.update(eq(InboundEventDispatcher.INSERT_CONSUMED_SQL), any(), any(), any()))
+                .thenThrow(new DuplicateKeyException("uk_consumed_event"));
+
+        assertFalse(dispatcher.dispatch(codec.encode(new UserRegisteredEvent(this, 8L, "a@b.c"), clock)));
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        assertEquals(1.0, consumed("duplicate"));
+    }
+
+    @Test
+    void ignoresUnknownEventTypes() {
+        assertFalse(dispatcher.dispatch(new EventEnvelope("e-1", "cart.abandoned", "cart", "1", clock.instant(),
+                Map.of())));
+
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+        assertEquals(1.0, consumed("unknown"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.buildnest_ecommerce.event.bus;
+
+import com.example.buildnest_ecommerce.config.properties.EventBusProperties;
+import com.example.buildnest_ecommerce.config.properties.SchedulerProperties;
+import com.example.buildnest_ecommerce.event.LowStockWarningEvent;
+import com.example.buildnest_ecommerce.model.entity.OutboxEvent;
+import com.example.buildnest_ecommerce.repository.OutboxEventRepository;
+import com.example.buildnest_ecommerce.service.scheduler.lock.JobLock;
+import com.example.buildnest_ecommerce.service.scheduler.lock.JobLockProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OutboxEventRelayTest {
+
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final EventTransport transport = mock(EventTransport.class);
+    private final JobLockProvider lockProvider = mock(JobLockProvider.class);
+    private final SchedulerProperties schedulerProperties = new SchedulerProperties();
+    private final EventBusProperties properties = new EventBusProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Clock clock = Clock.systemDefaultZone();
+    private final DomainEventCodec codec = new DomainEventCodec(new ObjectMapper().findAndRegisterModules());
+
+    @BeforeEach
+    void setUp() {
+        when(lockProvider.tryAcquire(eq(OutboxEventRelay.LOCK_NAME), anyString(), any()))
+                .thenReturn(Optional.of(new JobLock(OutboxEventRelay.LOCK_NAME, "me", 1L, Instant.now())));
+    }
+
+    private OutboxEventRelay relay() {
+        return new OutboxEventRelay(repository, codec, transport, lockProvider, schedulerProperties, properties,
+                clock, meterRegistry);
+    }
+
+    private OutboxEvent row(long id, long productId) {
+        OutboxEvent row = codec.toOutbox(codec.encode(
+                new LowStockWarningEvent(this, productId, "P" + productId, 1, 5), clock));
+        row.setId(id);
+        return row;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publishesABatchInOrderAndMarksIt() throws Exception {
+        when(repository.findUnpublished(any())).thenReturn(List.of(row(1L, 10L), row(2L, 11L)));
+
+        assertEquals(2, relay().relayBatch());
+
+        ArgumentCaptor<List<EventEnvelope>> sent = ArgumentCaptor.forClass(List.class);
+        verify(transport).send(sent.capture());
+        assertEquals(List.of("product:10", "product:11"),
+                sent.getValue().stream().map(EventEnvelope::partitionKey).toList());
+        verify(repository).markPublished(eq(List.of(1L, 2L)), any());
+        assertEquals(2.0, meterRegistry.get("events.outbox.published").counter().count());
+    }
+
+    @Test
+    void leavesTheBatchUnpublishedWhenTheTransportFails() throws Exception {
+        when(repository.findUnpublished(any())).thenReturn(List.of(row(5L, 10L), row(6L, 11L)));
+        doThrow(new IOException("broker down")).when(transport).send(anyList());
+
+        assertEquals(0, relay().relayBatch());
+
+        verify(repository, never()).markPublished(any(), any());
+        verify(repository).recordFailure(5L, "broker down");
+        assertEquals(1.0, meterRegistry.get("events.outbox.failures").counter().count());
+    }
+
+    @Test
+    void publishesTheEventsAheadOfTheOneThatFails() throws Exception {
+        when(repository.findUnpublished(any())).thenReturn(List.of(row(1L, 10L), row(2L, 11L), row(3L, 12L)));
+        doAnswer(invocation -> {
+            List<EventEnvelope> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(envelope -> envelope.partitionKey().equals("product:11"))) {
+                throw new IllegalStateException("listener failed");
+            }
+            return null;
+        }).when(transport).send(anyList());
+
+        assertEquals(1, relay().relayBatch());
+
+        verify(repository).markPublished(eq(List.of(1L)), any());
+        verify(repository).recordFailure(2L, "listener failed");
+        verify(repository, never()).markPublished(eq(List.of(3L)), any());
+        verify(repository, never()).park(any(), any());
+    }
+
+    @Test
+    void parksAnEventOnceItHasUsedUpItsAttempts() throws Exception {
+        properties.getOutbox().setMaxAttempts(3);
+        OutboxEvent poison = row(7L, 10L);
+        poison.setAttempts(2);
+        when(repository.findUnpublished(any())).thenReturn(List.of(poison));
+        doThrow(new IllegalStateException("listener failed")).when(transport).send(anyList());
+
+        assertEquals(1, relay().relayBatch());
+
+        verify(repository).recordFailure(7L, "listener failed");
+        verify(repository).park(eq(7L), any());
+        assertEquals(1.0, meterRegistry.get("events.outbox.parked").counter().count());
+    }
+
+    @Test
+    void onlyTheLockHolderRelays() {
+        when(lockProvider.tryAcquire(eq(OutboxEventRelay.LOCK_NAME), anyString(), any())).thenReturn(Optional.empty());
+
+        assertEquals(0, relay().relayBatch());
+
+        verifyNoInteractions(repository, transport);
+    }
+
+    @Test
+    void renewsTheLockOnceItsTermIsOver() {
+        JobLock stale = new JobLock(OutboxEventRelay.LOCK_NAME, "me", 1L, Instant.now().minusSeconds(60));
+        when(lockProvider.tryAcquire(eq(OutboxEventRelay.LOCK_NAME), anyString(), any()))
+                .thenReturn(Optional.of(stale))
+                .thenReturn(Optional.of(new JobLock(OutboxEventRelay.LOCK_NAME, "me", 2L, Instant.now())));
+        OutboxEventRelay relay = relay();
+
+        relay.relayBatch();
+        relay.relayBatch();
+        relay.relayBatch();
+
+        verify(lockProvider).release(stale, Duration.ZERO);
+        verify(lockProvider, times(2)).tryAcquire(eq(OutboxEventRelay.LOCK_NAME), anyString(), any());
+    }
+
+    @Test
+    void relaysWithoutALockWhenClusterLocksAreOff() {
+        schedulerProperties.getLock().setEnabled(false);
+
+        relay().relayBatch();
+
+        verifyNoInteractions(lockProvider);
+        verify(repository).findUnpublished(any());
+    }
+}
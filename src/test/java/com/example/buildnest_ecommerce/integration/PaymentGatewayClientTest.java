@@ -0,0 +1,188 @@
+package com.example.buildnest_ecommerce.integration;
+
+import com.example.buildnest_ecommerce.config.properties.PaymentProperties;
+import com.razorpay.Payment;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PaymentGatewayClientTest {
+
+    private final PaymentGateway gateway = mock(PaymentGateway.class);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final PaymentProperties properties = new PaymentProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private CircuitBreaker circuitBreaker = CircuitBreaker.of("gateway", CircuitBreakerConfig.custom()
+            .minimumNumberOfCalls(2)
+            .slidingWindowSize(2)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .ignoreExceptions(RejectedExecutionException.class)
+            .build());
+    private PaymentGatewayClient client;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (client != null) {
+            client.shutdown();
+        }
+        executor.shutdownNow();
+    }
+
+    private PaymentGatewayClient client(long timeoutMs) {
+        client = new PaymentGatewayClient(gateway, executor, circuitBreaker,
+                TimeLimiter.of(TimeLimiterConfig.custom().timeoutDuration(Duration.ofMillis(timeoutMs)).build()),
+                properties, meterRegistry);
+        return client;
+    }
+
+    private <T> T blockUntilReleased(T value) {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    @Test
+    void callsRunOffTheCallingThread() {
+        when(gateway.createOrder(100.0, 1L)).thenAnswer(invocation -> blockUntilReleased("order_1"));
+
+        var order = client(5_000L).createOrder(100.0, 1L);
+
+        assertFalse(order.isDone());
+        release.countDown();
+        assertEquals("order_1", order.join());
+    }
+
+    @Test
+    void slowCallsTimeOutAndOpenTheBreaker() {
+        when(gateway.createOrder(100.0, 1L)).thenAnswer(invocation -> blockUntilReleased("order_1"));
+        PaymentGatewayClient payments = client(50L);
+
+        for (int i = 0; i < 2; i++) {
+            CompletionException error = assertThrows(CompletionException.class,
+                    () -> payments.createOrder(100.0, 1L).join());
+            assertInstanceOf(TimeoutException.class, error.getCause());
+        }
+
+        CompletionException rejected = assertThrows(CompletionException.class,
+                () -> payments.createOrder(100.0, 1L).join());
+        assertInstanceOf(CallNotPermittedException.class, rejected.getCause());
+        verify(gateway, times(2)).createOrder(100.0, 1L);
+    }
+
+    @Test
+    void fullBulkheadFailsFastWithoutTrippingTheBreaker() {
+        client = new PaymentGatewayClient(gateway, task -> {
+            throw new RejectedExecutionException("full");
+        }, circuitBreaker, TimeLimiter.ofDefaults(), properties, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            CompletionException error = assertThrows(CompletionException.class,
+                    () -> client.refundPayment("pay_1", 10.0).join());
+            assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void slowReadsAreHedgedAndTheFirstAnswerWins() {
+        properties.getGateway().setHedgeDelayMs(20L);
+        Payment slow = mock(Payment.class);
+        Payment fast = mock(Payment.class);
+        AtomicInteger calls = new AtomicInteger();
+        when(gateway.fetchPaymentDetails("pay_1")).thenAnswer(invocation ->
+                calls.incrementAndGet() == 1 ? blockUntilReleased(slow) : fast);
+
+        assertSame(fast, client(5_000L).fetchPaymentDetails("pay_1").join());
+        assertEquals(2, calls.get());
+        assertEquals(1.0, meterRegistry.get("payments.gateway.hedges").counter().count());
+    }
+
+    @Test
+    void orderCreatedAfterTheTimeoutIsCounted() {
+        when(gateway.createOrder(100.0, 1L)).thenAnswer(invocation -> blockUntilReleased("order_1"));
+        client = new PaymentGatewayClient(gateway, executor, circuitBreaker,
+                TimeLimiter.of(TimeLimiterConfig.custom().timeoutDuration(Duration.ofMillis(50L))
+                        .cancelRunningFuture(false).build()),
+                properties, meterRegistry);
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> client.createOrder(100.0, 1L).join());
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        release.countDown();
+
+        verify(gateway, timeout(1_000L)).createOrder(100.0, 1L);
+        long deadline = System.currentTimeMillis() + 1_000L;
+        while (meterRegistry.get("payments.gateway.late-orders").counter().count() == 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1.0, meterRegistry.get("payments.gateway.late-orders").counter().count());
+    }
+
+    @Test
+    void hedgeIsNotCountedWhenTheRetryAlreadyUsedTheLastAttempt() throws InterruptedException {
+        properties.getGateway().setHedgeDelayMs(50L);
+        circuitBreaker = CircuitBreaker.ofDefaults("reads");
+        Payment payment = mock(Payment.class);
+        AtomicInteger calls = new AtomicInteger();
+        when(gateway.fetchPaymentDetails("pay_1")).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new RuntimeException("reset");
+            }
+            return blockUntilReleased(payment);
+        });
+
+        var details = client(5_000L).fetchPaymentDetails("pay_1");
+        Thread.sleep(200L);
+        release.countDown();
+
+        assertSame(payment, details.join());
+        assertEquals(2, calls.get());
+        assertEquals(0.0, meterRegistry.get("payments.gateway.hedges").counter().count());
+    }
+
+    @Test
+    void failedReadIsSentAgainAndFailsOnlyWhenEveryCopyFailed() {
+        properties.getGateway().setHedgeDelayMs(60_000L);
+        properties.getGateway().setHedgeAttempts(3);
+        circuitBreaker = CircuitBreaker.ofDefaults("reads");
+        Payment payment = mock(Payment.class);
+        when(gateway.fetchPaymentDetails("pay_1"))
+                .thenThrow(new RuntimeException("reset"))
+                .thenReturn(payment);
+        when(gateway.fetchPaymentDetails("pay_2")).thenThrow(new RuntimeException("down"));
+        PaymentGatewayClient payments = client(5_000L);
+
+        assertSame(payment, payments.fetchPaymentDetails("pay_1").join());
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> payments.fetchPaymentDetails("pay_2").join());
+        assertEquals("down", error.getCause().getMessage());
+        verify(gateway, times(3)).fetchPaymentDetails("pay_2");
+    }
+}
@@ -8,6 +8,8 @@ import com.razorpay.RazorpayClient;
 import org.json.JSONObject;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import com.example.buildnest_ecommerce.config.properties.RazorpayProperties;
+import com.example.buildnest_ecommerce.security.HmacSigner;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.crypto.Mac;
@@ -33,13 +35,28 @@ class RazorpayClientAdapterTest {
         return result.toString();
     }
 
+    private RazorpayClientAdapter adapter(String secret, RazorpayClient client) {
+        RazorpayProperties properties = new RazorpayProperties();
+        properties.setId("key");
+        properties.setSecret(secret);
+        return new RazorpayClientAdapter(properties, new HmacSigner(), client);
+    }
+
+    @Test
+    @DisplayName("Should create the SDK client eagerly")
+    void testEagerClient() {
+        RazorpayProperties properties = new RazorpayProperties();
+        properties.setId("key");
+        properties.setSecret("secret");
+
+        RazorpayClientAdapter adapter = new RazorpayClientAdapter(properties, new HmacSigner());
+
+        assertNotNull(ReflectionTestUtils.getField(adapter, "razorpayClient"));
+    }
+
     @Test
     @DisplayName("Should create order using client")
     void testCreateOrder() throws Exception {
-        RazorpayClientAdapter adapter = new RazorpayClientAdapter();
-        ReflectionTestUtils.setField(adapter, "razorpayKeyId", "key");
-        ReflectionTestUtils.setField(adapter, "razorpayKeySecret", "secret");
-
         RazorpayClient client = mock(RazorpayClient.class);
         OrderClient orderClient = mock(OrderClient.class);
         ReflectionTestUtils.setField(client, "orders", orderClient);
@@ -48,7 +65,7 @@ class RazorpayClientAdapterTest {
         when(orderClient.create(any(JSONObject.class))).thenReturn(order);
         when(order.get("id")).thenReturn("order_123");
 
-        ReflectionTestUtils.setField(adapter, "razorpayClient", client);
+        RazorpayClientAdapter adapter = adapter("secret", client);
 
         String id = adapter.createOrder(100.0, 1L);
         assertEquals("order_123", id);
@@ -57,21 +74,31 @@ class RazorpayClientAdapterTest {
     @Test
     @DisplayName("Should verify signature")
     void testVerifySignature() throws Exception {
-        RazorpayClientAdapter adapter = new RazorpayClientAdapter();
-        ReflectionTestUtils.setField(adapter, "razorpayKeySecret", "secret");
+        RazorpayClientAdapter adapter = adapter("secret", mock(RazorpayClient.class));
 
         String signature = hmacSha256("order|pay", "secret");
         assertTrue(adapter.verifySignature("order", "pay", signature));
         assertFalse(adapter.verifySignature("order", "pay", signature + "x"));
     }
 
+    @Test
+    @DisplayName("Should accept signatures made with the previous secret during a rotation")
+    void testVerifySignatureDuringRotation() throws Exception {
+        RazorpayProperties properties = new RazorpayProperties();
+        properties.setId("key");
+        properties.setSecret("new-secret");
+        properties.setPreviousSecret("old-secret");
+        RazorpayClientAdapter adapter = new RazorpayClientAdapter(properties, new HmacSigner(),
+                mock(RazorpayClient.class));
+
+        assertTrue(adapter.verifySignature("order", "pay", hmacSha256("order|pay", "new-secret")));
+        assertTrue(adapter.verifySignature("order", "pay", hmacSha256("order|pay", "old-secret")));
+        assertFalse(adapter.verifySignature("order", "pay", hmacSha256("order|pay", "other-secret")));
+    }
+
     @Test
     @DisplayName("Should fetch payment details")
     void testFetchPaymentDetails() throws Exception {
-        RazorpayClientAdapter adapter = new RazorpayClientAdapter();
-        ReflectionTestUtils.setField(adapter, "razorpayKeyId", "key");
-        ReflectionTestUtils.setField(adapter, "razorpayKeySecret", "secret");
-
         RazorpayClient client = mock(RazorpayClient.class);
         PaymentClient paymentClient = mock(PaymentClient.class);
         ReflectionTestUtils.setField(client, "payments", paymentClient);
@@ -79,7 +106,7 @@ class RazorpayClientAdapterTest {
         Payment payment = mock(Payment.class);
         when(paymentClient.fetch("pay_1")).thenReturn(payment);
 
-        ReflectionTestUtils.setField(adapter, "razorpayClient", client);
+        RazorpayClientAdapter adapter = adapter("secret", client);
 
         assertEquals(payment, adapter.fetchPaymentDetails("pay_1"));
     }
@@ -87,12 +114,8 @@ class RazorpayClientAdapterTest {
     @Test
     @DisplayName("Should process refund without error")
     void testRefundPayment() {
-        RazorpayClientAdapter adapter = new RazorpayClientAdapter();
-        ReflectionTestUtils.setField(adapter, "razorpayKeyId", "key");
-        ReflectionTestUtils.setField(adapter, "razorpayKeySecret", "secret");
-
         RazorpayClient client = mock(RazorpayClient.class);
-        ReflectionTestUtils.setField(adapter, "razorpayClient", client);
+        RazorpayClientAdapter adapter = adapter("secret", client);
 
         assertDoesNotThrow(() -> adapter.refundPayment("pay_1", 50.0));
     }
@@ -100,8 +123,7 @@ class RazorpayClientAdapterTest {
     @Test
     @DisplayName("Should return false when signature verification fails")
     void testVerifySignatureFailure() {
-        RazorpayClientAdapter adapter = new RazorpayClientAdapter();
-        ReflectionTestUtils.setField(adapter, "razorpayKeySecret", null);
+        RazorpayClientAdapter adapter = adapter(null, mock(RazorpayClient.class));
 
         assertFalse(adapter.verifySignature("order", "pay", "sig"));
     }
@@ -0,0 +1,164 @@
+package com.example.buildnest_ecommerce.integration;
+
+import com.example.buildnest_ecommerce.config.properties.PaymentProperties;
+import com.example.buildnest_ecommerce.config.properties.RazorpayProperties;
+import com.example.buildnest_ecommerce.exception.ExternalServiceException;
+import com.example.buildnest_ecommerce.repository.PaymentRepository;
+import com.example.buildnest_ecommerce.security.HmacSigner;
+import com.example.buildnest_ecommerce.service.payment.PaymentService;
+import com.razorpay.RazorpayClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SimulatedPaymentGatewayTest {
+
+    private final RazorpayProperties razorpayProperties = new RazorpayProperties();
+    private final PaymentProperties properties = new PaymentProperties();
+    private final PaymentService paymentService = mock(PaymentService.class);
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SimulatedPaymentGateway gateway;
+
+    @BeforeEach
+    void setUp() {
+        razorpayProperties.setSecret("sim_secret");
+        properties.getSimulator().getLatency().setDistribution("none");
+        properties.getSimulator().getCallbacks().setPaymentRate(1.0);
+        properties.getSimulator().getCallbacks().setDuplicateRate(0.0);
+        properties.getSimulator().getCallbacks().setDelayMs(0L);
+        properties.getSimulator().getCallbacks().setReorderWindowMs(20L);
+        when(paymentRepository.existsByRazorpayOrderId(anyString())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (gateway != null) {
+            gateway.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private SimulatedPaymentGateway gateway() {
+        ObjectProvider<PaymentService> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(paymentService);
+        gateway = new SimulatedPaymentGateway(razorpayProperties, new HmacSigner(), properties, provider,
+                paymentRepository, meterRegistry);
+        return gateway;
+    }
+
+    @Test
+    void paysOrdersWithCallbacksTheRealVerifierAccepts() {
+        String orderId = gateway().createOrder(100.0, 1L);
+
+        ArgumentCaptor<String> paymentId = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> signature = ArgumentCaptor.forClass(String.class);
+        verify(paymentService, timeout(2_000)).processPaymentCallback(eq(orderId), paymentId.capture(),
+                signature.capture());
+        assertTrue(orderId.startsWith("order_sim_"));
+        RazorpayClientAdapter razorpay = new RazorpayClientAdapter(razorpayProperties, new HmacSigner(),
+                mock(RazorpayClient.class));
+        assertTrue(razorpay.verifySignature(orderId, paymentId.getValue(), signature.getValue()));
+        assertTrue(gateway.verifySignature(orderId, paymentId.getValue(), signature.getValue()));
+        assertFalse(gateway.verifySignature(orderId, paymentId.getValue(), "forged"));
+    }
+
+    @Test
+    void holdsCallbacksUntilThePaymentRowIsSaved() throws InterruptedException {
+        AtomicBoolean saved = new AtomicBoolean();
+        when(paymentRepository.existsByRazorpayOrderId(anyString())).thenAnswer(invocation -> saved.get());
+
+        String orderId = gateway().createOrder(100.0, 1L);
+        Thread.sleep(200L);
+        verifyNoInteractions(paymentService);
+
+        saved.set(true);
+        verify(paymentService, timeout(2_000)).processPaymentCallback(eq(orderId), anyString(), anyString());
+    }
+
+    @Test
+    void dropsCallbacksForOrdersThatNeverGetAPayment() {
+        properties.getSimulator().getCallbacks().setPaymentWaitMs(100L);
+        when(paymentRepository.existsByRazorpayOrderId(anyString())).thenReturn(false);
+
+        gateway().createOrder(100.0, 1L);
+
+        verify(paymentRepository, timeout(2_000).atLeast(2)).existsByRazorpayOrderId(anyString());
+        long deadline = System.currentTimeMillis() + 2_000L;
+        while (meterRegistry.find("payments.simulator.callbacks").tag("outcome", "unmatched").counter() == null
+                && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1.0, meterRegistry.get("payments.simulator.callbacks").tag("outcome", "unmatched")
+                .counter().count());
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    void repeatsAndRetriesCallbacks() {
+        properties.getSimulator().getCallbacks().setDuplicateRate(1.0);
+        properties.getSimulator().getCallbacks().setMaxAttempts(2);
+        when(paymentService.processPaymentCallback(anyString(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("Payment not found"))
+                .thenReturn(null);
+
+        String orderId = gateway().createOrder(100.0, 1L);
+
+        verify(paymentService, timeout(2_000).times(3)).processPaymentCallback(eq(orderId), anyString(),
+                anyString());
+        assertEquals(1.0, meterRegistry.get("payments.simulator.callbacks").tag("outcome", "retried")
+                .counter().count());
+    }
+
+    @Test
+    void injectsFailuresAndRejectsInvalidAmounts() {
+        properties.getSimulator().setErrorRate(1.0);
+        SimulatedPaymentGateway failing = gateway();
+
+        assertThrows(ExternalServiceException.class, () -> failing.createOrder(100.0, 1L));
+        assertThrows(ExternalServiceException.class, () -> failing.fetchPaymentDetails("pay_1"));
+        assertThrows(IllegalArgumentException.class, () -> failing.createOrder(0.0, 1L));
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    void samplesLatencyFromTheConfiguredDistribution() {
+        PaymentProperties.Latency latency = properties.getSimulator().getLatency();
+        latency.setDistribution("fixed");
+        latency.setMedianMs(40L);
+        assertEquals(40L, gateway().sampleLatencyMs());
+        gateway.shutdown();
+
+        latency.setDistribution("lognormal");
+        latency.setMinMs(10L);
+        latency.setMedianMs(100L);
+        latency.setP99Ms(1_000L);
+        latency.setMaxMs(2_000L);
+        SimulatedPaymentGateway lognormal = gateway();
+        int belowMedian = 0;
+        for (int i = 0; i < 2_000; i++) {
+            long millis = lognormal.sampleLatencyMs();
+            assertTrue(millis >= 10L && millis <= 2_000L);
+            if (millis < 100L) {
+                belowMedian++;
+            }
+        }
+        assertTrue(belowMedian > 850 && belowMedian < 1_150, "about half below the median: " + belowMedian);
+    }
+
+    @Test
+    void rejectsUnknownDistributions() {
+        properties.getSimulator().getLatency().setDistribution("pareto");
+
+        assertThrows(IllegalArgumentException.class, this::gateway);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.buildnest_ecommerce.interceptor;
+
+import com.example.buildnest_ecommerce.util.CorrelationId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/products");
+        response = new MockHttpServletResponse();
+    }
+
+    private String runAndCapture() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        filter.doFilter(request, response, (req, res) -> seen.set(CorrelationId.current()));
+        return seen.get();
+    }
+
+    @Test
+    void generatesIdWhenNoneIsSent() throws Exception {
+        String seen = runAndCapture();
+
+        assertNotNull(seen);
+        assertEquals(36, seen.length());
+        assertEquals(seen, response.getHeader(CorrelationId.HEADER));
+    }
+
+    @Test
+    void keepsInboundId() throws Exception {
+        request.addHeader(CorrelationId.HEADER, "checkout-42.a");
+
+        assertEquals("checkout-42.a", runAndCapture());
+        assertEquals("checkout-42.a", response.getHeader(CorrelationId.HEADER));
+    }
+
+    @Test
+    void fallsBackToRequestIdHeader() throws Exception {
+        request.addHeader(CorrelationIdFilter.REQUEST_ID_HEADER, "lb-7f3a");
+
+        assertEquals("lb-7f3a", runAndCapture());
+    }
+
+    @Test
+    void replacesMalformedInboundId() throws Exception {
+        request.addHeader(CorrelationId.HEADER, "bad id\r\ninjected");
+
+        String seen = runAndCapture();
+
+        assertNotEquals("bad id\r\ninjected", seen);
+        assertTrue(CorrelationId.isValid(seen));
+    }
+
+    @Test
+    void replacesOverlongInboundId() throws Exception {
+        request.addHeader(CorrelationId.HEADER, "x".repeat(CorrelationId.MAX_LENGTH + 1));
+
+        assertEquals(36, runAndCapture().length());
+    }
+
+    @Test
+    void clearsMdcAfterRequest() throws Exception {
+        runAndCapture();
+
+        assertNull(MDC.get(CorrelationId.MDC_KEY));
+    }
+}
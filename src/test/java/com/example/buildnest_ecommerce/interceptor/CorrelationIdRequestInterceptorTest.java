@@ -0,0 +1,54 @@
+package com.example.buildnest_ecommerce.interceptor;
+
+import com.example.buildnest_ecommerce.util.CorrelationId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CorrelationIdRequestInterceptorTest {
+
+    private final CorrelationIdRequestInterceptor interceptor = new CorrelationIdRequestInterceptor();
+    private final ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST,
+            URI.create("https://hooks.example.com/orders"));
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void addsCurrentIdToOutboundRequest() throws Exception {
+        MDC.put(CorrelationId.MDC_KEY, "req-1");
+
+        interceptor.intercept(request, new byte[0], execution);
+
+        assertEquals("req-1", request.getHeaders().getFirst(CorrelationId.HEADER));
+        verify(execution).execute(request, new byte[0]);
+    }
+
+    @Test
+    void keepsHeaderSetByCaller() throws Exception {
+        MDC.put(CorrelationId.MDC_KEY, "req-1");
+        request.getHeaders().set(CorrelationId.HEADER, "explicit");
+
+        interceptor.intercept(request, new byte[0], execution);
+
+        assertEquals("explicit", request.getHeaders().getFirst(CorrelationId.HEADER));
+    }
+
+    @Test
+    void leavesRequestAloneOutsideARequest() throws Exception {
+        interceptor.intercept(request, new byte[0], execution);
+
+        assertFalse(request.getHeaders().containsKey(CorrelationId.HEADER));
+    }
+}
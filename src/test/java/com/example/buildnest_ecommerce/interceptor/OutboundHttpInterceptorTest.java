@@ -0,0 +1,164 @@
+package com.example.buildnest_ecommerce.interceptor;
+
+import com.example.buildnest_ecommerce.config.OutboundHttpConfig;
+import com.example.buildnest_ecommerce.config.properties.OutboundHttpProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundHttpInterceptorTest {
+
+    private final OutboundHttpProperties properties = new OutboundHttpProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile String acceptEncoding;
+    private ExecutorService serverThreads;
+    private HttpServer server;
+    private int port;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverThreads = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/gzip", exchange -> {
+            acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write("{\"ok\":true}".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, compressed.size());
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(compressed.toByteArray());
+            }
+        });
+        server.createContext("/empty", exchange -> {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.setExecutor(serverThreads);
+        server.start();
+        port = server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    private RestTemplate restTemplate() {
+        OutboundHttpConfig config = new OutboundHttpConfig();
+        return config.outboundRestTemplate(new RestTemplateBuilder(), config.outboundHttpClient(properties),
+                properties, meterRegistry);
+    }
+
+    private double gauge(String name, String host) {
+        return meterRegistry.get(name).tag("destination", host).gauge().value();
+    }
+
+    @Test
+    void asksForGzipAndUnpacksTheResponse() {
+        String body = restTemplate().getForObject("http://127.0.0.1:" + port + "/gzip", String.class);
+
+        assertEquals("{\"ok\":true}", body);
+        assertEquals("gzip", acceptEncoding);
+    }
+
+    @Test
+    void handlesEmptyBodyMarkedAsGzip() {
+        ResponseEntity<String> response = restTemplate()
+                .getForEntity("http://127.0.0.1:" + port + "/empty", String.class);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void releasesTheSlotWhenTheResponseIsClosed() {
+        properties.setMaxConnectionsPerHost(1);
+        properties.setAcquireTimeoutMs(200);
+        RestTemplate restTemplate = restTemplate();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("{\"ok\":true}",
+                    restTemplate.getForObject("http://127.0.0.1:" + port + "/gzip", String.class));
+        }
+        assertEquals(0.0, gauge("http.outbound.connections.active", "127.0.0.1"));
+    }
+
+    @Test
+    void rejectsCallersBeyondThePerHostLimit() throws Exception {
+        properties.setMaxConnectionsPerHost(1);
+        properties.setAcquireTimeoutMs(100);
+        RestTemplate restTemplate = restTemplate();
+        String slow = "http://127.0.0.1:" + port + "/slow";
+        CompletableFuture<ResponseEntity<Void>> first = CompletableFuture
+                .supplyAsync(() -> restTemplate.getForEntity(slow, Void.class));
+        long deadline = System.currentTimeMillis() + 2_000L;
+        while (meterRegistry.find("http.outbound.connections.active").gauge() == null
+                || gauge("http.outbound.connections.active", "127.0.0.1") < 1) {
+            assertTrue(System.currentTimeMillis() < deadline, "first request never started");
+            Thread.sleep(10L);
+        }
+
+        ResourceAccessException rejected = assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForEntity(slow, Void.class));
+
+        assertTrue(rejected.getMessage().contains("No free connection to 127.0.0.1"));
+        assertEquals(1.0, meterRegistry.get("http.outbound.connections.rejected")
+                .tag("destination", "127.0.0.1").counter().count());
+        assertEquals(0.0, gauge("http.outbound.connections.pending", "127.0.0.1"));
+        assertEquals(1.0, gauge("http.outbound.connections.max", "127.0.0.1"));
+        release.countDown();
+        assertEquals(HttpStatus.OK, first.get(5, TimeUnit.SECONDS).getStatusCode());
+    }
+
+    @Test
+    void appliesPerDestinationReadTimeouts() {
+        OutboundHttpProperties.Destination destination = new OutboundHttpProperties.Destination();
+        destination.setReadTimeoutMs(100L);
+        properties.getDestinations().put("127.0.0.1", destination);
+        RestTemplate restTemplate = restTemplate();
+
+        assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForEntity("http://127.0.0.1:" + port + "/slow", Void.class));
+
+        release.countDown();
+        assertEquals(HttpStatus.OK,
+                restTemplate.getForEntity("http://localhost:" + port + "/slow", Void.class).getStatusCode());
+    }
+}
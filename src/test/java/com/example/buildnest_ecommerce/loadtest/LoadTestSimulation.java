@@ -20,6 +20,8 @@ import static io.gatling.javaapi.http.HttpDsl.*;
  * - Sustained load testing
  * - Peak load testing
  * - Stress testing
+ * - Checkout and payment (start the server with the loadtest profile so
+ *   payments go to the in-process gateway simulator)
  */
 public class LoadTestSimulation extends Simulation {
 
@@ -99,6 +101,55 @@ public class LoadTestSimulation extends Simulation {
         ScenarioBuilder addToCartScenario = scenario("Add to Cart")
                         .exec(addToCartChain);
 
+        // Scenario: Checkout and Payment (TC-LOAD-005)
+        // Needs the server on the loadtest profile: payment initiation and the
+        // gateway callbacks are served by the in-process simulator
+        ChainBuilder checkoutAndPaymentChain = exec(
+                        http("Login")
+                                        .post("/api/auth/login")
+                                        .header("Content-Type", "application/json")
+                                        .body(StringBody("""
+                                                        {
+                                                            "username": "user1",
+                                                            "password": "Test@1234"
+                                                        }
+                                                        """))
+                                        .check(status().is(200))
+                                        .check(jsonPath("$.data.accessToken").saveAs("token"))
+                                        .check(jsonPath("$.data.userId").saveAs("userId")))
+                        .exec(
+                                        http("Add to Cart")
+                                                        .post("/api/cart/add?userId=#{userId}")
+                                                        .header("Authorization", "Bearer #{token}")
+                                                        .header("Content-Type", "application/json")
+                                                        .body(StringBody("""
+                                                                        {
+                                                                            "productId": 1,
+                                                                            "quantity": 1
+                                                                        }
+                                                                        """))
+                                                        .check(status().is(200)))
+                        .exec(
+                                        http("Get Cart")
+                                                        .get("/api/cart/#{userId}")
+                                                        .header("Authorization", "Bearer #{token}")
+                                                        .check(status().is(200))
+                                                        .check(jsonPath("$.data.cartId").saveAs("cartId")))
+                        .exec(
+                                        http("Process Checkout")
+                                                        .post("/api/checkout/process/#{cartId}")
+                                                        .header("Authorization", "Bearer #{token}")
+                                                        .check(status().is(201))
+                                                        .check(jsonPath("$.data.id").saveAs("orderId")))
+                        .exec(
+                                        http("Initiate Payment")
+                                                        .post("/api/checkout/payment/#{orderId}")
+                                                        .header("Authorization", "Bearer #{token}")
+                                                        .check(status().in(201, 503)));
+
+        ScenarioBuilder checkoutAndPaymentScenario = scenario("Checkout and Payment")
+                        .exec(checkoutAndPaymentChain);
+
         // Test 1: Ramp-Up Load Test
         // Gradually increase load to identify breaking point
         {
@@ -146,6 +197,16 @@ public class LoadTestSimulation extends Simulation {
                  * ).assertions(
                  * global().responseTime().percentile4().lt(15000)
                  * );
+                 * 
+                 * // Test 5: Checkout and Payment Throughput
+                 * // Requires the server on the loadtest profile (payment gateway simulator)
+                 * setUp(
+                 * checkoutAndPaymentScenario.injectOpen(
+                 * constantUsersPerSec(USERS_PEAK).during(Duration.ofMinutes(2))
+                 * ).protocols(httpProtocol)
+                 * ).assertions(
+                 * global().successfulRequests().percent().gt(98.0)
+                 * );
                  */
         }
 }
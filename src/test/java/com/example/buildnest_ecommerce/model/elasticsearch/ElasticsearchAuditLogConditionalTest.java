@@ -297,17 +297,18 @@ class ElasticsearchAuditLogConditionalTest {
     }
 
     @Test
-    @DisplayName("AllArgsConstructor - 16 parameter constructor")
+    @DisplayName("AllArgsConstructor - 17 parameter constructor")
     void testAllArgsConstructor() {
         LocalDateTime now = LocalDateTime.now();
         ElasticsearchAuditLog log = new ElasticsearchAuditLog(
                 "log-001", 100L, "CREATE", "User", 50L, now,
                 "192.168.1.1", "Mozilla/5.0", "oldVal", "newVal",
-                "WARN", 201, "CLIENT_ERROR", "/api/endpoint",
+                "WARN", 201, "CLIENT_ERROR", "/api/endpoint", "req-1",
                 new HashMap<>());
 
         assertNotNull(log.getId());
         assertEquals(100L, log.getUserId());
+        assertEquals("req-1", log.getCorrelationId());
     }
 
     @Test
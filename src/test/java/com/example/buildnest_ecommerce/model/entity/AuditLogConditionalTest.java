@@ -211,9 +211,10 @@ class AuditLogConditionalTest {
         LocalDateTime now = LocalDateTime.now();
         AuditLog log = new AuditLog(
                 1L, 100L, "CREATE", "User", 50L,
-                now, "192.168.1.1", "Chrome", "old", "new", 200, "SUCCESS");
+                now, "192.168.1.1", "Chrome", "old", "new", 200, "SUCCESS", "req-1");
 
         assertEquals(1L, log.getId());
+        assertEquals("req-1", log.getCorrelationId());
         assertEquals(100L, log.getUserId());
         assertEquals("CREATE", log.getAction());
     }
@@ -0,0 +1,116 @@
+package com.example.buildnest_ecommerce.performance;
+
+import com.example.buildnest_ecommerce.security.HmacSigner;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Payment callback signature checks per second, per core.
+ *
+ * "per-call" is the old verification path: look up and key a new Mac,
+ * hex-encode with Integer.toHexString and a StringBuilder, and compare
+ * with String.equals. "signer" is {@link HmacSigner#matchesHex}: a
+ * thread's pre-keyed Mac, no encoding, constant-time comparison. Both are
+ * measured on one thread and then on one thread per core.
+ *
+ * Tagged "stress"; run with: mvn test -Pstress-tests -Dtest=HmacSignerBenchmarkTest
+ */
+@Tag("stress")
+class HmacSignerBenchmarkTest {
+
+    private static final String SECRET = "rzp_test_secret_0123456789";
+    // Almost every callback is genuine, but a wrong signature costs the same to check
+    private static final String FORGED = "0".repeat(64);
+    private static final int WARMUP_CHECKS = 50_000;
+    private static final int MEASURED_CHECKS = 200_000;
+
+    private final HmacSigner signer = new HmacSigner();
+    private volatile long sink;
+
+    private interface Check {
+        boolean verify(String message, String signature) throws Exception;
+    }
+
+    @Test
+    void comparePerCallAndCachedVerification() throws Exception {
+        String message = "order_Nf3k29XbQ1|pay_Nf3kA8c2Lm";
+        String signature = signer.hex(SECRET, message);
+        assertTrue(perCall(message, signature));
+        assertTrue(signer.matchesHex(message, signature, SECRET));
+
+        Check perCall = this::perCall;
+        Check cached = (m, s) -> signer.matchesHex(m, s, SECRET);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        double perCallSingle = checksPerSecond(perCall, 1);
+        double cachedSingle = checksPerSecond(cached, 1);
+        double perCallAll = checksPerSecond(perCall, cores) / cores;
+        double cachedAll = checksPerSecond(cached, cores) / cores;
+        System.out.println(String.format(
+                "one thread: per-call %.0f checks/sec, signer %.0f checks/sec; "
+                        + "%d threads: per-call %.0f, signer %.0f checks/sec per core",
+                perCallSingle, cachedSingle, cores, perCallAll, cachedAll));
+
+        assertTrue(sink != 0);
+        assertTrue(cachedSingle > perCallSingle, "a pre-keyed Mac should verify faster than keying per call");
+    }
+
+    private double checksPerSecond(Check check, int threads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            run(pool, check, threads, WARMUP_CHECKS);
+            long start = System.nanoTime();
+            run(pool, check, threads, MEASURED_CHECKS);
+            return (double) MEASURED_CHECKS * threads / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void run(ExecutorService pool, Check check, int threads, int checks) throws Exception {
+        List<Future<Long>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            results.add(pool.submit(() -> {
+                long valid = 0;
+                for (int i = 0; i < checks; i++) {
+                    String message = "order_" + thread + "|pay_" + (i & 1023);
+                    if (check.verify(message, FORGED)) {
+                        valid++;
+                    }
+                    valid += message.length();
+                }
+                return valid;
+            }));
+        }
+        for (Future<Long> result : results) {
+            sink += result.get();
+        }
+    }
+
+    private boolean perCall(String message, String signature) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] hash = mac.doFinal(message.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : hash) {
+            String digit = Integer.toHexString(0xff & b);
+            if (digit.length() == 1) {
+                hex.append('0');
+            }
+            hex.append(digit);
+        }
+        return hex.toString().equals(signature);
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.buildnest_ecommerce.performance;
+
+import com.example.buildnest_ecommerce.config.ConcurrencyLimitedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput and p99 latency of the servlet stack with Tomcat's default
+ * 200-thread platform pool against a virtual thread per request
+ * (spring.threads.virtual.enabled=true).
+ *
+ * Each request blocks the way most of ours do: a remote call (a sleep
+ * standing in for Redis or Razorpay) and a query on a pooled H2 database.
+ * In virtual mode the pool sits behind a ConcurrencyLimitedDataSource, as
+ * it does in the application. Concurrent clients outnumber platform
+ * threads, so the platform run queues requests inside Tomcat.
+ *
+ * Tagged "stress"; run with: mvn test -Pstress-tests -Dtest=VirtualThreadBenchmarkTest
+ */
+@Tag("stress")
+class VirtualThreadBenchmarkTest {
+
+    private static final int CLIENTS = 800;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final long REMOTE_CALL_MS = 40;
+    private static final int DB_POOL_SIZE = 20;
+
+    private record Result(String mode, int requests, int failures, long elapsedNanos, long[] latenciesNanos) {
+        double throughput() {
+            return requests / (elapsedNanos / 1e9);
+        }
+
+        double percentileMs(double percentile) {
+            int index = (int) Math.ceil(percentile * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    @Test
+    void compareThroughputAndP99() throws Exception {
+        Result platform = run("platform", false);
+        Result virtual = run("virtual", true);
+
+        for (Result result : List.of(platform, virtual)) {
+            System.out.println(String.format(
+                    "%-8s %d requests from %d clients: %.0f req/sec, p50 %.1fms, p99 %.1fms, %d failures",
+                    result.mode(), result.requests(), CLIENTS, result.throughput(), result.percentileMs(0.50),
+                    result.percentileMs(0.99), result.failures()));
+        }
+
+        assertEquals(0, platform.failures(), "platform-thread run should not fail requests");
+        assertEquals(0, virtual.failures(), "virtual-thread run should not fail requests");
+        assertTrue(virtual.throughput() > platform.throughput(),
+                "virtual threads should serve more blocked requests per second than a 200-thread pool");
+    }
+
+    private Result run(String mode, boolean virtualThreads) throws Exception {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setJdbcUrl("jdbc:h2:mem:benchmark-" + mode + ";DB_CLOSE_DELAY=-1");
+            pool.setMaximumPoolSize(DB_POOL_SIZE);
+            pool.setConnectionTimeout(30_000L);
+            DataSource dataSource = virtualThreads
+                    ? new ConcurrencyLimitedDataSource(pool, DB_POOL_SIZE, 30_000L)
+                    : pool;
+
+            TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+            if (virtualThreads) {
+                factory.addProtocolHandlerCustomizers(
+                        handler -> handler.setExecutor(new VirtualThreadExecutor("tomcat-handler-")));
+            }
+            WebServer server = factory.getWebServer(context -> context
+                    .addServlet("blocking", new BlockingServlet(dataSource))
+                    .addMapping("/blocking"));
+            server.start();
+            try {
+                URI uri = URI.create("http://localhost:" + server.getPort() + "/blocking");
+                load(uri, "warm-up", 2);
+                return load(uri, mode, REQUESTS_PER_CLIENT);
+            } finally {
+                server.stop();
+            }
+        }
+    }
+
+    private Result load(URI uri, String mode, int requestsPerClient) throws Exception {
+        long[] latencies = new long[CLIENTS * requestsPerClient];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                        .executor(clients).build()) {
+            HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+            long start = System.nanoTime();
+            List<Future<?>> running = new ArrayList<>();
+            for (int client = 0; client < CLIENTS; client++) {
+                running.add(clients.submit(() -> {
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            failures.incrementAndGet();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+                    }
+                }));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            Arrays.sort(latencies);
+            return new Result(mode, latencies.length, failures.get(), elapsed, latencies);
+        }
+    }
+
+    private static final class BlockingServlet extends HttpServlet {
+        private static final long serialVersionUID = 1L;
+
+        private final transient DataSource dataSource;
+
+        private BlockingServlet(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            try {
+                Thread.sleep(REMOTE_CALL_MS);
+                try (Connection connection = dataSource.getConnection();
+                        Statement statement = connection.createStatement();
+                        ResultSet rows = statement.executeQuery("SELECT 1")) {
+                    rows.next();
+                }
+                response.setStatus(HttpServletResponse.SC_OK);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            } catch (SQLException e) {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            }
+        }
+    }
+}
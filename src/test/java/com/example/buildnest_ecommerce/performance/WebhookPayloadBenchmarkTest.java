@@ -0,0 +1,101 @@
+package com.example.buildnest_ecommerce.performance;
+
+import com.example.buildnest_ecommerce.security.HmacSigner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cost of preparing one event for all of its webhook subscribers.
+ *
+ * "per-subscriber" is the old delivery path: serialize the payload map,
+ * look up and key a new Mac, and encode the body, once for every
+ * subscriber. "shared" is the current one: serialize and encode once per
+ * event, then sign the shared bytes with a cloned, already keyed Mac.
+ *
+ * Tagged "stress"; run with: mvn test -Pstress-tests -Dtest=WebhookPayloadBenchmarkTest
+ */
+@Tag("stress")
+class WebhookPayloadBenchmarkTest {
+
+    private static final int SUBSCRIBERS = 40;
+    private static final int WARMUP_EVENTS = 5_000;
+    private static final int MEASURED_EVENTS = 20_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HmacSigner signer = new HmacSigner();
+    private final List<String> secrets = new ArrayList<>();
+    private final Map<String, Object> payload = new LinkedHashMap<>();
+    private long sink;
+
+    @Test
+    void comparePerSubscriberAndSharedPreparation() throws Exception {
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            secrets.add("subscriber-secret-" + i);
+        }
+        payload.put("orderId", 918273L);
+        payload.put("userId", 5512L);
+        payload.put("status", "PENDING");
+        payload.put("total", new BigDecimal("18450.75"));
+
+        assertEquals(perSubscriber(), shared(), "both paths must produce the same signatures");
+
+        double perSubscriber = eventsPerSecond(this::perSubscriber);
+        double shared = eventsPerSecond(this::shared);
+        System.out.println(String.format("per-subscriber %.0f events/sec, shared %.0f events/sec (%d subscribers)",
+                perSubscriber, shared, SUBSCRIBERS));
+
+        assertTrue(sink != 0);
+        assertTrue(shared > perSubscriber, "serializing and keying once per event should be faster");
+    }
+
+    private interface Path {
+        List<String> prepare() throws Exception;
+    }
+
+    private double eventsPerSecond(Path path) throws Exception {
+        for (int i = 0; i < WARMUP_EVENTS; i++) {
+            sink += path.prepare().size();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_EVENTS; i++) {
+            sink += path.prepare().get(i % SUBSCRIBERS).length();
+        }
+        return MEASURED_EVENTS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private List<String> perSubscriber() throws Exception {
+        List<String> signatures = new ArrayList<>(SUBSCRIBERS);
+        for (String secret : secrets) {
+            String body = objectMapper.writeValueAsString(payload);
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            signatures.add(Base64.getEncoder().encodeToString(mac.doFinal(bytes)));
+            sink += bytes.length;
+        }
+        return signatures;
+    }
+
+    private List<String> shared() throws Exception {
+        byte[] body = objectMapper.writeValueAsString(payload).getBytes(StandardCharsets.UTF_8);
+        List<String> signatures = new ArrayList<>(SUBSCRIBERS);
+        for (String secret : secrets) {
+            signatures.add(signer.base64(secret, body));
+            sink += body.length;
+        }
+        return signatures;
+    }
+}
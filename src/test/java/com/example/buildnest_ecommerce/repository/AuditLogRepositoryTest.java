@@ -0,0 +1,55 @@
+package com.example.buildnest_ecommerce.repository;
+
+import com.example.buildnest_ecommerce.model.entity.AuditLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@SuppressWarnings("null")
+class AuditLogRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    private AuditLog entry(LocalDateTime timestamp) {
+        return entityManager.persist(AuditLog.builder()
+                .userId(1L)
+                .action("LOGIN")
+                .entityType("USER")
+                .timestamp(timestamp)
+                .httpStatusCode(200)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Purge deletes immutable audit entries by id")
+    void testPurgeDeletesByIds() {
+        LocalDateTime now = LocalDateTime.now();
+        AuditLog old1 = entry(now.minusDays(400));
+        AuditLog old2 = entry(now.minusDays(380));
+        AuditLog recent = entry(now.minusDays(1));
+        entityManager.flush();
+
+        List<Long> ids = auditLogRepository.findIdsOlderThanAfter(now.minusDays(365), 0L, PageRequest.of(0, 10));
+        assertEquals(List.of(old1.getId(), old2.getId()), ids);
+
+        assertEquals(2, auditLogRepository.deleteByIds(ids));
+        entityManager.clear();
+
+        assertEquals(List.of(recent.getId()), auditLogRepository.findAll().stream().map(AuditLog::getId).toList());
+    }
+}
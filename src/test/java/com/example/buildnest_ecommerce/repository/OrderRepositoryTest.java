@@ -1,5 +1,6 @@
 package com.example.buildnest_ecommerce.repository;
 
+import com.example.buildnest_ecommerce.model.dto.OrderSummaryDTO;
 import com.example.buildnest_ecommerce.model.entity.Order;
 import com.example.buildnest_ecommerce.model.entity.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
@@ -145,6 +148,31 @@ class OrderRepositoryTest {
         assertTrue(allOrders.size() >= 3);
     }
 
+    @Test
+    @DisplayName("Should page active order summaries newest first")
+    void testFindSummaries() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++) {
+            Order order = new Order();
+            order.setUser(testUser);
+            order.setOrderNumber("ORD-SUMMARY-" + i + "-" + System.nanoTime());
+            order.setStatus(Order.OrderStatus.PENDING);
+            order.setTotalAmount(new BigDecimal("10.00"));
+            order.setIsDeleted(i == 1);
+            order.setCreatedAt(now.plusDays(1).plusMinutes(i));
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+
+        Slice<OrderSummaryDTO> first = orderRepository.findSummaries(PageRequest.of(0, 1));
+
+        assertEquals(1, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertTrue(first.getContent().get(0).getOrderNumber().startsWith("ORD-SUMMARY-2-"));
+        assertTrue(orderRepository.findSummaries(PageRequest.of(1, 1)).getContent().get(0).getOrderNumber()
+                .startsWith("ORD-SUMMARY-0-"));
+    }
+
     @Test
     @DisplayName("Should handle soft delete flag")
     void testSoftDeleteFlag() {
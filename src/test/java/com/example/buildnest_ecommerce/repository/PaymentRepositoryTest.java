@@ -216,4 +216,49 @@ class PaymentRepositoryTest {
             assertNotNull(savedNegative.getId());
         });
     }
+
+    @Test
+    @DisplayName("TC-PAY-REPO-007: Find payment by Razorpay order ID")
+    void testFindByRazorpayOrderId() {
+        // Act
+        Optional<Payment> found = paymentRepository.findByRazorpayOrderId("order_test123");
+
+        // Assert
+        assertTrue(found.isPresent());
+        assertEquals(testPayment.getId(), found.get().getId());
+        assertTrue(paymentRepository.findByRazorpayOrderId("order_missing").isEmpty());
+    }
+
+    @Test
+    @DisplayName("TC-PAY-REPO-008: Razorpay order ID is unique")
+    void testRazorpayOrderIdIsUnique() {
+        // Arrange
+        Payment duplicate = new Payment();
+        duplicate.setOrderId(1005L);
+        duplicate.setAmount(250.00);
+        duplicate.setRazorpayOrderId("order_test123");
+        duplicate.setStatus("PENDING");
+        duplicate.setCreatedAt(LocalDateTime.now());
+
+        // Act & Assert
+        assertThrows(Exception.class, () -> {
+            entityManager.persist(duplicate);
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    @DisplayName("TC-PAY-REPO-009: Success is applied only to a pending payment")
+    void testMarkSucceededOnlyOnce() {
+        // Act
+        int first = paymentRepository.markSucceeded(testPayment.getId(), "pay_first", LocalDateTime.now());
+        int second = paymentRepository.markSucceeded(testPayment.getId(), "pay_second", LocalDateTime.now());
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(0, second);
+        Payment updated = paymentRepository.findById(testPayment.getId()).orElseThrow();
+        assertEquals("SUCCESS", updated.getStatus());
+        assertEquals("pay_first", updated.getRazorpayPaymentId());
+    }
 }
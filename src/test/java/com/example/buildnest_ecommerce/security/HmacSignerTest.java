@@ -0,0 +1,118 @@
+package com.example.buildnest_ecommerce.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HmacSigner Tests")
+class HmacSignerTest {
+
+    private final HmacSigner signer = new HmacSigner();
+
+    private static byte[] digest(String body, String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return mac.doFinal(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String expected(String body, String secret) throws Exception {
+        return Base64.getEncoder().encodeToString(digest(body, secret));
+    }
+
+    private static String expectedHex(String body, String secret) throws Exception {
+        return HexFormat.of().formatHex(digest(body, secret));
+    }
+
+    @Test
+    @DisplayName("Matches a freshly keyed Mac, on first use and from the cache")
+    void testMatchesFreshMac() throws Exception {
+        byte[] body = "{\"orderId\":12345}".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(expected("{\"orderId\":12345}", "test-secret"), signer.base64("test-secret", body));
+        assertEquals(expected("{\"orderId\":12345}", "test-secret"), signer.base64("test-secret", body));
+        assertEquals(expected("{\"orderId\":12345}", "other-secret"), signer.base64("other-secret", body));
+        assertEquals(expectedHex("order_1|pay_1", "test-secret"), signer.hex("test-secret", "order_1|pay_1"));
+        assertEquals(expectedHex("order_1|pay_1", "test-secret"), signer.hex("test-secret", "order_1|pay_1"));
+    }
+
+    @Test
+    @DisplayName("Non-ASCII and long messages are signed as UTF-8")
+    void testNonAsciiAndLongMessages() throws Exception {
+        String accented = "{\"city\":\"Bengaluru – Koramangala\"}";
+        String longMessage = "x".repeat(20_000);
+
+        assertEquals(expectedHex(accented, "secret"), signer.hex("secret", accented));
+        assertEquals(expectedHex(longMessage, "secret"), signer.hex("secret", longMessage));
+        assertEquals(expectedHex("short", "secret"), signer.hex("secret", "short"));
+    }
+
+    @Test
+    @DisplayName("Hex signatures are checked against every given secret")
+    void testMatchesHex() throws Exception {
+        String signature = expectedHex("order_1|pay_1", "old-secret");
+
+        assertTrue(signer.matchesHex("order_1|pay_1", signature, "old-secret"));
+        assertTrue(signer.matchesHex("order_1|pay_1", signature, "new-secret", "old-secret"));
+        assertTrue(signer.matchesHex("order_1|pay_1", signature, "old-secret", null));
+        assertFalse(signer.matchesHex("order_1|pay_1", signature, "new-secret", ""));
+        assertFalse(signer.matchesHex("order_1|pay_2", signature, "old-secret"));
+        assertFalse(signer.matchesHex("order_1|pay_1", signature.toUpperCase(), "old-secret"));
+        assertFalse(signer.matchesHex("order_1|pay_1", signature.substring(1), "old-secret"));
+        assertFalse(signer.matchesHex("order_1|pay_1", signature + "0", "old-secret"));
+        assertFalse(signer.matchesHex("order_1|pay_1", null, "old-secret"));
+    }
+
+    @Test
+    @DisplayName("Rejects empty secrets")
+    void testRejectsEmptySecret() {
+        assertThrows(IllegalArgumentException.class, () -> signer.hex("", "message"));
+        assertThrows(IllegalArgumentException.class, () -> signer.hex(null, "message"));
+    }
+
+    @Test
+    @DisplayName("Concurrent signing with shared secrets gives the same signatures")
+    void testConcurrentSigning() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                String secret = "secret-" + (i % 20);
+                String body = "{\"n\":" + i + "}";
+                results.add(pool.submit(() -> expected(body, secret)
+                        .equals(signer.base64(secret, body.getBytes(StandardCharsets.UTF_8)))
+                        && signer.matchesHex(body, expectedHex(body, secret), secret)));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Signs on virtual threads without thread-local state")
+    void testVirtualThreads() throws Exception {
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(pool.submit(() -> signer.hex("secret", "order_1|pay_1")));
+            }
+            for (Future<String> result : results) {
+                assertEquals(expectedHex("order_1|pay_1", "secret"), result.get());
+            }
+        }
+    }
+}
@@ -1,29 +1,37 @@
 package com.example.buildnest_ecommerce.service.admin;
 
 import com.example.buildnest_ecommerce.model.elasticsearch.ElasticsearchAuditLog;
-import com.example.buildnest_ecommerce.repository.elasticsearch.ElasticsearchAuditLogRepository;
+import com.example.buildnest_ecommerce.service.admin.AuditErrorStats.EndpointErrors;
+import com.example.buildnest_ecommerce.service.admin.AuditErrorStats.ErrorSample;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class AdminAnalyticsServiceTest {
 
-    private ElasticsearchAuditLogRepository repository;
+    private AuditCorrelationSearch correlationSearch;
+    private AuditErrorAggregations aggregations;
+    private ApiErrorCounterStore counterStore;
     private AdminAnalyticsService service;
 
     @BeforeEach
     void setUp() {
-        repository = mock(ElasticsearchAuditLogRepository.class);
-        service = new AdminAnalyticsService(repository);
+        correlationSearch = mock(AuditCorrelationSearch.class);
+        aggregations = mock(AuditErrorAggregations.class);
+        counterStore = mock(ApiErrorCounterStore.class);
+        service = new AdminAnalyticsService(correlationSearch, aggregations, counterStore);
     }
 
     private ElasticsearchAuditLog createLog(String id, int statusCode, String endpoint, String action) {
@@ -37,231 +45,122 @@ class AdminAnalyticsServiceTest {
         return log;
     }
 
-    @Test
-    void buildsApiErrorStats() {
-        ElasticsearchAuditLog log = createLog("1", 500, "/api", "GET");
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(List.of(log));
-
-        Map<String, Object> byStatus = service.getApiErrorsByStatusCode(null, null);
-        assertTrue(byStatus.containsKey("statusCodeStatistics"));
-
-        Map<String, Object> byEndpoint = service.getApiErrorsByEndpoint(null, null);
-        assertTrue(byEndpoint.containsKey("endpointStatistics"));
-
-        Map<String, Object> dashboard = service.getDashboardData();
-        assertTrue(dashboard.containsKey("totalEvents"));
-
-        Map<String, Object> errorRate = service.getApiErrorRate(null, null);
-        assertTrue(errorRate.containsKey("errorRate"));
-
-        Map<String, Object> correlation = service.getErrorByCorrelationId("1");
-        assertTrue(correlation.containsKey("logs"));
-    }
-
-    @Test
-    void handlesRepositoryErrors() {
-        when(repository.findByTimestampBetween(any(), any())).thenThrow(new RuntimeException("fail"));
-
-        Map<String, Object> response = service.getApiErrorsByStatusCode(null, null);
-        assertTrue(response.containsKey("error"));
+    private static ErrorSample sample(String id, int statusCode, String endpoint, LocalDateTime timestamp) {
+        return new ErrorSample(id, "GET", endpoint, statusCode, timestamp);
     }
 
-    @Test
-    void handlesEndpointErrorsGracefully() {
-        when(repository.findByTimestampBetween(any(), any())).thenThrow(new RuntimeException("fail"));
-
-        Map<String, Object> response = service.getApiErrorsByEndpoint(null, null);
-        assertTrue(response.containsKey("error"));
-    }
-
-    @Test
-    void handlesDashboardErrorsGracefully() {
-        when(repository.findByTimestampBetween(any(), any())).thenThrow(new RuntimeException("fail"));
-
-        Map<String, Object> response = service.getDashboardData();
-        assertTrue(response.containsKey("error"));
-    }
-
-    @Test
-    void handlesApiErrorRateErrorsGracefully() {
-        when(repository.findByTimestampBetween(any(), any())).thenThrow(new RuntimeException("fail"));
-
-        Map<String, Object> response = service.getApiErrorRate(null, null);
-        assertTrue(response.containsKey("error"));
+    /**
+     * 200 x2, 404 x1 on /api/missing, 500 x2 on /api/error, 503 x1 with no endpoint.
+     */
+    private static AuditErrorStats mixedStats() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, Long> statusCounts = new TreeMap<>(Map.of(200, 2L, 404, 1L, 500, 2L, 503, 1L));
+        Map<Integer, List<ErrorSample>> samples = new TreeMap<>(Map.of(
+                404, List.of(sample("a", 404, "/api/missing", now)),
+                500, List.of(sample("b", 500, "/api/error", now), sample("c", 500, "/api/error", now.minusHours(1))),
+                503, List.of(sample("d", 503, null, now))));
+        List<EndpointErrors> endpoints = List.of(
+                new EndpointErrors("/api/error", 2L, Map.of(500, 2L), samples.get(500)),
+                new EndpointErrors("/api/missing", 1L, Map.of(404, 1L), samples.get(404)),
+                new EndpointErrors("UNKNOWN", 1L, Map.of(503, 1L), samples.get(503)));
+        Map<LocalDateTime, Long> trend = new TreeMap<>(Map.of(now.withMinute(0).withSecond(0).withNano(0), 4L));
+        return new AuditErrorStats(6L, 4L, 3L, statusCounts, samples, endpoints, trend);
     }
 
-    @Test
-    void handlesCorrelationIdErrorsGracefully() {
-        when(repository.findByTimestampBetween(any(), any())).thenThrow(new RuntimeException("fail"));
-
-        Map<String, Object> response = service.getErrorByCorrelationId("corr");
-        assertTrue(response.containsKey("error"));
+    private static AuditErrorStats emptyStats() {
+        return new AuditErrorStats(0L, 0L, 0L, Map.of(), Map.of(), List.of(), Map.of());
     }
 
     @Test
-    void testGetApiErrorsByStatusCodeWith4xxErrors() {
-        List<ElasticsearchAuditLog> logs = List.of(
-                createLog("1", 404, "/api/notfound", "GET"),
-                createLog("2", 400, "/api/bad", "POST"),
-                createLog("3", 404, "/api/missing", "GET"),
-                createLog("4", 200, "/api/success", "GET"));
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(logs);
-
-        Map<String, Object> result = service.getApiErrorsByStatusCode(null, null);
+    void buildsApiErrorStats() {
+        when(aggregations.aggregate(any(), any())).thenReturn(mixedStats());
+        ElasticsearchAuditLog log = createLog("1", 500, "/api", "GET");
+        when(correlationSearch.find("1")).thenReturn(List.of(log));
 
-        assertNotNull(result);
-        assertTrue(result.containsKey("statusCodeStatistics"));
-        assertTrue(result.containsKey("totalErrors"));
-        assertEquals(3L, result.get("totalErrors"));
+        assertTrue(service.getApiErrorsByStatusCode(null, null).containsKey("statusCodeStatistics"));
+        assertTrue(service.getApiErrorsByEndpoint(null, null).containsKey("endpointStatistics"));
+        assertTrue(service.getDashboardData().containsKey("totalEvents"));
+        assertTrue(service.getApiErrorRate(null, null).containsKey("errorRate"));
+        assertTrue(service.getErrorByCorrelationId("1").containsKey("logs"));
     }
 
     @Test
-    void testGetApiErrorsByStatusCodeWith5xxErrors() {
-        List<ElasticsearchAuditLog> logs = List.of(
-                createLog("1", 500, "/api/error", "GET"),
-                createLog("2", 503, "/api/unavailable", "POST"),
-                createLog("3", 500, "/api/error", "GET"));
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(logs);
+    void statusCodeStatisticsComeFromBuckets() {
+        when(aggregations.aggregate(any(), any())).thenReturn(mixedStats());
 
         Map<String, Object> result = service.getApiErrorsByStatusCode(null, null);
 
-        assertNotNull(result);
+        assertEquals(4L, result.get("totalErrors"));
         @SuppressWarnings("unchecked")
         Map<String, Object> stats = (Map<String, Object>) result.get("statusCodeStatistics");
-        assertNotNull(stats);
-        assertTrue(stats.containsKey("500"));
-        assertTrue(stats.containsKey("503"));
-    }
-
-    @Test
-    void testGetApiErrorsByStatusCodeBoundaryFiltering() {
-        List<ElasticsearchAuditLog> logs = List.of(
-                createLog("1", 399, "/api/redirect", "GET"),
-                createLog("2", 400, "/api/bad", "GET"),
-                createLog("3", 500, "/api/error", "POST"));
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(logs);
-
-        Map<String, Object> result = service.getApiErrorsByStatusCode(null, null);
-
+        assertEquals(List.of("404", "500", "503"), new ArrayList<>(stats.keySet()));
         @SuppressWarnings("unchecked")
-        Map<String, Object> stats = (Map<String, Object>) result.get("statusCodeStatistics");
-        assertFalse(stats.containsKey("399"));
-        assertTrue(stats.containsKey("400"));
-        assertTrue(stats.containsKey("500"));
-        assertEquals(2L, result.get("totalErrors"));
+        Map<String, Object> serverErrors = (Map<String, Object>) stats.get("500");
+        assertEquals(2L, serverErrors.get("count"));
+        assertEquals("33.33%", serverErrors.get("percentage"));
+        assertEquals("SERVER_ERROR", serverErrors.get("category"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> errors = (List<Map<String, Object>>) serverErrors.get("errors");
+        assertEquals(List.of("b", "c"), errors.stream().map(e -> e.get("id")).toList());
     }
 
     @Test
-    void testGetApiErrorsByStatusCodeNullEndpointUsesFallback() {
-        ElasticsearchAuditLog log = createLog("1", 500, null, "GET");
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(List.of(log));
+    void statusSamplesWithoutEndpointUseFallback() {
+        when(aggregations.aggregate(any(), any())).thenReturn(mixedStats());
 
         Map<String, Object> result = service.getApiErrorsByStatusCode(null, null);
 
         @SuppressWarnings("unchecked")
         Map<String, Object> stats = (Map<String, Object>) result.get("statusCodeStatistics");
         @SuppressWarnings("unchecked")
-        Map<String, Object> statusStats = (Map<String, Object>) stats.get("500");
+        Map<String, Object> unavailable = (Map<String, Object>) stats.get("503");
         @SuppressWarnings("unchecked")
-        List<Map<String, Object>> errors = (List<Map<String, Object>>) statusStats.get("errors");
+        List<Map<String, Object>> errors = (List<Map<String, Object>>) unavailable.get("errors");
         assertEquals("N/A", errors.get(0).get("endpoint"));
     }
 
     @Test
-    void testGetApiErrorsByEndpointGroupsCorrectly() {
-        List<ElasticsearchAuditLog> logs = List.of(
-                createLog("1", 404, "/api/users", "GET"),
-                createLog("2", 500, "/api/users", "POST"),
-                createLog("3", 404, "/api/products", "GET"),
-                createLog("4", 200, "/api/success", "GET"));
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(logs);
+    void endpointStatisticsKeepBucketOrder() {
+        when(aggregations.aggregate(any(), any())).thenReturn(mixedStats());
 
         Map<String, Object> result = service.getApiErrorsByEndpoint(null, null);
 
-        assertNotNull(result);
-        assertTrue(result.containsKey("endpointStatistics"));
-        assertEquals(3, ((Number) result.get("totalErrors")).intValue());
-        assertEquals(2, ((Number) result.get("affectedEndpoints")).intValue());
-    }
-
-    @Test
-    void testGetApiErrorsByEndpointWithNullEndpoint() {
-        ElasticsearchAuditLog log = createLog("1", 404, null, "GET");
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(List.of(log));
-
-        Map<String, Object> result = service.getApiErrorsByEndpoint(null, null);
-
-        assertNotNull(result);
+        assertEquals(4L, result.get("totalErrors"));
+        assertEquals(3, result.get("affectedEndpoints"));
         @SuppressWarnings("unchecked")
         List<Map<String, Object>> stats = (List<Map<String, Object>>) result.get("endpointStatistics");
-        assertFalse(stats.isEmpty());
-        assertEquals("UNKNOWN", stats.get(0).get("endpoint"));
-    }
-
-    @Test
-    void testGetDashboardDataWithMixedLogs() {
-        List<ElasticsearchAuditLog> logs = List.of(
-                createLog("1", 200, "/api/users", "GET"),
-                createLog("2", 404, "/api/missing", "GET"),
-                createLog("3", 500, "/api/error", "POST"),
-                createLog("4", 200, "/api/products", "GET"));
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(logs);
-
-        Map<String, Object> result = service.getDashboardData();
-
-        assertNotNull(result);
-        assertEquals(4L, result.get("totalEvents"));
-        assertEquals(2L, result.get("totalErrors"));
-        assertEquals(1L, result.get("criticalErrors"));
-        assertTrue(result.containsKey("errorRate"));
-        assertTrue(result.containsKey("statusDistribution"));
-        assertTrue(result.containsKey("topErrorEndpoints"));
-        assertTrue(result.containsKey("errorCategoryDistribution"));
-        assertEquals("50.00%", result.get("errorRate"));
-
+        assertEquals(List.of("/api/error", "/api/missing", "UNKNOWN"),
+                stats.stream().map(stat -> stat.get("endpoint")).toList());
+        assertEquals(Map.of(500, 2L), stats.get(0).get("statusCodeBreakdown"));
         @SuppressWarnings("unchecked")
-        List<Map<String, Object>> topEndpoints = (List<Map<String, Object>>) result.get("topErrorEndpoints");
-        assertEquals(2, topEndpoints.size());
-        assertTrue(topEndpoints.stream().anyMatch(map -> "/api/missing".equals(map.get("endpoint"))
-                && ((Number) map.get("errorCount")).longValue() == 1L));
-        assertTrue(topEndpoints.stream().anyMatch(map -> "/api/error".equals(map.get("endpoint"))
-                && ((Number) map.get("errorCount")).longValue() == 1L));
+        List<Map<String, Object>> recent = (List<Map<String, Object>>) stats.get(0).get("recentErrors");
+        assertEquals(2, recent.size());
+        assertEquals(500, recent.get(0).get("statusCode"));
     }
 
     @Test
-    void testDashboardCategoryDistribution() {
-        List<ElasticsearchAuditLog> logs = List.of(
-                createLog("1", 500, "/api/error", "POST"),
-                createLog("2", 404, "/api/missing", "GET"),
-                createLog("3", 201, "/api/created", "POST"));
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(logs);
+    void dashboardSummarisesBuckets() {
+        when(aggregations.aggregate(any(), any())).thenReturn(mixedStats());
 
         Map<String, Object> result = service.getDashboardData();
 
-        @SuppressWarnings("unchecked")
-        Map<String, Long> categoryDistribution = (Map<String, Long>) result.get("errorCategoryDistribution");
-        assertEquals(1L, categoryDistribution.get("SERVER_ERROR"));
-        assertEquals(1L, categoryDistribution.get("CLIENT_ERROR"));
-    }
-
-    @Test
-    void testGetDashboardDataWithNoErrors() {
-        List<ElasticsearchAuditLog> logs = List.of(
-                createLog("1", 200, "/api/users", "GET"),
-                createLog("2", 200, "/api/products", "GET"));
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(logs);
-
-        Map<String, Object> result = service.getDashboardData();
+        assertEquals(6L, result.get("totalEvents"));
+        assertEquals(4L, result.get("totalErrors"));
+        assertEquals(3L, result.get("criticalErrors"));
+        assertEquals("66.67%", result.get("errorRate"));
+        assertEquals(Map.of(200, 2L, 404, 1L, 500, 2L, 503, 1L), result.get("statusDistribution"));
+        assertEquals(Map.of("CLIENT_ERROR", 1L, "SERVER_ERROR", 3L), result.get("errorCategoryDistribution"));
+        assertEquals(1, ((Map<?, ?>) result.get("errorTrend")).size());
 
-        assertEquals(2L, result.get("totalEvents"));
-        assertEquals(0L, result.get("totalErrors"));
-        assertEquals(0L, result.get("criticalErrors"));
-        assertEquals("0.00%", result.get("errorRate"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> top = (List<Map<String, Object>>) result.get("topErrorEndpoints");
+        assertEquals("/api/error", top.get(0).get("endpoint"));
+        assertEquals(2L, top.get(0).get("errorCount"));
     }
 
     @Test
-    void testGetDashboardDataWithEmptyLogs() {
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(Collections.emptyList());
+    void dashboardWithNoEvents() {
+        when(aggregations.aggregate(any(), any())).thenReturn(emptyStats());
 
         Map<String, Object> result = service.getDashboardData();
 
@@ -271,13 +170,9 @@ class AdminAnalyticsServiceTest {
     }
 
     @Test
-    void testGetApiErrorRateCalculation() {
-        List<ElasticsearchAuditLog> logs = List.of(
-                createLog("1", 200, "/api/users", "GET"),
-                createLog("2", 404, "/api/missing", "GET"),
-                createLog("3", 500, "/api/error", "POST"),
-                createLog("4", 200, "/api/products", "GET"));
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(logs);
+    void errorRateFromTotals() {
+        when(aggregations.aggregate(any(), any())).thenReturn(
+                new AuditErrorStats(4L, 2L, 1L, Map.of(200, 2L, 404, 1L, 500, 1L), Map.of(), List.of(), Map.of()));
 
         Map<String, Object> result = service.getApiErrorRate(null, null);
 
@@ -288,89 +183,72 @@ class AdminAnalyticsServiceTest {
     }
 
     @Test
-    void testGetApiErrorRateWithNoRequests() {
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(Collections.emptyList());
+    void errorRateWithNoRequests() {
+        when(aggregations.aggregate(any(), any())).thenReturn(emptyStats());
 
         Map<String, Object> result = service.getApiErrorRate(null, null);
 
         assertEquals(0L, result.get("totalRequests"));
-        assertEquals(0L, result.get("errorRequests"));
         assertEquals("0.00%", result.get("errorRate"));
         assertEquals("0.00%", result.get("successRate"));
     }
 
     @Test
-    void testGetApiErrorRateWithOnlyErrors() {
-        List<ElasticsearchAuditLog> logs = List.of(
-                createLog("1", 404, "/api/missing", "GET"),
-                createLog("2", 500, "/api/error", "POST"));
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(logs);
+    void recentRangesAreServedFromLocalCounters() {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(30);
+        when(counterStore.covers(any())).thenReturn(true);
+        when(counterStore.snapshot(any(), any())).thenReturn(mixedStats());
 
-        Map<String, Object> result = service.getApiErrorRate(null, null);
+        Map<String, Object> result = service.getApiErrorRate(start.toString(), null);
 
-        assertEquals(2L, result.get("totalRequests"));
-        assertEquals(2L, result.get("errorRequests"));
-        assertEquals("100.00%", result.get("errorRate"));
-        assertEquals("0.00%", result.get("successRate"));
-    }
-
-    @Test
-    void testParseDateFallbacks() {
-        LocalDateTime fallback = LocalDateTime.now().minusDays(1);
-
-        LocalDateTime parsedEmpty = ReflectionTestUtils.invokeMethod(service, "parseDate", "", fallback);
-        LocalDateTime parsedNull = ReflectionTestUtils.invokeMethod(service, "parseDate", null, fallback);
-        LocalDateTime parsedInvalid = ReflectionTestUtils.invokeMethod(service, "parseDate", "invalid", fallback);
-
-        assertEquals(fallback, parsedEmpty);
-        assertEquals(fallback, parsedNull);
-        assertEquals(fallback, parsedInvalid);
+        assertEquals(6L, result.get("totalRequests"));
+        verify(counterStore).snapshot(eq(start), any());
+        verifyNoInteractions(aggregations);
     }
 
     @Test
-    void testGetErrorByCorrelationIdFound() {
-        List<ElasticsearchAuditLog> logs = new ArrayList<>();
-        logs.add(createLog("corr-123", 500, "/api/error", "GET"));
-        logs.add(createLog("other-id", 404, "/api/missing", "GET"));
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(logs);
+    void recentRangesFallBackToElasticsearchWhenCountersCannotBeRead() {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(30);
+        when(counterStore.covers(any())).thenReturn(true);
+        when(counterStore.snapshot(any(), any())).thenThrow(new RuntimeException("redis down"));
+        when(aggregations.aggregate(any(), any())).thenReturn(mixedStats());
 
-        Map<String, Object> result = service.getErrorByCorrelationId("corr-123");
+        Map<String, Object> result = service.getApiErrorRate(start.toString(), null);
 
-        assertNotNull(result);
-        assertEquals("corr-123", result.get("correlationId"));
-        assertTrue(result.containsKey("logs"));
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> logsList = (List<Map<String, Object>>) result.get("logs");
-        assertFalse(logsList.isEmpty());
+        assertEquals(6L, result.get("totalRequests"));
+        verify(aggregations).aggregate(eq(start), any());
     }
 
     @Test
-    void testGetErrorByCorrelationIdNotFound() {
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(Collections.emptyList());
+    void defaultRangeIsMinuteAlignedSoRepeatedLoadsShareACacheEntry() {
+        when(aggregations.aggregate(any(), any())).thenReturn(emptyStats());
 
-        Map<String, Object> result = service.getErrorByCorrelationId("nonexistent");
+        service.getDashboardData();
+        service.getApiErrorRate(null, null);
 
-        assertTrue(result.containsKey("error"));
-        assertTrue(((String) result.get("error")).contains("No logs found"));
+        ArgumentCaptor<LocalDateTime> start = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> end = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(aggregations, times(2)).aggregate(start.capture(), end.capture());
+        LocalDateTime firstEnd = end.getAllValues().get(0);
+        assertEquals(0, firstEnd.getSecond());
+        assertEquals(0, firstEnd.getNano());
+        assertEquals(Duration.ofDays(7), Duration.between(start.getAllValues().get(0), firstEnd));
     }
 
     @Test
-    void testGetErrorByCorrelationIdWithActionMatch() {
-        ElasticsearchAuditLog log = createLog("1", 500, "/api/error", "GET");
-        log.setAction("Process corr-456");
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(List.of(log));
-
-        Map<String, Object> result = service.getErrorByCorrelationId("corr-456");
+    void aggregationFailuresAreReportedNotThrown() {
+        when(aggregations.aggregate(any(), any())).thenThrow(new RuntimeException("cluster down"));
 
-        assertNotNull(result);
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> logsList = (List<Map<String, Object>>) result.get("logs");
-        assertFalse(logsList.isEmpty());
+        assertTrue(service.getApiErrorsByStatusCode(null, null).containsKey("error"));
+        assertTrue(service.getApiErrorsByEndpoint(null, null).containsKey("error"));
+        assertTrue(service.getDashboardData().containsKey("error"));
+        assertTrue(service.getApiErrorRate(null, null).containsKey("error"));
     }
 
     @Test
     void testParseDateWithValidString() {
-        String validDate = LocalDateTime.now().toString();
+        when(aggregations.aggregate(any(), any())).thenReturn(emptyStats());
+        String validDate = LocalDateTime.now().minusDays(2).toString();
         Map<String, Object> result = service.getApiErrorRate(validDate, validDate);
         assertNotNull(result);
         assertTrue(result.containsKey("startDate"));
@@ -378,105 +256,62 @@ class AdminAnalyticsServiceTest {
 
     @Test
     void testParseDateWithInvalidString() {
-        String invalidDate = "invalid-date";
-        Map<String, Object> result = service.getApiErrorRate(invalidDate, invalidDate);
+        when(aggregations.aggregate(any(), any())).thenReturn(emptyStats());
+        Map<String, Object> result = service.getApiErrorRate("invalid-date", "invalid-date");
         assertNotNull(result);
         assertTrue(result.containsKey("errorRate"));
     }
 
     @Test
-    void testErrorHandlingInGetApiErrorsByEndpoint() {
-        when(repository.findByTimestampBetween(any(), any())).thenThrow(new RuntimeException("Database error"));
+    void testParseDateFallbacks() {
+        LocalDateTime fallback = LocalDateTime.now().minusDays(1);
 
-        Map<String, Object> result = service.getApiErrorsByEndpoint(null, null);
+        LocalDateTime parsedEmpty = ReflectionTestUtils.invokeMethod(service, "parseDate", "", fallback);
+        LocalDateTime parsedNull = ReflectionTestUtils.invokeMethod(service, "parseDate", null, fallback);
+        LocalDateTime parsedInvalid = ReflectionTestUtils.invokeMethod(service, "parseDate", "invalid", fallback);
 
-        assertTrue(result.containsKey("error"));
+        assertEquals(fallback, parsedEmpty);
+        assertEquals(fallback, parsedNull);
+        assertEquals(fallback, parsedInvalid);
     }
 
     @Test
-    void testErrorHandlingInGetDashboardData() {
-        when(repository.findByTimestampBetween(any(), any())).thenThrow(new RuntimeException("Database error"));
+    void testGetErrorByCorrelationIdFound() {
+        List<ElasticsearchAuditLog> logs = new ArrayList<>();
+        logs.add(createLog("a", 500, "/api/error", "GET"));
+        logs.add(createLog("b", 404, "/api/missing", "GET"));
+        when(correlationSearch.find("corr-123")).thenReturn(logs);
 
-        Map<String, Object> result = service.getDashboardData();
+        Map<String, Object> result = service.getErrorByCorrelationId("corr-123");
 
-        assertTrue(result.containsKey("error"));
+        assertNotNull(result);
+        assertEquals("corr-123", result.get("correlationId"));
+        assertTrue(result.containsKey("logs"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> logsList = (List<Map<String, Object>>) result.get("logs");
+        assertEquals(List.of("a", "b"), logsList.stream().map(entry -> entry.get("id")).toList());
+        assertEquals(2, result.get("logCount"));
     }
 
     @Test
-    void testErrorHandlingInGetApiErrorRate() {
-        when(repository.findByTimestampBetween(any(), any())).thenThrow(new RuntimeException("Database error"));
+    void testGetErrorByCorrelationIdNotFound() {
+        when(correlationSearch.find(any())).thenReturn(Collections.emptyList());
 
-        Map<String, Object> result = service.getApiErrorRate(null, null);
+        Map<String, Object> result = service.getErrorByCorrelationId("nonexistent");
 
         assertTrue(result.containsKey("error"));
+        assertTrue(((String) result.get("error")).contains("No logs found"));
     }
 
     @Test
     void testErrorHandlingInGetErrorByCorrelationId() {
-        when(repository.findByTimestampBetween(any(), any())).thenThrow(new RuntimeException("Database error"));
+        when(correlationSearch.find(any())).thenThrow(new RuntimeException("Database error"));
 
         Map<String, Object> result = service.getErrorByCorrelationId("test-id");
 
         assertTrue(result.containsKey("error"));
     }
 
-    @Test
-    void testGetApiErrorsByStatusCodeWithNoErrors() {
-        List<ElasticsearchAuditLog> logs = List.of(
-                createLog("1", 200, "/api/success", "GET"),
-                createLog("2", 201, "/api/created", "POST"));
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(logs);
-
-        Map<String, Object> result = service.getApiErrorsByStatusCode(null, null);
-
-        @SuppressWarnings("unchecked")
-        Map<String, Object> stats = (Map<String, Object>) result.get("statusCodeStatistics");
-        assertNotNull(stats);
-        assertTrue(stats.isEmpty());
-        assertEquals(0L, result.get("totalErrors"));
-    }
-
-    @Test
-    void testGetApiErrorsByStatusCodeIgnoresNullStatusCode() {
-        ElasticsearchAuditLog log = createLog("1", 500, "/api/error", "GET");
-        ElasticsearchAuditLog nullStatus = createLog("2", 200, "/api/ok", "GET");
-        nullStatus.setHttpStatusCode(null);
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(List.of(log, nullStatus));
-
-        Map<String, Object> result = service.getApiErrorsByStatusCode(null, null);
-
-        @SuppressWarnings("unchecked")
-        Map<String, Object> stats = (Map<String, Object>) result.get("statusCodeStatistics");
-        assertTrue(stats.containsKey("500"));
-        assertEquals(1L, result.get("totalErrors"));
-    }
-
-    @Test
-    void testGetApiErrorsByEndpointWithNoErrors() {
-        List<ElasticsearchAuditLog> logs = List.of(
-                createLog("1", 200, "/api/success", "GET"),
-                createLog("2", 201, "/api/created", "POST"));
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(logs);
-
-        Map<String, Object> result = service.getApiErrorsByEndpoint(null, null);
-
-        assertEquals(0, ((Number) result.get("totalErrors")).intValue());
-        assertEquals(0, ((Number) result.get("affectedEndpoints")).intValue());
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> stats = (List<Map<String, Object>>) result.get("endpointStatistics");
-        assertTrue(stats.isEmpty());
-    }
-
-    @Test
-    void testGetDashboardDataWithNullEndpointError() {
-        ElasticsearchAuditLog log = createLog("1", 500, null, "GET");
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(List.of(log));
-
-        Map<String, Object> result = service.getDashboardData();
-
-        assertTrue(result.containsKey("error"));
-    }
-
     @Test
     void testGetErrorCategoryViaReflection() throws Exception {
         var method = AdminAnalyticsService.class.getDeclaredMethod("getErrorCategory", Integer.class);
@@ -489,16 +324,6 @@ class AdminAnalyticsServiceTest {
         assertEquals("SERVER_ERROR", method.invoke(service, 503));
     }
 
-    @Test
-    void testParseDateEmptyStringFallsBackToDefault() {
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(Collections.emptyList());
-
-        Map<String, Object> result = service.getApiErrorsByStatusCode("", "");
-
-        assertTrue(result.containsKey("startDate"));
-        assertTrue(result.containsKey("endDate"));
-    }
-
     @Test
     void testParseDateDirectInvocation() throws Exception {
         var method = AdminAnalyticsService.class.getDeclaredMethod("parseDate", String.class, LocalDateTime.class);
@@ -529,62 +354,10 @@ class AdminAnalyticsServiceTest {
     }
 
     @Test
-    void testEndpointStatsOrderingAndRecentErrors() {
-        ElasticsearchAuditLog a1 = createLog("1", 500, "/a", "GET");
-        a1.setTimestamp(LocalDateTime.now().minusHours(2));
-        ElasticsearchAuditLog a2 = createLog("2", 500, "/a", "POST");
-        a2.setTimestamp(LocalDateTime.now().minusHours(1));
-        ElasticsearchAuditLog a3 = createLog("3", 404, "/a", "GET");
-        a3.setTimestamp(LocalDateTime.now().minusHours(3));
-
-        ElasticsearchAuditLog b1 = createLog("4", 500, "/b", "GET");
-        b1.setTimestamp(LocalDateTime.now().minusHours(4));
-        ElasticsearchAuditLog c1 = createLog("5", 404, "/c", "GET");
-        c1.setTimestamp(LocalDateTime.now().minusHours(5));
-
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(List.of(a1, a2, a3, b1, c1));
-
-        Map<String, Object> result = service.getApiErrorsByEndpoint(null, null);
-
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> stats = (List<Map<String, Object>>) result.get("endpointStatistics");
-        assertEquals("/a", stats.get(0).get("endpoint"));
-        assertEquals(3, ((Number) stats.get(0).get("totalErrors")).intValue());
-
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> recentErrors = (List<Map<String, Object>>) stats.get(0).get("recentErrors");
-        assertEquals(a2.getTimestamp(), recentErrors.get(0).get("timestamp"));
-    }
-
-    @Test
-    void testDashboardTopErrorEndpointsOrder() {
-        ElasticsearchAuditLog a1 = createLog("1", 500, "/top", "GET");
-        ElasticsearchAuditLog a2 = createLog("2", 404, "/top", "POST");
-        ElasticsearchAuditLog b1 = createLog("3", 500, "/other", "GET");
-        ElasticsearchAuditLog ok = createLog("4", 200, "/ok", "GET");
-
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(List.of(a1, a2, b1, ok));
-
-        Map<String, Object> result = service.getDashboardData();
-
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> top = (List<Map<String, Object>>) result.get("topErrorEndpoints");
-        assertEquals("/top", top.get(0).get("endpoint"));
-        assertEquals(2L, top.get(0).get("errorCount"));
-    }
-
-    @Test
-    void testStatusCodePercentageCalculation() {
-        ElasticsearchAuditLog error = createLog("1", 500, "/err", "GET");
-        ElasticsearchAuditLog success = createLog("2", 200, "/ok", "GET");
-        when(repository.findByTimestampBetween(any(), any())).thenReturn(List.of(error, success));
-
-        Map<String, Object> result = service.getApiErrorsByStatusCode(null, null);
+    void handlesCorrelationIdErrorsGracefully() {
+        when(correlationSearch.find(any())).thenThrow(new RuntimeException("fail"));
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> stats = (Map<String, Object>) result.get("statusCodeStatistics");
-        @SuppressWarnings("unchecked")
-        Map<String, Object> errorStats = (Map<String, Object>) stats.get("500");
-        assertEquals("50.00%", errorStats.get("percentage"));
+        Map<String, Object> response = service.getErrorByCorrelationId("corr");
+        assertTrue(response.containsKey("error"));
     }
 }
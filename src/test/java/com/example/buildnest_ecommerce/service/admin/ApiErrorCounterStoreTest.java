@@ -0,0 +1,255 @@
+package com.example.buildnest_ecommerce.service.admin;
+
+import com.example.buildnest_ecommerce.config.properties.ElasticsearchProperties;
+import com.example.buildnest_ecommerce.model.elasticsearch.ElasticsearchAuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ApiErrorCounterStoreTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 15, 10, 0);
+
+    private Instant now = START.toInstant(ZoneOffset.UTC);
+    private ApiErrorCounterStore store;
+    private ApiErrorCounterStore otherInstance;
+    private StringRedisTemplate redisTemplate;
+    private boolean redisDown;
+
+    // What the scripts leave in Redis
+    private final Map<String, String> values = new HashMap<>();
+    private final Map<String, LinkedList<String>> lists = new HashMap<>();
+    private final Map<String, Map<String, Long>> hashes = new HashMap<>();
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    };
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(valueOps.get(anyString())).thenAnswer(inv -> {
+            failIfDown();
+            return values.get(inv.<String>getArgument(0));
+        });
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(inv -> {
+            failIfDown();
+            RedisScript<?> script = inv.getArgument(0);
+            List<String> keys = inv.getArgument(1);
+            List<Object> args = new ArrayList<>();
+            for (int i = 2; i < inv.getArguments().length; i++) {
+                args.add(inv.getArgument(i));
+            }
+            return script.getScriptAsString().contains("HINCRBY") ? publish(keys, args) : read(keys);
+        });
+
+        ElasticsearchProperties properties = new ElasticsearchProperties();
+        properties.getAnalytics().setLocalWindowMinutes(10);
+        properties.getAnalytics().setSampleCapacity(3);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        store = new ApiErrorCounterStore(properties, redisTemplate, objectMapper, clock);
+        otherInstance = new ApiErrorCounterStore(properties, redisTemplate, objectMapper, clock);
+    }
+
+    private void failIfDown() {
+        if (redisDown) {
+            throw new RedisConnectionFailureException("down");
+        }
+    }
+
+    private Long publish(List<String> keys, List<Object> args) {
+        values.putIfAbsent(keys.get(0), (String) args.get(2));
+        int samples = Integer.parseInt((String) args.get(3));
+        int pos = 4;
+        LinkedList<String> list = lists.computeIfAbsent(keys.get(1), key -> new LinkedList<>());
+        for (int i = 0; i < samples; i++) {
+            list.addFirst((String) args.get(pos++));
+        }
+        while (list.size() > Integer.parseInt((String) args.get(1))) {
+            list.removeLast();
+        }
+        for (String key : keys.subList(2, keys.size())) {
+            int fields = Integer.parseInt((String) args.get(pos++));
+            for (int f = 0; f < fields; f++) {
+                hashes.computeIfAbsent(key, k -> new HashMap<>())
+                        .merge((String) args.get(pos), Long.parseLong((String) args.get(pos + 1)), Long::sum);
+                pos += 2;
+            }
+        }
+        return 0L;
+    }
+
+    private List<String> read(List<String> keys) {
+        List<String> out = new ArrayList<>();
+        List<String> samples = lists.getOrDefault(keys.get(0), new LinkedList<>());
+        out.add(String.valueOf(samples.size()));
+        out.addAll(samples);
+        for (int k = 1; k < keys.size(); k++) {
+            int index = k - 1;
+            hashes.getOrDefault(keys.get(k), Map.of()).forEach((field, value) -> {
+                out.add(String.valueOf(index));
+                out.add(field);
+                out.add(String.valueOf(value));
+            });
+        }
+        return out;
+    }
+
+    private void advanceMinutes(long minutes) {
+        now = now.plusSeconds(minutes * 60);
+    }
+
+    private static ElasticsearchAuditLog event(String id, int status, String endpoint, LocalDateTime timestamp) {
+        ElasticsearchAuditLog log = new ElasticsearchAuditLog();
+        log.setId(id);
+        log.setAction("GET");
+        log.setHttpStatusCode(status);
+        log.setEndpoint(endpoint);
+        log.setTimestamp(timestamp);
+        return log;
+    }
+
+    @Test
+    void countsStatusesEndpointsAndTrendPerMinute() {
+        advanceMinutes(2);
+        store.record(event("1", 200, "/api/a", START));
+        store.record(event("2", 500, "/api/a", START.plusSeconds(30)));
+        store.record(event("3", 404, "/api/b", START.plusMinutes(1)));
+        store.record(event("4", 500, null, START.plusMinutes(1)));
+
+        AuditErrorStats stats = store.snapshot(START, START.plusMinutes(2));
+
+        assertEquals(4L, stats.totalEvents());
+        assertEquals(3L, stats.errorCount());
+        assertEquals(2L, stats.criticalCount());
+        assertEquals(Map.of(200, 1L, 404, 1L, 500, 2L), stats.statusCounts());
+        assertEquals(Map.of(START, 1L, START.plusMinutes(1), 2L), stats.errorTrend());
+        assertEquals(List.of("4", "2"), stats.samplesByStatus().get(500).stream()
+                .map(AuditErrorStats.ErrorSample::id).toList());
+        assertEquals(3, stats.endpoints().size());
+        assertTrue(stats.endpoints().stream().anyMatch(e -> e.endpoint().equals("UNKNOWN")));
+    }
+
+    @Test
+    void coversOnlyMinutesInsideWindowSinceFirstPublish() {
+        assertFalse(store.covers(START));
+
+        store.record(event("1", 200, "/api/a", START));
+        store.publish();
+
+        assertTrue(store.covers(START));
+        assertTrue(otherInstance.covers(START));
+        assertFalse(store.covers(START.minusMinutes(1)));
+
+        advanceMinutes(30);
+
+        assertFalse(store.covers(START));
+        assertTrue(store.covers(START.plusMinutes(20)));
+    }
+
+    @Test
+    void snapshotsIncludeCountsPublishedByOtherInstances() {
+        advanceMinutes(1);
+        store.record(event("1", 500, "/api/a", START));
+        otherInstance.record(event("2", 404, "/api/a", START.plusSeconds(10)));
+        otherInstance.record(event("3", 200, "/api/b", START.plusSeconds(20)));
+        otherInstance.publish();
+
+        AuditErrorStats stats = store.snapshot(START, START.plusMinutes(1));
+
+        assertEquals(3L, stats.totalEvents());
+        assertEquals(Map.of(200, 1L, 404, 1L, 500, 1L), stats.statusCounts());
+        assertEquals(2L, stats.endpoints().get(0).errors());
+        assertEquals(List.of("2", "1"), stats.endpoints().get(0).recent().stream()
+                .map(AuditErrorStats.ErrorSample::id).toList());
+
+        store.publish();
+
+        assertEquals(3L, otherInstance.snapshot(START, START.plusMinutes(1)).totalEvents());
+        assertEquals(3L, store.snapshot(START, START.plusMinutes(1)).totalEvents());
+    }
+
+    @Test
+    void countsThatFailToPublishAreKeptForTheNextRun() {
+        store.record(event("1", 500, "/api/a", START));
+        redisDown = true;
+        store.publish();
+
+        assertFalse(store.covers(START));
+        assertThrows(RedisConnectionFailureException.class, () -> store.snapshot(START, START));
+
+        redisDown = false;
+        store.publish();
+
+        AuditErrorStats stats = otherInstance.snapshot(START, START);
+        assertEquals(1L, stats.totalEvents());
+        assertEquals(List.of("1"), stats.samplesByStatus().get(500).stream()
+                .map(AuditErrorStats.ErrorSample::id).toList());
+    }
+
+    @Test
+    void expiredMinutesAreDroppedFromSnapshots() {
+        store.record(event("old", 500, "/api/a", START));
+        advanceMinutes(15);
+        store.record(event("late", 500, "/api/a", START));
+        store.record(event("new", 503, "/api/a", START.plusMinutes(15)));
+
+        AuditErrorStats stats = store.snapshot(START, START.plusMinutes(15));
+
+        assertEquals(1L, stats.totalEvents());
+        assertEquals(Map.of(503, 1L), stats.statusCounts());
+    }
+
+    @Test
+    void keepsOnlyNewestSamples() {
+        for (int i = 0; i < 5; i++) {
+            store.record(event(String.valueOf(i), 500, "/api/a", START));
+            if (i == 1) {
+                store.publish();
+            }
+        }
+
+        AuditErrorStats stats = store.snapshot(START, START);
+
+        assertEquals(5L, stats.errorCount());
+        assertEquals(List.of("4", "3", "2"), stats.samplesByStatus().get(500).stream()
+                .map(AuditErrorStats.ErrorSample::id).toList());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.buildnest_ecommerce.service.admin;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.example.buildnest_ecommerce.config.properties.ElasticsearchProperties;
+import com.example.buildnest_ecommerce.model.elasticsearch.ElasticsearchAuditLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AuditCorrelationSearchTest {
+
+    private ElasticsearchOperations operations;
+    private AuditCorrelationSearch search;
+
+    @BeforeEach
+    void setUp() {
+        operations = mock(ElasticsearchOperations.class);
+        search = new AuditCorrelationSearch(operations, new ElasticsearchProperties());
+    }
+
+    @Test
+    void buildsBoundedTermLookup() {
+        NativeQuery query = search.buildQuery("req-1");
+
+        Query filter = query.getQuery().constantScore().filter();
+        assertEquals("correlationId", filter.bool().should().get(0).term().field());
+        assertEquals("req-1", filter.bool().should().get(0).term().value().stringValue());
+        assertEquals(List.of("req-1"), filter.bool().should().get(1).ids().values());
+        assertEquals(AuditCorrelationSearch.MAX_EVENTS, query.getMaxResults());
+        assertNotNull(query.getSort().getOrderFor("timestamp"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchesEveryAuditIndex() {
+        ElasticsearchAuditLog event = new ElasticsearchAuditLog();
+        event.setId("e1");
+        event.setCorrelationId("req-1");
+        SearchHit<ElasticsearchAuditLog> hit = mock(SearchHit.class);
+        when(hit.getContent()).thenReturn(event);
+        SearchHits<ElasticsearchAuditLog> hits = mock(SearchHits.class);
+        when(hits.getSearchHits()).thenReturn(List.of(hit));
+        when(operations.search(any(NativeQuery.class), eq(ElasticsearchAuditLog.class), any(IndexCoordinates.class)))
+                .thenReturn(hits);
+
+        List<ElasticsearchAuditLog> found = search.find("req-1");
+
+        assertEquals(List.of(event), found);
+        ArgumentCaptor<IndexCoordinates> index = ArgumentCaptor.forClass(IndexCoordinates.class);
+        verify(operations).search(any(NativeQuery.class), eq(ElasticsearchAuditLog.class), index.capture());
+        assertEquals("audit-logs-*", index.getValue().getIndexName());
+    }
+}
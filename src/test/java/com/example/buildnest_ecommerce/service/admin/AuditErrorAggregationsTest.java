@@ -0,0 +1,140 @@
+package com.example.buildnest_ecommerce.service.admin;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.FiltersBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.LongTermsBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.json.JsonData;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.example.buildnest_ecommerce.config.properties.ElasticsearchProperties;
+import com.example.buildnest_ecommerce.model.elasticsearch.ElasticsearchAuditLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AuditErrorAggregationsTest {
+
+    private static final JacksonJsonpMapper MAPPER = new JacksonJsonpMapper();
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 15, 0, 0);
+
+    private ElasticsearchOperations operations;
+    private AuditErrorAggregations aggregations;
+
+    @BeforeEach
+    void setUp() {
+        operations = mock(ElasticsearchOperations.class);
+        aggregations = new AuditErrorAggregations(operations, new ElasticsearchProperties());
+    }
+
+    private static LongTermsBucket statusBucket(long status, long count, Map<String, Aggregate> sub) {
+        return LongTermsBucket.of(b -> b.key(status).docCount(count).aggregations(sub));
+    }
+
+    private static Aggregate statusTerms(LongTermsBucket... buckets) {
+        return Aggregate.of(a -> a.lterms(t -> t.buckets(b -> b.array(List.of(buckets)))
+                .sumOtherDocCount(0L)));
+    }
+
+    private static Aggregate topHits(String id, String endpoint, int status) {
+        return Aggregate.of(a -> a.topHits(t -> t.hits(h -> h.hits(hit -> hit.index("audit-logs-2026.01")
+                .id(id)
+                .source(JsonData.of(Map.of("action", "GET", "endpoint", endpoint, "httpStatusCode", status,
+                        "timestamp", "2026-01-15T10:15:00"), MAPPER))))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void respondWith(long total, Map<String, Aggregate> aggregates) {
+        SearchHits<ElasticsearchAuditLog> hits = mock(SearchHits.class);
+        when(hits.getTotalHits()).thenReturn(total);
+        doReturn(new ElasticsearchAggregations(aggregates)).when(hits).getAggregations();
+        when(operations.search(any(NativeQuery.class), eq(ElasticsearchAuditLog.class), any(IndexCoordinates.class)))
+                .thenReturn(hits);
+    }
+
+    @Test
+    void requestsOnlyAggregations() {
+        NativeQuery query = aggregations.buildQuery(START, START.plusDays(1));
+
+        assertEquals(0, query.getMaxResults());
+        assertEquals(Boolean.TRUE, query.getTrackTotalHits());
+        assertEquals(List.of("status", "outcome", "errors"), List.copyOf(query.getAggregations().keySet()));
+        assertEquals("1h", query.getAggregations().get("errors").aggregations().get("trend")
+                .dateHistogram().fixedInterval().time());
+    }
+
+    @Test
+    void longRangesUseDailyTrendBuckets() {
+        NativeQuery query = aggregations.buildQuery(START, START.plusDays(30));
+
+        assertEquals("1d", query.getAggregations().get("errors").aggregations().get("trend")
+                .dateHistogram().fixedInterval().time());
+    }
+
+    @Test
+    void mapsBucketsToStats() {
+        Aggregate outcome = Aggregate.of(a -> a.filters(f -> f.buckets(b -> b.keyed(Map.of(
+                "errors", FiltersBucket.of(x -> x.docCount(3L)),
+                "critical", FiltersBucket.of(x -> x.docCount(2L)))))));
+        Aggregate byEndpoint = Aggregate.of(a -> a.sterms(t -> t.sumOtherDocCount(0L).buckets(b -> b.array(List.of(
+                StringTermsBucket.of(s -> s.key("/api/orders")
+                        .docCount(3L)
+                        .aggregations(Map.of(
+                                "by_status", statusTerms(statusBucket(404, 1, Map.of()), statusBucket(500, 2, Map.of())),
+                                "recent", topHits("e1", "/api/orders", 500)))))))));
+        Aggregate trend = Aggregate.of(a -> a.dateHistogram(h -> h.buckets(b -> b.array(List.of(
+                DateHistogramBucket.of(d -> d
+                        .key(1_768_471_200_000L).docCount(3L)))))));
+        Aggregate errors = Aggregate.of(a -> a.filter(f -> f.docCount(3L).aggregations(Map.of(
+                "by_status", statusTerms(
+                        statusBucket(404, 1, Map.of("samples", topHits("e2", "/api/orders", 404))),
+                        statusBucket(500, 2, Map.of("samples", topHits("e1", "/api/orders", 500)))),
+                "by_endpoint", byEndpoint,
+                "trend", trend))));
+        respondWith(10L, Map.of(
+                "status", statusTerms(statusBucket(200, 7, Map.of()), statusBucket(404, 1, Map.of()),
+                        statusBucket(500, 2, Map.of())),
+                "outcome", outcome,
+                "errors", errors));
+
+        AuditErrorStats stats = aggregations.aggregate(START, START.plusDays(1));
+
+        assertEquals(10L, stats.totalEvents());
+        assertEquals(3L, stats.errorCount());
+        assertEquals(2L, stats.criticalCount());
+        assertEquals(Map.of(200, 7L, 404, 1L, 500, 2L), stats.statusCounts());
+        AuditErrorStats.ErrorSample sample = stats.samplesByStatus().get(500).get(0);
+        assertEquals("e1", sample.id());
+        assertEquals(500, sample.statusCode());
+        assertEquals(LocalDateTime.of(2026, 1, 15, 10, 15), sample.timestamp());
+        assertEquals(1, stats.endpoints().size());
+        assertEquals("/api/orders", stats.endpoints().get(0).endpoint());
+        assertEquals(Map.of(404, 1L, 500, 2L), stats.endpoints().get(0).statusBreakdown());
+        assertEquals(Map.of(LocalDateTime.of(2026, 1, 15, 10, 0), 3L), stats.errorTrend());
+    }
+
+    @Test
+    void emptyRangeYieldsZeroes() {
+        respondWith(0L, Map.of());
+
+        AuditErrorStats stats = aggregations.aggregate(START, START.plusHours(1));
+
+        assertEquals(0L, stats.totalEvents());
+        assertEquals(0L, stats.errorCount());
+        assertTrue(stats.statusCounts().isEmpty());
+        assertTrue(stats.endpoints().isEmpty());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.buildnest_ecommerce.service.audit;
+
+import com.example.buildnest_ecommerce.config.properties.AuditProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuditCacheVersionTest {
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final AuditProperties properties = new AuditProperties();
+
+    @Test
+    void currentReadsSharedVersionAndCachesItLocally() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("audit:cache:version")).thenReturn("42");
+        properties.getCache().setVersionRefreshMs(60_000L);
+        AuditCacheVersion version = new AuditCacheVersion(redisTemplate, properties);
+
+        assertEquals(42L, version.current());
+        assertEquals(42L, version.current());
+        verify(valueOperations, times(1)).get("audit:cache:version");
+    }
+
+    @Test
+    void bumpIncrementsSharedVersion() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment("audit:cache:version")).thenReturn(7L);
+        properties.getCache().setVersionRefreshMs(60_000L);
+        AuditCacheVersion version = new AuditCacheVersion(redisTemplate, properties);
+
+        version.bump();
+
+        assertEquals(7L, version.current());
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    void fallsBackToLocalVersionWhenRedisIsDown() {
+        when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+        AuditCacheVersion version = new AuditCacheVersion(redisTemplate, properties);
+
+        long before = version.current();
+        version.bump();
+
+        assertEquals(before + 1, version.current());
+    }
+}
@@ -2,9 +2,11 @@ package com.example.buildnest_ecommerce.service.audit;
 
 import com.example.buildnest_ecommerce.model.entity.AuditLog;
 import com.example.buildnest_ecommerce.repository.AuditLogRepository;
+import com.example.buildnest_ecommerce.util.CorrelationId;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.slf4j.MDC;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -22,12 +24,15 @@ class AuditLogServiceTest {
         AuditLogRepository repository = mock(AuditLogRepository.class);
         ObjectMapper objectMapper = new ObjectMapper();
 
-        AuditLogService service = new AuditLogService(repository, objectMapper);
+        AuditLogWriter writer = mock(AuditLogWriter.class);
+
+        AuditLogService service = new AuditLogService(repository, objectMapper, writer);
 
         service.logAction(null, null, null, 5L, "127.0.0.1", "agent", "old", "new");
 
         ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
-        verify(repository).save(captor.capture());
+        verify(writer).submit(captor.capture());
+        verifyNoInteractions(repository);
 
         AuditLog saved = captor.getValue();
         assertEquals(0L, saved.getUserId());
@@ -35,6 +40,21 @@ class AuditLogServiceTest {
         assertEquals("UNKNOWN_ENTITY", saved.getEntityType());
         assertEquals(5L, saved.getEntityId());
         assertNotNull(saved.getTimestamp());
+        assertEquals("\"old\"", saved.getOldValue());
+    }
+
+    @Test
+    void logAuthenticationEventQueuesAuthenticationEntry() {
+        AuditLogWriter writer = mock(AuditLogWriter.class);
+        AuditLogService service = new AuditLogService(mock(AuditLogRepository.class), new ObjectMapper(), writer);
+
+        service.logAuthenticationEvent(7L, "LOGIN", "10.0.0.1", "ua");
+
+        ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+        verify(writer).submit(captor.capture());
+        assertEquals("LOGIN", captor.getValue().getAction());
+        assertEquals("AUTHENTICATION", captor.getValue().getEntityType());
+        assertEquals(7L, captor.getValue().getUserId());
     }
 
     @Test
@@ -43,17 +63,19 @@ class AuditLogServiceTest {
         ObjectMapper objectMapper = mock(ObjectMapper.class);
         when(objectMapper.writeValueAsString(any())).thenThrow(new RuntimeException("fail"));
 
-        AuditLogService service = new AuditLogService(repository, objectMapper);
+        AuditLogWriter writer = mock(AuditLogWriter.class);
+
+        AuditLogService service = new AuditLogService(repository, objectMapper, writer);
         service.logAction(1L, "ACT", "ENTITY", 2L, "ip", "ua", new Object(), new Object());
 
-        verify(repository, never()).save(any());
+        verify(writer, never()).submit(any());
     }
 
     @Test
     void queryMethodsReturnRepositoryResults() {
         AuditLogRepository repository = mock(AuditLogRepository.class);
         ObjectMapper objectMapper = new ObjectMapper();
-        AuditLogService service = new AuditLogService(repository, objectMapper);
+        AuditLogService service = new AuditLogService(repository, objectMapper, mock(AuditLogWriter.class));
 
         Page<AuditLog> page = new PageImpl<>(List.of(new AuditLog()));
         when(repository.findByUserId(eq(1L), any())).thenReturn(page);
@@ -61,6 +83,7 @@ class AuditLogServiceTest {
         when(repository.findByEntityTypeAndEntityId(eq("ORDER"), eq(2L), any())).thenReturn(page);
         when(repository.findByTimestampBetween(any(), any(), any())).thenReturn(page);
         when(repository.findAll(any(PageRequest.class))).thenReturn(page);
+        when(repository.findByCorrelationIdOrderByTimestampAsc("req-1")).thenReturn(List.of(new AuditLog()));
 
         assertEquals(1, service.getAuditLogsByUserId(1L, PageRequest.of(0, 10)).getTotalElements());
         assertEquals(1, service.getAuditLogsByAction("LOGIN", PageRequest.of(0, 10)).getTotalElements());
@@ -69,5 +92,23 @@ class AuditLogServiceTest {
         assertEquals(1, service.getAuditLogsByDateRange(LocalDateTime.now().minusDays(1), LocalDateTime.now(),
                 PageRequest.of(0, 10)).getTotalElements());
         assertEquals(1, service.getAllAuditLogs(PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(1, service.getAuditLogsByCorrelationId("req-1").size());
+    }
+
+    @Test
+    void logActionRecordsCurrentCorrelationId() {
+        AuditLogWriter writer = mock(AuditLogWriter.class);
+        AuditLogService service = new AuditLogService(mock(AuditLogRepository.class), new ObjectMapper(), writer);
+
+        MDC.put(CorrelationId.MDC_KEY, "req-1");
+        try {
+            service.logAction(7L, "UPDATE", "ORDER", 3L, null, null, null, null);
+        } finally {
+            MDC.remove(CorrelationId.MDC_KEY);
+        }
+
+        ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+        verify(writer).submit(captor.capture());
+        assertEquals("req-1", captor.getValue().getCorrelationId());
     }
 }
@@ -0,0 +1,332 @@
+package com.example.buildnest_ecommerce.service.audit;
+
+import com.example.buildnest_ecommerce.config.properties.AuditProperties;
+import com.example.buildnest_ecommerce.config.properties.SpoolProperties;
+import com.example.buildnest_ecommerce.model.entity.AuditLog;
+import com.example.buildnest_ecommerce.service.spool.SpoolManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditLogWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AuditCacheVersion cacheVersion = mock(AuditCacheVersion.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuditProperties properties = new AuditProperties();
+    private final SpoolProperties spoolProperties = new SpoolProperties();
+    private final List<List<AuditLog>> written = new CopyOnWriteArrayList<>();
+    private SpoolManager spoolManager;
+    private AuditLogWriter writer;
+
+    @SuppressWarnings("unchecked")
+    private void recordBatches() {
+        when(jdbcTemplate.batchUpdate(eq(AuditLogWriter.INSERT_SQL), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    written.add(new ArrayList<>((Collection<AuditLog>) invocation.getArgument(1)));
+                    return new int[0][];
+                });
+    }
+
+    @BeforeEach
+    void setUp() {
+        spoolProperties.setDirectory(dir.toString());
+        spoolProperties.setSegmentBytes(64 * 1024);
+        spoolProperties.setMaxBytes(256 * 1024);
+        spoolProperties.setShipIdleMs(10L);
+    }
+
+    private AuditLogWriter newWriter() {
+        spoolManager = new SpoolManager(spoolProperties, meterRegistry);
+        writer = new AuditLogWriter(jdbcTemplate, cacheVersion, properties, spoolManager,
+                new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        return writer;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.shutdown();
+            spoolManager.shutdown();
+        }
+    }
+
+    private static AuditLog event(long userId) {
+        return AuditLog.builder()
+                .userId(userId)
+                .action("LOGIN")
+                .entityType("AUTHENTICATION")
+                .timestamp(LocalDateTime.now())
+                .httpStatusCode(200)
+                .errorCategory("SUCCESS")
+                .build();
+    }
+
+    @Test
+    void shutdownDrainsBufferedEventsInBatches() {
+        recordBatches();
+        properties.getWriter().setBatchSize(2);
+        AuditLogWriter writer = newWriter();
+
+        for (long i = 1; i <= 5; i++) {
+            assertTrue(writer.submit(event(i)));
+        }
+        writer.shutdown();
+
+        assertEquals(List.of(2, 2, 1), written.stream().map(List::size).toList());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L),
+                written.stream().flatMap(List::stream).map(AuditLog::getUserId).toList());
+        verify(cacheVersion, times(3)).bump();
+        assertEquals(0, writer.pending());
+        assertEquals(3, meterRegistry.get("audit.batch.size").summary().count());
+    }
+
+    @Test
+    void consumerFlushesWhenBatchIsFull() {
+        recordBatches();
+        properties.getWriter().setBatchSize(3);
+        properties.getWriter().setFlushIntervalMs(60_000L);
+        AuditLogWriter writer = newWriter();
+        writer.start();
+
+        for (long i = 1; i <= 3; i++) {
+            writer.submit(event(i));
+        }
+
+        verify(cacheVersion, timeout(2_000)).bump();
+        assertEquals(1, written.size());
+        assertEquals(3, written.get(0).size());
+    }
+
+    @Test
+    void consumerFlushesPartialBatchAfterInterval() {
+        recordBatches();
+        properties.getWriter().setBatchSize(100);
+        properties.getWriter().setFlushIntervalMs(50L);
+        AuditLogWriter writer = newWriter();
+        writer.start();
+
+        writer.submit(event(1));
+
+        verify(cacheVersion, timeout(2_000)).bump();
+        assertEquals(1, written.get(0).size());
+    }
+
+    @Test
+    void dropPolicyDiscardsWhenFull() {
+        properties.getWriter().setBufferCapacity(2);
+        properties.getWriter().setOverflowPolicy("drop");
+        AuditLogWriter writer = newWriter();
+
+        assertTrue(writer.submit(event(1)));
+        assertTrue(writer.submit(event(2)));
+        assertFalse(writer.submit(event(3)));
+
+        assertEquals(1.0, meterRegistry.get("audit.events.dropped").counter().count());
+        assertEquals(2.0, meterRegistry.get("audit.buffer.depth").gauge().value());
+    }
+
+    @Test
+    void blockPolicyWaitsThenDiscards() {
+        properties.getWriter().setBufferCapacity(2);
+        properties.getWriter().setOverflowPolicy("block");
+        properties.getWriter().setBlockTimeoutMs(20L);
+        AuditLogWriter writer = newWriter();
+
+        assertTrue(writer.submit(event(1)));
+        assertTrue(writer.submit(event(2)));
+        long start = System.nanoTime();
+        assertFalse(writer.submit(event(3)));
+
+        assertTrue(System.nanoTime() - start >= 20_000_000L);
+        assertEquals(1.0, meterRegistry.get("audit.events.dropped").counter().count());
+    }
+
+    @Test
+    void blockPolicySucceedsOnceConsumerMakesRoom() {
+        recordBatches();
+        properties.getWriter().setBufferCapacity(2);
+        properties.getWriter().setBatchSize(1);
+        properties.getWriter().setOverflowPolicy("block");
+        properties.getWriter().setBlockTimeoutMs(2_000L);
+        AuditLogWriter writer = newWriter();
+        writer.start();
+
+        for (long i = 1; i <= 6; i++) {
+            assertTrue(writer.submit(event(i)));
+        }
+
+        verify(cacheVersion, timeout(2_000).times(6)).bump();
+        assertEquals(0.0, meterRegistry.get("audit.events.dropped").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedBatchIsSpooledAndReplayedOnceDatabaseRecovers() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new CannotGetJdbcConnectionException("db down"))
+                .thenAnswer(invocation -> {
+                    written.add(new ArrayList<>((Collection<AuditLog>) invocation.getArgument(1)));
+                    return new int[0][];
+                });
+        AuditLogWriter writer = newWriter();
+
+        writer.submit(event(1));
+        writer.submit(event(2));
+        writer.shutdown();
+
+        long deadline = System.currentTimeMillis() + 2_000L;
+        while (written.stream().mapToInt(List::size).sum() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertEquals(List.of(1L, 2L), written.stream().flatMap(List::stream).map(AuditLog::getUserId).toList());
+        assertEquals(2.0, meterRegistry.get("audit.events.spooled").counter().count());
+        assertEquals(0.0, meterRegistry.get("audit.events.failed").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rowsTheDatabaseRefusesAreRejectedInsteadOfSpooled() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    List<AuditLog> rows = new ArrayList<>((Collection<AuditLog>) invocation.getArgument(1));
+                    if (rows.stream().anyMatch(row -> row.getUserId() == 2L)) {
+                        throw new DataIntegrityViolationException("Data too long for column 'user_agent'");
+                    }
+                    written.add(rows);
+                    return new int[0][];
+                });
+        AuditLogWriter writer = newWriter();
+
+        writer.submit(event(1));
+        writer.submit(event(2));
+        writer.submit(event(3));
+        writer.shutdown();
+
+        assertEquals(List.of(1L, 3L), written.stream().flatMap(List::stream).map(AuditLog::getUserId).toList());
+        assertEquals(1.0, meterRegistry.get("audit.events.rejected").counter().count());
+        assertEquals(0.0, meterRegistry.get("audit.events.spooled").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replaySkipsRecordsThatCanNeverBeWritten() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    List<AuditLog> rows = new ArrayList<>((Collection<AuditLog>) invocation.getArgument(1));
+                    if (rows.stream().anyMatch(row -> row.getUserId() == 2L)) {
+                        throw new DataIntegrityViolationException("Data too long for column 'user_agent'");
+                    }
+                    written.add(rows);
+                    return new int[0][];
+                });
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        AuditLogWriter writer = newWriter();
+
+        writer.replay(List.of(mapper.writeValueAsBytes(event(1)), "{not json".getBytes(),
+                mapper.writeValueAsBytes(event(2)), mapper.writeValueAsBytes(event(3))));
+
+        assertEquals(List.of(1L, 3L), written.stream().flatMap(List::stream).map(AuditLog::getUserId).toList());
+        assertEquals(2.0, meterRegistry.get("audit.events.rejected").counter().count());
+    }
+
+    @Test
+    void replayFailsWhileTheDatabaseIsDown() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                ArgumentMatchers.<ParameterizedPreparedStatementSetter<AuditLog>>any()))
+                .thenThrow(new CannotGetJdbcConnectionException("db down"));
+        AuditLogWriter writer = newWriter();
+        byte[] record = new ObjectMapper().findAndRegisterModules().writeValueAsBytes(event(1));
+
+        assertThrows(CannotGetJdbcConnectionException.class, () -> writer.replay(List.of(record)));
+        assertEquals(0.0, meterRegistry.get("audit.events.rejected").counter().count());
+    }
+
+    @Test
+    void failedBatchIsCountedWhenSpoolIsUnavailable() throws Exception {
+        Path notADirectory = Files.createFile(dir.resolve("blocked"));
+        spoolProperties.setDirectory(notADirectory.toString());
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                ArgumentMatchers.<ParameterizedPreparedStatementSetter<AuditLog>>any()))
+                .thenThrow(new CannotGetJdbcConnectionException("db down"));
+        AuditLogWriter writer = newWriter();
+
+        writer.submit(event(1));
+        writer.submit(event(2));
+        writer.shutdown();
+
+        verify(cacheVersion, never()).bump();
+        assertEquals(2.0, meterRegistry.get("audit.events.failed").counter().count());
+    }
+
+    @Test
+    void submitAfterShutdownIsDropped() {
+        AuditLogWriter writer = newWriter();
+        writer.shutdown();
+
+        assertFalse(writer.submit(event(1)));
+        assertEquals(1.0, meterRegistry.get("audit.events.dropped").counter().count());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bindsEveryColumn() throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    ParameterizedPreparedStatementSetter<AuditLog> setter = invocation.getArgument(3);
+                    for (AuditLog row : (Collection<AuditLog>) invocation.getArgument(1)) {
+                        setter.setValues(ps, row);
+                    }
+                    return new int[0][];
+                });
+        AuditLogWriter writer = newWriter();
+        AuditLog event = event(9);
+        event.setIpAddress("10.0.0.1");
+        event.setNewValue("{}");
+
+        writer.submit(event);
+        writer.shutdown();
+
+        verify(ps).setLong(1, 9L);
+        verify(ps).setString(2, "LOGIN");
+        verify(ps).setString(3, "AUTHENTICATION");
+        verify(ps).setNull(4, Types.BIGINT);
+        verify(ps).setTimestamp(eq(5), any());
+        verify(ps).setString(6, "10.0.0.1");
+        verify(ps).setString(9, "{}");
+        verify(ps).setInt(10, 200);
+        verify(ps).setString(11, "SUCCESS");
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.buildnest_ecommerce.service.auth;
 
+import com.example.buildnest_ecommerce.exception.ServiceOverloadedException;
 import com.example.buildnest_ecommerce.model.entity.RefreshToken;
 import com.example.buildnest_ecommerce.model.entity.User;
 import com.example.buildnest_ecommerce.model.payload.AuthResponse;
@@ -19,7 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Optional;
 
@@ -38,7 +39,10 @@ class AuthServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private RegistrationBloomFilter registrationBloomFilter;
 
     @Mock
     private JwtTokenProvider jwtTokenProvider;
@@ -112,8 +116,8 @@ class AuthServiceImplTest {
     @Test
     void testRegisterSuccess() {
         // Arrange
-        when(userRepository.findAll()).thenReturn(new java.util.ArrayList<>());
-        when(passwordEncoder.encode("Password@123")).thenReturn("encodedPassword");
+        when(registrationBloomFilter.mightBeTaken("newuser", "new@example.com")).thenReturn(false);
+        when(passwordHashingService.encode("Password@123", HashingLane.REGISTRATION)).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         // Act
@@ -126,8 +130,8 @@ class AuthServiceImplTest {
 
     @Test
     void testRegisterSetsUserFieldsAndValidatesPassword() {
-        when(userRepository.findAll()).thenReturn(new java.util.ArrayList<>());
-        when(passwordEncoder.encode("Password@123")).thenReturn("encodedPassword");
+        when(registrationBloomFilter.mightBeTaken("newuser", "new@example.com")).thenReturn(false);
+        when(passwordHashingService.encode("Password@123", HashingLane.REGISTRATION)).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         authService.register(registerRequest);
@@ -152,8 +156,8 @@ class AuthServiceImplTest {
 
     @Test
     void testRegisterPublishesEvent() {
-        when(userRepository.findAll()).thenReturn(new java.util.ArrayList<>());
-        when(passwordEncoder.encode("Password@123")).thenReturn("encodedPassword");
+        when(registrationBloomFilter.mightBeTaken("newuser", "new@example.com")).thenReturn(false);
+        when(passwordHashingService.encode("Password@123", HashingLane.REGISTRATION)).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         authService.register(registerRequest);
@@ -169,11 +173,61 @@ class AuthServiceImplTest {
         existingUser.setUsername("newuser");
         existingUser.setEmail("existing@example.com");
 
-        when(userRepository.findAll()).thenReturn(java.util.List.of(existingUser));
+        when(registrationBloomFilter.mightBeTaken("newuser", "new@example.com")).thenReturn(true);
+        when(userRepository.existsByUsernameOrEmail("newuser", "new@example.com")).thenReturn(true);
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> authService.register(registerRequest));
         verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(passwordHashingService);
+    }
+
+    @Test
+    void testRegisterSkipsDatabaseProbeOnBloomFilterMiss() {
+        when(registrationBloomFilter.mightBeTaken("newuser", "new@example.com")).thenReturn(false);
+        when(passwordHashingService.encode("Password@123", HashingLane.REGISTRATION)).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        authService.register(registerRequest);
+
+        verify(userRepository, never()).existsByUsernameOrEmail(anyString(), anyString());
+        verify(userRepository, never()).findAll();
+        verify(registrationBloomFilter).add("testuser", "test@example.com");
+    }
+
+    @Test
+    void testRegisterProceedsWhenBloomFilterHitIsFalsePositive() {
+        when(registrationBloomFilter.mightBeTaken("newuser", "new@example.com")).thenReturn(true);
+        when(userRepository.existsByUsernameOrEmail("newuser", "new@example.com")).thenReturn(false);
+        when(passwordHashingService.encode("Password@123", HashingLane.REGISTRATION)).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        authService.register(registerRequest);
+
+        verify(userRepository).save(any(User.class));
+    }
+
+    @Test
+    void testRegisterTranslatesUniqueConstraintViolation() {
+        when(registrationBloomFilter.mightBeTaken("newuser", "new@example.com")).thenReturn(false);
+        when(passwordHashingService.encode("Password@123", HashingLane.REGISTRATION)).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'newuser'"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> authService.register(registerRequest));
+        assertTrue(ex.getMessage().contains("already exists"));
+        verify(registrationBloomFilter).add("newuser", "new@example.com");
+        verifyNoInteractions(domainEventPublisher);
+    }
+
+    @Test
+    void testLoginPropagatesLoadShedding() {
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new ServiceOverloadedException("Password hashing capacity exhausted, please retry", 2));
+
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> authService.login("user", "pass"));
+        assertEquals(2, ex.getRetryAfterSeconds());
     }
 
     @Test
@@ -0,0 +1,142 @@
+package com.example.buildnest_ecommerce.service.auth;
+
+import com.example.buildnest_ecommerce.config.properties.AuthProperties;
+import com.example.buildnest_ecommerce.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private PasswordHashingService create(PasswordEncoder encoder, int poolSize, int queueCapacity,
+            int loginQueueCapacity) {
+        AuthProperties properties = new AuthProperties();
+        properties.getPasswordHashing().setPoolSize(poolSize);
+        properties.getPasswordHashing().setQueueCapacity(queueCapacity);
+        properties.getPasswordHashing().setLoginQueueCapacity(loginQueueCapacity);
+        properties.getPasswordHashing().setTimeoutMs(2_000);
+        properties.getPasswordHashing().setRetryAfterSeconds(3);
+        return new PasswordHashingService(encoder, properties, meterRegistry);
+    }
+
+    @Test
+    void testEncodeDelegatesToEncoderOnHashingThread() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode("secret")).thenAnswer(inv -> Thread.currentThread().getName());
+        service = create(encoder, 1, 1, 1);
+
+        String result = service.encode("secret", HashingLane.REGISTRATION);
+
+        assertTrue(result.startsWith("password-hash-"));
+        assertEquals(1, meterRegistry.get("auth.password.hashing.cost")
+                .tag("lane", "registration").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void testMatchesRunsOnPool() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        service = create(encoder, 1, 1, 1);
+        String hash = encoder.encode("secret");
+
+        assertTrue(service.matches("secret", hash, HashingLane.LOGIN));
+        assertFalse(service.forLane(HashingLane.LOGIN).matches("other", hash));
+    }
+
+    @Test
+    void testUpgradeEncodingDetectsWeakerCost() {
+        service = create(new BCryptPasswordEncoder(5), 1, 1, 1);
+
+        assertTrue(service.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(service.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret")));
+    }
+
+    @Test
+    void testLaneShedsWhenItsQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(anyString())).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        service = create(encoder, 1, 1, 1);
+
+        callers.submit(() -> service.encode("a", HashingLane.REGISTRATION));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        callers.submit(() -> service.encode("b", HashingLane.REGISTRATION));
+        Thread.sleep(100);
+
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> service.encode("c", HashingLane.REGISTRATION));
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected")
+                .tag("lane", "registration").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    void testLoginOvertakesQueuedRegistrations() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(anyString())).thenAnswer(inv -> {
+            String raw = inv.getArgument(0);
+            if ("blocker".equals(raw)) {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            order.add(raw);
+            return raw;
+        });
+        service = create(encoder, 1, 10, 10);
+
+        callers.submit(() -> service.encode("blocker", HashingLane.REGISTRATION));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        var registration = callers.submit(() -> service.encode("registration", HashingLane.REGISTRATION));
+        Thread.sleep(100);
+        var login = callers.submit(() -> service.encode("login", HashingLane.LOGIN));
+        Thread.sleep(100);
+        release.countDown();
+        registration.get(2, TimeUnit.SECONDS);
+        login.get(2, TimeUnit.SECONDS);
+
+        assertEquals(List.of("blocker", "login", "registration"), order);
+    }
+
+    @Test
+    void testEncoderFailureIsPropagated() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode("bad")).thenThrow(new IllegalArgumentException("bad input"));
+        service = create(encoder, 1, 1, 1);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.encode("bad", HashingLane.REGISTRATION));
+        assertEquals("bad input", ex.getMessage());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.buildnest_ecommerce.service.auth;
+
+import com.example.buildnest_ecommerce.model.entity.User;
+import com.example.buildnest_ecommerce.repository.UserRepository;
+import com.example.buildnest_ecommerce.security.CustomUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PasswordUpgradeServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordUpgradeService service = new PasswordUpgradeService(userRepository, meterRegistry);
+
+    @Test
+    void testUpdatePasswordPersistsNewHashAndKeepsPrincipalType() {
+        User entity = new User();
+        entity.setId(7L);
+        entity.setUsername("alice");
+        entity.setPassword("old-hash");
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(entity));
+        CustomUserDetails principal = new CustomUserDetails(7L, "alice", "alice@example.com", "old-hash",
+                List.of(), true, true, true, true);
+
+        UserDetails result = service.updatePassword(principal, "new-hash");
+
+        assertSame(principal, result);
+        assertEquals("new-hash", result.getPassword());
+        assertEquals("new-hash", entity.getPassword());
+        verify(userRepository).save(entity);
+        assertEquals(1.0, meterRegistry.get("auth.password.rehash").counter().count());
+    }
+
+    @Test
+    void testUpdatePasswordForUnknownUserOnlyUpdatesPrincipal() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+        UserDetails principal = org.springframework.security.core.userdetails.User
+                .withUsername("ghost").password("old").roles("USER").build();
+
+        UserDetails result = service.updatePassword(principal, "new");
+
+        assertEquals("new", result.getPassword());
+        verify(userRepository, never()).save(any());
+    }
+}
@@ -114,6 +114,21 @@ class CartServiceImplTest {
         verify(cartItemRepository).deleteById(1L);
     }
 
+    @Test
+    void testRemoveProductFromCart() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(cartRepository.findByUser(testUser)).thenReturn(Optional.of(testCart));
+
+        // Act
+        cartService.removeProductFromCart(1L, 1L);
+
+        // Assert
+        assertTrue(testCart.getItems().isEmpty());
+        verify(cartRepository).save(testCart);
+        assertFalse(cartService.persistCart(1L));
+    }
+
     @Test
     void testClearCart() {
         // Arrange
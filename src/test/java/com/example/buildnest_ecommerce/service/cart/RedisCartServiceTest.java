@@ -0,0 +1,269 @@
+package com.example.buildnest_ecommerce.service.cart;
+
+import com.example.buildnest_ecommerce.config.properties.CartProperties;
+import com.example.buildnest_ecommerce.model.entity.Cart;
+import com.example.buildnest_ecommerce.model.entity.CartItem;
+import com.example.buildnest_ecommerce.model.entity.Product;
+import com.example.buildnest_ecommerce.model.entity.User;
+import com.example.buildnest_ecommerce.model.payload.CartResponseDTO;
+import com.example.buildnest_ecommerce.repository.CartItemRepository;
+import com.example.buildnest_ecommerce.repository.CartRepository;
+import com.example.buildnest_ecommerce.repository.ProductRepository;
+import com.example.buildnest_ecommerce.repository.UserRepository;
+import com.example.buildnest_ecommerce.service.product.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisCartService tests")
+@SuppressWarnings({ "null", "unchecked" })
+class RedisCartServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProductService productService;
+
+    private RedisCartService cartService;
+    private User user;
+    private Cart cart;
+    private Product drill;
+    private Product cement;
+
+    @BeforeEach
+    void setUp() {
+        cartService = new RedisCartService(redisTemplate, cartRepository, cartItemRepository, productRepository,
+                userRepository, productService, new CartProperties());
+
+        user = new User();
+        user.setId(7L);
+        cart = new Cart();
+        cart.setId(70L);
+        cart.setUser(user);
+        cart.setItems(new ArrayList<>());
+        drill = product(1L, "Drill", "2499.00");
+        cement = product(2L, "Cement", "380.50");
+    }
+
+    private static Product product(Long id, String name, String price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setPrice(new BigDecimal(price));
+        return product;
+    }
+
+    private CartItem row(Long id, Product product, int quantity, String price) {
+        CartItem item = new CartItem();
+        item.setId(id);
+        item.setCart(cart);
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setPrice(new BigDecimal(price));
+        cart.getItems().add(item);
+        return item;
+    }
+
+    @Test
+    @DisplayName("Should add to a cart in Redis with one script and no database access")
+    void testAddToCartInRedis() {
+        when(productService.getProductById(1L)).thenReturn(drill);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn("70");
+
+        Cart result = cartService.addToCart(7L, 1L, 2);
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(any(RedisScript.class), keys.capture(), args.capture());
+        assertEquals(List.of("cart:7", "cart:dirty"), keys.getValue());
+        assertEquals(List.of("1", "2", "2499.00", "604800000", "7"), List.of(args.getValue()));
+        assertEquals(70L, result.getId());
+        assertEquals(7L, result.getUser().getId());
+        verifyNoInteractions(cartRepository, cartItemRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("Should load a cart from its rows into Redis on first use")
+    void testAddToCartLoadsExistingCart() {
+        row(700L, cement, 3, "375.00");
+        when(productService.getProductById(1L)).thenReturn(drill);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(cartRepository.findByUser(user)).thenReturn(Optional.of(cart));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(null, 1L, "70");
+
+        Cart result = cartService.addToCart(7L, 1L, 1);
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate, times(3)).execute(any(RedisScript.class), anyList(), args.capture());
+        assertEquals(List.of("604800000", "i:2", "700", "id", "70", "p:2", "375.00", "q:2", "3"),
+                List.of(args.getAllValues().get(1)));
+        assertEquals(70L, result.getId());
+        verify(cartRepository, never()).saveAndFlush(any(Cart.class));
+    }
+
+    @Test
+    @DisplayName("Should use the cart a concurrent first add created")
+    void testAddToCartReadsCartCreatedConcurrently() {
+        when(productService.getProductById(1L)).thenReturn(drill);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(cartRepository.findByUser(user)).thenReturn(Optional.empty(), Optional.of(cart));
+        when(cartRepository.saveAndFlush(any(Cart.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry '7' for key 'cart.user_id'"));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(null, 1L, "70");
+
+        Cart result = cartService.addToCart(7L, 1L, 1);
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate, times(3)).execute(any(RedisScript.class), anyList(), args.capture());
+        assertEquals(List.of("604800000", "id", "70"), List.of(args.getAllValues().get(1)));
+        assertEquals(70L, result.getId());
+        verify(cartRepository, times(2)).findByUser(user);
+    }
+
+    @Test
+    @DisplayName("Should read a cart with one HGETALL and cached product names")
+    void testGetCartByUserId() {
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries("cart:7")).thenReturn(Map.of(
+                "id", "70",
+                "q:1", "2", "p:1", "2499.00",
+                "q:2", "3", "p:2", "375.00", "i:2", "700"));
+        when(productService.getProductById(1L)).thenReturn(drill);
+        when(productService.getProductById(2L)).thenReturn(cement);
+
+        CartResponseDTO result = cartService.getCartByUserId(7L);
+
+        assertEquals(70L, result.getCartId());
+        assertEquals(7L, result.getUserId());
+        assertEquals(2, result.getItems().size());
+        assertNull(result.getItems().get(0).getCartItemId());
+        assertEquals("Drill", result.getItems().get(0).getProductName());
+        assertEquals(700L, result.getItems().get(1).getCartItemId());
+        assertEquals(1125.0, result.getItems().get(1).getItemTotal());
+        assertEquals(6123.0, result.getTotalAmount());
+        verifyNoInteractions(cartRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("Should not create a cart when reading one that does not exist")
+    void testGetMissingCart() {
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries("cart:7")).thenReturn(Map.of());
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(cartRepository.findByUser(user)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> cartService.getCartByUserId(7L));
+        verify(cartRepository, never()).save(any(Cart.class));
+    }
+
+    @Test
+    @DisplayName("Should replace the cart's rows with the Redis cart")
+    void testPersistCart() {
+        CartItem kept = row(700L, cement, 3, "375.00");
+        row(701L, product(3L, "Tiles", "45.00"), 10, "45.00");
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries("cart:7")).thenReturn(Map.of(
+                "id", "70",
+                "q:1", "2", "p:1", "2499.00",
+                "q:2", "5", "p:2", "375.00", "i:2", "700"));
+        when(cartRepository.findById(70L)).thenReturn(Optional.of(cart));
+        when(productRepository.getReferenceById(1L)).thenReturn(drill);
+        when(cartRepository.saveAndFlush(cart)).thenAnswer(invocation -> {
+            cart.getItems().stream().filter(item -> item.getId() == null).forEach(item -> item.setId(702L));
+            return cart;
+        });
+
+        assertTrue(cartService.persistCart(7L));
+
+        verify(setOperations).remove("cart:dirty", "7");
+        assertEquals(2, cart.getItems().size());
+        assertEquals(5, kept.getQuantity());
+        CartItem added = cart.getItems().get(1);
+        assertEquals(drill, added.getProduct());
+        assertEquals(new BigDecimal("2499.00"), added.getPrice());
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("cart:7")), args.capture());
+        assertEquals(List.of("1", "702"), List.of(args.getValue()));
+    }
+
+    @Test
+    @DisplayName("Should skip a cart that is no longer in Redis")
+    void testPersistExpiredCart() {
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries("cart:7")).thenReturn(Map.of());
+
+        assertFalse(cartService.persistCart(7L));
+        verifyNoInteractions(cartRepository);
+    }
+
+    @Test
+    @DisplayName("Should empty the cart's rows and its Redis copy")
+    void testClearCart() {
+        row(700L, cement, 3, "375.00");
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(cartRepository.findByUser(user)).thenReturn(Optional.of(cart));
+
+        cartService.clearCart(7L);
+
+        verify(cartItemRepository).deleteAll(cart.getItems());
+        assertTrue(cart.getItems().isEmpty());
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("cart:7", "cart:dirty")),
+                args.capture());
+        assertEquals(List.of("70", "604800000", "7"), List.of(args.getValue()));
+    }
+
+    @Test
+    @DisplayName("Should take dirty carts from the set in batches")
+    void testPollDirty() {
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.pop("cart:dirty", 500)).thenReturn(List.of("7", "9"));
+
+        assertEquals(List.of(7L, 9L), cartService.pollDirty(500));
+    }
+}
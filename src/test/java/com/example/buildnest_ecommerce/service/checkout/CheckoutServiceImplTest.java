@@ -7,6 +7,8 @@ import com.example.buildnest_ecommerce.repository.OrderRepository;
 import com.example.buildnest_ecommerce.repository.UserRepository;
 import com.example.buildnest_ecommerce.service.cart.CartService;
 import com.example.buildnest_ecommerce.service.inventory.InventoryService;
+import com.example.buildnest_ecommerce.service.payment.PaymentService;
+import com.example.buildnest_ecommerce.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -41,6 +44,9 @@ class CheckoutServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PaymentService paymentService;
+
     @InjectMocks
     private CheckoutServiceImpl checkoutService;
 
@@ -230,4 +236,38 @@ class CheckoutServiceImplTest {
         Double total = checkoutService.calculateFinalTotal(10L);
         assertEquals(260.0, total, 0.001);
     }
+
+    private Order pendingOrder(Long userId) {
+        User user = new User();
+        user.setId(userId);
+        Order order = new Order();
+        order.setId(30L);
+        order.setUser(user);
+        order.setStatus(Order.OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("260.00"));
+        return order;
+    }
+
+    @Test
+    @DisplayName("Should initiate payment for the user's pending order")
+    void testInitiatePayment() {
+        CompletableFuture<Payment> payment = new CompletableFuture<>();
+        when(orderRepository.findById(30L)).thenReturn(Optional.of(pendingOrder(1L)));
+        when(paymentService.initiatePaymentAsync(30L, 260.0)).thenReturn(payment);
+
+        assertSame(payment, checkoutService.initiatePayment(1L, 30L));
+    }
+
+    @Test
+    @DisplayName("Should not initiate payment for another user's or a settled order")
+    void testInitiatePaymentRejected() {
+        Order confirmed = pendingOrder(1L);
+        confirmed.setStatus(Order.OrderStatus.CONFIRMED);
+        when(orderRepository.findById(30L)).thenReturn(Optional.of(pendingOrder(2L)))
+                .thenReturn(Optional.of(confirmed));
+
+        assertThrows(ResourceNotFoundException.class, () -> checkoutService.initiatePayment(1L, 30L));
+        assertThrows(IllegalArgumentException.class, () -> checkoutService.initiatePayment(1L, 30L));
+        verifyNoInteractions(paymentService);
+    }
 }
@@ -4,6 +4,9 @@ import com.example.buildnest_ecommerce.model.elasticsearch.ElasticsearchAuditLog
 import com.example.buildnest_ecommerce.model.elasticsearch.ElasticsearchMetrics;
 import com.example.buildnest_ecommerce.repository.elasticsearch.ElasticsearchAuditLogRepository;
 import com.example.buildnest_ecommerce.repository.elasticsearch.ElasticsearchMetricsRepository;
+import com.example.buildnest_ecommerce.service.admin.ApiErrorCounterStore;
+import com.example.buildnest_ecommerce.service.elasticsearch.ingest.ElasticsearchBulkIndexer;
+import com.example.buildnest_ecommerce.util.CorrelationId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,12 +15,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -31,6 +36,12 @@ class ElasticsearchIngestionServiceTest {
     @Mock
     private ElasticsearchMetricsRepository metricsRepository;
 
+    @Mock
+    private ElasticsearchBulkIndexer bulkIndexer;
+
+    @Mock
+    private ApiErrorCounterStore errorCounterStore;
+
     @Captor
     private ArgumentCaptor<ElasticsearchAuditLog> auditLogCaptor;
 
@@ -41,7 +52,8 @@ class ElasticsearchIngestionServiceTest {
 
     @BeforeEach
     void setUp() {
-        ingestionService = new ElasticsearchIngestionService(auditLogRepository, metricsRepository);
+        ingestionService = new ElasticsearchIngestionService(auditLogRepository, metricsRepository, bulkIndexer,
+                errorCounterStore);
     }
 
     @Test
@@ -50,7 +62,7 @@ class ElasticsearchIngestionServiceTest {
         ingestionService.indexAuditLogWithStatus(10L, "USER_LOGIN", "AUTH", 99L,
                 "127.0.0.1", "agent", "old", "new", 201, "/api/login", null);
 
-        verify(auditLogRepository).save(auditLogCaptor.capture());
+        verify(bulkIndexer).index(auditLogCaptor.capture(), anyString());
         ElasticsearchAuditLog saved = auditLogCaptor.getValue();
 
         assertEquals(10L, saved.getUserId());
@@ -61,6 +73,22 @@ class ElasticsearchIngestionServiceTest {
         assertEquals(201, saved.getHttpStatusCode());
         assertEquals("/api/login", saved.getEndpoint());
         assertNotNull(saved.getTimestamp());
+        verify(errorCounterStore).record(saved);
+    }
+
+    @Test
+    @DisplayName("Should stamp the request correlation id")
+    void testIndexAuditLogCarriesCorrelationId() {
+        MDC.put(CorrelationId.MDC_KEY, "req-1");
+        try {
+            ingestionService.indexAuditLogWithStatus(10L, "CHECKOUT", "ORDER", 5L,
+                    "127.0.0.1", "agent", null, null, 500, "/api/orders", null);
+        } finally {
+            MDC.remove(CorrelationId.MDC_KEY);
+        }
+
+        verify(bulkIndexer).index(auditLogCaptor.capture(), anyString());
+        assertEquals("req-1", auditLogCaptor.getValue().getCorrelationId());
     }
 
     @Test
@@ -69,7 +97,7 @@ class ElasticsearchIngestionServiceTest {
         ingestionService.indexAuditLogWithStatus(20L, "DELETE_USER", "USER", 77L,
                 "10.0.0.1", "agent", null, null, 404, "/api/users/77", null);
 
-        verify(auditLogRepository).save(auditLogCaptor.capture());
+        verify(bulkIndexer).index(auditLogCaptor.capture(), anyString());
         ElasticsearchAuditLog saved = auditLogCaptor.getValue();
 
         assertEquals("CLIENT_ERROR", saved.getErrorCategory());
@@ -83,7 +111,7 @@ class ElasticsearchIngestionServiceTest {
         ingestionService.indexAuditLogWithStatus(21L, "ACCESS_RESOURCE", "RESOURCE", 12L,
                 "10.0.0.1", "agent", null, null, 302, "/api/resource", null);
 
-        verify(auditLogRepository).save(auditLogCaptor.capture());
+        verify(bulkIndexer).index(auditLogCaptor.capture(), anyString());
         ElasticsearchAuditLog saved = auditLogCaptor.getValue();
 
         assertEquals("REDIRECT", saved.getErrorCategory());
@@ -97,7 +125,7 @@ class ElasticsearchIngestionServiceTest {
         ingestionService.indexAuditLogWithStatus(22L, "ORDER_UPDATE", "ORDER", 88L,
                 "10.0.0.1", "agent", null, null, 503, "/api/orders/88", null);
 
-        verify(auditLogRepository).save(auditLogCaptor.capture());
+        verify(bulkIndexer).index(auditLogCaptor.capture(), anyString());
         ElasticsearchAuditLog saved = auditLogCaptor.getValue();
 
         assertEquals("SERVER_ERROR", saved.getErrorCategory());
@@ -111,7 +139,7 @@ class ElasticsearchIngestionServiceTest {
         ingestionService.indexAuditLogWithStatus(30L, "ORDER_UPDATE", "ORDER", 55L,
                 "10.0.0.2", "agent", null, null, 500, "/api/orders/55", "CUSTOM_CATEGORY");
 
-        verify(auditLogRepository).save(auditLogCaptor.capture());
+        verify(bulkIndexer).index(auditLogCaptor.capture(), anyString());
         ElasticsearchAuditLog saved = auditLogCaptor.getValue();
 
         assertEquals("CUSTOM_CATEGORY", saved.getErrorCategory());
@@ -124,7 +152,7 @@ class ElasticsearchIngestionServiceTest {
         ingestionService.indexAuditLogWithStatus(31L, "LOGIN", "AUTH", 1L,
                 "10.0.0.3", "agent", null, null, null, null, null);
 
-        verify(auditLogRepository).save(auditLogCaptor.capture());
+        verify(bulkIndexer).index(auditLogCaptor.capture(), anyString());
         ElasticsearchAuditLog saved = auditLogCaptor.getValue();
 
         assertNull(saved.getErrorCategory());
@@ -138,16 +166,17 @@ class ElasticsearchIngestionServiceTest {
         ingestionService.indexAuditLogWithStatus(32L, "PASSWORD_RESET", "USER", 2L,
                 "10.0.0.4", "agent", null, null, 200, "/api/users/2/reset", null);
 
-        verify(auditLogRepository).save(auditLogCaptor.capture());
+        verify(bulkIndexer).index(auditLogCaptor.capture(), anyString());
         ElasticsearchAuditLog saved = auditLogCaptor.getValue();
 
         assertEquals("WARN", saved.getSeverity());
     }
 
     @Test
-    @DisplayName("Should handle audit log repository failures gracefully")
-    void testIndexAuditLogHandlesRepositoryException() {
-        doThrow(new RuntimeException("save failed")).when(auditLogRepository).save(any(ElasticsearchAuditLog.class));
+    @DisplayName("Should handle audit log indexing failures gracefully")
+    void testIndexAuditLogHandlesIndexerException() {
+        doThrow(new RuntimeException("mapping failed")).when(bulkIndexer)
+                .index(any(ElasticsearchAuditLog.class), anyString());
 
         assertDoesNotThrow(() -> ingestionService.indexAuditLogWithStatus(40L, "LOGIN", "AUTH", 3L,
                 "10.0.0.5", "agent", null, null, 200, "/api/login", null));
@@ -158,7 +187,7 @@ class ElasticsearchIngestionServiceTest {
     void testIndexMetrics() {
         ingestionService.indexMetrics("cpu.usage", 75.5, "%", "order-service", "host-1", "test");
 
-        verify(metricsRepository).save(metricsCaptor.capture());
+        verify(bulkIndexer).index(metricsCaptor.capture(), anyString());
         ElasticsearchMetrics saved = metricsCaptor.getValue();
 
         assertEquals("cpu.usage", saved.getMetricName());
@@ -171,10 +200,10 @@ class ElasticsearchIngestionServiceTest {
     }
 
     @Test
-    @DisplayName("Should handle metrics repository failures gracefully")
-    void testIndexMetricsHandlesRepositoryException() {
-        doThrow(new RuntimeException("metrics save failed")).when(metricsRepository)
-                .save(any(ElasticsearchMetrics.class));
+    @DisplayName("Should handle metrics indexing failures gracefully")
+    void testIndexMetricsHandlesIndexerException() {
+        doThrow(new RuntimeException("metrics mapping failed")).when(bulkIndexer)
+                .index(any(ElasticsearchMetrics.class), anyString());
 
         assertDoesNotThrow(() -> ingestionService.indexMetrics("mem", 10.0, "MB", "svc", "host", "test"));
     }
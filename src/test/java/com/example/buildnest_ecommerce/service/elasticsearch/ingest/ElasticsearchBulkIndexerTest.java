@@ -0,0 +1,249 @@
+package com.example.buildnest_ecommerce.service.elasticsearch.ingest;
+
+import com.example.buildnest_ecommerce.config.properties.ElasticsearchProperties;
+import com.example.buildnest_ecommerce.config.properties.SpoolProperties;
+import com.example.buildnest_ecommerce.model.elasticsearch.ElasticsearchMetrics;
+import com.example.buildnest_ecommerce.service.spool.SpoolManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.BulkOptions;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ElasticsearchBulkIndexerTest {
+
+    @TempDir
+    Path dir;
+
+    private final ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ElasticsearchProperties properties = new ElasticsearchProperties();
+    private final SpoolProperties spoolProperties = new SpoolProperties();
+    private final List<List<String>> requests = new CopyOnWriteArrayList<>();
+    private SpoolManager spoolManager;
+    private ElasticsearchBulkIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        spoolProperties.setDirectory(dir.toString());
+        spoolProperties.setSegmentBytes(64 * 1024);
+        spoolProperties.setMaxBytes(256 * 1024);
+        spoolProperties.setShipIdleMs(10L);
+        spoolProperties.setMaxBackoffMs(20L);
+        properties.getIngest().setInitialBackoffMs(1L);
+        properties.getIngest().setMaxBackoffMs(2L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (indexer != null) {
+            indexer.shutdown();
+            spoolManager.shutdown();
+        }
+    }
+
+    private ElasticsearchBulkIndexer newIndexer() {
+        spoolManager = new SpoolManager(spoolProperties, meterRegistry);
+        indexer = new ElasticsearchBulkIndexer(operations, properties, spoolManager, new ObjectMapper(),
+                meterRegistry);
+        return indexer;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 2s");
+            Thread.sleep(10L);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordRequests() {
+        when(operations.bulkIndex(anyList(), any(BulkOptions.class), any(IndexCoordinates.class)))
+                .thenAnswer(invocation -> {
+                    requests.add(((List<IndexQuery>) invocation.getArgument(0)).stream()
+                            .map(IndexQuery::getId).toList());
+                    return List.of();
+                });
+    }
+
+    private static BulkDocument document(String id) {
+        return new BulkDocument("audit-logs-2024-01-01", id, "{\"action\":\"LOGIN\"}", System.currentTimeMillis());
+    }
+
+    private double documents(String outcome) {
+        return meterRegistry.get("elasticsearch.ingest.documents").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void shutdownShipsQueuedDocumentsInBulkChunks() {
+        recordRequests();
+        properties.getIngest().setMaxActions(2);
+        ElasticsearchBulkIndexer indexer = newIndexer();
+
+        for (String id : List.of("a", "b", "c", "d", "e")) {
+            assertTrue(indexer.enqueue(document(id)));
+        }
+        indexer.shutdown();
+
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e")), requests);
+        assertEquals(5.0, documents("indexed"));
+        assertEquals(5, meterRegistry.get("elasticsearch.ingest.lag").timer().count());
+        assertEquals(0, indexer.pending());
+    }
+
+    @Test
+    void consumerFlushesWhenByteLimitIsReached() {
+        recordRequests();
+        properties.getIngest().setMaxBytes(100L);
+        properties.getIngest().setFlushIntervalMs(60_000L);
+        ElasticsearchBulkIndexer indexer = newIndexer();
+        indexer.start();
+
+        indexer.enqueue(document("a"));
+        indexer.enqueue(document("b"));
+
+        verify(operations, timeout(2_000)).bulkIndex(anyList(), any(BulkOptions.class), any(IndexCoordinates.class));
+        assertEquals(List.of("a", "b"), requests.get(0));
+    }
+
+    @Test
+    void retryableItemFailuresAreRetriedAlone() {
+        when(operations.bulkIndex(anyList(), any(BulkOptions.class), any(IndexCoordinates.class)))
+                .thenThrow(new BulkFailureException("partial",
+                        Map.of("b", new BulkFailureException.FailureDetails(429, "too many requests"))))
+                .thenAnswer(invocation -> List.of());
+        ElasticsearchBulkIndexer indexer = newIndexer();
+
+        assertTrue(indexer.ship(new ArrayList<>(List.of(document("a"), document("b")))));
+
+        verify(operations, times(2)).bulkIndex(anyList(), any(BulkOptions.class), any(IndexCoordinates.class));
+        assertEquals(2.0, documents("indexed"));
+        assertEquals(1.0, documents("retried"));
+        assertEquals(0.0, documents("spilled"));
+    }
+
+    @Test
+    void nonRetryableItemFailuresAreDropped() {
+        when(operations.bulkIndex(anyList(), any(BulkOptions.class), any(IndexCoordinates.class)))
+                .thenThrow(new BulkFailureException("partial",
+                        Map.of("b", new BulkFailureException.FailureDetails(400, "mapper_parsing_exception"))));
+        ElasticsearchBulkIndexer indexer = newIndexer();
+
+        indexer.ship(new ArrayList<>(List.of(document("a"), document("b"))));
+
+        verify(operations, times(1)).bulkIndex(anyList(), any(BulkOptions.class), any(IndexCoordinates.class));
+        assertEquals(1.0, documents("indexed"));
+        assertEquals(1.0, documents("rejected"));
+    }
+
+    @Test
+    void exhaustedRetriesAreSpilled() {
+        properties.getIngest().setMaxRetries(2);
+        when(operations.bulkIndex(anyList(), any(BulkOptions.class), any(IndexCoordinates.class)))
+                .thenThrow(new BulkFailureException("partial",
+                        Map.of("a", new BulkFailureException.FailureDetails(503, "unavailable"))));
+        ElasticsearchBulkIndexer indexer = newIndexer();
+
+        indexer.ship(new ArrayList<>(List.of(document("a"))));
+
+        verify(operations, atLeast(3)).bulkIndex(anyList(), any(BulkOptions.class), any(IndexCoordinates.class));
+        assertEquals(1.0, documents("spilled"));
+    }
+
+    @Test
+    void unreachableClusterSpoolsBatchAndShipperLaterDeliversIt() throws Exception {
+        when(operations.bulkIndex(anyList(), any(BulkOptions.class), any(IndexCoordinates.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"))
+                .thenAnswer(invocation -> List.of());
+        ElasticsearchBulkIndexer indexer = newIndexer();
+
+        assertFalse(indexer.ship(new ArrayList<>(List.of(document("a"), document("b")))));
+        assertEquals(2.0, documents("spilled"));
+
+        await(() -> documents("replayed") == 2.0);
+        assertEquals(2.0, documents("indexed"));
+        assertEquals(0.0, meterRegistry.get("spool.lag.bytes").tag("name", "elasticsearch").gauge().value());
+    }
+
+    @Test
+    void spooledDocumentsStayOnDiskWhileClusterIsStillDown() throws Exception {
+        when(operations.bulkIndex(anyList(), any(BulkOptions.class), any(IndexCoordinates.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        ElasticsearchBulkIndexer indexer = newIndexer();
+        indexer.ship(new ArrayList<>(List.of(document("a"))));
+
+        await(() -> meterRegistry.get("spool.ship.failures").functionCounter().count() >= 2);
+
+        assertEquals(0.0, documents("replayed"));
+        assertTrue(meterRegistry.get("spool.lag.bytes").tag("name", "elasticsearch").gauge().value() > 0);
+    }
+
+    @Test
+    void replayRejectsNonRetryableDocumentsAndKeepsRetryableOnes() throws Exception {
+        ElasticsearchBulkIndexer indexer = newIndexer();
+        ObjectMapper mapper = new ObjectMapper();
+        List<byte[]> records = List.of(mapper.writeValueAsBytes(document("a")),
+                mapper.writeValueAsBytes(document("b")));
+        when(operations.bulkIndex(anyList(), any(BulkOptions.class), any(IndexCoordinates.class)))
+                .thenThrow(new BulkFailureException("partial",
+                        Map.of("b", new BulkFailureException.FailureDetails(503, "unavailable"))))
+                .thenThrow(new BulkFailureException("partial",
+                        Map.of("b", new BulkFailureException.FailureDetails(400, "mapper_parsing_exception"))));
+
+        assertThrows(IOException.class, () -> indexer.replay(records));
+        indexer.replay(records);
+
+        assertEquals(1.0, documents("rejected"));
+        assertEquals(2.0, documents("replayed"));
+    }
+
+    @Test
+    void fullQueueDropsDocuments() {
+        properties.getIngest().setQueueCapacity(2);
+        ElasticsearchBulkIndexer indexer = newIndexer();
+
+        assertTrue(indexer.enqueue(document("a")));
+        assertTrue(indexer.enqueue(document("b")));
+        assertFalse(indexer.enqueue(document("c")));
+
+        assertEquals(1.0, documents("dropped"));
+    }
+
+    @Test
+    void indexMapsEntityWithConverterAndResolvesIndex() {
+        ElasticsearchConverter converter = mock(ElasticsearchConverter.class);
+        ElasticsearchMetrics metrics = ElasticsearchMetrics.builder().id("m1").metricName("cpu").build();
+        when(operations.getIndexCoordinatesFor(ElasticsearchMetrics.class))
+                .thenReturn(IndexCoordinates.of("metrics-2024-01-01"));
+        when(operations.getElasticsearchConverter()).thenReturn(converter);
+        when(converter.mapObject(metrics)).thenReturn(Document.from(Map.of("metricName", "cpu")));
+        ElasticsearchBulkIndexer indexer = newIndexer();
+
+        assertTrue(indexer.index(metrics, "m1"));
+        assertEquals(1, indexer.pending());
+        assertTrue(meterRegistry.get("elasticsearch.ingest.queue.bytes").gauge().value() > 0);
+    }
+}
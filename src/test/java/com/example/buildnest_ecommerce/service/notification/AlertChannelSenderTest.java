@@ -0,0 +1,150 @@
+package com.example.buildnest_ecommerce.service.notification;
+
+import com.example.buildnest_ecommerce.service.notification.AlertCoalescer.Alert;
+import com.example.buildnest_ecommerce.service.notification.AlertCoalescer.AlertGroup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AlertChannelSender tests")
+class AlertChannelSenderTest {
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final AlertChannelSender sender = new AlertChannelSender(restTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(sender, "webhookUrl", "");
+        ReflectionTestUtils.setField(sender, "emailRecipients", "");
+        ReflectionTestUtils.setField(sender, "slackWebhookUrl", "");
+    }
+
+    private static AlertGroup single(String title, String message, String severity, Map<String, Object> metadata) {
+        Instant now = Instant.now();
+        return new AlertGroup(title, severity, 1, now, now,
+                List.of(new Alert(title, message, severity, metadata, now)));
+    }
+
+    private Map<?, ?> postedTo(String url) {
+        ArgumentCaptor<HttpEntity<?>> captor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).postForObject(eq(url), captor.capture(), eq(String.class));
+        return (Map<?, ?>) captor.getValue().getBody();
+    }
+
+    @Test
+    @DisplayName("Should list only configured channels")
+    void testEnabledChannels() {
+        assertTrue(sender.enabledChannels().isEmpty());
+
+        ReflectionTestUtils.setField(sender, "webhookUrl", "http://webhook");
+        ReflectionTestUtils.setField(sender, "emailEnabled", true);
+        ReflectionTestUtils.setField(sender, "slackEnabled", true);
+        assertEquals(List.of("webhook"), sender.enabledChannels());
+
+        ReflectionTestUtils.setField(sender, "emailRecipients", "ops@example.com");
+        ReflectionTestUtils.setField(sender, "slackWebhookUrl", "http://slack");
+        assertEquals(List.of("webhook", "email", "slack"), sender.enabledChannels());
+    }
+
+    @Test
+    @DisplayName("Should keep the per-alert payload for a single alert")
+    void testSingleAlertPayload() {
+        ReflectionTestUtils.setField(sender, "webhookUrl", "http://webhook");
+
+        sender.send("webhook", List.of(single("Auth Alert", "Details", "CRITICAL", Map.of("userId", 10))));
+
+        Map<?, ?> payload = postedTo("http://webhook");
+        assertEquals("Auth Alert", payload.get("title"));
+        assertEquals("Details", payload.get("message"));
+        assertEquals("CRITICAL", payload.get("severity"));
+        assertEquals(10, payload.get("userId"));
+        assertNotNull(payload.get("timestamp"));
+    }
+
+    @Test
+    @DisplayName("Should send one webhook digest for many alerts")
+    void testWebhookDigestPayload() {
+        ReflectionTestUtils.setField(sender, "webhookUrl", "http://webhook");
+        Instant now = Instant.now();
+        AlertGroup lowStock = new AlertGroup("Low Stock Warning", "WARN", 2000, now, now,
+                List.of(new Alert("Low Stock Warning", "Low stock for product A", "WARN", null, now)));
+        AlertGroup outOfStock = single("Out of Stock", "Product B is out", "CRITICAL", null);
+
+        sender.send("webhook", List.of(outOfStock, lowStock));
+
+        Map<?, ?> payload = postedTo("http://webhook");
+        assertEquals("Alert digest", payload.get("title"));
+        assertEquals("CRITICAL", payload.get("severity"));
+        assertEquals(2001, payload.get("alertCount"));
+        List<?> groups = (List<?>) payload.get("groups");
+        assertEquals(2, groups.size());
+        assertEquals(2000, ((Map<?, ?>) groups.get(1)).get("count"));
+    }
+
+    @Test
+    @DisplayName("Should send one Slack message with an attachment per group")
+    void testSlackDigest() {
+        ReflectionTestUtils.setField(sender, "slackEnabled", true);
+        ReflectionTestUtils.setField(sender, "slackWebhookUrl", "http://slack");
+        Instant now = Instant.now();
+        AlertGroup lowStock = new AlertGroup("Low Stock Warning", "WARN", 3, now, now, List.of(
+                new Alert("Low Stock Warning", "Low stock for A", "WARN", null, now),
+                new Alert("Low Stock Warning", "Low stock for B", "WARN", null, now)));
+
+        sender.send("slack", List.of(single("Back in Stock", "C is back", "INFO", Map.of("productId", 3)),
+                lowStock));
+
+        List<?> attachments = (List<?>) postedTo("http://slack").get("attachments");
+        assertEquals(2, attachments.size());
+        Map<?, ?> first = (Map<?, ?>) attachments.get(0);
+        assertEquals("good", first.get("color"));
+        assertEquals("C is back", first.get("text"));
+        Map<?, ?> second = (Map<?, ?>) attachments.get(1);
+        assertEquals("warning", second.get("color"));
+        assertEquals("Low Stock Warning (3 alerts)", second.get("title"));
+        assertEquals("Low stock for A\nLow stock for B\n...and 1 more", second.get("text"));
+    }
+
+    @Test
+    @DisplayName("Should use danger color for CRITICAL Slack alerts")
+    void testSlackColorCritical() {
+        ReflectionTestUtils.setField(sender, "slackWebhookUrl", "http://slack");
+
+        sender.send("slack", List.of(single("Alert", "Message", "CRITICAL", null)));
+
+        Map<?, ?> attachment = (Map<?, ?>) ((List<?>) postedTo("http://slack").get("attachments")).get(0);
+        assertEquals("danger", attachment.get("color"));
+    }
+
+    @Test
+    @DisplayName("Should not post for the email channel")
+    void testEmailIsPlaceholder() {
+        sender.send("email", List.of(single("Title", "Message", "HIGH", null)));
+
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Should handle channel exceptions gracefully")
+    void testExceptionHandling() {
+        ReflectionTestUtils.setField(sender, "webhookUrl", "http://webhook");
+        ReflectionTestUtils.setField(sender, "slackWebhookUrl", "http://slack");
+        when(restTemplate.postForObject(any(), any(), any())).thenThrow(new RuntimeException("Connection error"));
+
+        assertDoesNotThrow(() -> sender.send("webhook", List.of(single("Title", "Message", "HIGH", null))));
+        assertDoesNotThrow(() -> sender.send("slack", List.of(single("Title", "Message", "HIGH", null))));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.buildnest_ecommerce.service.notification;
+
+import com.example.buildnest_ecommerce.config.properties.AlertProperties;
+import com.example.buildnest_ecommerce.service.notification.AlertCoalescer.AlertGroup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AlertCoalescerTest {
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final AlertChannelSender sender = mock(AlertChannelSender.class);
+    private final AlertProperties properties = new AlertProperties();
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AlertCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        when(sender.enabledChannels()).thenReturn(List.of("webhook", "slack"));
+        coalescer = new AlertCoalescer(sender, properties, clock, meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<AlertGroup> sentTo(String channel) {
+        ArgumentCaptor<List<AlertGroup>> captor = ArgumentCaptor.forClass(List.class);
+        verify(sender).send(eq(channel), captor.capture());
+        return captor.getValue();
+    }
+
+    private double counter(String name, String... tags) {
+        return meterRegistry.get(name).tags(tags).counter().count();
+    }
+
+    @Test
+    void burstBecomesOneMessagePerChannel() {
+        for (int i = 0; i < 2_000; i++) {
+            coalescer.submit("Low Stock Warning", "Low stock for product " + i, "WARN", Map.of("productId", i));
+        }
+        coalescer.submit("Out of Stock", "Product X is out", "CRITICAL", null);
+
+        coalescer.flush();
+
+        List<AlertGroup> digest = sentTo("slack");
+        assertEquals(2, digest.size());
+        assertEquals("CRITICAL", digest.get(0).severity());
+        assertEquals(2_000, digest.get(1).count());
+        assertEquals(properties.getMaxSamplesPerGroup(), digest.get(1).samples().size());
+        assertEquals(digest, sentTo("webhook"));
+        assertEquals(2_001.0, counter("notification.alerts.delivered", "channel", "slack"));
+        assertEquals(1.0, counter("notification.messages", "channel", "slack", "outcome", "sent"));
+    }
+
+    @Test
+    void suppressesDuplicatesWithinTheTtl() {
+        properties.setDedupeTtlMs(60_000L);
+
+        assertTrue(coalescer.submit("Low Stock", "Low stock for A", "WARN", Map.of("stock", 4)));
+        assertFalse(coalescer.submit("Low Stock", "Low stock for A", "WARN", Map.of("stock", 3)));
+        assertTrue(coalescer.submit("Low Stock", "Low stock for A", "CRITICAL", null));
+        clock.advance(60_000L);
+        assertTrue(coalescer.submit("Low Stock", "Low stock for A", "WARN", null));
+
+        assertEquals(4.0, meterRegistry.get("notification.alerts.received").counter().count());
+        assertEquals(1.0, meterRegistry.get("notification.alerts.suppressed").counter().count());
+        assertEquals(3.0, meterRegistry.get("notification.alerts.pending").gauge().value());
+    }
+
+    @Test
+    void rateLimitedChannelKeepsItsGroupsForTheNextWindow() {
+        properties.setMessagesPerMinute(60);
+        AlertProperties.Channel slack = new AlertProperties.Channel();
+        slack.setMessagesPerMinute(1);
+        properties.getChannels().put("slack", slack);
+
+        coalescer.submit("Low Stock", "Low stock for A", "WARN", null);
+        coalescer.flush();
+        coalescer.submit("Low Stock", "Low stock for B", "WARN", null);
+        clock.advance(30_000L);
+        coalescer.flush();
+
+        verify(sender, times(2)).send(eq("webhook"), anyList());
+        verify(sender, times(1)).send(eq("slack"), anyList());
+        assertEquals(1.0, counter("notification.messages", "channel", "slack", "outcome", "deferred"));
+
+        clock.advance(30_000L);
+        coalescer.flush();
+
+        verify(sender, times(2)).send(eq("slack"), anyList());
+        assertEquals(2.0, counter("notification.alerts.delivered", "channel", "slack"));
+    }
+
+    @Test
+    void emptyWindowSendsNothing() {
+        coalescer.flush();
+
+        verify(sender, never()).send(any(), any());
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.buildnest_ecommerce.service.order;
 
 import com.example.buildnest_ecommerce.event.DomainEventPublisher;
+import com.example.buildnest_ecommerce.event.OrderUpdatedEvent;
 import com.example.buildnest_ecommerce.model.dto.OrderResponseDTO;
+import com.example.buildnest_ecommerce.model.dto.OrderSummaryDTO;
 import com.example.buildnest_ecommerce.model.entity.Order;
 import com.example.buildnest_ecommerce.model.entity.User;
 import com.example.buildnest_ecommerce.repository.OrderRepository;
@@ -12,6 +14,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -53,17 +58,17 @@ class OrderServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should filter deleted orders")
-    void testGetAllOrdersFiltersDeleted() {
-        Order deleted = new Order();
-        deleted.setUser(user);
-        deleted.setIsDeleted(true);
+    @DisplayName("Should read one capped page of order summaries")
+    void testGetAllOrdersIsPaged() {
+        OrderSummaryDTO summary = new OrderSummaryDTO(100L, "ORD-100", Order.OrderStatus.PENDING,
+                new BigDecimal("99.99"), order.getCreatedAt(), null);
+        when(orderRepository.findSummaries(any())).thenReturn(new SliceImpl<>(List.of(summary)));
 
-        when(orderRepository.findAll()).thenReturn(List.of(order, deleted));
+        Slice<OrderSummaryDTO> result = orderService.getAllOrders(2, 1_000);
 
-        List<Order> result = orderService.getAllOrders();
-        assertEquals(1, result.size());
-        assertFalse(result.get(0).getIsDeleted());
+        assertEquals(List.of(summary), result.getContent());
+        verify(orderRepository).findSummaries(PageRequest.of(2, OrderServiceImpl.MAX_PAGE_SIZE));
+        verify(orderRepository, never()).findAll();
     }
 
     @Test
@@ -120,6 +125,7 @@ class OrderServiceImplTest {
 
         assertTrue(order.getIsDeleted());
         verify(orderRepository).save(order);
+        verify(domainEventPublisher).publish(any(OrderUpdatedEvent.class));
     }
 
     @Test
@@ -145,7 +151,7 @@ class OrderServiceImplTest {
     @Test
     @DisplayName("Should map order responses")
     void testGetOrderResponsesByUserId() {
-        when(orderRepository.findAll()).thenReturn(List.of(order));
+        when(orderRepository.findByUserIdAndIsDeletedFalseOrderByCreatedAtDescIdDesc(7L)).thenReturn(List.of(order));
 
         List<OrderResponseDTO> responses = orderService.getOrderResponsesByUserId(7L);
         assertEquals(1, responses.size());
@@ -0,0 +1,126 @@
+package com.example.buildnest_ecommerce.service.order;
+
+import com.example.buildnest_ecommerce.config.properties.OrderViewProperties;
+import com.example.buildnest_ecommerce.model.entity.Order;
+import com.example.buildnest_ecommerce.model.entity.OrderView;
+import com.example.buildnest_ecommerce.model.entity.Payment;
+import com.example.buildnest_ecommerce.model.entity.User;
+import com.example.buildnest_ecommerce.repository.OrderRepository;
+import com.example.buildnest_ecommerce.repository.OrderViewRepository;
+import com.example.buildnest_ecommerce.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class OrderViewRebuilderTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderViewRepository viewRepository = mock(OrderViewRepository.class);
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final OrderViewService viewService = mock(OrderViewService.class);
+    private final OrderViewProperties properties = new OrderViewProperties();
+
+    private OrderViewRebuilder rebuilder() {
+        return new OrderViewRebuilder(orderRepository, viewRepository, paymentRepository, viewService,
+                mock(PlatformTransactionManager.class), properties);
+    }
+
+    private void givenOrders(long count) {
+        List<Long> ids = LongStream.rangeClosed(1, count).boxed().toList();
+        when(orderRepository.findIdsAfter(anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            return ids.stream().filter(id -> id > afterId).limit(pageable.getPageSize()).toList();
+        });
+        when(orderRepository.findDetailsByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> chunk = invocation.getArgument(0);
+            return chunk.stream().map(id -> {
+                User user = new User();
+                user.setId(id % 3);
+                Order order = new Order();
+                order.setId(id);
+                order.setUser(user);
+                return order;
+            }).toList();
+        });
+        when(viewService.render(any(), any(), any())).thenAnswer(invocation -> {
+            OrderView view = new OrderView();
+            view.setOrderId(invocation.<Order>getArgument(0).getId());
+            return view;
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rendersEveryOrderInChunks() {
+        properties.setRebuildChunkSize(10);
+        properties.setRebuildParallelism(3);
+        givenOrders(35);
+        Payment payment = new Payment();
+        payment.setId(9L);
+        payment.setOrderId(4L);
+        when(paymentRepository.findByOrderIdInOrderByIdAsc(any())).thenReturn(List.of(payment));
+        List<Long> saved = Collections.synchronizedList(new ArrayList<>());
+        when(viewRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            ((List<OrderView>) invocation.getArgument(0)).forEach(view -> saved.add(view.getOrderId()));
+            return invocation.getArgument(0);
+        });
+        when(viewRepository.deleteOrphans()).thenReturn(2);
+
+        OrderViewRebuilder.RebuildResult result = rebuilder().rebuild();
+
+        assertEquals(35, result.orders());
+        assertEquals(4, result.chunks());
+        assertEquals(2, result.orphansRemoved());
+        assertEquals(LongStream.rangeClosed(1, 35).boxed().toList(), saved.stream().sorted().toList());
+        verify(viewService).render(argThat(order -> order.getId() == 4L), eq(List.of(payment)), isNull());
+    }
+
+    @Test
+    void onlyOneRebuildRunsAtATime() throws Exception {
+        givenOrders(1);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(viewRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        OrderViewRebuilder rebuilder = rebuilder();
+        Thread first = new Thread(rebuilder::rebuild);
+        first.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IllegalStateException.class, rebuilder::rebuild);
+
+        release.countDown();
+        first.join(5_000L);
+        assertEquals(1, rebuilder.rebuild().orders());
+    }
+
+    @Test
+    void failedChunkFailsTheRebuild() {
+        givenOrders(5);
+        when(viewRepository.saveAll(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> rebuilder().rebuild());
+
+        assertTrue(error.getMessage().contains("db down"));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.buildnest_ecommerce.service.order;
+
+import com.example.buildnest_ecommerce.event.OrderPlacedEvent;
+import com.example.buildnest_ecommerce.event.OrderStatusChangedEvent;
+import com.example.buildnest_ecommerce.event.PaymentSuccessfulEvent;
+import com.example.buildnest_ecommerce.model.dto.OrderResponseDTO;
+import com.example.buildnest_ecommerce.model.dto.PublicOrderDTO;
+import com.example.buildnest_ecommerce.model.entity.Order;
+import com.example.buildnest_ecommerce.model.entity.OrderItem;
+import com.example.buildnest_ecommerce.model.entity.OrderView;
+import com.example.buildnest_ecommerce.model.entity.Product;
+import com.example.buildnest_ecommerce.model.entity.User;
+import com.example.buildnest_ecommerce.repository.OrderRepository;
+import com.example.buildnest_ecommerce.repository.OrderViewRepository;
+import com.example.buildnest_ecommerce.repository.PaymentRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OrderViewServiceTest {
+
+    private final OrderViewRepository viewRepository = mock(OrderViewRepository.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, OrderView> views = new HashMap<>();
+    private final OrderViewService service = new OrderViewService(viewRepository, orderRepository,
+            paymentRepository, objectMapper, Clock.fixed(Instant.parse("2026-03-01T10:00:00Z"), ZoneOffset.UTC));
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(7L);
+        Product product = new Product();
+        product.setId(3L);
+        product.setName("Cement");
+        OrderItem item = new OrderItem();
+        item.setId(1L);
+        item.setProduct(product);
+        item.setQuantity(2);
+        item.setPrice(new BigDecimal("50.00"));
+        item.setSubtotal(new BigDecimal("100.00"));
+        order = new Order();
+        order.setId(100L);
+        order.setUser(user);
+        order.setOrderNumber("ORD-100");
+        order.setStatus(Order.OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("100.00"));
+        order.setCreatedAt(LocalDateTime.of(2026, 3, 1, 9, 0));
+        order.setOrderItems(Set.of(item));
+
+        when(orderRepository.findDetailById(100L)).thenAnswer(invocation -> Optional.of(order));
+        when(paymentRepository.findByOrderIdInOrderByIdAsc(any())).thenReturn(List.of());
+        when(viewRepository.findById(any())).thenAnswer(invocation ->
+                Optional.ofNullable(views.get((Long) invocation.getArgument(0))));
+        when(viewRepository.save(any(OrderView.class))).thenAnswer(invocation -> {
+            OrderView view = invocation.getArgument(0);
+            views.put(view.getOrderId(), view);
+            return view;
+        });
+    }
+
+    private JsonNode json(String value) throws Exception {
+        return objectMapper.readTree(value);
+    }
+
+    @Test
+    void placedOrderIsRenderedWithItemsAndInitialStatus() throws Exception {
+        service.onOrderPlaced(new OrderPlacedEvent(this, order, 7L));
+
+        OrderView view = views.get(100L);
+        assertEquals(7L, view.getUserId());
+        assertEquals(1, view.getItemCount());
+        assertEquals("Cement", json(view.getItems()).get(0).get("productName").asText());
+        JsonNode history = json(view.getStatusHistory());
+        assertEquals(1, history.size());
+        assertEquals("PENDING", history.get(0).get("status").asText());
+    }
+
+    @Test
+    void statusChangesAndPaymentsAccumulateOnTheView() throws Exception {
+        service.onOrderPlaced(new OrderPlacedEvent(this, order, 7L));
+        order.setStatus(Order.OrderStatus.CONFIRMED);
+        service.onOrderStatusChanged(new OrderStatusChangedEvent(this, 100L, 7L, "PENDING", "CONFIRMED"));
+        service.onPaymentSucceeded(new PaymentSuccessfulEvent(this, 55L, 100L, new BigDecimal("100.00")));
+
+        OrderView view = views.get(100L);
+        assertEquals("CONFIRMED", view.getStatus());
+        assertEquals("SUCCESS", view.getPaymentStatus());
+        assertEquals(55L, view.getPaymentId());
+        JsonNode history = json(view.getStatusHistory());
+        assertEquals(2, history.size());
+        assertEquals("CONFIRMED", history.get(1).get("status").asText());
+        assertEquals("2026-03-01T10:00", history.get(1).get("at").asText());
+    }
+
+    @Test
+    void readsFallBackToTheSourceTablesUntilTheViewExists() throws Exception {
+        OrderView view = service.getUserOrderView(7L, 100L);
+
+        assertEquals("ORD-100", view.getOrderNumber());
+        verify(viewRepository, never()).save(any());
+        assertThrows(IllegalAccessException.class, () -> service.getUserOrderView(8L, 100L));
+        assertThrows(RuntimeException.class, () -> service.getOrderView(101L));
+    }
+
+    @Test
+    void controllersGetTheViewAsDtos() throws Exception {
+        service.onOrderPlaced(new OrderPlacedEvent(this, order, 7L));
+
+        PublicOrderDTO publicOrder = service.getUserOrder(7L, 100L);
+        assertEquals("ORD-100", publicOrder.getOrderNumber());
+        assertEquals("PENDING", publicOrder.getStatus());
+        assertEquals(List.of(new PublicOrderDTO.PublicOrderItemDTO(3L, "Cement", 2, new BigDecimal("50.00"))),
+                publicOrder.getItems());
+
+        OrderResponseDTO response = service.getOrder(100L);
+        assertEquals(100L, response.getId());
+        assertEquals(7L, response.getUserId());
+        assertEquals(100.0, response.getTotalAmount());
+    }
+
+    @Test
+    void deletedOrdersAreHiddenFromTheirOwner() {
+        order.setIsDeleted(true);
+        service.onOrderPlaced(new OrderPlacedEvent(this, order, 7L));
+
+        assertTrue(service.getOrderView(100L).isDeleted());
+        assertThrows(RuntimeException.class, () -> service.getUserOrderView(7L, 100L));
+    }
+
+    @Test
+    void viewOfAnOrderThatNoLongerExistsIsRemoved() {
+        service.onOrderPlaced(new OrderPlacedEvent(this, order, 7L));
+        when(orderRepository.findDetailById(100L)).thenReturn(Optional.empty());
+
+        service.onOrderStatusChanged(new OrderStatusChangedEvent(this, 100L, 7L, "PENDING", "CANCELLED"));
+
+        verify(viewRepository).delete(views.get(100L));
+    }
+}
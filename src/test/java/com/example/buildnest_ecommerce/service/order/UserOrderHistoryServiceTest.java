@@ -0,0 +1,120 @@
+package com.example.buildnest_ecommerce.service.order;
+
+import com.example.buildnest_ecommerce.event.OrderPlacedEvent;
+import com.example.buildnest_ecommerce.event.OrderStatusChangedEvent;
+import com.example.buildnest_ecommerce.event.OrderUpdatedEvent;
+import com.example.buildnest_ecommerce.model.dto.OrderSummaryDTO;
+import com.example.buildnest_ecommerce.model.entity.Order;
+import com.example.buildnest_ecommerce.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserOrderHistoryServiceTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+            UserOrderHistoryService.CACHE_NAME);
+    private final UserOrderHistoryService service = new UserOrderHistoryService(orderRepository,
+            cacheManager);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void givenOrders(long count) {
+        List<OrderSummaryDTO> rows = LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new OrderSummaryDTO(id, "ORD-" + id, Order.OrderStatus.PENDING, BigDecimal.TEN,
+                        LocalDateTime.now(), null))
+                .toList();
+        when(orderRepository.findSummariesByUserId(eq(7L), any())).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(1);
+            int from = (int) Math.min(pageable.getOffset(), rows.size());
+            int to = Math.min(from + pageable.getPageSize(), rows.size());
+            return new SliceImpl<>(rows.subList(from, to), pageable, to < rows.size());
+        });
+    }
+
+    @Test
+    void firstPageIsServedFromTheRecentOrdersCache() {
+        givenOrders(30);
+
+        Slice<OrderSummaryDTO> first = service.getOrderHistory(7L, 0, 10);
+        Slice<OrderSummaryDTO> again = service.getOrderHistory(7L, 0, 20);
+
+        assertEquals(10, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(20, again.getNumberOfElements());
+        assertTrue(again.hasNext());
+        verify(orderRepository, times(1)).findSummariesByUserId(7L,
+                PageRequest.of(0, UserOrderHistoryService.RECENT_ORDERS + 1));
+    }
+
+    @Test
+    void laterPagesQueryTheIndexDirectly() {
+        givenOrders(30);
+
+        Slice<OrderSummaryDTO> second = service.getOrderHistory(7L, 1, 20);
+
+        assertEquals(10, second.getNumberOfElements());
+        assertEquals(21L, second.getContent().get(0).getId());
+        assertFalse(second.hasNext());
+        assertNull(cacheManager.getCache(UserOrderHistoryService.CACHE_NAME).get(7L));
+    }
+
+    @Test
+    void pageSizeIsCapped() {
+        givenOrders(5);
+
+        service.getOrderHistory(7L, 0, 10_000);
+
+        verify(orderRepository).findSummariesByUserId(7L, PageRequest.of(0, UserOrderHistoryService.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void orderEventsEvictTheUsersRecentOrders() {
+        givenOrders(3);
+        service.getOrderHistory(7L, 0, 20);
+
+        service.onOrderPlaced(new OrderPlacedEvent(this, 4L, 7L, "PENDING", BigDecimal.ONE));
+        service.getOrderHistory(7L, 0, 20);
+        service.onOrderStatusChanged(new OrderStatusChangedEvent(this, 4L, 7L, "PENDING", "CONFIRMED"));
+        service.getOrderHistory(7L, 0, 20);
+        service.onOrderUpdated(new OrderUpdatedEvent(this, 4L, 7L));
+        service.getOrderHistory(7L, 0, 20);
+
+        verify(orderRepository, times(4)).findSummariesByUserId(eq(7L), any());
+    }
+
+    @Test
+    void evictionInsideATransactionWaitsForCommit() {
+        givenOrders(3);
+        service.getOrderHistory(7L, 0, 20);
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.evictRecentOrders(7L);
+
+        assertNotNull(cacheManager.getCache(UserOrderHistoryService.CACHE_NAME).get(7L));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNull(cacheManager.getCache(UserOrderHistoryService.CACHE_NAME).get(7L));
+    }
+}
@@ -5,6 +5,8 @@ import com.example.buildnest_ecommerce.model.entity.User;
 import com.example.buildnest_ecommerce.repository.PasswordResetTokenRepository;
 import com.example.buildnest_ecommerce.repository.UserRepository;
 import com.example.buildnest_ecommerce.service.audit.AuditLogService;
+import com.example.buildnest_ecommerce.service.auth.HashingLane;
+import com.example.buildnest_ecommerce.service.auth.PasswordHashingService;
 import com.example.buildnest_ecommerce.service.token.RefreshTokenService;
 import com.example.buildnest_ecommerce.util.ValidationUtil;
 import org.junit.jupiter.api.DisplayName;
@@ -13,7 +15,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
@@ -32,7 +33,7 @@ class PasswordResetServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Mock
     private RefreshTokenService refreshTokenService;
@@ -91,7 +92,7 @@ class PasswordResetServiceImplTest {
 
         when(passwordResetTokenRepository.findByToken("token")).thenReturn(Optional.of(token));
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(passwordEncoder.encode("NewPass@123")).thenReturn("encoded");
+        when(passwordHashingService.encode("NewPass@123", HashingLane.PASSWORD_CHANGE)).thenReturn("encoded");
 
         passwordResetService.resetPasswordWithToken("token", "NewPass@123");
 
@@ -125,8 +126,8 @@ class PasswordResetServiceImplTest {
         user.setPassword("encodedOld");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("old", "encodedOld")).thenReturn(true);
-        when(passwordEncoder.encode("new"))
+        when(passwordHashingService.matches("old", "encodedOld", HashingLane.PASSWORD_CHANGE)).thenReturn(true);
+        when(passwordHashingService.encode("new", HashingLane.PASSWORD_CHANGE))
                 .thenReturn("encodedNew");
 
         passwordResetService.changePassword(1L, "old", "new", "ip", "agent");
@@ -144,7 +145,7 @@ class PasswordResetServiceImplTest {
         user.setPassword("encodedOld");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("old", "encodedOld")).thenReturn(false);
+        when(passwordHashingService.matches("old", "encodedOld", HashingLane.PASSWORD_CHANGE)).thenReturn(false);
 
         assertThrows(IllegalArgumentException.class,
                 () -> passwordResetService.changePassword(1L, "old", "new", "ip", "agent"));
@@ -0,0 +1,93 @@
+package com.example.buildnest_ecommerce.service.payment;
+
+import com.example.buildnest_ecommerce.config.properties.PaymentProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PaymentCallbackRegistryTest {
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final PaymentProperties properties = new PaymentProperties();
+    private final MutableClock clock = new MutableClock();
+
+    private PaymentCallbackRegistry registry() {
+        return new PaymentCallbackRegistry(redisTemplate, properties, clock);
+    }
+
+    @Test
+    void recordsProcessedIdsInRedisWithTheRetentionWindow() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        properties.getCallback().setSeenTtlMs(60_000L);
+
+        registry().markProcessed("pay_1");
+
+        verify(valueOperations).set("payment:callback:pay_1", "1", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void idsProcessedOnAnotherPodAreFoundInRedisAndRememberedLocally() {
+        when(redisTemplate.hasKey("payment:callback:pay_1")).thenReturn(true);
+        PaymentCallbackRegistry registry = registry();
+
+        assertTrue(registry.isProcessed("pay_1"));
+        assertTrue(registry.isProcessed("pay_1"));
+        assertFalse(registry.isProcessed("pay_2"));
+        verify(redisTemplate, times(1)).hasKey("payment:callback:pay_1");
+    }
+
+    @Test
+    void fallsBackToLocalEntriesWhileRedisIsDown() {
+        when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+        when(redisTemplate.hasKey(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        properties.getCallback().setSeenTtlMs(60_000L);
+        properties.getCallback().setLocalCapacity(2);
+        PaymentCallbackRegistry registry = registry();
+
+        registry.markProcessed("pay_1");
+        registry.markProcessed("pay_2");
+        assertTrue(registry.isProcessed("pay_1"));
+
+        registry.markProcessed("pay_3");
+        assertFalse(registry.isProcessed("pay_1"));
+        assertTrue(registry.isProcessed("pay_3"));
+
+        clock.advance(Duration.ofMinutes(2));
+        assertFalse(registry.isProcessed("pay_3"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-03-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
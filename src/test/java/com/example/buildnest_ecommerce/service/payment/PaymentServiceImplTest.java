@@ -3,22 +3,32 @@ package com.example.buildnest_ecommerce.service.payment;
 import com.example.buildnest_ecommerce.event.DomainEventPublisher;
 import com.example.buildnest_ecommerce.exception.ExternalServiceException;
 import com.example.buildnest_ecommerce.exception.PaymentProcessingException;
-import com.example.buildnest_ecommerce.integration.RazorpayClientAdapter;
+import com.example.buildnest_ecommerce.integration.PaymentGatewayClient;
 import com.example.buildnest_ecommerce.model.entity.Payment;
 import com.example.buildnest_ecommerce.repository.PaymentRepository;
+import com.example.buildnest_ecommerce.event.PaymentSuccessfulEvent;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
 
-import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,18 +39,42 @@ class PaymentServiceImplTest {
     private PaymentRepository paymentRepository;
 
     @Mock
-    private RazorpayClientAdapter razorpayAdapter;
+    private PaymentGatewayClient paymentGateway;
 
     @Mock
     private DomainEventPublisher domainEventPublisher;
 
-    @InjectMocks
+    @Mock
+    private PaymentCallbackRegistry callbackRegistry;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
     private PaymentServiceImpl paymentService;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        paymentService = new PaymentServiceImpl(paymentRepository, paymentGateway, domainEventPublisher,
+                callbackRegistry, meterRegistry, transactionManager);
+    }
+
+    private Payment pendingPayment() {
+        Payment payment = new Payment();
+        payment.setId(10L);
+        payment.setOrderId(5L);
+        payment.setRazorpayOrderId("rp-order");
+        payment.setAmount(100.0);
+        payment.setStatus("PENDING");
+        return payment;
+    }
+
     @Test
     @DisplayName("Should initiate payment successfully")
     void testInitiatePayment() {
-        when(razorpayAdapter.createOrder(100.0, 1L)).thenReturn("rp-order");
+        when(paymentGateway.createOrder(100.0, 1L)).thenReturn(CompletableFuture.completedFuture("rp-order"));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Payment payment = paymentService.initiatePayment(1L, 100.0);
@@ -51,8 +85,8 @@ class PaymentServiceImplTest {
     @Test
     @DisplayName("Should throw on invalid payment params")
     void testInitiatePaymentInvalid() {
-        when(razorpayAdapter.createOrder(anyDouble(), any(Long.class)))
-                .thenThrow(new IllegalArgumentException("bad"));
+        when(paymentGateway.createOrder(anyDouble(), any(Long.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("bad")));
 
         assertThrows(PaymentProcessingException.class, () -> paymentService.initiatePayment(1L, 0.0));
     }
@@ -60,37 +94,94 @@ class PaymentServiceImplTest {
     @Test
     @DisplayName("Should propagate external service exception")
     void testInitiatePaymentExternalFailure() {
-        when(razorpayAdapter.createOrder(anyDouble(), any(Long.class)))
-                .thenThrow(new ExternalServiceException("Razorpay", "down"));
+        when(paymentGateway.createOrder(anyDouble(), any(Long.class)))
+                .thenReturn(CompletableFuture.failedFuture(new ExternalServiceException("Razorpay", "down")));
+
+        assertThrows(ExternalServiceException.class, () -> paymentService.initiatePayment(1L, 100.0));
+    }
 
+    @Test
+    @DisplayName("Should save the payment once the gateway answers")
+    void testInitiatePaymentAsync() {
+        CompletableFuture<String> gatewayOrder = new CompletableFuture<>();
+        when(paymentGateway.createOrder(100.0, 1L)).thenReturn(gatewayOrder);
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CompletableFuture<Payment> payment = paymentService.initiatePaymentAsync(1L, 100.0);
+
+        assertFalse(payment.isDone());
+        verify(paymentRepository, never()).save(any());
+        gatewayOrder.complete("rp-order");
+        assertEquals("rp-order", payment.join().getRazorpayOrderId());
+    }
+
+    @Test
+    @DisplayName("Should report gateway timeouts and an open breaker as external failures")
+    void testInitiatePaymentGatewayUnavailable() {
+        when(paymentGateway.createOrder(100.0, 1L))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException()))
+                .thenReturn(CompletableFuture.failedFuture(
+                        CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("gw"))));
+
+        CompletionException timeout = assertThrows(CompletionException.class,
+                () -> paymentService.initiatePaymentAsync(1L, 100.0).join());
+        assertInstanceOf(ExternalServiceException.class, timeout.getCause());
         assertThrows(ExternalServiceException.class, () -> paymentService.initiatePayment(1L, 100.0));
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Callback event is written in the status transaction and marked processed after commit")
+    void testProcessPaymentCallbackCommitsBeforeMarkingProcessed() {
+        Payment payment = pendingPayment();
+        when(paymentGateway.verifySignature("rp-order", "rp-pay", "sig")).thenReturn(true);
+        when(paymentRepository.findByRazorpayOrderId("rp-order")).thenReturn(Optional.of(payment));
+        when(paymentRepository.markSucceeded(eq(10L), eq("rp-pay"), any())).thenReturn(1);
+
+        paymentService.processPaymentCallback("rp-order", "rp-pay", "sig");
+
+        InOrder inOrder = inOrder(transactionManager, paymentRepository, domainEventPublisher, callbackRegistry);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(paymentRepository).markSucceeded(eq(10L), eq("rp-pay"), any());
+        inOrder.verify(domainEventPublisher).publish(any(PaymentSuccessfulEvent.class));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(callbackRegistry).markProcessed("rp-pay");
     }
 
     @Test
     @DisplayName("Should process payment callback successfully")
     void testProcessPaymentCallback() {
-        Payment payment = new Payment();
-        payment.setId(10L);
-        payment.setOrderId(5L);
-        payment.setRazorpayOrderId("rp-order");
-        payment.setAmount(100.0);
+        Payment payment = pendingPayment();
 
-        when(razorpayAdapter.verifySignature("rp-order", "rp-pay", "sig")).thenReturn(true);
-        when(paymentRepository.findAll()).thenReturn(List.of(payment));
-        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentGateway.verifySignature("rp-order", "rp-pay", "sig")).thenReturn(true);
+        when(paymentRepository.findByRazorpayOrderId("rp-order")).thenReturn(Optional.of(payment));
+        when(paymentRepository.markSucceeded(eq(10L), eq("rp-pay"), any())).thenReturn(1);
 
         Payment result = paymentService.processPaymentCallback("rp-order", "rp-pay", "sig");
         assertEquals("SUCCESS", result.getStatus());
         verify(domainEventPublisher).publish(any());
+        verify(callbackRegistry).markProcessed("rp-pay");
+        assertEquals(1L, meterRegistry.get("payments.callback.latency").tag("outcome", "success").timer().count());
     }
 
     @Test
     @DisplayName("Should fail callback on invalid signature")
     void testProcessPaymentCallbackInvalidSignature() {
-        when(razorpayAdapter.verifySignature("rp-order", "rp-pay", "sig")).thenReturn(false);
+        when(paymentGateway.verifySignature("rp-order", "rp-pay", "sig")).thenReturn(false);
 
         assertThrows(RuntimeException.class, () -> paymentService.processPaymentCallback("rp-order", "rp-pay", "sig"));
-        verify(domainEventPublisher).publish(any());
+        verifyNoInteractions(domainEventPublisher);
+    }
+
+    @Test
+    @DisplayName("Callback for an unknown gateway order fails without an event")
+    void testProcessPaymentCallbackUnknownOrder() {
+        when(paymentGateway.verifySignature("rp-order", "rp-pay", "sig")).thenReturn(true);
+        when(paymentRepository.findByRazorpayOrderId("rp-order")).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> paymentService.processPaymentCallback("rp-order", "rp-pay", "sig"));
+        verifyNoInteractions(domainEventPublisher);
+        verify(callbackRegistry, never()).markProcessed(any());
     }
 
     @Test
@@ -98,7 +189,7 @@ class PaymentServiceImplTest {
     void testGetPaymentByOrderId() {
         Payment payment = new Payment();
         payment.setOrderId(1L);
-        when(paymentRepository.findAll()).thenReturn(List.of(payment));
+        when(paymentRepository.findFirstByOrderIdOrderByIdDesc(1L)).thenReturn(Optional.of(payment));
 
         assertEquals(payment, paymentService.getPaymentByOrderId(1L));
     }
@@ -112,10 +203,11 @@ class PaymentServiceImplTest {
         payment.setAmount(50.0);
 
         when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
+        when(paymentGateway.refundPayment("rp-pay", 50.0)).thenReturn(CompletableFuture.completedFuture(null));
 
         paymentService.refundPayment(1L);
 
-        verify(razorpayAdapter).refundPayment("rp-pay", 50.0);
+        verify(paymentGateway).refundPayment("rp-pay", 50.0);
         verify(paymentRepository).save(any(Payment.class));
     }
 
@@ -130,7 +222,7 @@ class PaymentServiceImplTest {
     @Test
     @DisplayName("Should verify initiatePayment saves payment to repository")
     void testInitiatePaymentCallsSave() {
-        when(razorpayAdapter.createOrder(100.0, 1L)).thenReturn("rp-order");
+        when(paymentGateway.createOrder(100.0, 1L)).thenReturn(CompletableFuture.completedFuture("rp-order"));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         paymentService.initiatePayment(1L, 100.0);
@@ -141,7 +233,7 @@ class PaymentServiceImplTest {
     @Test
     @DisplayName("Should verify initiatePayment sets order ID on payment")
     void testInitiatePaymentSetsOrderId() {
-        when(razorpayAdapter.createOrder(100.0, 1L)).thenReturn("rp-order");
+        when(paymentGateway.createOrder(100.0, 1L)).thenReturn(CompletableFuture.completedFuture("rp-order"));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Payment payment = paymentService.initiatePayment(1L, 100.0);
@@ -152,7 +244,7 @@ class PaymentServiceImplTest {
     @Test
     @DisplayName("Should verify initiatePayment sets amount on payment")
     void testInitiatePaymentSetsAmount() {
-        when(razorpayAdapter.createOrder(100.0, 1L)).thenReturn("rp-order");
+        when(paymentGateway.createOrder(100.0, 1L)).thenReturn(CompletableFuture.completedFuture("rp-order"));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Payment payment = paymentService.initiatePayment(1L, 100.0);
@@ -163,15 +255,11 @@ class PaymentServiceImplTest {
     @Test
     @DisplayName("Should verify processPaymentCallback sets payment ID")
     void testProcessPaymentCallbackSetsPaymentId() {
-        Payment payment = new Payment();
-        payment.setId(10L);
-        payment.setOrderId(5L);
-        payment.setRazorpayOrderId("rp-order");
-        payment.setAmount(100.0);
+        Payment payment = pendingPayment();
 
-        when(razorpayAdapter.verifySignature("rp-order", "rp-pay", "sig")).thenReturn(true);
-        when(paymentRepository.findAll()).thenReturn(List.of(payment));
-        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentGateway.verifySignature("rp-order", "rp-pay", "sig")).thenReturn(true);
+        when(paymentRepository.findByRazorpayOrderId("rp-order")).thenReturn(Optional.of(payment));
+        when(paymentRepository.markSucceeded(eq(10L), eq("rp-pay"), any())).thenReturn(1);
 
         Payment result = paymentService.processPaymentCallback("rp-order", "rp-pay", "sig");
 
@@ -179,21 +267,71 @@ class PaymentServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should verify processPaymentCallback saves payment")
+    @DisplayName("Should verify processPaymentCallback updates payment conditionally")
     void testProcessPaymentCallbackSavesCalled() {
-        Payment payment = new Payment();
-        payment.setId(10L);
-        payment.setOrderId(5L);
-        payment.setRazorpayOrderId("rp-order");
-        payment.setAmount(100.0);
+        Payment payment = pendingPayment();
 
-        when(razorpayAdapter.verifySignature("rp-order", "rp-pay", "sig")).thenReturn(true);
-        when(paymentRepository.findAll()).thenReturn(List.of(payment));
-        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentGateway.verifySignature("rp-order", "rp-pay", "sig")).thenReturn(true);
+        when(paymentRepository.findByRazorpayOrderId("rp-order")).thenReturn(Optional.of(payment));
+        when(paymentRepository.markSucceeded(eq(10L), eq("rp-pay"), any())).thenReturn(1);
 
         paymentService.processPaymentCallback("rp-order", "rp-pay", "sig");
 
-        verify(paymentRepository, times(1)).save(any(Payment.class));
+        verify(paymentRepository, times(1)).markSucceeded(eq(10L), eq("rp-pay"), any());
+        verify(paymentRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should short-circuit callbacks already processed")
+    void testProcessPaymentCallbackDuplicateFromRegistry() {
+        Payment payment = pendingPayment();
+        payment.setStatus("SUCCESS");
+        when(paymentGateway.verifySignature("rp-order", "rp-pay", "sig")).thenReturn(true);
+        when(paymentRepository.findByRazorpayOrderId("rp-order")).thenReturn(Optional.of(payment));
+        when(callbackRegistry.isProcessed("rp-pay")).thenReturn(true);
+
+        assertSame(payment, paymentService.processPaymentCallback("rp-order", "rp-pay", "sig"));
+
+        verify(paymentRepository, never()).markSucceeded(any(), any(), any());
+        verifyNoInteractions(domainEventPublisher);
+        assertEquals(1.0, meterRegistry.get("payments.callback.duplicates").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should treat a lost race with the same payment id as a duplicate")
+    void testProcessPaymentCallbackConcurrentDuplicate() {
+        Payment settled = pendingPayment();
+        settled.setStatus("SUCCESS");
+        settled.setRazorpayPaymentId("rp-pay");
+        when(paymentGateway.verifySignature("rp-order", "rp-pay", "sig")).thenReturn(true);
+        when(paymentRepository.findByRazorpayOrderId("rp-order")).thenReturn(Optional.of(pendingPayment()));
+        when(paymentRepository.markSucceeded(eq(10L), eq("rp-pay"), any())).thenReturn(0);
+        when(paymentRepository.findById(10L)).thenReturn(Optional.of(settled));
+
+        assertSame(settled, paymentService.processPaymentCallback("rp-order", "rp-pay", "sig"));
+
+        verify(domainEventPublisher, never()).publish(any(PaymentSuccessfulEvent.class));
+        verify(callbackRegistry).markProcessed("rp-pay");
+        assertEquals(1L, meterRegistry.get("payments.callback.latency").tag("outcome", "duplicate").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject callbacks for payments that are no longer pending")
+    void testProcessPaymentCallbackNotPending() {
+        Payment refunded = pendingPayment();
+        refunded.setStatus("REFUNDED");
+        refunded.setRazorpayPaymentId("rp-other");
+        when(paymentGateway.verifySignature("rp-order", "rp-pay", "sig")).thenReturn(true);
+        when(paymentRepository.findByRazorpayOrderId("rp-order")).thenReturn(Optional.of(pendingPayment()));
+        when(paymentRepository.markSucceeded(eq(10L), eq("rp-pay"), any())).thenReturn(0);
+        when(paymentRepository.findById(10L)).thenReturn(Optional.of(refunded));
+
+        assertThrows(PaymentProcessingException.class,
+                () -> paymentService.processPaymentCallback("rp-order", "rp-pay", "sig"));
+
+        verifyNoInteractions(domainEventPublisher);
+        verify(callbackRegistry, never()).markProcessed(any());
+        assertEquals(1L, meterRegistry.get("payments.callback.latency").tag("outcome", "failed").timer().count());
     }
 
     @Test
@@ -206,6 +344,7 @@ class PaymentServiceImplTest {
 
         when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentGateway.refundPayment("rp-pay", 50.0)).thenReturn(CompletableFuture.completedFuture(null));
 
         paymentService.refundPayment(1L);
 
@@ -223,9 +362,10 @@ class PaymentServiceImplTest {
 
         when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentGateway.refundPayment("rp-pay", 50.0)).thenReturn(CompletableFuture.completedFuture(null));
 
         paymentService.refundPayment(1L);
 
-        verify(razorpayAdapter, times(1)).refundPayment("rp-pay", 50.0);
+        verify(paymentGateway, times(1)).refundPayment("rp-pay", 50.0);
     }
 }
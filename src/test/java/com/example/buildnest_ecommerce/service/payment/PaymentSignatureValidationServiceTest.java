@@ -1,5 +1,6 @@
 package com.example.buildnest_ecommerce.service.payment;
 
+import com.example.buildnest_ecommerce.security.HmacSigner;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -32,7 +33,7 @@ class PaymentSignatureValidationServiceTest {
     @Test
     @DisplayName("Should validate payment signature when correct")
     void testValidatePaymentSignature() throws Exception {
-        PaymentSignatureValidationService service = new PaymentSignatureValidationService();
+        PaymentSignatureValidationService service = new PaymentSignatureValidationService(new HmacSigner());
         ReflectionTestUtils.setField(service, "razorpayKeySecret", "secret");
         ReflectionTestUtils.setField(service, "razorpayKeyId", "keyId");
 
@@ -47,7 +48,7 @@ class PaymentSignatureValidationServiceTest {
     @Test
     @DisplayName("Should reject incorrect payment signature of valid length")
     void testValidatePaymentSignatureIncorrectSignature() throws Exception {
-        PaymentSignatureValidationService service = new PaymentSignatureValidationService();
+        PaymentSignatureValidationService service = new PaymentSignatureValidationService(new HmacSigner());
         ReflectionTestUtils.setField(service, "razorpayKeySecret", "secret");
         ReflectionTestUtils.setField(service, "razorpayKeyId", "keyId");
 
@@ -62,7 +63,7 @@ class PaymentSignatureValidationServiceTest {
     @Test
     @DisplayName("Should validate webhook signature when correct")
     void testValidateWebhookSignature() throws Exception {
-        PaymentSignatureValidationService service = new PaymentSignatureValidationService();
+        PaymentSignatureValidationService service = new PaymentSignatureValidationService(new HmacSigner());
         ReflectionTestUtils.setField(service, "razorpayKeySecret", "secret");
         ReflectionTestUtils.setField(service, "razorpayKeyId", "keyId");
 
@@ -76,7 +77,7 @@ class PaymentSignatureValidationServiceTest {
     @Test
     @DisplayName("Should reject incorrect webhook signature of valid length")
     void testValidateWebhookSignatureIncorrectSignature() throws Exception {
-        PaymentSignatureValidationService service = new PaymentSignatureValidationService();
+        PaymentSignatureValidationService service = new PaymentSignatureValidationService(new HmacSigner());
         ReflectionTestUtils.setField(service, "razorpayKeySecret", "secret");
         ReflectionTestUtils.setField(service, "razorpayKeyId", "keyId");
 
@@ -90,7 +91,7 @@ class PaymentSignatureValidationServiceTest {
     @Test
     @DisplayName("Should reject invalid webhook inputs")
     void testValidateWebhookSignatureInvalidInputs() {
-        PaymentSignatureValidationService service = new PaymentSignatureValidationService();
+        PaymentSignatureValidationService service = new PaymentSignatureValidationService(new HmacSigner());
         ReflectionTestUtils.setField(service, "razorpayKeySecret", "secret");
         ReflectionTestUtils.setField(service, "razorpayKeyId", "keyId");
 
@@ -102,7 +103,7 @@ class PaymentSignatureValidationServiceTest {
     @Test
     @DisplayName("Should return status with key length")
     void testGetValidationStatus() {
-        PaymentSignatureValidationService service = new PaymentSignatureValidationService();
+        PaymentSignatureValidationService service = new PaymentSignatureValidationService(new HmacSigner());
         ReflectionTestUtils.setField(service, "razorpayKeySecret", "secret");
         ReflectionTestUtils.setField(service, "razorpayKeyId", "keyId");
 
@@ -113,7 +114,7 @@ class PaymentSignatureValidationServiceTest {
     @Test
     @DisplayName("Should return false when signature length is invalid")
     void testValidatePaymentSignatureInvalidLength() {
-        PaymentSignatureValidationService service = new PaymentSignatureValidationService();
+        PaymentSignatureValidationService service = new PaymentSignatureValidationService(new HmacSigner());
         ReflectionTestUtils.setField(service, "razorpayKeySecret", "secret");
         ReflectionTestUtils.setField(service, "razorpayKeyId", "keyId");
 
@@ -123,7 +124,7 @@ class PaymentSignatureValidationServiceTest {
     @Test
     @DisplayName("Should reject invalid inputs")
     void testValidateInputsFailures() {
-        PaymentSignatureValidationService service = new PaymentSignatureValidationService();
+        PaymentSignatureValidationService service = new PaymentSignatureValidationService(new HmacSigner());
         ReflectionTestUtils.setField(service, "razorpayKeySecret", "secret");
         ReflectionTestUtils.setField(service, "razorpayKeyId", "keyId");
 
@@ -135,7 +136,7 @@ class PaymentSignatureValidationServiceTest {
     @Test
     @DisplayName("Should return false when signature validation throws exception")
     void testValidatePaymentSignatureHandlesException() {
-        PaymentSignatureValidationService service = new PaymentSignatureValidationService();
+        PaymentSignatureValidationService service = new PaymentSignatureValidationService(new HmacSigner());
         ReflectionTestUtils.setField(service, "razorpayKeySecret", null);
         ReflectionTestUtils.setField(service, "razorpayKeyId", "keyId");
 
@@ -145,25 +146,23 @@ class PaymentSignatureValidationServiceTest {
     }
 
     @Test
-    @DisplayName("Should compare strings in constant time")
-    void testConstantTimeEqualsBehavior() {
-        PaymentSignatureValidationService service = new PaymentSignatureValidationService();
-
-        Boolean equal = ReflectionTestUtils.invokeMethod(service, "constantTimeEquals", "abc", "abc");
-        Boolean diff = ReflectionTestUtils.invokeMethod(service, "constantTimeEquals", "abc", "abd");
-        Boolean diffLen = ReflectionTestUtils.invokeMethod(service, "constantTimeEquals", "abc", "ab");
-        Boolean nullInput = ReflectionTestUtils.invokeMethod(service, "constantTimeEquals", null, "ab");
-
-        assertTrue(equal);
-        assertFalse(diff);
-        assertFalse(diffLen);
-        assertFalse(nullInput);
+    @DisplayName("Should compare signatures in constant time")
+    void testConstantTimeEqualsBehavior() throws Exception {
+        PaymentSignatureValidationService service = new PaymentSignatureValidationService(new HmacSigner());
+        String signature = hmacSha256("{\"event\":\"payment.captured\"}", "whsec");
+        String lastDiffers = signature.substring(0, 63) + (signature.endsWith("a") ? "b" : "a");
+
+        assertTrue(service.validateWebhookSignature("{\"event\":\"payment.captured\"}", "whsec", signature));
+        assertFalse(service.validateWebhookSignature("{\"event\":\"payment.captured\"}", "whsec", lastDiffers));
+        assertFalse(service.validateWebhookSignature("{\"event\":\"payment.captured\"}", "whsec",
+                signature.substring(0, 62)));
+        assertFalse(service.validateWebhookSignature("{\"event\":\"payment.captured\"}", "whsec", null));
     }
 
     @Test
     @DisplayName("Should sanitize values for audit logging")
     void testSanitizeForLogging() {
-        PaymentSignatureValidationService service = new PaymentSignatureValidationService();
+        PaymentSignatureValidationService service = new PaymentSignatureValidationService(new HmacSigner());
 
         String sanitized = ReflectionTestUtils.invokeMethod(service, "sanitizeForLogging", "a|b\n\rc");
         String nullSanitized = ReflectionTestUtils.invokeMethod(service, "sanitizeForLogging", (String) null);
@@ -175,7 +174,7 @@ class PaymentSignatureValidationServiceTest {
     @Test
     @DisplayName("Should validate inputs accurately")
     void testValidateInputsDirectly() {
-        PaymentSignatureValidationService service = new PaymentSignatureValidationService();
+        PaymentSignatureValidationService service = new PaymentSignatureValidationService(new HmacSigner());
 
         Boolean valid = ReflectionTestUtils.invokeMethod(service, "validateInputs", "order", "pay", "a".repeat(64));
         Boolean invalidLength = ReflectionTestUtils.invokeMethod(service, "validateInputs", "order", "pay",
@@ -0,0 +1,173 @@
+package com.example.buildnest_ecommerce.service.purge;
+
+import com.example.buildnest_ecommerce.config.properties.PurgeProperties;
+import com.example.buildnest_ecommerce.model.entity.PurgeCheckpoint;
+import com.example.buildnest_ecommerce.repository.PurgeCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChunkedPurgeService tests")
+class ChunkedPurgeServiceTest {
+
+    @Mock
+    private PurgeCheckpointRepository checkpointRepository;
+
+    private PurgeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ChunkedPurgeService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PurgeProperties();
+        properties.setInitialChunkSize(2);
+        properties.setMinChunkSize(2);
+        properties.setMaxChunkSize(2);
+        properties.setPauseMs(0);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ChunkedPurgeService(checkpointRepository, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should delete every eligible row in id-ordered chunks")
+    void testPurgeAllInChunks() {
+        InMemoryTarget target = new InMemoryTarget(LocalDateTime.now().minusDays(1), 5);
+        target.rows.put(99L, LocalDateTime.now().plusDays(1));
+        when(checkpointRepository.findById("test")).thenReturn(Optional.empty());
+
+        long deleted = service.purge(target);
+
+        assertEquals(5, deleted);
+        assertEquals(List.of(99L), new ArrayList<>(target.rows.keySet()));
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L)), target.deletedChunks);
+        assertEquals(5.0, meterRegistry.get("purge.rows.deleted").tag("target", "test").counter().count());
+        assertEquals(0.0, meterRegistry.get("purge.lag.seconds").tag("target", "test").gauge().value());
+
+        ArgumentCaptor<PurgeCheckpoint> saved = ArgumentCaptor.forClass(PurgeCheckpoint.class);
+        verify(checkpointRepository, atLeastOnce()).save(saved.capture());
+        PurgeCheckpoint last = saved.getValue();
+        assertEquals(0L, last.getLastId());
+        assertNull(last.getCutoff());
+        assertNotNull(last.getLastCompletedAt());
+    }
+
+    @Test
+    @DisplayName("Should resume after the checkpointed id with the checkpointed cutoff")
+    void testResumeFromCheckpoint() {
+        LocalDateTime originalCutoff = LocalDateTime.now().minusHours(1);
+        InMemoryTarget target = new InMemoryTarget(LocalDateTime.now().minusDays(1), 6);
+        PurgeCheckpoint checkpoint = new PurgeCheckpoint("test", 2);
+        checkpoint.setLastId(4L);
+        checkpoint.setCutoff(originalCutoff);
+        when(checkpointRepository.findById("test")).thenReturn(Optional.of(checkpoint));
+
+        long deleted = service.purge(target);
+
+        assertEquals(2, deleted);
+        assertEquals(List.of(List.of(5L, 6L)), target.deletedChunks);
+        assertEquals(originalCutoff, target.cutoffsSeen.get(0));
+    }
+
+    @Test
+    @DisplayName("Should stop at the time budget and leave a resumable checkpoint")
+    void testTimeBudget() {
+        properties.setMaxRunMs(0);
+        InMemoryTarget target = new InMemoryTarget(LocalDateTime.now().minusDays(1), 5);
+        when(checkpointRepository.findById("test")).thenReturn(Optional.empty());
+
+        long deleted = service.purge(target);
+
+        assertEquals(2, deleted);
+        ArgumentCaptor<PurgeCheckpoint> saved = ArgumentCaptor.forClass(PurgeCheckpoint.class);
+        verify(checkpointRepository).save(saved.capture());
+        assertEquals(2L, saved.getValue().getLastId());
+        assertNotNull(saved.getValue().getCutoff());
+        assertNull(saved.getValue().getLastCompletedAt());
+        assertTrue(meterRegistry.get("purge.lag.seconds").tag("target", "test").gauge().value() > 0);
+    }
+
+    @Test
+    @DisplayName("Should shrink slow chunks and grow fast ones within bounds")
+    void testAdaptiveChunkSize() {
+        properties.setMinChunkSize(100);
+        properties.setMaxChunkSize(1_000);
+        properties.setTargetStatementMs(200);
+
+        assertEquals(500, service.adapt(1_000, 500));
+        assertEquals(100, service.adapt(150, 500));
+        assertEquals(500, service.adapt(400, 10));
+        assertEquals(1_000, service.adapt(1_000, 10));
+        assertEquals(400, service.adapt(400, 150));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no rows are eligible")
+    void testNothingToPurge() {
+        InMemoryTarget target = new InMemoryTarget(LocalDateTime.now().minusDays(1), 0);
+        when(checkpointRepository.findById("test")).thenReturn(Optional.empty());
+
+        assertEquals(0, service.purge(target));
+        verify(checkpointRepository, times(1)).save(any(PurgeCheckpoint.class));
+    }
+
+    private static final class InMemoryTarget implements PurgeTarget {
+        private final Map<Long, LocalDateTime> rows = new TreeMap<>();
+        private final List<List<Long>> deletedChunks = new ArrayList<>();
+        private final List<LocalDateTime> cutoffsSeen = new ArrayList<>();
+
+        InMemoryTarget(LocalDateTime timestamp, int count) {
+            for (long id = 1; id <= count; id++) {
+                rows.put(id, timestamp);
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "test";
+        }
+
+        @Override
+        public LocalDateTime cutoff(LocalDateTime now) {
+            return now;
+        }
+
+        @Override
+        public List<Long> findEligibleIds(LocalDateTime cutoff, long afterId, int limit) {
+            cutoffsSeen.add(cutoff);
+            return rows.entrySet().stream()
+                    .filter(e -> e.getKey() > afterId && e.getValue().isBefore(cutoff))
+                    .map(Map.Entry::getKey)
+                    .limit(limit)
+                    .toList();
+        }
+
+        @Override
+        public int deleteByIds(List<Long> ids) {
+            deletedChunks.add(ids);
+            ids.forEach(rows::remove);
+            return ids.size();
+        }
+
+        @Override
+        public Optional<LocalDateTime> findOldestEligible(LocalDateTime cutoff) {
+            return rows.values().stream().filter(t -> t.isBefore(cutoff)).min(LocalDateTime::compareTo);
+        }
+    }
+}
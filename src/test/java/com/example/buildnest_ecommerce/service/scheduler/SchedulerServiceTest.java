@@ -1,8 +1,15 @@
 package com.example.buildnest_ecommerce.service.scheduler;
 
-import com.example.buildnest_ecommerce.repository.PasswordResetTokenRepository;
-import com.example.buildnest_ecommerce.repository.RefreshTokenRepository;
 import com.example.buildnest_ecommerce.service.inventory.InventoryMonitoringService;
+import com.example.buildnest_ecommerce.service.purge.AuditLogPurgeTarget;
+import com.example.buildnest_ecommerce.service.purge.ChunkedPurgeService;
+import com.example.buildnest_ecommerce.service.purge.ConsumedEventPurgeTarget;
+import com.example.buildnest_ecommerce.service.purge.DeletedOrderPurgeTarget;
+import com.example.buildnest_ecommerce.service.purge.OutboxEventPurgeTarget;
+import com.example.buildnest_ecommerce.service.purge.PasswordResetTokenPurgeTarget;
+import com.example.buildnest_ecommerce.service.purge.SchedulerJobRunPurgeTarget;
+import com.example.buildnest_ecommerce.service.purge.WebhookDeliveryPurgeTarget;
+import com.example.buildnest_ecommerce.service.token.RefreshTokenStore;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -25,18 +32,48 @@ class SchedulerServiceTest {
     @Test
     @DisplayName("Should cleanup tokens")
     void testTokenCleanupScheduler() {
-        RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
-        PasswordResetTokenRepository passwordResetTokenRepository = mock(PasswordResetTokenRepository.class);
-        when(refreshTokenRepository.deleteExpiredTokens(any())).thenReturn(1);
-        when(passwordResetTokenRepository.deleteExpiredTokens(any())).thenReturn(1);
+        RefreshTokenStore refreshTokenStore = mock(RefreshTokenStore.class);
+        ChunkedPurgeService purgeService = mock(ChunkedPurgeService.class);
+        PasswordResetTokenPurgeTarget passwordResetTarget = mock(PasswordResetTokenPurgeTarget.class);
+        when(refreshTokenStore.purgeExpired(any())).thenReturn(1L);
+        when(purgeService.purge(passwordResetTarget)).thenReturn(1L);
 
-        TokenCleanupScheduler scheduler = new TokenCleanupScheduler(refreshTokenRepository,
-                passwordResetTokenRepository);
+        TokenCleanupScheduler scheduler = new TokenCleanupScheduler(refreshTokenStore, purgeService,
+                passwordResetTarget);
 
         scheduler.cleanupExpiredRefreshTokens();
         scheduler.cleanupExpiredPasswordResetTokens();
 
-        verify(refreshTokenRepository).deleteExpiredTokens(any());
-        verify(passwordResetTokenRepository).deleteExpiredTokens(any());
+        verify(refreshTokenStore).purgeExpired(any());
+        verify(purgeService).purge(passwordResetTarget);
+    }
+
+    @Test
+    @DisplayName("Should run retention purges")
+    void testRetentionPurgeScheduler() {
+        ChunkedPurgeService purgeService = mock(ChunkedPurgeService.class);
+        AuditLogPurgeTarget auditLogTarget = mock(AuditLogPurgeTarget.class);
+        DeletedOrderPurgeTarget deletedOrderTarget = mock(DeletedOrderPurgeTarget.class);
+        SchedulerJobRunPurgeTarget jobRunTarget = mock(SchedulerJobRunPurgeTarget.class);
+        WebhookDeliveryPurgeTarget webhookDeliveryTarget = mock(WebhookDeliveryPurgeTarget.class);
+        OutboxEventPurgeTarget outboxEventTarget = mock(OutboxEventPurgeTarget.class);
+        ConsumedEventPurgeTarget consumedEventTarget = mock(ConsumedEventPurgeTarget.class);
+        when(purgeService.purge(deletedOrderTarget)).thenThrow(new RuntimeException("fail"));
+
+        RetentionPurgeScheduler scheduler = new RetentionPurgeScheduler(purgeService, auditLogTarget,
+                deletedOrderTarget, jobRunTarget, webhookDeliveryTarget, outboxEventTarget, consumedEventTarget);
+
+        scheduler.purgeAuditLogs();
+        scheduler.purgeDeletedOrders();
+        scheduler.purgeJobRuns();
+        scheduler.purgeWebhookDeliveries();
+        scheduler.purgeDomainEvents();
+
+        verify(purgeService).purge(auditLogTarget);
+        verify(purgeService).purge(deletedOrderTarget);
+        verify(purgeService).purge(jobRunTarget);
+        verify(purgeService).purge(webhookDeliveryTarget);
+        verify(purgeService).purge(outboxEventTarget);
+        verify(purgeService).purge(consumedEventTarget);
     }
 }
@@ -1,7 +1,8 @@
 package com.example.buildnest_ecommerce.service.scheduler;
 
-import com.example.buildnest_ecommerce.repository.PasswordResetTokenRepository;
-import com.example.buildnest_ecommerce.repository.RefreshTokenRepository;
+import com.example.buildnest_ecommerce.service.purge.ChunkedPurgeService;
+import com.example.buildnest_ecommerce.service.purge.PasswordResetTokenPurgeTarget;
+import com.example.buildnest_ecommerce.service.token.RefreshTokenStore;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -10,28 +11,30 @@ import static org.mockito.Mockito.*;
 class TokenCleanupSchedulerTest {
 
     @Test
-    void cleanupExpiredTokensInvokesRepositories() {
-        RefreshTokenRepository refreshRepo = mock(RefreshTokenRepository.class);
-        PasswordResetTokenRepository passwordRepo = mock(PasswordResetTokenRepository.class);
-        when(refreshRepo.deleteExpiredTokens(any())).thenReturn(2);
-        when(passwordRepo.deleteExpiredTokens(any())).thenReturn(3);
-
-        TokenCleanupScheduler scheduler = new TokenCleanupScheduler(refreshRepo, passwordRepo);
+    void cleanupExpiredTokensInvokesPurges() {
+        RefreshTokenStore refreshStore = mock(RefreshTokenStore.class);
+        ChunkedPurgeService purgeService = mock(ChunkedPurgeService.class);
+        PasswordResetTokenPurgeTarget passwordTarget = mock(PasswordResetTokenPurgeTarget.class);
+        when(refreshStore.purgeExpired(any())).thenReturn(2L);
+        when(purgeService.purge(passwordTarget)).thenReturn(3L);
+
+        TokenCleanupScheduler scheduler = new TokenCleanupScheduler(refreshStore, purgeService, passwordTarget);
         scheduler.cleanupExpiredRefreshTokens();
         scheduler.cleanupExpiredPasswordResetTokens();
 
-        verify(refreshRepo).deleteExpiredTokens(any());
-        verify(passwordRepo).deleteExpiredTokens(any());
+        verify(refreshStore).purgeExpired(any());
+        verify(purgeService).purge(passwordTarget);
     }
 
     @Test
     void cleanupHandlesExceptions() {
-        RefreshTokenRepository refreshRepo = mock(RefreshTokenRepository.class);
-        PasswordResetTokenRepository passwordRepo = mock(PasswordResetTokenRepository.class);
-        when(refreshRepo.deleteExpiredTokens(any())).thenThrow(new RuntimeException("fail"));
-        when(passwordRepo.deleteExpiredTokens(any())).thenThrow(new RuntimeException("fail"));
+        RefreshTokenStore refreshStore = mock(RefreshTokenStore.class);
+        ChunkedPurgeService purgeService = mock(ChunkedPurgeService.class);
+        PasswordResetTokenPurgeTarget passwordTarget = mock(PasswordResetTokenPurgeTarget.class);
+        when(refreshStore.purgeExpired(any())).thenThrow(new RuntimeException("fail"));
+        when(purgeService.purge(passwordTarget)).thenThrow(new RuntimeException("fail"));
 
-        TokenCleanupScheduler scheduler = new TokenCleanupScheduler(refreshRepo, passwordRepo);
+        TokenCleanupScheduler scheduler = new TokenCleanupScheduler(refreshStore, purgeService, passwordTarget);
         assertDoesNotThrow(scheduler::cleanupExpiredRefreshTokens);
         assertDoesNotThrow(scheduler::cleanupExpiredPasswordResetTokens);
     }
@@ -0,0 +1,139 @@
+package com.example.buildnest_ecommerce.service.scheduler.lock;
+
+import com.example.buildnest_ecommerce.config.properties.SchedulerProperties;
+import com.example.buildnest_ecommerce.model.entity.SchedulerJobRun;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ClusterJobRunner tests")
+class ClusterJobRunnerTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+    private static final Duration MIN_HOLD = Duration.ofSeconds(30);
+
+    private InMemoryLockProvider lockProvider;
+    private SchedulerJobHistoryService historyService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        lockProvider = new InMemoryLockProvider();
+        historyService = mock(SchedulerJobHistoryService.class);
+        when(historyService.started(any(), any())).thenAnswer(invocation -> new SchedulerJobRun());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should run a tick on one instance only")
+    void testSingleInstancePerTick() throws Throwable {
+        ClusterJobRunner podA = runner("pod-a");
+        ClusterJobRunner podB = runner("pod-b");
+        List<String> ran = new ArrayList<>();
+
+        podA.run("job", LEASE, MIN_HOLD, 1, () -> ran.add("a"));
+        podB.run("job", LEASE, MIN_HOLD, 1, () -> ran.add("b"));
+
+        assertEquals(List.of("a"), ran);
+        assertEquals(1.0, meterRegistry.get("scheduler.job.skipped").tag("job", "job").counter().count());
+        assertEquals(1L, meterRegistry.get("scheduler.job.duration").tag("status", "succeeded").timer().count());
+        verify(historyService).finished(any(SchedulerJobRun.class), anyLong(), isNull());
+    }
+
+    @Test
+    @DisplayName("Should bind the shard context and split sharded work")
+    void testShardedRun() throws Throwable {
+        ClusterJobRunner podA = runner("pod-a");
+        ClusterJobRunner podB = runner("pod-b");
+        List<ClusterJobContext> contexts = new ArrayList<>();
+        lockProvider.held.put("job#1", "someone-else");
+
+        podA.run("job", LEASE, MIN_HOLD, 3, () -> contexts.add(ClusterJobContext.current().orElseThrow()));
+        podB.run("job", LEASE, MIN_HOLD, 3, () -> contexts.add(ClusterJobContext.current().orElseThrow()));
+
+        assertEquals(2, contexts.size());
+        assertEquals(List.of(0, 2), contexts.stream().map(ClusterJobContext::shardIndex).sorted().toList());
+        assertTrue(contexts.stream().allMatch(c -> c.shardCount() == 3 && c.fencingToken() > 0));
+        assertTrue(ClusterJobContext.current().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should record failures and still release the lock")
+    void testFailureReleasesLock() {
+        ClusterJobRunner podA = runner("pod-a");
+        IllegalStateException boom = new IllegalStateException("boom");
+
+        assertThrows(IllegalStateException.class, () -> podA.run("job", LEASE, MIN_HOLD, 1, () -> {
+            throw boom;
+        }));
+
+        verify(historyService).finished(any(SchedulerJobRun.class), anyLong(), eq(boom));
+        assertEquals(List.of("job"), lockProvider.released);
+    }
+
+    @Test
+    @DisplayName("Should run directly when locking is disabled")
+    void testLockingDisabled() throws Throwable {
+        SchedulerProperties properties = new SchedulerProperties();
+        properties.setInstanceId("pod-a");
+        properties.getLock().setEnabled(false);
+        ClusterJobRunner runner = new ClusterJobRunner(lockProvider, historyService, properties, meterRegistry);
+
+        assertEquals("done", runner.run("job", LEASE, MIN_HOLD, 1, () -> "done"));
+        assertTrue(lockProvider.held.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should assign ids to shards by modulo")
+    void testShardOwnership() {
+        ClusterJobContext context = new ClusterJobContext("job", 1L, 2, 4);
+
+        assertTrue(context.owns(6L));
+        assertFalse(context.owns(7L));
+        assertEquals(3, ClusterJobContext.shardOf(-1L, 4));
+    }
+
+    private ClusterJobRunner runner(String instanceId) {
+        SchedulerProperties properties = new SchedulerProperties();
+        properties.setInstanceId(instanceId);
+        return new ClusterJobRunner(lockProvider, historyService, properties, meterRegistry);
+    }
+
+    /**
+     * Locks that stay held for the min-hold window, i.e. for the whole test.
+     */
+    private static final class InMemoryLockProvider implements JobLockProvider {
+        private final Map<String, String> held = new HashMap<>();
+        private final List<String> released = new ArrayList<>();
+        private long fence;
+
+        @Override
+        public Optional<JobLock> tryAcquire(String name, String owner, Duration lease) {
+            if (held.putIfAbsent(name, owner) != null) {
+                return Optional.empty();
+            }
+            return Optional.of(new JobLock(name, owner, ++fence, Instant.now()));
+        }
+
+        @Override
+        public void release(JobLock lock, Duration minHold) {
+            released.add(lock.name());
+        }
+    }
+}
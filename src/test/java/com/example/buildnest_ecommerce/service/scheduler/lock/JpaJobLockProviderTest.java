@@ -0,0 +1,81 @@
+package com.example.buildnest_ecommerce.service.scheduler.lock;
+
+import com.example.buildnest_ecommerce.model.entity.SchedulerLock;
+import com.example.buildnest_ecommerce.repository.SchedulerLockRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JpaJobLockProvider tests")
+class JpaJobLockProviderTest {
+
+    @Mock
+    private SchedulerLockRepository lockRepository;
+
+    @InjectMocks
+    private JpaJobLockProvider provider;
+
+    @Test
+    @DisplayName("Should acquire an expired lease and return the bumped fencing token")
+    void testAcquire() {
+        when(lockRepository.tryAcquire(eq("job"), eq("owner"), any(), any())).thenReturn(1);
+        when(lockRepository.findById("job"))
+                .thenReturn(Optional.of(new SchedulerLock("job", "owner", LocalDateTime.now(), null, 7L)));
+
+        Optional<JobLock> lock = provider.tryAcquire("job", "owner", Duration.ofMinutes(1));
+
+        assertTrue(lock.isPresent());
+        assertEquals(7L, lock.get().fencingToken());
+    }
+
+    @Test
+    @DisplayName("Should not acquire a lease held by another owner")
+    void testContended() {
+        when(lockRepository.tryAcquire(eq("job"), eq("owner"), any(), any())).thenReturn(0);
+        when(lockRepository.existsById("job")).thenReturn(true);
+
+        assertTrue(provider.tryAcquire("job", "owner", Duration.ofMinutes(1)).isEmpty());
+        verify(lockRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should create the lock row on first use, tolerating a concurrent insert")
+    void testCreatesRow() {
+        when(lockRepository.tryAcquire(eq("job"), eq("owner"), any(), any())).thenReturn(0, 1);
+        when(lockRepository.existsById("job")).thenReturn(false);
+        when(lockRepository.saveAndFlush(any(SchedulerLock.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(lockRepository.findById("job"))
+                .thenReturn(Optional.of(new SchedulerLock("job", "owner", LocalDateTime.now(), null, 1L)));
+
+        assertTrue(provider.tryAcquire("job", "owner", Duration.ofMinutes(1)).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should keep the lock until the minimum hold elapses")
+    void testReleaseHonoursMinHold() {
+        JobLock lock = new JobLock("job", "owner", 1L, Instant.now());
+
+        provider.release(lock, Duration.ofSeconds(30));
+
+        ArgumentCaptor<LocalDateTime> until = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(lockRepository).release(eq("job"), eq("owner"), until.capture());
+        assertTrue(until.getValue().isAfter(LocalDateTime.now().plusSeconds(25)));
+    }
+}
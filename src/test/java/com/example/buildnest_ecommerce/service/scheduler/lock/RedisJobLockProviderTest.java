@@ -0,0 +1,59 @@
+package com.example.buildnest_ecommerce.service.scheduler.lock;
+
+import com.example.buildnest_ecommerce.config.properties.SchedulerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisJobLockProvider tests")
+class RedisJobLockProviderTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private RedisJobLockProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new RedisJobLockProvider(redisTemplate, new SchedulerProperties());
+    }
+
+    @Test
+    @DisplayName("Should return the fencing token when SET NX wins")
+    @SuppressWarnings("unchecked")
+    void testAcquire() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("lock:job:job", "lock:job:job:fence")),
+                eq("owner"), eq("60000"))).thenReturn(42L, (Object) null);
+
+        Optional<JobLock> first = provider.tryAcquire("job", "owner", Duration.ofMinutes(1));
+        Optional<JobLock> second = provider.tryAcquire("job", "owner", Duration.ofMinutes(1));
+
+        assertEquals(42L, first.orElseThrow().fencingToken());
+        assertTrue(second.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should release with the remaining minimum hold")
+    @SuppressWarnings("unchecked")
+    void testRelease() {
+        provider.release(new JobLock("job", "owner", 1L, Instant.now().minusSeconds(40)), Duration.ofSeconds(30));
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("lock:job:job")), eq("owner"), eq("0"));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.buildnest_ecommerce.service.spool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskSpoolTest {
+
+    @TempDir
+    Path dir;
+
+    private DiskSpool open(int segmentBytes, long maxBytes) throws IOException {
+        return new DiskSpool("test", dir, segmentBytes, maxBytes, DiskSpool.FsyncPolicy.NEVER, 1_000L);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> strings(DiskSpool.Batch batch) {
+        return batch.records().stream().map(r -> new String(r, StandardCharsets.UTF_8)).toList();
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.toString().endsWith(".seg")).count();
+        }
+    }
+
+    @Test
+    void readsRecordsBackInOrderAcrossSegments() throws Exception {
+        DiskSpool spool = open(64, 1_024);
+        for (String value : List.of("alpha", "bravo", "charlie", "delta", "echo", "foxtrot")) {
+            assertTrue(spool.append(bytes(value)));
+        }
+
+        DiskSpool.Batch first = spool.read(0L, 4);
+        DiskSpool.Batch rest = spool.read(first.nextOffset(), 10);
+
+        assertEquals(List.of("alpha", "bravo", "charlie", "delta"), strings(first));
+        assertEquals(List.of("echo", "foxtrot"), strings(rest));
+        assertEquals(spool.getWriteOffset(), rest.nextOffset());
+        assertTrue(segmentCount() > 1);
+        spool.close();
+    }
+
+    @Test
+    void commitDeletesShippedSegmentsAndSurvivesReopen() throws Exception {
+        DiskSpool spool = open(64, 1_024);
+        for (String value : List.of("alpha", "bravo", "charlie", "delta", "echo", "foxtrot")) {
+            spool.append(bytes(value));
+        }
+        DiskSpool.Batch shipped = spool.read(0L, 4);
+        spool.commit(shipped.nextOffset());
+        assertEquals(1, segmentCount());
+        spool.close();
+
+        DiskSpool reopened = open(64, 1_024);
+
+        assertEquals(shipped.nextOffset(), reopened.getCheckpoint());
+        assertEquals(List.of("echo", "foxtrot"), strings(reopened.read(reopened.getCheckpoint(), 10)));
+        assertTrue(reopened.append(bytes("golf")));
+        assertEquals(List.of("echo", "foxtrot", "golf"), strings(reopened.read(reopened.getCheckpoint(), 10)));
+        reopened.close();
+    }
+
+    @Test
+    void appendIsRefusedAtQuota() throws Exception {
+        DiskSpool spool = open(32, 64);
+
+        assertTrue(spool.append(new byte[20]));
+        assertTrue(spool.append(new byte[20]));
+        assertFalse(spool.append(new byte[20]));
+        assertEquals(1, spool.getRejected());
+
+        spool.commit(spool.read(0L, 1).nextOffset());
+        assertTrue(spool.append(new byte[20]));
+        spool.close();
+    }
+
+    @Test
+    void recoveryStopsAtTornRecord() throws Exception {
+        DiskSpool spool = open(1_024, 4_096);
+        spool.append(bytes("intact"));
+        spool.append(bytes("torn"));
+        spool.close();
+
+        Path segment = dir.resolve(String.format("%020d.seg", 0));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            int tornPayload = DiskSpool.HEADER_BYTES + "intact".length() + DiskSpool.HEADER_BYTES;
+            channel.write(ByteBuffer.wrap(bytes("x")), tornPayload);
+        }
+
+        DiskSpool reopened = open(1_024, 4_096);
+
+        assertEquals(List.of("intact"), strings(reopened.read(0L, 10)));
+        assertEquals(1, reopened.getCorrupt());
+        assertTrue(reopened.append(bytes("after")));
+        assertEquals(List.of("intact", "after"), strings(reopened.read(0L, 10)));
+        reopened.close();
+    }
+
+    @Test
+    void closedSpoolRefusesAppends() throws Exception {
+        DiskSpool spool = open(64, 1_024);
+        spool.close();
+
+        assertFalse(spool.append(bytes("late")));
+    }
+}
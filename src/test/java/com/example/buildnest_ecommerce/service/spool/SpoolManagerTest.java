@@ -0,0 +1,59 @@
+package com.example.buildnest_ecommerce.service.spool;
+
+import com.example.buildnest_ecommerce.config.properties.SpoolProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpoolManagerTest {
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SpoolManager newManager() {
+        SpoolProperties properties = new SpoolProperties();
+        properties.setDirectory(dir.toString());
+        properties.setSegmentBytes(1_024);
+        properties.setMaxBytes(4_096);
+        properties.setShipIdleMs(60_000L);
+        return new SpoolManager(properties, meterRegistry);
+    }
+
+    @Test
+    void opensLazilyAndReturnsSameSpool() throws Exception {
+        SpoolManager manager = newManager();
+        assertFalse(Files.exists(dir.resolve("audit")));
+
+        DiskSpool spool = manager.open("audit", records -> { });
+
+        assertSame(spool, manager.open("audit", records -> fail("second sink must be ignored")));
+        assertTrue(Files.isDirectory(dir.resolve("audit")));
+        assertEquals(1_024.0,
+                meterRegistry.get("spool.disk.bytes").tag("name", "audit").gauge().value());
+        manager.shutdown();
+    }
+
+    @Test
+    void unshippedRecordsAreReportedAsBacklogAfterRestart() throws Exception {
+        SpoolManager first = newManager();
+        first.open("audit", records -> {
+            throw new IllegalStateException("database down");
+        }).append(new byte[] {1, 2, 3});
+        first.shutdown();
+
+        SpoolManager restarted = newManager();
+
+        assertTrue(restarted.hasBacklog("audit"));
+        assertFalse(restarted.hasBacklog("elasticsearch"));
+        assertThrows(IOException.class, () -> first.open("audit", records -> { }));
+        restarted.shutdown();
+    }
+}
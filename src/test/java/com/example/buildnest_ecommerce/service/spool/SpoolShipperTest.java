@@ -0,0 +1,97 @@
+package com.example.buildnest_ecommerce.service.spool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpoolShipperTest {
+
+    @TempDir
+    Path dir;
+
+    private DiskSpool spool;
+    private SpoolShipper shipper;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        spool = new DiskSpool("test", dir, 1_024, 4_096, DiskSpool.FsyncPolicy.INTERVAL, 0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (shipper != null) {
+            shipper.close();
+        }
+        spool.close();
+    }
+
+    private void append(String... values) {
+        for (String value : values) {
+            assertTrue(spool.append(value.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    private static List<String> strings(List<byte[]> records) {
+        return records.stream().map(r -> new String(r, StandardCharsets.UTF_8)).toList();
+    }
+
+    @Test
+    void shipsInBatchesAndCommitsAfterEach() throws Exception {
+        List<List<String>> shipped = new ArrayList<>();
+        shipper = new SpoolShipper(spool, records -> shipped.add(strings(records)), 2, 1_000L, 100L);
+        append("a", "b", "c");
+
+        assertTrue(shipper.shipOnce());
+        assertTrue(shipper.shipOnce());
+        assertFalse(shipper.shipOnce());
+
+        assertEquals(List.of(List.of("a", "b"), List.of("c")), shipped);
+        assertEquals(spool.getWriteOffset(), spool.getCheckpoint());
+        assertEquals(3, shipper.getShipped());
+    }
+
+    @Test
+    void failedShipmentLeavesCheckpointInPlace() {
+        shipper = new SpoolShipper(spool, records -> {
+            throw new IllegalStateException("backend down");
+        }, 10, 1_000L, 100L);
+        append("a");
+
+        assertThrows(IllegalStateException.class, shipper::shipOnce);
+        assertEquals(0L, spool.getCheckpoint());
+        assertTrue(spool.getLagBytes() > 0);
+    }
+
+    @Test
+    void backgroundThreadRetriesUntilSinkRecovers() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        shipper = new SpoolShipper(spool, records -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("backend down");
+            }
+            delivered.addAll(strings(records));
+        }, 10, 10L, 5L);
+        append("a", "b");
+
+        shipper.start();
+
+        long deadline = System.currentTimeMillis() + 2_000L;
+        while (spool.getLagBytes() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertEquals(List.of("a", "b"), delivered);
+        assertEquals(2, shipper.getFailures());
+        assertEquals(0L, spool.getLagBytes());
+    }
+}
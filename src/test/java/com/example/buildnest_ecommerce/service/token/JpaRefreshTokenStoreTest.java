@@ -0,0 +1,81 @@
+package com.example.buildnest_ecommerce.service.token;
+
+import com.example.buildnest_ecommerce.model.entity.RefreshToken;
+import com.example.buildnest_ecommerce.repository.RefreshTokenRepository;
+import com.example.buildnest_ecommerce.service.purge.ChunkedPurgeService;
+import com.example.buildnest_ecommerce.service.purge.RefreshTokenPurgeTarget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JpaRefreshTokenStore tests")
+class JpaRefreshTokenStoreTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private ChunkedPurgeService purgeService;
+
+    @Mock
+    private RefreshTokenPurgeTarget purgeTarget;
+
+    private JpaRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new JpaRefreshTokenStore(refreshTokenRepository, purgeService, purgeTarget);
+    }
+
+    @Test
+    @DisplayName("Should revoke existing family before saving a new token")
+    void testIssue() {
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RefreshToken token = store.issue(7L, "raw", LocalDateTime.now().plusDays(1));
+
+        assertEquals("raw", token.getToken());
+        assertEquals(7L, token.getUserId());
+        assertFalse(token.isRevoked());
+        verify(refreshTokenRepository).revokeAllByUserId(eq(7L), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should only rotate a token that is still live")
+    void testRotate() {
+        RefreshToken old = new RefreshToken();
+        old.setToken("old");
+        old.setUserId(3L);
+        when(refreshTokenRepository.findByToken("old")).thenReturn(Optional.of(old));
+        when(refreshTokenRepository.revokeByToken(eq("old"), any(LocalDateTime.class))).thenReturn(1, 0);
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Optional<RefreshToken> first = store.rotate("old", "new", LocalDateTime.now().plusDays(1));
+        Optional<RefreshToken> second = store.rotate("old", "newer", LocalDateTime.now().plusDays(1));
+
+        assertTrue(first.isPresent());
+        assertEquals(3L, first.get().getUserId());
+        assertTrue(second.isEmpty());
+        verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("Should purge expired tokens through the chunked purge")
+    void testPurgeExpired() {
+        when(purgeService.purge(purgeTarget)).thenReturn(3L);
+
+        assertEquals(3, store.purgeExpired(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.buildnest_ecommerce.service.token;
+
+import com.example.buildnest_ecommerce.config.properties.AuthProperties;
+import com.example.buildnest_ecommerce.model.entity.RefreshToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisRefreshTokenStore tests")
+class RedisRefreshTokenStoreTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private RedisRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisRefreshTokenStore(redisTemplate, new AuthProperties());
+    }
+
+    @Test
+    @DisplayName("Should key tokens by SHA-256 and never send the raw value")
+    @SuppressWarnings("unchecked")
+    void testIssueStoresHashOnly() {
+        RefreshToken token = store.issue(9L, "raw-token", LocalDateTime.now().plusHours(1));
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(any(RedisScript.class), keys.capture(), args.capture());
+
+        String hash = RedisRefreshTokenStore.hash("raw-token");
+        assertEquals(64, hash.length());
+        assertEquals(List.of("rt:u:9", "rt:t:" + hash), keys.getValue());
+        List<Object> scriptArgs = List.of(args.getValue());
+        assertTrue(scriptArgs.contains(hash));
+        assertFalse(scriptArgs.contains("raw-token"));
+        assertEquals("raw-token", token.getToken());
+        assertEquals(9L, token.getUserId());
+    }
+
+    @Test
+    @DisplayName("Should map stored hash fields back to a token")
+    void testFind() {
+        LocalDateTime expiry = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.MILLIS);
+        long expiryMillis = expiry.atZone(java.time.ZoneId.systemDefault()).toInstant().toEpochMilli();
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries("rt:t:" + RedisRefreshTokenStore.hash("raw")))
+                .thenReturn(Map.of("userId", "4", "expiry", String.valueOf(expiryMillis),
+                        "created", String.valueOf(expiryMillis)));
+
+        Optional<RefreshToken> token = store.find("raw");
+
+        assertTrue(token.isPresent());
+        assertEquals(4L, token.get().getUserId());
+        assertEquals(expiry, token.get().getExpiryDate());
+        assertFalse(token.get().isRevoked());
+    }
+
+    @Test
+    @DisplayName("Should treat a missing key as unknown or expired")
+    void testFindMissing() {
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(anyString())).thenReturn(Map.of());
+
+        assertTrue(store.find("gone").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return empty when the rotate script finds no live token")
+    @SuppressWarnings("unchecked")
+    void testRotate() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn("12", (Object) null);
+
+        Optional<RefreshToken> first = store.rotate("old", "new", LocalDateTime.now().plusHours(1));
+        Optional<RefreshToken> replay = store.rotate("old", "newer", LocalDateTime.now().plusHours(1));
+
+        assertTrue(first.isPresent());
+        assertEquals(12L, first.get().getUserId());
+        assertEquals("new", first.get().getToken());
+        assertTrue(replay.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should revoke a user's token family by set key")
+    @SuppressWarnings("unchecked")
+    void testRevokeAll() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("rt:u:5")), any(Object[].class)))
+                .thenReturn(2L);
+
+        assertEquals(2, store.revokeAll(5L));
+        assertEquals(0, store.purgeExpired(LocalDateTime.now()));
+    }
+}
@@ -1,10 +1,10 @@
 package com.example.buildnest_ecommerce.service.token;
 
 import com.example.buildnest_ecommerce.model.entity.RefreshToken;
-import com.example.buildnest_ecommerce.repository.RefreshTokenRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -15,6 +15,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -23,25 +24,28 @@ import static org.mockito.Mockito.*;
 class RefreshTokenServiceTest {
 
     @Mock
-    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenStore refreshTokenStore;
 
     @InjectMocks
     private RefreshTokenService refreshTokenService;
 
     @Test
-    @DisplayName("Should create refresh token and revoke existing")
+    @DisplayName("Should issue a random refresh token through the store")
     void testCreateRefreshToken() {
         ReflectionTestUtils.setField(refreshTokenService, "refreshTokenExpirationMs", 60000L);
 
         RefreshToken saved = new RefreshToken();
         saved.setToken("new-token");
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(saved);
+        when(refreshTokenStore.issue(eq(10L), anyString(), any(LocalDateTime.class))).thenReturn(saved);
 
         RefreshToken result = refreshTokenService.createRefreshToken(10L);
 
         assertEquals("new-token", result.getToken());
-        verify(refreshTokenRepository).revokeAllByUserId(eq(10L), any(LocalDateTime.class));
-        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        ArgumentCaptor<String> raw = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<LocalDateTime> expiry = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(refreshTokenStore).issue(eq(10L), raw.capture(), expiry.capture());
+        assertEquals(43, raw.getValue().length());
+        assertTrue(expiry.getValue().isAfter(LocalDateTime.now().plusSeconds(50)));
     }
 
     @Test
@@ -71,12 +75,30 @@ class RefreshTokenServiceTest {
 
         ReflectionTestUtils.setField(refreshTokenService, "refreshTokenExpirationMs", 60000L);
 
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(refreshTokenStore.rotate(eq("old"), anyString(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    RefreshToken rotated = new RefreshToken();
+                    rotated.setToken(invocation.getArgument(1));
+                    rotated.setUserId(5L);
+                    return Optional.of(rotated);
+                });
 
         RefreshToken rotated = refreshTokenService.rotateRefreshToken(oldToken);
 
         assertNotNull(rotated.getToken());
-        verify(refreshTokenRepository).revokeByToken(eq("old"), any(LocalDateTime.class));
+        assertNotEquals("old", rotated.getToken());
+    }
+
+    @Test
+    @DisplayName("Should reject rotation of an already consumed token")
+    void testRotateConsumedToken() {
+        RefreshToken oldToken = new RefreshToken();
+        oldToken.setToken("old");
+        oldToken.setUserId(5L);
+        when(refreshTokenStore.rotate(eq("old"), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> refreshTokenService.rotateRefreshToken(oldToken));
     }
 
     @Test
@@ -84,7 +106,7 @@ class RefreshTokenServiceTest {
     void testFindByToken() {
         RefreshToken token = new RefreshToken();
         token.setToken("find");
-        when(refreshTokenRepository.findByToken("find")).thenReturn(Optional.of(token));
+        when(refreshTokenStore.find("find")).thenReturn(Optional.of(token));
 
         assertTrue(refreshTokenService.findByToken("find").isPresent());
     }
@@ -93,18 +115,18 @@ class RefreshTokenServiceTest {
     @DisplayName("Should revoke single and all tokens")
     void testRevokeTokens() {
         refreshTokenService.revokeRefreshToken("x");
-        verify(refreshTokenRepository).revokeByToken(eq("x"), any(LocalDateTime.class));
+        verify(refreshTokenStore).revoke("x");
 
-        when(refreshTokenRepository.revokeAllByUserId(eq(1L), any(LocalDateTime.class))).thenReturn(2);
+        when(refreshTokenStore.revokeAll(1L)).thenReturn(2);
         refreshTokenService.revokeAllUserTokens(1L);
-        verify(refreshTokenRepository).revokeAllByUserId(eq(1L), any(LocalDateTime.class));
+        verify(refreshTokenStore).revokeAll(1L);
     }
 
     @Test
     @DisplayName("Should cleanup expired tokens")
     void testCleanupExpiredTokens() {
-        when(refreshTokenRepository.deleteExpiredTokens(any(LocalDateTime.class))).thenReturn(1);
+        when(refreshTokenStore.purgeExpired(any(LocalDateTime.class))).thenReturn(1L);
         refreshTokenService.cleanupExpiredTokens();
-        verify(refreshTokenRepository).deleteExpiredTokens(any(LocalDateTime.class));
+        verify(refreshTokenStore).purgeExpired(any(LocalDateTime.class));
     }
 }
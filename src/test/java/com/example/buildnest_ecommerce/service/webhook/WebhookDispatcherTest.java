@@ -0,0 +1,415 @@
+package com.example.buildnest_ecommerce.service.webhook;
+
+import com.example.buildnest_ecommerce.config.properties.WebhookProperties;
+import com.example.buildnest_ecommerce.model.entity.WebhookDelivery;
+import com.example.buildnest_ecommerce.repository.WebhookDeliveryRepository;
+import com.example.buildnest_ecommerce.security.HmacSigner;
+import com.example.buildnest_ecommerce.service.webhook.WebhookDispatcher.Outcome;
+import com.example.buildnest_ecommerce.service.webhook.WebhookSubscriptionCache.Subscriber;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("WebhookDispatcher Tests")
+class WebhookDispatcherTest {
+
+    private record Received(Headers headers, String body) {
+    }
+
+    private final WebhookDeliveryRepository repository = mock(WebhookDeliveryRepository.class);
+    private final WebhookSubscriptionCache subscriptions = mock(WebhookSubscriptionCache.class);
+    private final HmacSigner signer = spy(new HmacSigner());
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WebhookProperties properties = new WebhookProperties();
+    private final List<Outcome> outcomes = new CopyOnWriteArrayList<>();
+    private final List<Object[]> subscriptionUpdates = new CopyOnWriteArrayList<>();
+    private final List<ParameterizedPreparedStatementSetter<Outcome>> outcomeSetters = new CopyOnWriteArrayList<>();
+    private final List<Received> received = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private volatile int defaultStatus = 200;
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private ExecutorService serverThreads;
+    private HttpServer server;
+    private String targetUrl;
+    private WebhookDispatcher dispatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        serverThreads = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook", exchange -> {
+            int running = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(running, Math::max);
+            try {
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                received.add(new Received(exchange.getRequestHeaders(), body));
+                gate.await(5, TimeUnit.SECONDS);
+                Integer status = statuses.poll();
+                exchange.sendResponseHeaders(status != null ? status : defaultStatus, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.setExecutor(serverThreads);
+        server.start();
+        targetUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/hook";
+
+        properties.setMaxRetries(2);
+        properties.setRetryDelayMs(20);
+        properties.getDelivery().setMaxBackoffMs(40);
+        properties.getDelivery().setTimerTickMs(5);
+        properties.getDelivery().setCircuitMinimumCalls(100);
+
+        when(jdbcTemplate.batchUpdate(eq(WebhookDispatcher.UPDATE_DELIVERY_SQL), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+                    outcomes.addAll(invocation.getArgument(1, Collection.class));
+                    outcomeSetters.add(invocation.getArgument(3));
+                    return new int[0][];
+                });
+        when(jdbcTemplate.batchUpdate(eq(WebhookDispatcher.UPDATE_SUBSCRIPTION_SQL), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+                    ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+                    for (Object entry : invocation.getArgument(1, Collection.class)) {
+                        PreparedStatement ps = mock(PreparedStatement.class);
+                        setter.setValues(ps, entry);
+                        ArgumentCaptor<Integer> failures = ArgumentCaptor.forClass(Integer.class);
+                        ArgumentCaptor<String> status = ArgumentCaptor.forClass(String.class);
+                        ArgumentCaptor<Long> id = ArgumentCaptor.forClass(Long.class);
+                        verify(ps).setInt(eq(1), failures.capture());
+                        verify(ps).setString(eq(2), status.capture());
+                        verify(ps).setLong(eq(4), id.capture());
+                        subscriptionUpdates.add(new Object[] { id.getValue(), failures.getValue(), status.getValue() });
+                    }
+                    return new int[0][];
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        gate.countDown();
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    private WebhookDispatcher dispatcher() {
+        dispatcher = new WebhookDispatcher(repository, subscriptions, signer, jdbcTemplate,
+                mock(PlatformTransactionManager.class), CircuitBreakerRegistry.ofDefaults(), properties,
+                Clock.systemDefaultZone(), meterRegistry);
+        return dispatcher;
+    }
+
+    private void subscriber(long id, String secret) {
+        when(subscriptions.get(id)).thenReturn(new Subscriber(id, "order.placed", targetUrl, secret));
+    }
+
+    private void claimable(WebhookDelivery... rows) {
+        List<Long> ids = Arrays.stream(rows).map(WebhookDelivery::getId).toList();
+        when(repository.findClaimableIds(any(), any())).thenReturn(ids);
+        when(repository.findByLeaseOwnerAndIdIn(anyString(), eq(ids))).thenReturn(List.of(rows));
+    }
+
+    private static WebhookDelivery row(long id, long subscriptionId) {
+        WebhookDelivery delivery = new WebhookDelivery();
+        delivery.setId(id);
+        delivery.setSubscriptionId(subscriptionId);
+        delivery.setEventType("order.placed");
+        delivery.setPayload("{\"orderId\":" + id + "}");
+        delivery.setStatus(WebhookDelivery.IN_FLIGHT);
+        delivery.setNextAttemptAt(LocalDateTime.now());
+        delivery.setCreatedAt(LocalDateTime.now());
+        return delivery;
+    }
+
+    private List<Outcome> outcomes(String status) {
+        dispatcher.flushOutcomes();
+        return outcomes.stream().filter(outcome -> outcome.status().equals(status)).toList();
+    }
+
+    private double counted(String outcome) {
+        return meterRegistry.get("webhook.deliveries").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 5s");
+            Thread.sleep(10L);
+        }
+    }
+
+    @Test
+    @DisplayName("Delivers a claimed row with event, delivery id and signature headers")
+    void testDeliversSignedRequest() throws Exception {
+        dispatcher();
+        subscriber(10L, "s3cret");
+        claimable(row(7L, 10L));
+
+        assertEquals(1, dispatcher.claimDue());
+
+        await(() -> outcomes(WebhookDelivery.DELIVERED).size() == 1);
+        Received request = received.get(0);
+        assertEquals("{\"orderId\":7}", request.body());
+        assertEquals("application/json", request.headers().getFirst("Content-Type"));
+        assertEquals("order.placed", request.headers().getFirst(WebhookDispatcher.EVENT_HEADER));
+        assertEquals("7", request.headers().getFirst(WebhookDispatcher.DELIVERY_HEADER));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec("s3cret".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        assertEquals(Base64.getEncoder().encodeToString(mac.doFinal(request.body().getBytes(StandardCharsets.UTF_8))),
+                request.headers().getFirst(WebhookDispatcher.SIGNATURE_HEADER));
+
+        Outcome delivered = outcomes(WebhookDelivery.DELIVERED).get(0);
+        assertEquals(1, delivered.attempts());
+        assertNotNull(delivered.deliveredAt());
+        assertNull(delivered.leaseUntil());
+        assertEquals(1.0, counted("delivered"));
+        assertEquals(List.of(10L, 0, "DELIVERED"), List.of(subscriptionUpdates.get(0)));
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        outcomeSetters.get(0).setValues(ps, delivered);
+        verify(ps).setString(1, WebhookDelivery.DELIVERED);
+        verify(ps).setInt(2, 1);
+        verify(ps).setNull(4, Types.TIMESTAMP);
+        verify(ps).setLong(7, 7L);
+        verify(ps).setString(8, delivered.leaseOwner());
+    }
+
+    @Test
+    @DisplayName("Sends without a signature when the subscription has no secret")
+    void testUnsignedRequest() throws Exception {
+        dispatcher();
+        subscriber(10L, null);
+        claimable(row(7L, 10L));
+
+        dispatcher.claimDue();
+
+        await(() -> outcomes(WebhookDelivery.DELIVERED).size() == 1);
+        assertNull(received.get(0).headers().getFirst(WebhookDispatcher.SIGNATURE_HEADER));
+    }
+
+    @Test
+    @DisplayName("Retries a failed attempt on the timer wheel and records the backoff")
+    void testRetriesWithBackoff() throws Exception {
+        dispatcher();
+        subscriber(10L, null);
+        claimable(row(7L, 10L));
+        statuses.add(500);
+
+        dispatcher.claimDue();
+
+        await(() -> outcomes(WebhookDelivery.DELIVERED).size() == 1);
+        assertEquals(2, received.size());
+        Outcome retry = outcomes(WebhookDelivery.IN_FLIGHT).get(0);
+        assertEquals(1, retry.attempts());
+        assertEquals("HTTP 500", retry.error());
+        assertTrue(retry.leaseUntil().isAfter(retry.nextAttemptAt()));
+        assertEquals(2, outcomes(WebhookDelivery.DELIVERED).get(0).attempts());
+        assertEquals(1.0, counted("retried"));
+        assertEquals(0, outcomes.stream().filter(o -> o.status().equals(WebhookDelivery.DEAD)).count());
+    }
+
+    @Test
+    @DisplayName("Signs a row once and reuses the signature on retries")
+    void testSignatureReusedOnRetry() throws Exception {
+        dispatcher();
+        subscriber(10L, "s3cret");
+        claimable(row(7L, 10L));
+        statuses.add(500);
+
+        dispatcher.claimDue();
+
+        await(() -> outcomes(WebhookDelivery.DELIVERED).size() == 1);
+        assertEquals(received.get(0).headers().getFirst(WebhookDispatcher.SIGNATURE_HEADER),
+                received.get(1).headers().getFirst(WebhookDispatcher.SIGNATURE_HEADER));
+        verify(signer, times(1)).base64(eq("s3cret"), any());
+    }
+
+    @Test
+    @DisplayName("Marks a row dead once its retries are used up")
+    void testDeadAfterRetries() throws Exception {
+        dispatcher();
+        subscriber(10L, null);
+        claimable(row(7L, 10L));
+        defaultStatus = 503;
+
+        dispatcher.claimDue();
+
+        await(() -> outcomes(WebhookDelivery.DEAD).size() == 1);
+        assertEquals(3, received.size());
+        assertEquals(3, outcomes(WebhookDelivery.DEAD).get(0).attempts());
+        assertEquals(2.0, counted("retried"));
+        assertEquals(1.0, counted("dead"));
+        int failures = subscriptionUpdates.stream().mapToInt(update -> (Integer) update[1]).sum();
+        assertEquals(3, failures);
+    }
+
+    @Test
+    @DisplayName("Caps requests in flight per endpoint and queues the rest")
+    void testPerEndpointConcurrency() throws Exception {
+        properties.getDelivery().setMaxConcurrencyPerEndpoint(2);
+        dispatcher();
+        subscriber(10L, null);
+        gate = new CountDownLatch(1);
+        claimable(row(1L, 10L), row(2L, 10L), row(3L, 10L), row(4L, 10L), row(5L, 10L));
+
+        assertEquals(5, dispatcher.claimDue());
+
+        await(() -> received.size() == 2);
+        Thread.sleep(100);
+        assertEquals(2, received.size());
+        gate.countDown();
+        await(() -> outcomes(WebhookDelivery.DELIVERED).size() == 5);
+        assertEquals(2, maxConcurrent.get());
+    }
+
+    @Test
+    @DisplayName("Stops sending to an endpoint while its circuit is open, without using a retry")
+    void testCircuitOpens() throws Exception {
+        properties.getDelivery().setCircuitMinimumCalls(2);
+        properties.getDelivery().setCircuitOpenMs(60_000);
+        properties.setRetryDelayMs(60_000);
+        properties.getDelivery().setMaxBackoffMs(60_000);
+        properties.setMaxRetries(10);
+        dispatcher();
+        subscriber(10L, null);
+        defaultStatus = 500;
+        claimable(row(1L, 10L), row(2L, 10L));
+        dispatcher.claimDue();
+        await(() -> outcomes(WebhookDelivery.IN_FLIGHT).size() == 2);
+
+        claimable(row(3L, 10L));
+        dispatcher.claimDue();
+
+        await(() -> outcomes(WebhookDelivery.PENDING).size() == 1);
+        assertEquals(2, received.size());
+        Outcome shortCircuited = outcomes(WebhookDelivery.PENDING).get(0);
+        assertEquals(3L, shortCircuited.deliveryId());
+        assertEquals(0, shortCircuited.attempts());
+        assertNull(shortCircuited.leaseUntil());
+        assertTrue(shortCircuited.nextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(50)));
+        assertTrue(shortCircuited.error().startsWith("Circuit open"));
+        assertNull(shortCircuited.subscriptionStatus());
+        assertEquals(1.0, counted("short_circuited"));
+        // Only the two rows waiting to retry keep their place
+        assertEquals(2.0, meterRegistry.get("webhook.delivery.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Cancels rows whose subscription is no longer active")
+    void testCancelsInactiveSubscription() throws Exception {
+        dispatcher();
+        claimable(row(7L, 10L));
+
+        dispatcher.claimDue();
+
+        List<Outcome> cancelled = outcomes(WebhookDelivery.CANCELLED);
+        assertEquals(1, cancelled.size());
+        assertTrue(received.isEmpty());
+        assertTrue(subscriptionUpdates.isEmpty());
+        assertEquals(1.0, counted("cancelled"));
+    }
+
+    @Test
+    @DisplayName("A re-claimed row still in flight is not sent twice and reports under the new lease")
+    void testReclaimKeepsSingleSend() throws Exception {
+        dispatcher();
+        subscriber(10L, null);
+        gate = new CountDownLatch(1);
+        claimable(row(7L, 10L));
+        dispatcher.claimDue();
+        await(() -> received.size() == 1);
+
+        dispatcher.claimDue();
+        gate.countDown();
+
+        await(() -> outcomes(WebhookDelivery.DELIVERED).size() == 1);
+        ArgumentCaptor<String> owners = ArgumentCaptor.forClass(String.class);
+        verify(repository, times(2)).claim(anyCollection(), owners.capture(), any(), any());
+        assertEquals(1, received.size());
+        assertEquals(owners.getAllValues().get(1), outcomes(WebhookDelivery.DELIVERED).get(0).leaseOwner());
+    }
+
+    @Test
+    @DisplayName("Claims nothing when no rows are due")
+    void testNothingDue() {
+        dispatcher();
+        when(repository.findClaimableIds(any(), any())).thenReturn(List.of());
+
+        assertEquals(0, dispatcher.claimDue());
+        verify(repository, never()).claim(anyCollection(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Backoff grows exponentially with equal jitter up to the cap")
+    void testBackoff() {
+        for (int i = 0; i < 100; i++) {
+            long first = WebhookDispatcher.backoffMs(1, 1_000, 60_000);
+            long third = WebhookDispatcher.backoffMs(3, 1_000, 60_000);
+            long capped = WebhookDispatcher.backoffMs(20, 1_000, 60_000);
+            assertTrue(first >= 500 && first <= 1_000, "first " + first);
+            assertTrue(third >= 2_000 && third <= 4_000, "third " + third);
+            assertTrue(capped >= 30_000 && capped <= 60_000, "capped " + capped);
+        }
+    }
+
+    @Test
+    @DisplayName("Endpoints are keyed by scheme, host and port")
+    void testEndpointKey() {
+        assertEquals("https://hooks.example.com:443", WebhookDispatcher.endpointKey("https://hooks.example.com/a"));
+        assertEquals("http://hooks.example.com:80", WebhookDispatcher.endpointKey("http://hooks.example.com/b?x=1"));
+        assertEquals("http://10.0.0.1:8080", WebhookDispatcher.endpointKey("http://10.0.0.1:8080/c"));
+    }
+
+    @Test
+    @DisplayName("Publishes active and scheduled gauges")
+    void testGauges() {
+        dispatcher();
+
+        assertEquals(0.0, meterRegistry.get("webhook.delivery.active").gauge().value());
+        assertEquals(0.0, meterRegistry.get("webhook.delivery.scheduled").gauge().value());
+        assertNotNull(meterRegistry.get("webhook.delivery.duration").timer());
+    }
+}
@@ -1,29 +1,28 @@
 package com.example.buildnest_ecommerce.service.webhook;
 
+import com.example.buildnest_ecommerce.model.entity.WebhookDelivery;
 import com.example.buildnest_ecommerce.model.entity.WebhookSubscription;
 import com.example.buildnest_ecommerce.model.payload.WebhookSubscriptionRequest;
 import com.example.buildnest_ecommerce.model.payload.WebhookSubscriptionResponse;
+import com.example.buildnest_ecommerce.repository.WebhookDeliveryRepository;
 import com.example.buildnest_ecommerce.repository.WebhookSubscriptionRepository;
+import com.example.buildnest_ecommerce.service.webhook.WebhookSubscriptionCache.Subscriber;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.test.util.ReflectionTestUtils;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
-
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,16 +33,23 @@ import static org.mockito.Mockito.*;
 @DisplayName("WebhookService Tests")
 class WebhookServiceImplTest {
 
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-15T10:00:00Z"), ZoneOffset.UTC);
+
     @Mock
     private WebhookSubscriptionRepository repository;
 
     @Mock
-    private RestTemplate restTemplate;
+    private WebhookDeliveryRepository deliveryRepository;
+
+    @Mock
+    private WebhookSubscriptionCache subscriptions;
+
+    @Mock
+    private WebhookDispatcher dispatcher;
 
     @Mock
     private ObjectMapper objectMapper;
 
-    @InjectMocks
     private WebhookServiceImpl webhookService;
 
     private WebhookSubscriptionRequest testRequest;
@@ -51,6 +57,9 @@ class WebhookServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        webhookService = new WebhookServiceImpl(repository, deliveryRepository, subscriptions, dispatcher,
+                objectMapper, CLOCK);
+
         testRequest = new WebhookSubscriptionRequest();
         testRequest.setEventType("order.created");
         testRequest.setTargetUrl("https://example.com/webhook");
@@ -181,234 +190,88 @@ class WebhookServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should dispatch event to active subscriptions")
-    void testDispatchEvent() throws Exception {
-        // Arrange
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("orderId", "12345");
-        payload.put("status", "created");
-
-        when(repository.findByEventTypeAndActiveTrue("order.created"))
-                .thenReturn(Arrays.asList(testSubscription));
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"orderId\":\"12345\"}");
-        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(String.class)))
-                .thenReturn("OK");
-
-        // Act
-        webhookService.dispatchEvent("order.created", payload);
-
-        // Give async operation time to complete
-        Thread.sleep(100);
-
-        // Assert
-        verify(repository).findByEventTypeAndActiveTrue("order.created");
-    }
-
-    @Test
-    @DisplayName("Should set content type and signature headers on delivery")
-    @SuppressWarnings("unchecked")
-    void testDeliveryHeadersWithSignature() throws Exception {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("orderId", "12345");
-
-        when(repository.findByEventTypeAndActiveTrue("order.created"))
-                .thenReturn(Arrays.asList(testSubscription));
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"orderId\":\"12345\"}");
-        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(String.class)))
-                .thenReturn("OK");
-
-        webhookService.dispatchEvent("order.created", payload);
-
-        ArgumentCaptor<HttpEntity<String>> requestCaptor = (ArgumentCaptor<HttpEntity<String>>) (ArgumentCaptor<?>) ArgumentCaptor
-                .forClass(HttpEntity.class);
-        verify(restTemplate).postForObject(eq("https://example.com/webhook"), requestCaptor.capture(),
-                eq(String.class));
-
-        HttpEntity<String> captured = requestCaptor.getValue();
-        HttpHeaders headers = (HttpHeaders) captured.getHeaders();
-        assertEquals(MediaType.APPLICATION_JSON, headers.getContentType());
-        assertEquals("order.created", headers.getFirst("X-Webhook-Event"));
-        assertNotNull(headers.getFirst("X-Webhook-Signature"));
-    }
-
-    @Test
-    @DisplayName("Should not set signature header for blank secret")
+    @DisplayName("Should write one outbox row per subscriber and serialize the payload once")
     @SuppressWarnings("unchecked")
-    void testDeliveryHeadersWithoutSignature() throws Exception {
-        testSubscription.setSecret("  ");
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("orderId", "12345");
-
-        when(repository.findByEventTypeAndActiveTrue("order.created"))
-                .thenReturn(Arrays.asList(testSubscription));
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"orderId\":\"12345\"}");
-        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(String.class)))
-                .thenReturn("OK");
-
-        webhookService.dispatchEvent("order.created", payload);
-
-        ArgumentCaptor<HttpEntity<String>> requestCaptor = (ArgumentCaptor<HttpEntity<String>>) (ArgumentCaptor<?>) ArgumentCaptor
-                .forClass(HttpEntity.class);
-        verify(restTemplate).postForObject(eq("https://example.com/webhook"), requestCaptor.capture(),
-                eq(String.class));
-
-        HttpEntity<String> captured = requestCaptor.getValue();
-        HttpHeaders headers = (HttpHeaders) captured.getHeaders();
-        assertEquals(MediaType.APPLICATION_JSON, headers.getContentType());
-        assertEquals("order.created", headers.getFirst("X-Webhook-Event"));
-        assertNull(headers.getFirst("X-Webhook-Signature"));
-    }
-
-    @Test
-    @DisplayName("Should retry delivery on failure")
-    void testDeliveryRetry() throws Exception {
-        // Arrange
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("orderId", "12345");
-
-        when(repository.findByEventTypeAndActiveTrue("order.created"))
-                .thenReturn(Arrays.asList(testSubscription));
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"orderId\":\"12345\"}");
-        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(String.class)))
-                .thenThrow(new RestClientException("Connection timeout"))
-                .thenReturn("OK");
-
-        // Act
-        webhookService.dispatchEvent("order.created", payload);
-
-        // Give async operation time to complete
-        Thread.sleep(1000);
-
-        // Assert - should have retried
-        verify(repository, atLeastOnce()).findByEventTypeAndActiveTrue("order.created");
-        verify(repository, atLeastOnce()).save(any(WebhookSubscription.class));
-    }
-
-    @Test
-    @DisplayName("Should update status after successful retry")
-    void testDeliveryUpdatesStatusAfterSuccess() throws Exception {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("orderId", "12345");
-
-        when(repository.findByEventTypeAndActiveTrue("order.created"))
-                .thenReturn(Arrays.asList(testSubscription));
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"orderId\":\"12345\"}");
-        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(String.class)))
-                .thenThrow(new RestClientException("Connection timeout"))
-                .thenReturn("OK");
-
-        webhookService.dispatchEvent("order.created", payload);
-
-        ArgumentCaptor<WebhookSubscription> captor = ArgumentCaptor.forClass(WebhookSubscription.class);
-        verify(repository, atLeastOnce()).save(captor.capture());
-
-        boolean deliveredSaved = captor.getAllValues().stream()
-                .anyMatch(s -> "DELIVERED".equals(s.getLastDeliveryStatus()));
-        assertTrue(deliveredSaved);
-    }
-
-    @Test
-    @DisplayName("Should update failure count after max retries")
-    void testMaxRetriesExceeded() throws Exception {
-        // Arrange
+    void testDispatchEventWritesOutbox() throws Exception {
         Map<String, Object> payload = new HashMap<>();
         payload.put("orderId", "12345");
+        when(subscriptions.forEvent("order.created")).thenReturn(List.of(
+                new Subscriber(1L, "order.created", "https://example.com/webhook", "test-secret"),
+                new Subscriber(2L, "order.created", "https://example.org/hook", null)));
+        when(objectMapper.writeValueAsString(payload)).thenReturn("{\"orderId\":\"12345\"}");
 
-        when(repository.findByEventTypeAndActiveTrue("order.created"))
-                .thenReturn(Arrays.asList(testSubscription));
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"orderId\":\"12345\"}");
-        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(String.class)))
-                .thenThrow(new RestClientException("Connection timeout"));
-
-        // Act
         webhookService.dispatchEvent("order.created", payload);
 
-        // Give async operation time to complete all retries
-        Thread.sleep(3000);
-
-        // Assert - should have attempted 3 times and updated failure count
-        verify(repository, atLeastOnce()).save(any(WebhookSubscription.class));
+        ArgumentCaptor<List<WebhookDelivery>> captor = ArgumentCaptor.forClass(List.class);
+        verify(deliveryRepository).saveAll(captor.capture());
+        List<WebhookDelivery> rows = captor.getValue();
+        assertEquals(List.of(1L, 2L), rows.stream().map(WebhookDelivery::getSubscriptionId).toList());
+        LocalDateTime now = LocalDateTime.now(CLOCK);
+        for (WebhookDelivery row : rows) {
+            assertEquals("order.created", row.getEventType());
+            assertEquals("{\"orderId\":\"12345\"}", row.getPayload());
+            assertEquals(WebhookDelivery.PENDING, row.getStatus());
+            assertEquals(0, row.getAttempts());
+            assertEquals(now, row.getNextAttemptAt());
+            assertEquals(now, row.getCreatedAt());
+        }
+        verify(objectMapper, times(1)).writeValueAsString(any());
+        verify(dispatcher).wake();
+        verifyNoInteractions(repository);
     }
 
     @Test
-    @DisplayName("Should attempt delivery up to max retries")
-    void testMaxRetriesAttemptsCount() throws Exception {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("orderId", "12345");
-
-        when(repository.findByEventTypeAndActiveTrue("order.created"))
-                .thenReturn(Arrays.asList(testSubscription));
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"orderId\":\"12345\"}");
-        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(String.class)))
-                .thenThrow(new RestClientException("Connection timeout"));
-
-        webhookService.dispatchEvent("order.created", payload);
-
-        verify(restTemplate, times(3)).postForObject(anyString(), any(HttpEntity.class), eq(String.class));
+    @DisplayName("Should wake the dispatcher only after the transaction commits")
+    void testDispatchEventWakesAfterCommit() throws Exception {
+        when(subscriptions.forEvent("order.created")).thenReturn(List.of(
+                new Subscriber(1L, "order.created", "https://example.com/webhook", null)));
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            webhookService.dispatchEvent("order.created", Map.of());
+            verify(dispatcher, never()).wake();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(dispatcher).wake();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
-    @DisplayName("Should generate HMAC signature for secure webhooks")
-    void testSecureWebhookWithSignature() throws Exception {
-        // Arrange
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("orderId", "12345");
-
-        when(repository.findByEventTypeAndActiveTrue("order.created"))
-                .thenReturn(Arrays.asList(testSubscription));
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"orderId\":\"12345\"}");
-        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(String.class)))
-                .thenReturn("OK");
-
-        // Act
-        webhookService.dispatchEvent("order.created", payload);
+    @DisplayName("Should not write or serialize anything without subscribers")
+    void testDispatchEventWithoutSubscribers() throws Exception {
+        when(subscriptions.forEvent("order.created")).thenReturn(List.of());
 
-        // Give async operation time to complete
-        Thread.sleep(100);
+        webhookService.dispatchEvent("order.created", Map.of("orderId", "12345"));
 
-        // Assert - verify that a signature header would be added
-        verify(repository).findByEventTypeAndActiveTrue("order.created");
+        verifyNoInteractions(deliveryRepository, objectMapper, dispatcher);
     }
 
     @Test
-    @DisplayName("Should generate deterministic HMAC signature")
-    void testGenerateSignatureDeterministic() throws Exception {
-        String payload = "{\"orderId\":\"12345\"}";
-        String secret = "test-secret";
-
-        String signature = ReflectionTestUtils.invokeMethod(webhookService, "generateSignature", payload, secret);
-
-        Mac sha256Hmac = Mac.getInstance("HmacSHA256");
-        SecretKeySpec secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-        sha256Hmac.init(secretKey);
-        byte[] hash = sha256Hmac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
-        String expected = Base64.getEncoder().encodeToString(hash);
-
-        assertEquals(expected, signature);
+    @DisplayName("Should reject payloads that cannot be serialized")
+    void testDispatchEventUnserializablePayload() throws Exception {
+        when(subscriptions.forEvent("order.created")).thenReturn(List.of(
+                new Subscriber(1L, "order.created", "https://example.com/webhook", null)));
+        when(objectMapper.writeValueAsString(any())).thenThrow(new JsonMappingException(null, "boom"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> webhookService.dispatchEvent("order.created", Map.of("orderId", "12345")));
+        verifyNoInteractions(deliveryRepository);
     }
 
     @Test
-    @DisplayName("Should handle webhook with no secret")
-    void testWebhookWithoutSecret() throws Exception {
-        // Arrange
-        testSubscription.setSecret(null);
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("orderId", "12345");
-
-        when(repository.findByEventTypeAndActiveTrue("order.created"))
-                .thenReturn(Arrays.asList(testSubscription));
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"orderId\":\"12345\"}");
-        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(String.class)))
-                .thenReturn("OK");
-
-        // Act
-        webhookService.dispatchEvent("order.created", payload);
+    @DisplayName("Should refresh the subscription cache after subscription changes")
+    void testSubscriptionChangesRefreshCache() {
+        when(repository.save(any(WebhookSubscription.class))).thenReturn(testSubscription);
+        when(repository.findById(1L)).thenReturn(Optional.of(testSubscription));
 
-        // Give async operation time to complete
-        Thread.sleep(100);
+        webhookService.createSubscription(testRequest);
+        webhookService.deactivateSubscription(1L);
+        webhookService.deleteSubscription(1L);
 
-        // Assert
-        verify(repository).findByEventTypeAndActiveTrue("order.created");
+        verify(subscriptions, times(3)).refresh();
     }
 
     @Test
@@ -431,25 +294,6 @@ class WebhookServiceImplTest {
         assertEquals(0, responses.get(0).getFailureCount());
     }
 
-    @Test
-    @DisplayName("Should not dispatch to inactive subscriptions")
-    void testNotDispatchToInactiveSubscriptions() {
-        // Arrange
-        testSubscription.setActive(false);
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("orderId", "12345");
-
-        when(repository.findByEventTypeAndActiveTrue("order.created"))
-                .thenReturn(Arrays.asList());
-
-        // Act
-        webhookService.dispatchEvent("order.created", payload);
-
-        // Assert
-        verify(repository).findByEventTypeAndActiveTrue("order.created");
-        verify(restTemplate, never()).postForObject(anyString(), any(), any());
-    }
-
     @Test
     @DisplayName("Should return empty list when no subscriptions exist")
     void testListSubscriptionsEmpty() {
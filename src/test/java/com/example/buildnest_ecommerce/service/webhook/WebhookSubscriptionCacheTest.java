@@ -0,0 +1,73 @@
+package com.example.buildnest_ecommerce.service.webhook;
+
+import com.example.buildnest_ecommerce.model.entity.WebhookSubscription;
+import com.example.buildnest_ecommerce.repository.WebhookSubscriptionRepository;
+import com.example.buildnest_ecommerce.service.webhook.WebhookSubscriptionCache.Subscriber;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("WebhookSubscriptionCache Tests")
+class WebhookSubscriptionCacheTest {
+
+    private final WebhookSubscriptionRepository repository = mock(WebhookSubscriptionRepository.class);
+    private final WebhookSubscriptionCache cache = new WebhookSubscriptionCache(repository);
+
+    @Test
+    @DisplayName("Indexes active subscriptions by event type and id on first read")
+    void testLoadsOnFirstRead() {
+        when(repository.findByActiveTrue()).thenReturn(List.of(
+                subscription(1L, "order.placed", "secret"),
+                subscription(2L, "order.placed", "  "),
+                subscription(3L, "payment.success", null)));
+
+        assertEquals(List.of(1L, 2L), cache.forEvent("order.placed").stream().map(Subscriber::id).toList());
+        assertEquals("secret", cache.get(1L).secret());
+        assertNull(cache.get(2L).secret(), "blank secrets mean unsigned deliveries");
+        assertEquals("payment.success", cache.get(3L).eventType());
+        assertTrue(cache.forEvent("user.registered").isEmpty());
+        assertNull(cache.get(99L));
+        verify(repository, times(1)).findByActiveTrue();
+    }
+
+    @Test
+    @DisplayName("Refresh replaces the snapshot")
+    void testRefresh() {
+        when(repository.findByActiveTrue())
+                .thenReturn(List.of(subscription(1L, "order.placed", null)))
+                .thenReturn(List.of(subscription(2L, "order.placed", null)));
+        assertNotNull(cache.get(1L));
+
+        cache.refresh();
+
+        assertNull(cache.get(1L));
+        assertEquals(List.of(2L), cache.forEvent("order.placed").stream().map(Subscriber::id).toList());
+    }
+
+    @Test
+    @DisplayName("A failed refresh keeps the previous snapshot")
+    void testFailedRefreshKeepsSnapshot() {
+        when(repository.findByActiveTrue())
+                .thenReturn(List.of(subscription(1L, "order.placed", null)))
+                .thenThrow(new IllegalStateException("database down"));
+        cache.refresh();
+
+        cache.refresh();
+
+        assertNotNull(cache.get(1L));
+    }
+
+    private static WebhookSubscription subscription(Long id, String eventType, String secret) {
+        WebhookSubscription subscription = new WebhookSubscription();
+        subscription.setId(id);
+        subscription.setEventType(eventType);
+        subscription.setTargetUrl("https://example.com/" + id);
+        subscription.setSecret(secret);
+        subscription.setActive(true);
+        return subscription;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.buildnest_ecommerce.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Inserted values are always reported as possibly present")
+    void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user-" + i));
+        }
+        assertEquals(10_000, filter.getInsertions());
+    }
+
+    @Test
+    @DisplayName("False positive rate stays near the configured target")
+    void testFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Empty filter reports nothing")
+    void testEmptyFilter() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        assertFalse(filter.mightContain("anything"));
+        assertFalse(filter.mightContain(""));
+    }
+
+    @Test
+    @DisplayName("Invalid sizing is rejected")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}
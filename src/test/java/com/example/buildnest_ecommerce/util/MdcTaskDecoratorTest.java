@@ -0,0 +1,60 @@
+package com.example.buildnest_ecommerce.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MdcTaskDecoratorTest {
+
+    private final MdcTaskDecorator decorator = new MdcTaskDecorator();
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void propagatesSubmitterContextToWorker() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicReference<String> seen = new AtomicReference<>();
+        AtomicReference<String> after = new AtomicReference<>("unset");
+        try {
+            MDC.put(CorrelationId.MDC_KEY, "req-9");
+            executor.submit(decorator.decorate(() -> seen.set(CorrelationId.current()))).get(5, TimeUnit.SECONDS);
+            executor.submit(() -> after.set(CorrelationId.current())).get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("req-9", seen.get());
+        assertNull(after.get(), "pooled thread must not keep the previous task's id");
+    }
+
+    @Test
+    void restoresCallerContextWhenRunInline() {
+        MDC.put(CorrelationId.MDC_KEY, "outer");
+        Runnable task = decorator.decorate(() -> assertEquals("outer", CorrelationId.current()));
+        MDC.put(CorrelationId.MDC_KEY, "changed");
+
+        task.run();
+
+        assertEquals("changed", CorrelationId.current());
+    }
+
+    @Test
+    void runsWithEmptyContextWhenSubmitterHadNone() {
+        Runnable task = decorator.decorate(() -> assertNull(CorrelationId.current()));
+        MDC.put(CorrelationId.MDC_KEY, "worker");
+
+        task.run();
+
+        assertEquals("worker", CorrelationId.current());
+    }
+}
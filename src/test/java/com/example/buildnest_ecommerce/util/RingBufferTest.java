@@ -0,0 +1,90 @@
+package com.example.buildnest_ecommerce.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RingBuffer Tests")
+class RingBufferTest {
+
+    @Test
+    @DisplayName("Capacity is rounded up to a power of two")
+    void testCapacityRounding() {
+        assertEquals(8, new RingBuffer<String>(5).capacity());
+        assertEquals(8, new RingBuffer<String>(8).capacity());
+        assertEquals(2, new RingBuffer<String>(1).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<String>(0));
+    }
+
+    @Test
+    @DisplayName("Offer fails when full and succeeds again after a drain")
+    void testFullAndDrain() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertEquals(List.of(0, 1), drained);
+        assertTrue(buffer.offer(4));
+        assertTrue(buffer.offer(5));
+
+        drained.clear();
+        assertEquals(4, buffer.drainTo(drained, 10));
+        assertEquals(List.of(2, 3, 4, 5), drained);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Null elements are rejected")
+    void testRejectsNull() {
+        assertThrows(NullPointerException.class, () -> new RingBuffer<String>(2).offer(null));
+    }
+
+    @Test
+    @DisplayName("Concurrent producers deliver every element exactly once")
+    void testConcurrentProducers() throws Exception {
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        while (seen.size() < producers * perProducer) {
+            batch.clear();
+            buffer.drainTo(batch, 32);
+            for (Integer value : batch) {
+                assertTrue(seen.add(value), "duplicate " + value);
+            }
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.buildnest_ecommerce.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TimerWheel Tests")
+class TimerWheelTest {
+
+    @Test
+    @DisplayName("Runs a task no earlier than its delay")
+    void testRunsAfterDelay() throws InterruptedException {
+        try (TimerWheel wheel = new TimerWheel("test-wheel", 10, TimeUnit.MILLISECONDS, 8)) {
+            CountDownLatch ran = new CountDownLatch(1);
+            long scheduled = System.nanoTime();
+            long[] elapsed = new long[1];
+
+            assertTrue(wheel.schedule(50, TimeUnit.MILLISECONDS, () -> {
+                elapsed[0] = System.nanoTime() - scheduled;
+                ran.countDown();
+            }));
+
+            assertTrue(ran.await(2, TimeUnit.SECONDS));
+            assertTrue(elapsed[0] >= TimeUnit.MILLISECONDS.toNanos(50), "ran after " + elapsed[0] + "ns");
+            assertEquals(0, wheel.getPending());
+        }
+    }
+
+    @Test
+    @DisplayName("Runs tasks in deadline order, including deadlines beyond one revolution")
+    void testOrderAcrossRounds() throws InterruptedException {
+        // 4 slots of 10ms: the 120ms and 250ms delays wrap the wheel several times
+        try (TimerWheel wheel = new TimerWheel("test-wheel", 10, TimeUnit.MILLISECONDS, 4)) {
+            List<Integer> order = new CopyOnWriteArrayList<>();
+            CountDownLatch ran = new CountDownLatch(3);
+
+            wheel.schedule(250, TimeUnit.MILLISECONDS, () -> { order.add(250); ran.countDown(); });
+            wheel.schedule(20, TimeUnit.MILLISECONDS, () -> { order.add(20); ran.countDown(); });
+            wheel.schedule(120, TimeUnit.MILLISECONDS, () -> { order.add(120); ran.countDown(); });
+            assertEquals(3, wheel.getPending());
+
+            assertTrue(ran.await(2, TimeUnit.SECONDS));
+            assertEquals(List.of(20, 120, 250), order);
+        }
+    }
+
+    @Test
+    @DisplayName("A failing task does not stop the wheel")
+    void testFailingTask() throws InterruptedException {
+        try (TimerWheel wheel = new TimerWheel("test-wheel", 10, TimeUnit.MILLISECONDS, 8)) {
+            CountDownLatch ran = new CountDownLatch(1);
+
+            wheel.schedule(10, TimeUnit.MILLISECONDS, () -> {
+                throw new IllegalStateException("boom");
+            });
+            wheel.schedule(30, TimeUnit.MILLISECONDS, ran::countDown);
+
+            assertTrue(ran.await(2, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Refuses new tasks and drops pending ones after close")
+    void testClose() throws InterruptedException {
+        TimerWheel wheel = new TimerWheel("test-wheel", 10, TimeUnit.MILLISECONDS, 8);
+        AtomicBoolean ran = new AtomicBoolean();
+        wheel.schedule(100, TimeUnit.MILLISECONDS, () -> ran.set(true));
+
+        wheel.close();
+
+        assertFalse(wheel.schedule(10, TimeUnit.MILLISECONDS, () -> ran.set(true)));
+        Thread.sleep(200);
+        assertFalse(ran.get());
+    }
+
+    @Test
+    @DisplayName("Rejects invalid tick and slot counts")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel("w", 0, TimeUnit.MILLISECONDS, 8));
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel("w", 10, TimeUnit.MILLISECONDS, 0));
+    }
+}